@@ -0,0 +1,180 @@
+package com.digitalpetri.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Get/set throughput of every primitive type for a {@link ByteOps} back end.
+ *
+ * <p>Subclasses supply the bytes and the {@link ByteOps} for the current {@link #ordering}.
+ * Run with {@code -prof gc} to see the allocation rate alongside the throughput.
+ *
+ * @param <T> the type of bytes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class AbstractByteOpsBenchmark<T> {
+
+  /**
+   * Size of the bytes being operated on.
+   */
+  protected static final int SIZE = 1024;
+
+  @Param({"BIG_ENDIAN", "LITTLE_ENDIAN", "BIG_ENDIAN_LOW_HIGH", "LITTLE_ENDIAN_LOW_HIGH"})
+  public String ordering;
+
+  public int index = 8;
+
+  public long value = 0x0102_0304_0506_0708L;
+
+  protected ByteOps<T> ops;
+
+  protected T bytes;
+
+  /**
+   * A block of 125 holding registers.
+   */
+  private final short[] shorts = new short[125];
+
+  private final int[] ints = new int[SIZE / Integer.BYTES];
+
+  private final double[] doubles = new double[SIZE / Double.BYTES];
+
+  @Benchmark
+  public boolean getBoolean() {
+    return ops.getBoolean(bytes, index);
+  }
+
+  @Benchmark
+  public byte getByte() {
+    return ops.getByte(bytes, index);
+  }
+
+  @Benchmark
+  public short getShort() {
+    return ops.getShort(bytes, index);
+  }
+
+  @Benchmark
+  public int getInt() {
+    return ops.getInt(bytes, index);
+  }
+
+  @Benchmark
+  public long getLong() {
+    return ops.getLong(bytes, index);
+  }
+
+  @Benchmark
+  public float getFloat() {
+    return ops.getFloat(bytes, index);
+  }
+
+  @Benchmark
+  public double getDouble() {
+    return ops.getDouble(bytes, index);
+  }
+
+  @Benchmark
+  public void setBoolean() {
+    ops.setBoolean(bytes, index, value != 0);
+  }
+
+  @Benchmark
+  public void setByte() {
+    ops.setByte(bytes, index, (byte) value);
+  }
+
+  @Benchmark
+  public void setShort() {
+    ops.setShort(bytes, index, (short) value);
+  }
+
+  @Benchmark
+  public void setInt() {
+    ops.setInt(bytes, index, (int) value);
+  }
+
+  @Benchmark
+  public void setLong() {
+    ops.setLong(bytes, index, value);
+  }
+
+  @Benchmark
+  public void setFloat() {
+    ops.setFloat(bytes, index, (float) value);
+  }
+
+  @Benchmark
+  public void setDouble() {
+    ops.setDouble(bytes, index, (double) value);
+  }
+
+  @Benchmark
+  public short[] getShorts() {
+    ops.getShorts(bytes, 0, shorts, 0, shorts.length);
+    return shorts;
+  }
+
+  @Benchmark
+  public int[] getInts() {
+    ops.getInts(bytes, 0, ints, 0, ints.length);
+    return ints;
+  }
+
+  @Benchmark
+  public double[] getDoubles() {
+    ops.getDoubles(bytes, 0, doubles, 0, doubles.length);
+    return doubles;
+  }
+
+  @Benchmark
+  public void setShorts() {
+    ops.setShorts(bytes, 0, shorts, 0, shorts.length);
+  }
+
+  @Benchmark
+  public void setInts() {
+    ops.setInts(bytes, 0, ints, 0, ints.length);
+  }
+
+  @Benchmark
+  public void setDoubles() {
+    ops.setDoubles(bytes, 0, doubles, 0, doubles.length);
+  }
+
+  /**
+   * Get the {@link OrderedOps} named by {@code ordering}.
+   *
+   * @param ordering the name of one of the four built-in orderings.
+   * @return the {@link OrderedOps} named by {@code ordering}.
+   */
+  protected static OrderedOps orderedOps(String ordering) {
+    switch (ordering) {
+      case "BIG_ENDIAN":
+        return new OrderedOps.BigEndianOps();
+      case "LITTLE_ENDIAN":
+        return new OrderedOps.LittleEndianOps();
+      case "BIG_ENDIAN_LOW_HIGH":
+        return new OrderedOps.BigEndianLowHighOps();
+      case "LITTLE_ENDIAN_LOW_HIGH":
+        return new OrderedOps.LittleEndianLowHighOps();
+      default:
+        throw new IllegalArgumentException("unknown ordering: " + ordering);
+    }
+  }
+
+}
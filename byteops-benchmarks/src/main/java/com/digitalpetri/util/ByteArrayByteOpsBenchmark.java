@@ -0,0 +1,13 @@
+package com.digitalpetri.util;
+
+import org.openjdk.jmh.annotations.Setup;
+
+public class ByteArrayByteOpsBenchmark extends AbstractByteOpsBenchmark<byte[]> {
+
+  @Setup
+  public void setup() {
+    ops = new ByteArrayByteOps(orderedOps(ordering));
+    bytes = new byte[SIZE];
+  }
+
+}
@@ -0,0 +1,49 @@
+package com.digitalpetri.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+public class ByteBufByteOpsBenchmark extends AbstractByteOpsBenchmark<ByteBuf> {
+
+  @Param({"heap", "direct", "pooled", "composite"})
+  public String buffer;
+
+  @Setup
+  public void setup() {
+    ops = new ByteBufByteOps(orderedOps(ordering));
+
+    switch (buffer) {
+      case "heap":
+        bytes = Unpooled.buffer(SIZE, SIZE);
+        break;
+      case "direct":
+        bytes = Unpooled.directBuffer(SIZE, SIZE);
+        break;
+      case "pooled":
+        bytes = PooledByteBufAllocator.DEFAULT.directBuffer(SIZE, SIZE);
+        break;
+      case "composite":
+        // split so that the values at index 8 straddle two components
+        bytes = Unpooled.compositeBuffer().addComponents(
+            true,
+            Unpooled.directBuffer(12, 12).writeZero(12),
+            Unpooled.directBuffer(SIZE - 12, SIZE - 12).writeZero(SIZE - 12)
+        );
+        break;
+      default:
+        throw new IllegalArgumentException("unknown buffer: " + buffer);
+    }
+
+    bytes.writerIndex(SIZE);
+  }
+
+  @TearDown
+  public void tearDown() {
+    bytes.release();
+  }
+
+}
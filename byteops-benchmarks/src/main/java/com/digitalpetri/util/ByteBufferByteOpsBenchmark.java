@@ -0,0 +1,28 @@
+package com.digitalpetri.util;
+
+import java.nio.ByteBuffer;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+public class ByteBufferByteOpsBenchmark extends AbstractByteOpsBenchmark<ByteBuffer> {
+
+  @Param({"heap", "direct"})
+  public String buffer;
+
+  @Setup
+  public void setup() {
+    ops = new ByteBufferByteOps(orderedOps(ordering));
+
+    switch (buffer) {
+      case "heap":
+        bytes = ByteBuffer.allocate(SIZE);
+        break;
+      case "direct":
+        bytes = ByteBuffer.allocateDirect(SIZE);
+        break;
+      default:
+        throw new IllegalArgumentException("unknown buffer: " + buffer);
+    }
+  }
+
+}
@@ -0,0 +1,73 @@
+package com.digitalpetri.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of converting a block of values from big-endian to another ordering, with
+ * {@link OrderedOps#transcode} and with a get/set per value for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranscodeBenchmark {
+
+  private static final int SIZE = 64 * 1024;
+
+  @Param({"LITTLE_ENDIAN", "BIG_ENDIAN_LOW_HIGH", "LITTLE_ENDIAN_LOW_HIGH"})
+  public String ordering;
+
+  @Param({"4", "8"})
+  public int elementSize;
+
+  private final OrderedOps from = new OrderedOps.BigEndianOps();
+
+  private OrderedOps to;
+
+  private ByteOps<byte[]> fromOps;
+  private ByteOps<byte[]> toOps;
+
+  private final byte[] src = new byte[SIZE];
+  private final byte[] dst = new byte[SIZE];
+
+  @Setup
+  public void setup() {
+    to = AbstractByteOpsBenchmark.orderedOps(ordering);
+    fromOps = new ByteArrayByteOps(from);
+    toOps = new ByteArrayByteOps(to);
+  }
+
+  @Benchmark
+  public byte[] transcode() {
+    OrderedOps.transcode(src, 0, dst, 0, elementSize, SIZE / elementSize, from, to);
+    return dst;
+  }
+
+  @Benchmark
+  public byte[] getSet() {
+    if (elementSize == Integer.BYTES) {
+      for (int i = 0; i < SIZE; i += Integer.BYTES) {
+        toOps.setInt(dst, i, fromOps.getInt(src, i));
+      }
+    } else {
+      for (int i = 0; i < SIZE; i += Long.BYTES) {
+        toOps.setLong(dst, i, fromOps.getLong(src, i));
+      }
+    }
+    return dst;
+  }
+
+}
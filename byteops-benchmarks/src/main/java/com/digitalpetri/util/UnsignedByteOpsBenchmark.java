@@ -0,0 +1,111 @@
+package com.digitalpetri.util;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.joou.UByte;
+import org.joou.UInteger;
+import org.joou.ULong;
+import org.joou.UShort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Get/set throughput of {@link UnsignedByteOps} wrapping {@link ByteArrayByteOps}.
+ *
+ * <p>The byte array is filled with {@code 0xFF} so the unsigned values are outside the range
+ * cached by joou, making the allocation rate under {@code -prof gc} representative.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnsignedByteOpsBenchmark {
+
+  @Param({"BIG_ENDIAN", "LITTLE_ENDIAN", "BIG_ENDIAN_LOW_HIGH", "LITTLE_ENDIAN_LOW_HIGH"})
+  public String ordering;
+
+  public int index = 8;
+
+  private UnsignedByteOps<byte[]> ops;
+
+  private byte[] bytes;
+
+  private UShort uShort;
+  private UInteger uInt;
+  private ULong uLong;
+
+  @Setup
+  public void setup() {
+    ops = UnsignedByteOps.of(
+        new ByteArrayByteOps(AbstractByteOpsBenchmark.orderedOps(ordering)));
+
+    bytes = new byte[64];
+    Arrays.fill(bytes, (byte) 0xFF);
+
+    uShort = UShort.valueOf(0xFFFF);
+    uInt = UInteger.valueOf(0xFFFF_FFFFL);
+    uLong = ULong.valueOf(-1L);
+  }
+
+  @Benchmark
+  public UByte getUByte() {
+    return ops.getUByte(bytes, index);
+  }
+
+  @Benchmark
+  public UShort getUShort() {
+    return ops.getUShort(bytes, index);
+  }
+
+  @Benchmark
+  public UInteger getUInt() {
+    return ops.getUInt(bytes, index);
+  }
+
+  @Benchmark
+  public ULong getULong() {
+    return ops.getULong(bytes, index);
+  }
+
+  @Benchmark
+  public void setUShort() {
+    ops.setUShort(bytes, index, uShort);
+  }
+
+  @Benchmark
+  public void setUInt() {
+    ops.setUInt(bytes, index, uInt);
+  }
+
+  @Benchmark
+  public void setULong() {
+    ops.setULong(bytes, index, uLong);
+  }
+
+  @Benchmark
+  public int getUShortAsInt() {
+    return ops.getUShortAsInt(bytes, index);
+  }
+
+  @Benchmark
+  public long getUIntAsLong() {
+    return ops.getUIntAsLong(bytes, index);
+  }
+
+  @Benchmark
+  public long getULongAsLong() {
+    return ops.getULongAsLong(bytes, index);
+  }
+
+}
@@ -1,7 +1,28 @@
 package com.digitalpetri.util;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.util.IllegalReferenceCountException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.zip.Checksum;
 
+/**
+ * {@link ByteOps} implementation that operates on {@link ByteBuf}s.
+ *
+ * <p>When constructed with one of the built-in {@link OrderedOps} implementations, multi-byte
+ * values are read and written with the {@link ByteBuf} wide accessors (e.g.
+ * {@link ByteBuf#getInt(int)}, {@link ByteBuf#getIntLE(int)}), followed by a word swap for the
+ * low-high word orders. Any other {@link OrderedOps} falls back to assembling values
+ * byte-by-byte.
+ *
+ * <p>Bulk operations on buffers backed by a single array or NIO buffer are delegated to
+ * {@link ByteArrayByteOps} or {@link ByteBufferByteOps}, respectively. On a
+ * {@link CompositeByteBuf}, bulk operations are applied to one component at a time, and values
+ * assembled byte-by-byte are read from the component that holds them, so components are looked
+ * up once per component or value rather than once per value or byte; only values that straddle
+ * two components fall back to the composite's own accessors.
+ */
 public final class ByteBufByteOps extends AbstractByteOps<ByteBuf> {
 
   /**
@@ -29,8 +50,24 @@ public final class ByteBufByteOps extends AbstractByteOps<ByteBuf> {
       new ByteBufByteOps(new OrderedOps.LittleEndianLowHighOps());
 
 
+  private final boolean wide;
+  private final boolean bigEndian;
+  private final boolean lowHigh;
+
+  private final ByteArrayByteOps arrayOps;
+  private final ByteBufferByteOps bufferOps;
+
   public ByteBufByteOps(OrderedOps orderedOps) {
     super(orderedOps);
+
+    bigEndian = orderedOps instanceof OrderedOps.BigEndianOps
+        || orderedOps instanceof OrderedOps.BigEndianLowHighOps;
+    lowHigh = orderedOps instanceof OrderedOps.BigEndianLowHighOps
+        || orderedOps instanceof OrderedOps.LittleEndianLowHighOps;
+    wide = bigEndian || lowHigh || orderedOps instanceof OrderedOps.LittleEndianOps;
+
+    arrayOps = new ByteArrayByteOps(orderedOps);
+    bufferOps = new ByteBufferByteOps(orderedOps);
   }
 
   @Override
@@ -43,4 +80,611 @@ public final class ByteBufByteOps extends AbstractByteOps<ByteBuf> {
     bytes.setByte(index, value);
   }
 
+  @Override
+  public short getShort(ByteBuf bytes, int index) {
+    if (!wide) {
+      if (bytes instanceof CompositeByteBuf) {
+        CompositeByteBuf composite = (CompositeByteBuf) bytes;
+        int c = componentIndex(composite, index, Short.BYTES);
+
+        if (c >= 0) {
+          return super.getShort(composite.internalComponent(c), index - composite.toByteIndex(c));
+        }
+      }
+
+      return super.getShort(bytes, index);
+    }
+
+    return bigEndian ? bytes.getShort(index) : bytes.getShortLE(index);
+  }
+
+  @Override
+  public int getInt(ByteBuf bytes, int index) {
+    if (!wide) {
+      if (bytes instanceof CompositeByteBuf) {
+        CompositeByteBuf composite = (CompositeByteBuf) bytes;
+        int c = componentIndex(composite, index, Integer.BYTES);
+
+        if (c >= 0) {
+          return super.getInt(composite.internalComponent(c), index - composite.toByteIndex(c));
+        }
+      }
+
+      return super.getInt(bytes, index);
+    }
+
+    int value = bigEndian ? bytes.getInt(index) : bytes.getIntLE(index);
+
+    return lowHigh ? OrderedOps.swapWords(value) : value;
+  }
+
+  @Override
+  public long getLong(ByteBuf bytes, int index) {
+    if (!wide) {
+      if (bytes instanceof CompositeByteBuf) {
+        CompositeByteBuf composite = (CompositeByteBuf) bytes;
+        int c = componentIndex(composite, index, Long.BYTES);
+
+        if (c >= 0) {
+          return super.getLong(composite.internalComponent(c), index - composite.toByteIndex(c));
+        }
+      }
+
+      return super.getLong(bytes, index);
+    }
+
+    long value = bigEndian ? bytes.getLong(index) : bytes.getLongLE(index);
+
+    return lowHigh ? OrderedOps.swapWords(value) : value;
+  }
+
+  @Override
+  public void setShort(ByteBuf bytes, int index, short value) {
+    if (!wide) {
+      if (bytes instanceof CompositeByteBuf) {
+        CompositeByteBuf composite = (CompositeByteBuf) bytes;
+        int c = componentIndex(composite, index, Short.BYTES);
+
+        if (c >= 0) {
+          super.setShort(composite.internalComponent(c), index - composite.toByteIndex(c), value);
+          return;
+        }
+      }
+
+      super.setShort(bytes, index, value);
+    } else if (bigEndian) {
+      bytes.setShort(index, value);
+    } else {
+      bytes.setShortLE(index, value);
+    }
+  }
+
+  @Override
+  public void setInt(ByteBuf bytes, int index, int value) {
+    if (!wide) {
+      if (bytes instanceof CompositeByteBuf) {
+        CompositeByteBuf composite = (CompositeByteBuf) bytes;
+        int c = componentIndex(composite, index, Integer.BYTES);
+
+        if (c >= 0) {
+          super.setInt(composite.internalComponent(c), index - composite.toByteIndex(c), value);
+          return;
+        }
+      }
+
+      super.setInt(bytes, index, value);
+      return;
+    }
+
+    if (lowHigh) {
+      value = OrderedOps.swapWords(value);
+    }
+
+    if (bigEndian) {
+      bytes.setInt(index, value);
+    } else {
+      bytes.setIntLE(index, value);
+    }
+  }
+
+  @Override
+  public void setLong(ByteBuf bytes, int index, long value) {
+    if (!wide) {
+      if (bytes instanceof CompositeByteBuf) {
+        CompositeByteBuf composite = (CompositeByteBuf) bytes;
+        int c = componentIndex(composite, index, Long.BYTES);
+
+        if (c >= 0) {
+          super.setLong(composite.internalComponent(c), index - composite.toByteIndex(c), value);
+          return;
+        }
+      }
+
+      super.setLong(bytes, index, value);
+      return;
+    }
+
+    if (lowHigh) {
+      value = OrderedOps.swapWords(value);
+    }
+
+    if (bigEndian) {
+      bytes.setLong(index, value);
+    } else {
+      bytes.setLongLE(index, value);
+    }
+  }
+
+  @Override
+  public void getBooleans(ByteBuf bytes, int index, boolean[] dst, int offset, int length) {
+    checkBulkIndex(index, length, 1, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.getBooleans(bytes.array(), bytes.arrayOffset() + index, dst, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length);
+      bufferOps.getBooleans(buffer, 0, dst, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          1,
+          (component, i, first, n) -> getBooleans(component, i, dst, offset + first, n),
+          (i, v) -> dst[offset + v] = getBoolean(bytes, i)
+      );
+    } else {
+      super.getBooleans(bytes, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void getBytes(ByteBuf bytes, int index, byte[] dst, int offset, int length) {
+    bytes.getBytes(index, dst, offset, length);
+  }
+
+  @Override
+  public void getShorts(ByteBuf bytes, int index, short[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Short.BYTES, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.getShorts(bytes.array(), bytes.arrayOffset() + index, dst, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length * Short.BYTES);
+      bufferOps.getShorts(buffer, 0, dst, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          Short.BYTES,
+          (component, i, first, n) -> getShorts(component, i, dst, offset + first, n),
+          (i, v) -> dst[offset + v] = getShort(bytes, i)
+      );
+    } else {
+      super.getShorts(bytes, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void getInts(ByteBuf bytes, int index, int[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Integer.BYTES, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.getInts(bytes.array(), bytes.arrayOffset() + index, dst, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length * Integer.BYTES);
+      bufferOps.getInts(buffer, 0, dst, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          Integer.BYTES,
+          (component, i, first, n) -> getInts(component, i, dst, offset + first, n),
+          (i, v) -> dst[offset + v] = getInt(bytes, i)
+      );
+    } else {
+      super.getInts(bytes, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void getLongs(ByteBuf bytes, int index, long[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Long.BYTES, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.getLongs(bytes.array(), bytes.arrayOffset() + index, dst, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length * Long.BYTES);
+      bufferOps.getLongs(buffer, 0, dst, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          Long.BYTES,
+          (component, i, first, n) -> getLongs(component, i, dst, offset + first, n),
+          (i, v) -> dst[offset + v] = getLong(bytes, i)
+      );
+    } else {
+      super.getLongs(bytes, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void getFloats(ByteBuf bytes, int index, float[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Float.BYTES, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.getFloats(bytes.array(), bytes.arrayOffset() + index, dst, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length * Float.BYTES);
+      bufferOps.getFloats(buffer, 0, dst, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          Float.BYTES,
+          (component, i, first, n) -> getFloats(component, i, dst, offset + first, n),
+          (i, v) -> dst[offset + v] = getFloat(bytes, i)
+      );
+    } else {
+      super.getFloats(bytes, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void getDoubles(ByteBuf bytes, int index, double[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Double.BYTES, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.getDoubles(bytes.array(), bytes.arrayOffset() + index, dst, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length * Double.BYTES);
+      bufferOps.getDoubles(buffer, 0, dst, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          Double.BYTES,
+          (component, i, first, n) -> getDoubles(component, i, dst, offset + first, n),
+          (i, v) -> dst[offset + v] = getDouble(bytes, i)
+      );
+    } else {
+      super.getDoubles(bytes, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void setBooleans(ByteBuf bytes, int index, boolean[] src, int offset, int length) {
+    checkBulkIndex(index, length, 1, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.setBooleans(bytes.array(), bytes.arrayOffset() + index, src, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length);
+      bufferOps.setBooleans(buffer, 0, src, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          1,
+          (component, i, first, n) -> setBooleans(component, i, src, offset + first, n),
+          (i, v) -> setBoolean(bytes, i, src[offset + v])
+      );
+    } else {
+      super.setBooleans(bytes, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setBytes(ByteBuf bytes, int index, byte[] src, int offset, int length) {
+    bytes.setBytes(index, src, offset, length);
+  }
+
+  @Override
+  public void setShorts(ByteBuf bytes, int index, short[] src, int offset, int length) {
+    checkBulkIndex(index, length, Short.BYTES, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.setShorts(bytes.array(), bytes.arrayOffset() + index, src, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length * Short.BYTES);
+      bufferOps.setShorts(buffer, 0, src, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          Short.BYTES,
+          (component, i, first, n) -> setShorts(component, i, src, offset + first, n),
+          (i, v) -> setShort(bytes, i, src[offset + v])
+      );
+    } else {
+      super.setShorts(bytes, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setInts(ByteBuf bytes, int index, int[] src, int offset, int length) {
+    checkBulkIndex(index, length, Integer.BYTES, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.setInts(bytes.array(), bytes.arrayOffset() + index, src, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length * Integer.BYTES);
+      bufferOps.setInts(buffer, 0, src, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          Integer.BYTES,
+          (component, i, first, n) -> setInts(component, i, src, offset + first, n),
+          (i, v) -> setInt(bytes, i, src[offset + v])
+      );
+    } else {
+      super.setInts(bytes, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setLongs(ByteBuf bytes, int index, long[] src, int offset, int length) {
+    checkBulkIndex(index, length, Long.BYTES, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.setLongs(bytes.array(), bytes.arrayOffset() + index, src, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length * Long.BYTES);
+      bufferOps.setLongs(buffer, 0, src, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          Long.BYTES,
+          (component, i, first, n) -> setLongs(component, i, src, offset + first, n),
+          (i, v) -> setLong(bytes, i, src[offset + v])
+      );
+    } else {
+      super.setLongs(bytes, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setFloats(ByteBuf bytes, int index, float[] src, int offset, int length) {
+    checkBulkIndex(index, length, Float.BYTES, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.setFloats(bytes.array(), bytes.arrayOffset() + index, src, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length * Float.BYTES);
+      bufferOps.setFloats(buffer, 0, src, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          Float.BYTES,
+          (component, i, first, n) -> setFloats(component, i, src, offset + first, n),
+          (i, v) -> setFloat(bytes, i, src[offset + v])
+      );
+    } else {
+      super.setFloats(bytes, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setDoubles(ByteBuf bytes, int index, double[] src, int offset, int length) {
+    checkBulkIndex(index, length, Double.BYTES, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+      arrayOps.setDoubles(bytes.array(), bytes.arrayOffset() + index, src, offset, length);
+    } else if (bytes.nioBufferCount() == 1) {
+      ByteBuffer buffer = bytes.nioBuffer(index, length * Double.BYTES);
+      bufferOps.setDoubles(buffer, 0, src, offset, length);
+    } else if (bytes instanceof CompositeByteBuf) {
+      forEachComponent(
+          (CompositeByteBuf) bytes,
+          index,
+          length,
+          Double.BYTES,
+          (component, i, first, n) -> setDoubles(component, i, src, offset + first, n),
+          (i, v) -> setDouble(bytes, i, src[offset + v])
+      );
+    } else {
+      super.setDoubles(bytes, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public long getVarLong(ByteBuf bytes, int index) {
+    if (bytes.capacity() - index >= Long.BYTES) {
+      long word = bytes.getLongLE(index);
+      int length = VarInts.length(word);
+
+      if (length != 0) {
+        return VarInts.decode(word, length);
+      }
+    }
+
+    return VarInts.getVarLong(this, bytes, index);
+  }
+
+  @Override
+  public int getVarLength(ByteBuf bytes, int index) {
+    if (bytes.capacity() - index >= Long.BYTES) {
+      int length = VarInts.length(bytes.getLongLE(index));
+
+      if (length != 0) {
+        return length;
+      }
+    }
+
+    return VarInts.getVarLength(this, bytes, index);
+  }
+
+  @Override
+  public int setVarLong(ByteBuf bytes, int index, long value) {
+    if (bytes.hasArray()) {
+      checkBulkIndex(index, ByteOps.varLongSize(value), 1, bytes.capacity());
+      ensureAccessible(bytes);
+
+      return arrayOps.setVarLong(bytes.array(), bytes.arrayOffset() + index, value);
+    } else {
+      return VarInts.setVarLong(this, bytes, index, value);
+    }
+  }
+
+  @Override
+  public String getString(
+      ByteBuf bytes,
+      int index,
+      int length,
+      Charset charset,
+      StringOrder order
+  ) {
+
+    checkBulkIndex(index, length, 1, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+
+      return arrayOps.getString(
+          bytes.array(), bytes.arrayOffset() + index, length, charset, order);
+    } else if (order == StringOrder.SEQUENTIAL) {
+      int end = bytes.indexOf(index, index + length, (byte) 0);
+
+      return bytes.toString(index, (end < 0 ? index + length : end) - index, charset);
+    } else {
+      return super.getString(bytes, index, length, charset, order);
+    }
+  }
+
+  @Override
+  public void setString(
+      ByteBuf bytes,
+      int index,
+      int length,
+      String value,
+      Charset charset,
+      StringOrder order
+  ) {
+
+    if (bytes.hasArray()) {
+      checkBulkIndex(index, length, 1, bytes.capacity());
+      ensureAccessible(bytes);
+
+      arrayOps.setString(
+          bytes.array(), bytes.arrayOffset() + index, length, value, charset, order);
+    } else {
+      super.setString(bytes, index, length, value, charset, order);
+    }
+  }
+
+  @Override
+  public void updateChecksum(ByteBuf bytes, int index, int length, Checksum checksum) {
+    checkBulkIndex(index, length, 1, bytes.capacity());
+
+    if (bytes.hasArray()) {
+      ensureAccessible(bytes);
+
+      checksum.update(bytes.array(), bytes.arrayOffset() + index, length);
+    } else {
+      // one NIO buffer per component of a composite buffer, checksummed without copying
+      for (ByteBuffer buffer : bytes.nioBuffers(index, length)) {
+        checksum.update(buffer);
+      }
+    }
+  }
+
+  /**
+   * Get the index of the component of {@code composite} that holds all {@code size} bytes
+   * starting at {@code index}, or -1 if they straddle components.
+   */
+  private static int componentIndex(CompositeByteBuf composite, int index, int size) {
+    int c = composite.toComponentIndex(index);
+    int start = composite.toByteIndex(c);
+
+    return index - start + size <= composite.internalComponent(c).capacity() ? c : -1;
+  }
+
+  /**
+   * Apply a bulk operation on {@code length} values of {@code size} bytes, starting at
+   * {@code index} in {@code composite}, to one component at a time, so each component is looked
+   * up once rather than once per value. Values that straddle two components are handled one at a
+   * time by {@code straddling}.
+   */
+  private static void forEachComponent(
+      CompositeByteBuf composite,
+      int index,
+      int length,
+      int size,
+      ComponentRange inComponent,
+      StraddlingValue straddling
+  ) {
+
+    int i = 0;
+
+    while (i < length) {
+      int position = index + i * size;
+      int c = composite.toComponentIndex(position);
+      int componentIndex = position - composite.toByteIndex(c);
+      ByteBuf component = composite.internalComponent(c);
+
+      int n = Math.min(length - i, (component.capacity() - componentIndex) / size);
+
+      if (n > 0) {
+        inComponent.apply(component, componentIndex, i, n);
+        i += n;
+      } else {
+        straddling.apply(position, i);
+        i++;
+      }
+    }
+  }
+
+  private static void ensureAccessible(ByteBuf bytes) {
+    if (bytes.refCnt() == 0) {
+      throw new IllegalReferenceCountException(0);
+    }
+  }
+
+  @FunctionalInterface
+  private interface ComponentRange {
+
+    /**
+     * Apply a bulk operation to {@code count} values, starting at {@code index} in
+     * {@code component}, that are values {@code first} to {@code first + count} of the range.
+     */
+    void apply(ByteBuf component, int index, int first, int count);
+
+  }
+
+  @FunctionalInterface
+  private interface StraddlingValue {
+
+    /**
+     * Apply an operation to the single value at {@code index}, value {@code value} of the range.
+     */
+    void apply(int index, int value);
+
+  }
+
 }
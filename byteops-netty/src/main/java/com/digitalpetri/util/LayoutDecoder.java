@@ -0,0 +1,80 @@
+package com.digitalpetri.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.util.List;
+
+/**
+ * A {@link ByteToMessageDecoder} that decodes a stream of fixed-size records, each described by
+ * a {@link Layout}, into objects using a {@link LayoutCodec.Binding}.
+ *
+ * <pre>
+ *   LayoutCodec.Binding&lt;ByteBuf, Reading&gt; binding = layout
+ *       .codec(ByteBufByteOps::new, ByteBuf::capacity)
+ *       .bind(MethodHandles.lookup(), Reading.class);
+ *
+ *   pipeline.addLast(new LayoutDecoder&lt;&gt;(binding), new LayoutEncoder&lt;&gt;(binding));
+ * </pre>
+ *
+ * <p>Records are decoded in place, straight from the cumulated {@link ByteBuf} (pooled, direct,
+ * or composite) with the binding's {@link ByteOps}, and every whole record received is decoded
+ * in one pass, so the objects decoded from a read are fired together before
+ * {@code channelReadComplete}. Objects are created with {@link LayoutCodec.Binding#create}, so
+ * the bound class needs a constructor that corresponds to the layout's fields.
+ *
+ * <p>Place a frame decoder, e.g. a {@code LengthFieldBasedFrameDecoder}, in front of this
+ * decoder for records that are framed. Like all {@link ByteToMessageDecoder}s, instances are not
+ * sharable.
+ *
+ * <p>Requires {@code netty-codec}, an optional dependency of this module.
+ *
+ * @param <R> the type of decoded objects.
+ */
+public final class LayoutDecoder<R> extends ByteToMessageDecoder {
+
+  private final LayoutCodec.Binding<ByteBuf, R> binding;
+  private final int recordLength;
+
+  /**
+   * Create a {@link LayoutDecoder} for records that are exactly the size of the binding's
+   * layout.
+   *
+   * @param binding the binding that creates the decoded objects.
+   */
+  public LayoutDecoder(LayoutCodec.Binding<ByteBuf, R> binding) {
+    this(binding, binding.codec().layout().size());
+  }
+
+  /**
+   * Create a {@link LayoutDecoder} for records of {@code recordLength} bytes, whose bytes past
+   * the end of the binding's layout are skipped.
+   *
+   * @param binding the binding that creates the decoded objects.
+   * @param recordLength the length of each record, in bytes.
+   * @throws IllegalArgumentException if {@code recordLength} is less than the size of the
+   *     layout, or not positive.
+   */
+  public LayoutDecoder(LayoutCodec.Binding<ByteBuf, R> binding, int recordLength) {
+    if (recordLength < Math.max(1, binding.codec().layout().size())) {
+      throw new IllegalArgumentException("recordLength: " + recordLength);
+    }
+
+    this.binding = binding;
+    this.recordLength = recordLength;
+  }
+
+  @Override
+  protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+    int index = in.readerIndex();
+    int records = in.readableBytes() / recordLength;
+
+    for (int i = 0; i < records; i++) {
+      out.add(binding.create(in, index));
+      index += recordLength;
+    }
+
+    in.readerIndex(index);
+  }
+
+}
@@ -0,0 +1,83 @@
+package com.digitalpetri.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * A {@link MessageToByteEncoder} that encodes objects as fixed-size records, each described by a
+ * {@link Layout}, using a {@link LayoutCodec.Binding}; the counterpart of {@link LayoutDecoder}.
+ *
+ * <p>Each record is encoded in place into a buffer from the channel's allocator that is sized
+ * to fit it exactly. As with any {@link MessageToByteEncoder}, the encoded message is released
+ * after encoding and the buffer is released if encoding fails.
+ *
+ * <p>Instances are stateless and can be shared between channels.
+ *
+ * <p>Requires {@code netty-codec}, an optional dependency of this module.
+ *
+ * @param <R> the type of encoded objects.
+ */
+@ChannelHandler.Sharable
+public final class LayoutEncoder<R> extends MessageToByteEncoder<R> {
+
+  private final LayoutCodec.Binding<ByteBuf, R> binding;
+  private final int recordLength;
+
+  /**
+   * Create a {@link LayoutEncoder} for records that are exactly the size of the binding's
+   * layout.
+   *
+   * @param binding the binding that encodes the objects.
+   */
+  public LayoutEncoder(LayoutCodec.Binding<ByteBuf, R> binding) {
+    this(binding, binding.codec().layout().size());
+  }
+
+  /**
+   * Create a {@link LayoutEncoder} for records of {@code recordLength} bytes, whose bytes past
+   * the end of the binding's layout are zero.
+   *
+   * @param binding the binding that encodes the objects.
+   * @param recordLength the length of each record, in bytes.
+   * @throws IllegalArgumentException if {@code recordLength} is less than the size of the
+   *     layout, or not positive.
+   */
+  public LayoutEncoder(LayoutCodec.Binding<ByteBuf, R> binding, int recordLength) {
+    super(binding.type());
+
+    if (recordLength < Math.max(1, binding.codec().layout().size())) {
+      throw new IllegalArgumentException("recordLength: " + recordLength);
+    }
+
+    this.binding = binding;
+    this.recordLength = recordLength;
+  }
+
+  @Override
+  protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, R msg, boolean preferDirect) {
+    if (preferDirect) {
+      return ctx.alloc().ioBuffer(recordLength);
+    } else {
+      return ctx.alloc().heapBuffer(recordLength);
+    }
+  }
+
+  @Override
+  protected void encode(ChannelHandlerContext ctx, R msg, ByteBuf out) {
+    out.ensureWritable(recordLength);
+
+    int index = out.writerIndex();
+    int size = binding.codec().layout().size();
+
+    binding.encode(out, index, msg);
+
+    if (recordLength > size) {
+      out.setZero(index + size, recordLength - size);
+    }
+
+    out.writerIndex(index + recordLength);
+  }
+
+}
@@ -0,0 +1,229 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the {@link ByteBufByteOps} tests against composite buffers made of 3-byte components, so
+ * that wide values straddle component boundaries.
+ */
+class CompositeByteBufByteOpsTest extends ByteBufByteOpsTest {
+
+  /**
+   * Component sizes that leave some values of every width inside a component and some
+   * straddling two, with heap, direct, and empty components.
+   */
+  private static final int[] COMPONENT_SIZES = {5, 16, 0, 3, 24, 1, 9, 40};
+
+  @Override
+  protected ByteBuf getBytes(byte[] bs) {
+    CompositeByteBuf buffer = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+
+    for (int i = 0; i < bs.length; i += 3) {
+      int length = Math.min(3, bs.length - i);
+      buffer.addComponent(true, Unpooled.copiedBuffer(bs, i, length));
+    }
+
+    return buffer;
+  }
+
+  @Test
+  void customOrderingWithinAndAcrossComponents() {
+    // not one of the built-in orderings, so values are assembled byte-by-byte
+    ByteBufByteOps ops = new ByteBufByteOps(new DelegatingOps(new OrderedOps.BigEndianOps()));
+
+    Random random = new Random(23);
+    byte[] bs = new byte[98];
+    random.nextBytes(bs);
+
+    ByteBuf composite = irregularComposite(bs);
+    ByteBuf expected = Unpooled.wrappedBuffer(bs.clone());
+
+    for (int i = 0; i <= bs.length - Long.BYTES; i++) {
+      assertEquals(ByteBufByteOps.BIG_ENDIAN.getShort(expected, i), ops.getShort(composite, i));
+      assertEquals(ByteBufByteOps.BIG_ENDIAN.getInt(expected, i), ops.getInt(composite, i));
+      assertEquals(ByteBufByteOps.BIG_ENDIAN.getLong(expected, i), ops.getLong(composite, i));
+    }
+
+    for (int i = 0; i <= bs.length - Long.BYTES; i++) {
+      long value = random.nextLong();
+
+      ByteBufByteOps.BIG_ENDIAN.setShort(expected, i, (short) value);
+      ops.setShort(composite, i, (short) value);
+      ByteBufByteOps.BIG_ENDIAN.setInt(expected, i + 1, (int) value);
+      ops.setInt(composite, i + 1, (int) value);
+      ByteBufByteOps.BIG_ENDIAN.setLong(expected, i, value);
+      ops.setLong(composite, i, value);
+
+      assertArrayEquals(ByteBufUtil.getBytes(expected), ByteBufUtil.getBytes(composite));
+    }
+
+    composite.release();
+  }
+
+  @Test
+  void bulkWithinAndAcrossComponents() {
+    Random random = new Random(23);
+    byte[] bs = new byte[98];
+    random.nextBytes(bs);
+
+    for (ByteBufByteOps ops : new ByteBufByteOps[]{
+        ByteBufByteOps.BIG_ENDIAN, ByteBufByteOps.LITTLE_ENDIAN_LOW_HIGH}) {
+
+      ByteBuf composite = irregularComposite(bs);
+      ByteBuf expected = Unpooled.wrappedBuffer(bs);
+
+      for (int index = 0; index < 8; index++) {
+        boolean[] booleans = new boolean[bs.length - index];
+        boolean[] expectedBooleans = new boolean[booleans.length];
+        ops.getBooleans(composite, index, booleans, 0, booleans.length);
+        ops.getBooleans(expected, index, expectedBooleans, 0, booleans.length);
+        assertArrayEquals(expectedBooleans, booleans);
+
+        short[] shorts = new short[(bs.length - index) / 2 + 1];
+        short[] expectedShorts = new short[shorts.length];
+        ops.getShorts(composite, index, shorts, 1, shorts.length - 1);
+        ops.getShorts(expected, index, expectedShorts, 1, shorts.length - 1);
+        assertArrayEquals(expectedShorts, shorts);
+
+        int[] ints = new int[(bs.length - index) / 4];
+        ops.getInts(composite, index, ints, 0, ints.length);
+        for (int i = 0; i < ints.length; i++) {
+          assertEquals(ops.getInt(expected, index + i * 4), ints[i]);
+        }
+
+        long[] longs = new long[(bs.length - index) / 8];
+        ops.getLongs(composite, index, longs, 0, longs.length);
+        for (int i = 0; i < longs.length; i++) {
+          assertEquals(ops.getLong(expected, index + i * 8), longs[i]);
+        }
+
+        float[] floats = new float[(bs.length - index) / 4];
+        ops.getFloats(composite, index, floats, 0, floats.length);
+        for (int i = 0; i < floats.length; i++) {
+          assertEquals(ops.getInt(expected, index + i * 4), Float.floatToRawIntBits(floats[i]));
+        }
+
+        double[] doubles = new double[(bs.length - index) / 8];
+        ops.getDoubles(composite, index, doubles, 0, doubles.length);
+        for (int i = 0; i < doubles.length; i++) {
+          assertEquals(
+              ops.getLong(expected, index + i * 8), Double.doubleToRawLongBits(doubles[i]));
+        }
+      }
+
+      for (int index = 0; index < 8; index++) {
+        ByteBuf target = irregularComposite(new byte[bs.length]);
+
+        long[] longs = new long[(bs.length - index) / 8];
+        ops.getLongs(expected, index, longs, 0, longs.length);
+        ops.setLongs(target, index, longs, 0, longs.length);
+
+        int[] ints = new int[(bs.length - index) / 4];
+        ops.getInts(expected, index, ints, 0, ints.length);
+        ops.setInts(target, index, ints, 0, ints.length);
+
+        short[] shorts = new short[(bs.length - index) / 2];
+        ops.getShorts(expected, index, shorts, 0, shorts.length);
+        ops.setShorts(target, index, shorts, 0, shorts.length);
+
+        float[] floats = new float[(bs.length - index) / 4];
+        ops.getFloats(expected, index, floats, 0, floats.length);
+        ops.setFloats(target, index, floats, 0, floats.length);
+
+        double[] doubles = new double[(bs.length - index) / 8];
+        ops.getDoubles(expected, index, doubles, 0, doubles.length);
+        ops.setDoubles(target, index, doubles, 0, doubles.length);
+
+        int end = index + shorts.length * 2;
+        assertArrayEquals(
+            ByteBufUtil.getBytes(expected, index, end - index),
+            ByteBufUtil.getBytes(target, index, end - index)
+        );
+
+        boolean[] booleans = new boolean[bs.length];
+        for (int i = 0; i < booleans.length; i++) {
+          booleans[i] = bs[i] != 0;
+        }
+        ops.setBooleans(target, 0, booleans, 0, booleans.length);
+        for (int i = 0; i < booleans.length; i++) {
+          assertEquals(booleans[i], target.getByte(i) == 1);
+        }
+
+        target.release();
+      }
+
+      composite.release();
+    }
+  }
+
+  /**
+   * Split a copy of {@code bs} into components of {@link #COMPONENT_SIZES}, alternating heap
+   * and direct buffers.
+   */
+  private static CompositeByteBuf irregularComposite(byte[] bs) {
+    CompositeByteBuf buffer = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+
+    for (int i = 0, c = 0; i < bs.length; c++) {
+      int length = Math.min(COMPONENT_SIZES[c % COMPONENT_SIZES.length], bs.length - i);
+      ByteBuf component = c % 2 == 0 ? Unpooled.buffer(length) : Unpooled.directBuffer(length);
+
+      buffer.addComponent(true, component.writeBytes(bs, i, length));
+      i += length;
+    }
+
+    return buffer;
+  }
+
+  /**
+   * Delegates to another {@link OrderedOps}, so {@link ByteBufByteOps} can't tell it's one of
+   * the built-in orderings.
+   */
+  private static final class DelegatingOps implements OrderedOps {
+
+    private final OrderedOps ops;
+
+    DelegatingOps(OrderedOps ops) {
+      this.ops = ops;
+    }
+
+    @Override
+    public <T> short getShort(ByteGetter<T> getter, T bytes, int index) {
+      return ops.getShort(getter, bytes, index);
+    }
+
+    @Override
+    public <T> int getInt(ByteGetter<T> getter, T bytes, int index) {
+      return ops.getInt(getter, bytes, index);
+    }
+
+    @Override
+    public <T> long getLong(ByteGetter<T> getter, T bytes, int index) {
+      return ops.getLong(getter, bytes, index);
+    }
+
+    @Override
+    public <T> void setShort(ByteSetter<T> setter, T bytes, int index, short value) {
+      ops.setShort(setter, bytes, index, value);
+    }
+
+    @Override
+    public <T> void setInt(ByteSetter<T> setter, T bytes, int index, int value) {
+      ops.setInt(setter, bytes, index, value);
+    }
+
+    @Override
+    public <T> void setLong(ByteSetter<T> setter, T bytes, int index, long value) {
+      ops.setLong(setter, bytes, index, value);
+    }
+
+  }
+
+}
@@ -0,0 +1,16 @@
+package com.digitalpetri.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Runs the {@link ByteBufByteOps} tests against direct buffers.
+ */
+class DirectByteBufByteOpsTest extends ByteBufByteOpsTest {
+
+  @Override
+  protected ByteBuf getBytes(byte[] bs) {
+    return Unpooled.directBuffer(bs.length).writeBytes(bs);
+  }
+
+}
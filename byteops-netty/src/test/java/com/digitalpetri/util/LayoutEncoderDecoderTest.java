@@ -0,0 +1,145 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.lang.invoke.MethodHandles;
+import org.junit.jupiter.api.Test;
+
+class LayoutEncoderDecoderTest {
+
+  private static final Layout LAYOUT = Layout.builder(new OrderedOps.BigEndianOps())
+      .field("status", Layout.Type.USHORT, 0)
+      .field("temperature", Layout.Type.SHORT, 2, 0.1)
+      .field("counter", Layout.Type.UINT, 4, 1.0, new OrderedOps.BigEndianLowHighOps())
+      .build();
+
+  private static final byte[] RECORD = {
+      (byte) 0xFF, (byte) 0xFE,
+      (byte) 0xFF, (byte) 0x38,
+      0x03, 0x04, 0x01, 0x02
+  };
+
+  private final LayoutCodec.Binding<ByteBuf, Reading> binding;
+
+  LayoutEncoderDecoderTest() throws IllegalAccessException {
+    binding = LAYOUT.codec(ByteBufByteOps::new, ByteBuf::capacity)
+        .bind(MethodHandles.lookup(), Reading.class);
+  }
+
+  @Test
+  void decodesRecordsStraddlingReads() {
+    EmbeddedChannel channel = new EmbeddedChannel(new LayoutDecoder<>(binding));
+
+    // 2.5 records, then the rest of the third in a pooled direct buffer
+    CompositeByteBuf first = Unpooled.compositeBuffer();
+    first.addComponent(true, Unpooled.wrappedBuffer(RECORD, 0, 5));
+    first.addComponent(true, Unpooled.wrappedBuffer(RECORD, 5, 3));
+    first.addComponent(true, Unpooled.wrappedBuffer(RECORD));
+    first.addComponent(true, Unpooled.wrappedBuffer(RECORD, 0, 4));
+
+    ByteBuf second = PooledByteBufAllocator.DEFAULT.directBuffer();
+    second.writeBytes(RECORD, 4, 4);
+
+    channel.writeInbound(first);
+    assertReading(channel.readInbound());
+    assertReading(channel.readInbound());
+    assertNull(channel.readInbound());
+
+    channel.writeInbound(second);
+    assertReading(channel.readInbound());
+    assertNull(channel.readInbound());
+
+    assertEquals(0, first.refCnt());
+    assertEquals(0, second.refCnt());
+    assertFalse(channel.finish());
+  }
+
+  @Test
+  void skipsRecordPadding() {
+    EmbeddedChannel channel = new EmbeddedChannel(new LayoutDecoder<>(binding, 10));
+
+    ByteBuf in = Unpooled.buffer();
+    in.writeBytes(RECORD).writeShort(0xAAAA).writeBytes(RECORD).writeShort(0xAAAA);
+
+    channel.writeInbound(in);
+    assertReading(channel.readInbound());
+    assertReading(channel.readInbound());
+    assertFalse(channel.finish());
+  }
+
+  @Test
+  void encodes() {
+    EmbeddedChannel channel = new EmbeddedChannel(new LayoutEncoder<>(binding, 10));
+
+    channel.writeOutbound(new Reading(0xFFFE, -20.0, 0x01020304L));
+
+    ByteBuf out = channel.readOutbound();
+    byte[] expected = new byte[10];
+    System.arraycopy(RECORD, 0, expected, 0, RECORD.length);
+
+    assertArrayEquals(expected, ByteBufUtil.getBytes(out));
+    out.release();
+    assertFalse(channel.finish());
+  }
+
+  @Test
+  void roundTrip() {
+    EmbeddedChannel encoder = new EmbeddedChannel(new LayoutEncoder<>(binding));
+    EmbeddedChannel decoder = new EmbeddedChannel(new LayoutDecoder<>(binding));
+
+    for (int i = 0; i < 10; i++) {
+      encoder.writeOutbound(new Reading(i, i * 1.5, 0xFFFFFFF0L + i));
+    }
+
+    ByteBuf out;
+    while ((out = encoder.readOutbound()) != null) {
+      decoder.writeInbound(out);
+    }
+
+    for (int i = 0; i < 10; i++) {
+      Reading reading = decoder.readInbound();
+
+      assertEquals(i, reading.status);
+      assertEquals(i * 1.5, reading.temperature, 1e-9);
+      assertEquals(0xFFFFFFF0L + i, reading.counter);
+    }
+    assertFalse(decoder.finish());
+  }
+
+  @Test
+  void recordLengthShorterThanLayout() {
+    assertThrows(IllegalArgumentException.class, () -> new LayoutDecoder<>(binding, 7));
+    assertThrows(IllegalArgumentException.class, () -> new LayoutEncoder<>(binding, 7));
+  }
+
+  private static void assertReading(Reading reading) {
+    assertEquals(0xFFFE, reading.status);
+    assertEquals(-20.0, reading.temperature, 1e-9);
+    assertEquals(0x01020304L, reading.counter);
+  }
+
+  private static final class Reading {
+
+    final int status;
+    final double temperature;
+    final long counter;
+
+    Reading(int status, double temperature, long counter) {
+      this.status = status;
+      this.temperature = temperature;
+      this.counter = counter;
+    }
+
+  }
+
+}
@@ -0,0 +1,373 @@
+package com.digitalpetri.util;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@link Flyweight} implementation for every interface annotated with
+ * {@link GenerateFlyweight}.
+ *
+ * <p>The generated class is named after the interface with a {@code Flyweight} suffix, is generic
+ * in the type of bytes, and takes a function that creates a {@link ByteOps} for an ordering, e.g.
+ * {@code ByteArrayByteOps::new}, so it works with any back end. It declares a {@code SIZE}
+ * constant with the size of the layout: the end of the field that ends last.
+ */
+@SupportedAnnotationTypes(FlyweightProcessor.GENERATE_FLYWEIGHT)
+public final class FlyweightProcessor extends AbstractProcessor {
+
+  static final String GENERATE_FLYWEIGHT = "com.digitalpetri.util.GenerateFlyweight";
+  static final String FLYWEIGHT_FIELD = "com.digitalpetri.util.FlyweightField";
+
+  private static final String ORDERED_OPS = "com.digitalpetri.util.OrderedOps";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeElement annotation = processingEnv.getElementUtils().getTypeElement(GENERATE_FLYWEIGHT);
+
+    if (annotation == null) {
+      return false;
+    }
+
+    for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+      if (element.getKind() != ElementKind.INTERFACE) {
+        error(element, "@GenerateFlyweight must annotate an interface");
+      } else if (!((TypeElement) element).getTypeParameters().isEmpty()) {
+        error(element, "@GenerateFlyweight interfaces must not be generic");
+      } else {
+        generate((TypeElement) element);
+      }
+    }
+
+    return true;
+  }
+
+  private void generate(TypeElement type) {
+    String defaultOrder = orderOf(annotation(type, GENERATE_FLYWEIGHT));
+    Map<String, Accessor> getters = new LinkedHashMap<>();
+    List<Accessor> accessors = new ArrayList<>();
+    List<ExecutableElement> unannotated = new ArrayList<>();
+
+    for (ExecutableElement method : abstractMethods(type)) {
+      Accessor accessor = accessor(method);
+
+      if (accessor == null) {
+        error(method, "flyweight methods must be a primitive getter or setter");
+        return;
+      }
+
+      AnnotationMirror field = annotation(method, FLYWEIGHT_FIELD);
+
+      if (field == null) {
+        unannotated.add(method);
+        continue;
+      }
+
+      accessor.offset = (Integer) value(field, "offset").getValue();
+      accessor.order = orderOf(field);
+      if (accessor.order.equals(ORDERED_OPS)) {
+        accessor.order = defaultOrder;
+      }
+
+      if (accessor.offset < 0) {
+        error(method, "offset must not be negative");
+        return;
+      }
+
+      if (accessor.getter) {
+        getters.put(accessor.name, accessor);
+      }
+      accessors.add(accessor);
+    }
+
+    // setters without @FlyweightField use the field of the getter with the same name
+    for (ExecutableElement method : unannotated) {
+      Accessor accessor = accessor(method);
+      Accessor getter = getters.get(accessor.name);
+
+      if (accessor.getter || getter == null || getter.kind != accessor.kind) {
+        error(method, "missing @FlyweightField");
+        return;
+      }
+
+      accessor.offset = getter.offset;
+      accessor.order = getter.order;
+      accessors.add(accessor);
+    }
+
+    String packageName = packageOf(type).getQualifiedName().toString();
+    String className = flyweightName(type);
+
+    try {
+      String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+
+      try (PrintWriter writer = new PrintWriter(
+          processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+
+        write(writer, type, packageName, className, accessors);
+      }
+    } catch (IOException e) {
+      error(type, "failed to write " + className + ": " + e.getMessage());
+    }
+  }
+
+  private void write(
+      PrintWriter w,
+      TypeElement type,
+      String packageName,
+      String className,
+      List<Accessor> accessors
+  ) {
+
+    List<String> orders = new ArrayList<>();
+    int size = 0;
+
+    for (Accessor accessor : accessors) {
+      if (!orders.contains(accessor.order)) {
+        orders.add(accessor.order);
+      }
+      size = Math.max(size, accessor.offset + accessor.size());
+    }
+
+    if (!packageName.isEmpty()) {
+      w.printf("package %s;%n%n", packageName);
+    }
+
+    w.printf("@javax.annotation.processing.Generated(\"%s\")%n", getClass().getName());
+    w.printf(
+        "public final class %s<T> extends com.digitalpetri.util.Flyweight<T> implements %s {%n%n",
+        className,
+        type.getQualifiedName()
+    );
+
+    w.printf("  public static final int SIZE = %d;%n%n", size);
+
+    for (int i = 0; i < orders.size(); i++) {
+      w.printf("  private final com.digitalpetri.util.ByteOps<T> ops%d;%n", i);
+    }
+    w.println();
+
+    w.printf("  public %s(%n", className);
+    w.println("      java.util.function.Function<");
+    w.println("          com.digitalpetri.util.OrderedOps,");
+    w.println("          ? extends com.digitalpetri.util.ByteOps<T>> byteOps) {");
+    w.println();
+    for (int i = 0; i < orders.size(); i++) {
+      w.printf("    this.ops%d = byteOps.apply(new %s());%n", i, orders.get(i));
+    }
+    w.println("  }");
+    w.println();
+
+    w.println("  @Override");
+    w.printf("  public %s<T> wrap(T bytes, int offset) {%n", className);
+    w.println("    super.wrap(bytes, offset);");
+    w.println("    return this;");
+    w.println("  }");
+    w.println();
+
+    w.println("  @Override");
+    w.println("  public int size() {");
+    w.println("    return SIZE;");
+    w.println("  }");
+
+    for (Accessor accessor : accessors) {
+      int ops = orders.indexOf(accessor.order);
+      String method = accessor.methodSuffix();
+
+      w.println();
+      w.println("  @Override");
+
+      if (accessor.getter) {
+        w.printf("  public %s %s() {%n", accessor.typeName(), accessor.name);
+        w.printf(
+            "    return ops%d.get%s(bytes(), offset() + %d);%n", ops, method, accessor.offset);
+      } else {
+        w.printf("  public void %s(%s value) {%n", accessor.name, accessor.typeName());
+        w.printf(
+            "    ops%d.set%s(bytes(), offset() + %d, value);%n", ops, method, accessor.offset);
+      }
+
+      w.println("  }");
+    }
+
+    w.println();
+    w.println("}");
+  }
+
+  private List<ExecutableElement> abstractMethods(TypeElement type) {
+    List<ExecutableElement> methods = new ArrayList<>();
+
+    for (ExecutableElement method : ElementFilter.methodsIn(
+        processingEnv.getElementUtils().getAllMembers(type))) {
+
+      if (method.getModifiers().contains(Modifier.ABSTRACT)) {
+        methods.add(method);
+      }
+    }
+
+    return methods;
+  }
+
+  /**
+   * Classify {@code method} as a getter or setter, or return {@code null} if it is neither.
+   */
+  private static Accessor accessor(ExecutableElement method) {
+    String name = method.getSimpleName().toString();
+    TypeMirror returnType = method.getReturnType();
+
+    if (method.getParameters().isEmpty() && isSupported(returnType.getKind())) {
+      return new Accessor(name, returnType.getKind(), true);
+    }
+
+    if (method.getParameters().size() == 1 && returnType.getKind() == TypeKind.VOID) {
+      TypeKind kind = method.getParameters().get(0).asType().getKind();
+
+      if (isSupported(kind)) {
+        return new Accessor(name, kind, false);
+      }
+    }
+
+    return null;
+  }
+
+  private static boolean isSupported(TypeKind kind) {
+    return kind.isPrimitive() && kind != TypeKind.CHAR;
+  }
+
+  private AnnotationMirror annotation(Element element, String name) {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+
+      if (annotationType.getQualifiedName().contentEquals(name)) {
+        return mirror;
+      }
+    }
+
+    return null;
+  }
+
+  private AnnotationValue value(AnnotationMirror mirror, String name) {
+    Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+        processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : values.entrySet()) {
+      if (e.getKey().getSimpleName().contentEquals(name)) {
+        return e.getValue();
+      }
+    }
+
+    throw new IllegalArgumentException(name);
+  }
+
+  /**
+   * Get the canonical name of the {@link OrderedOps} class named by the {@code order} attribute
+   * of {@code mirror}.
+   */
+  private String orderOf(AnnotationMirror mirror) {
+    DeclaredType order = (DeclaredType) value(mirror, "order").getValue();
+
+    return ((TypeElement) order.asElement()).getQualifiedName().toString();
+  }
+
+  private static PackageElement packageOf(Element element) {
+    while (element.getKind() != ElementKind.PACKAGE) {
+      element = element.getEnclosingElement();
+    }
+
+    return (PackageElement) element;
+  }
+
+  /**
+   * Get the simple name of the flyweight generated for {@code type}: the simple names of its
+   * enclosing types and its own, followed by {@code Flyweight}.
+   */
+  private static String flyweightName(TypeElement type) {
+    StringBuilder name = new StringBuilder("Flyweight");
+
+    for (Element e = type; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+      name.insert(0, e.getSimpleName());
+    }
+
+    return name.toString();
+  }
+
+  private void error(Element element, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+  private static final class Accessor {
+
+    final String name;
+    final TypeKind kind;
+    final boolean getter;
+
+    int offset;
+    String order;
+
+    Accessor(String name, TypeKind kind, boolean getter) {
+      this.name = name;
+      this.kind = kind;
+      this.getter = getter;
+    }
+
+    int size() {
+      switch (kind) {
+        case BOOLEAN:
+        case BYTE:
+          return 1;
+        case SHORT:
+          return 2;
+        case INT:
+        case FLOAT:
+          return 4;
+        default:
+          return 8;
+      }
+    }
+
+    /**
+     * @return the suffix of the {@link ByteOps} get and set methods for this accessor's type,
+     *     e.g. {@code Short} for {@code getShort}.
+     */
+    String methodSuffix() {
+      String name = kind.name();
+
+      return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+
+    /**
+     * @return the Java name of this accessor's type, e.g. {@code short}.
+     */
+    String typeName() {
+      return kind.name().toLowerCase();
+    }
+
+  }
+
+}
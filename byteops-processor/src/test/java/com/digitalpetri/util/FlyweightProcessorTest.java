@@ -0,0 +1,128 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FlyweightProcessorTest {
+
+  private static final byte[] FRAME = new byte[]{
+      0x00, 0x07,
+      0x40, 0x20, 0x00, 0x00,
+      0x08, 0x07, 0x06, 0x05, 0x04, 0x03, 0x02, 0x01,
+      0x01
+  };
+
+  @Test
+  void size() {
+    assertEquals(15, SensorFrameFlyweight.SIZE);
+    assertEquals(15, new SensorFrameFlyweight<>(ByteArrayByteOps::new).size());
+  }
+
+  @Test
+  void byteArray() {
+    byte[] bytes = new byte[FRAME.length * 2];
+    System.arraycopy(FRAME, 0, bytes, FRAME.length, FRAME.length);
+
+    SensorFrameFlyweight<byte[]> frame = new SensorFrameFlyweight<>(ByteArrayByteOps::new);
+
+    assertSame(frame, frame.wrap(bytes, FRAME.length));
+    assertFrame(frame);
+
+    frame.wrap(bytes, 0);
+    frame.temperature(2.5f);
+    frame.counter(ByteArrayByteOps.LITTLE_ENDIAN_LOW_HIGH.getLong(FRAME, 6));
+
+    assertEquals(0, frame.status());
+    assertFalse(frame.enabled());
+    assertArrayEquals(
+        new byte[]{0x00, 0x00, 0x40, 0x20, 0x00, 0x00, 0x08, 0x07, 0x06, 0x05, 0x04, 0x03},
+        Arrays.copyOf(bytes, 12)
+    );
+  }
+
+  @Test
+  void byteBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(FRAME.length).put(FRAME);
+
+    SensorFrameFlyweight<ByteBuffer> frame = new SensorFrameFlyweight<>(ByteBufferByteOps::new);
+
+    assertFrame(frame.wrap(buffer, 0));
+  }
+
+  @Test
+  void byteBuf() {
+    ByteBuf buffer = Unpooled.wrappedBuffer(FRAME);
+
+    SensorFrameFlyweight<ByteBuf> frame = new SensorFrameFlyweight<>(ByteBufByteOps::new);
+
+    assertFrame(frame.wrap(buffer, 0));
+  }
+
+  @Test
+  void invalidInterface(@TempDir Path dir) throws IOException {
+    Path source = dir.resolve("Invalid.java");
+    Files.write(source, List.of(
+        "package com.digitalpetri.util;",
+        "@GenerateFlyweight",
+        "public interface Invalid {",
+        "  @FlyweightField(offset = 0) String name();",
+        "}"
+    ), StandardCharsets.UTF_8);
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+    try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null)) {
+      boolean success = compiler.getTask(
+          null,
+          files,
+          diagnostics,
+          List.of(
+              "-d", dir.toString(),
+              "-classpath", System.getProperty("java.class.path"),
+              "-processor", FlyweightProcessor.class.getName()
+          ),
+          null,
+          files.getJavaFileObjects(source)
+      ).call();
+
+      assertFalse(success);
+    }
+
+    assertTrue(diagnostics.getDiagnostics().stream().anyMatch(d ->
+        d.getKind() == Diagnostic.Kind.ERROR
+            && d.getMessage(null).contains("primitive getter or setter")));
+  }
+
+  private static void assertFrame(SensorFrame frame) {
+    assertEquals(7, frame.status());
+    assertEquals(2.5f, frame.temperature());
+    assertEquals(
+        ByteArrayByteOps.LITTLE_ENDIAN_LOW_HIGH.getLong(FRAME, 6),
+        frame.counter()
+    );
+    assertTrue(frame.enabled());
+  }
+
+}
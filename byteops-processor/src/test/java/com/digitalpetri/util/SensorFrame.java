@@ -0,0 +1,23 @@
+package com.digitalpetri.util;
+
+@GenerateFlyweight(order = OrderedOps.BigEndianOps.class)
+public interface SensorFrame {
+
+  @FlyweightField(offset = 0)
+  short status();
+
+  @FlyweightField(offset = 2)
+  float temperature();
+
+  void temperature(float value);
+
+  @FlyweightField(offset = 6, order = OrderedOps.LittleEndianLowHighOps.class)
+  long counter();
+
+  @FlyweightField(offset = 6, order = OrderedOps.LittleEndianLowHighOps.class)
+  void counter(long value);
+
+  @FlyweightField(offset = 14)
+  boolean enabled();
+
+}
@@ -1,5 +1,8 @@
 package com.digitalpetri.util;
 
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.zip.Checksum;
 import org.joou.UByte;
 import org.joou.UInteger;
 import org.joou.ULong;
@@ -8,6 +11,10 @@ import org.joou.UShort;
 /**
  * Additional operations for working with unsigned numbers.
  *
+ * <p>The joou-typed accessors allocate a {@link UShort}, {@link UInteger}, or {@link ULong} for
+ * most values; the primitive accessors, e.g. {@link #getUShortAsInt(Object, int)}, widen the
+ * value instead and do not allocate.
+ *
  * @param <T> the type of bytes.
  */
 public final class UnsignedByteOps<T> implements ByteOps<T> {
@@ -117,6 +124,279 @@ public final class UnsignedByteOps<T> implements ByteOps<T> {
     setLong(bytes, index, value.longValue());
   }
 
+  /**
+   * Get the unsigned byte value at the given {@code index} in {@code bytes} as an int.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} to get the value at.
+   * @return the unsigned byte value, in the range [0, 255], at the given {@code index}.
+   */
+  public int getUByteAsInt(T bytes, int index) {
+    return getByte(bytes, index) & 0xFF;
+  }
+
+  /**
+   * Get the unsigned short value at the given {@code index} in {@code bytes} as an int.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} to get the value at.
+   * @return the unsigned short value, in the range [0, 65535], at the given {@code index}.
+   */
+  public int getUShortAsInt(T bytes, int index) {
+    return getShort(bytes, index) & 0xFFFF;
+  }
+
+  /**
+   * Get the unsigned int value at the given {@code index} in {@code bytes} as a long.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} to get the value at.
+   * @return the unsigned int value, in the range [0, 2^32-1], at the given {@code index}.
+   */
+  public long getUIntAsLong(T bytes, int index) {
+    return getInt(bytes, index) & 0xFFFF_FFFFL;
+  }
+
+  /**
+   * Get the unsigned long value at the given {@code index} in {@code bytes} as a long.
+   *
+   * <p>The value is returned as its raw two's complement bits; use the unsigned methods on
+   * {@link Long}, e.g. {@link Long#compareUnsigned(long, long)} or
+   * {@link Long#toUnsignedString(long)}, to interpret it.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} to get the value at.
+   * @return the bits of the unsigned long value at the given {@code index}.
+   */
+  public long getULongAsLong(T bytes, int index) {
+    return getLong(bytes, index);
+  }
+
+  /**
+   * Set the unsigned byte value at the given {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to set the value at.
+   * @param value the unsigned byte value, in the range [0, 255], to set.
+   * @throws IllegalArgumentException if {@code value} is out of range.
+   */
+  public void setUByte(T bytes, int index, int value) {
+    setByte(bytes, index, (byte) checkRange(value, 0xFF));
+  }
+
+  /**
+   * Set the unsigned short value at the given {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to set the value at.
+   * @param value the unsigned short value, in the range [0, 65535], to set.
+   * @throws IllegalArgumentException if {@code value} is out of range.
+   */
+  public void setUShort(T bytes, int index, int value) {
+    setShort(bytes, index, (short) checkRange(value, 0xFFFF));
+  }
+
+  /**
+   * Set the unsigned int value at the given {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to set the value at.
+   * @param value the unsigned int value, in the range [0, 2^32-1], to set.
+   * @throws IllegalArgumentException if {@code value} is out of range.
+   */
+  public void setUInt(T bytes, int index, long value) {
+    setInt(bytes, index, (int) checkRange(value, 0xFFFF_FFFFL));
+  }
+
+  /**
+   * Set the unsigned long value at the given {@code index} in {@code bytes}.
+   *
+   * <p>{@code value} is interpreted as the raw two's complement bits of the unsigned value, so
+   * every long is in range.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to set the value at.
+   * @param value the bits of the unsigned long value to set.
+   */
+  public void setULong(T bytes, int index, long value) {
+    setLong(bytes, index, value);
+  }
+
+  /**
+   * Get {@code length} unsigned byte values, starting at the given {@code index} in
+   * {@code bytes}, into {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   */
+  public void getUBytes(T bytes, int index, int[] dst, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, dst.length);
+
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getByte(bytes, index + i) & 0xFF;
+    }
+  }
+
+  /**
+   * Get {@code length} unsigned short values, starting at the given {@code index} in
+   * {@code bytes}, into {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   */
+  public void getUShorts(T bytes, int index, int[] dst, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, dst.length);
+
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getShort(bytes, index + i * Short.BYTES) & 0xFFFF;
+    }
+  }
+
+  /**
+   * Get {@code length} unsigned int values, starting at the given {@code index} in
+   * {@code bytes}, into {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   */
+  public void getUInts(T bytes, int index, long[] dst, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, dst.length);
+
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getInt(bytes, index + i * Integer.BYTES) & 0xFFFF_FFFFL;
+    }
+  }
+
+  /**
+   * Get {@code length} unsigned long values, as their raw bits, starting at the given
+   * {@code index} in {@code bytes}, into {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   * @see #getULongAsLong(Object, int)
+   */
+  public void getULongs(T bytes, int index, long[] dst, int offset, int length) {
+    getLongs(bytes, index, dst, offset, length);
+  }
+
+  /**
+   * Set {@code length} unsigned byte values from {@code src}, starting at {@code offset}, into
+   * {@code bytes} starting at the given {@code index}.
+   *
+   * <p>All values are range checked before any are set.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   * @throws IllegalArgumentException if any value is out of range.
+   */
+  public void setUBytes(T bytes, int index, int[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+
+    for (int i = 0; i < length; i++) {
+      checkRange(src[offset + i], 0xFF);
+    }
+
+    for (int i = 0; i < length; i++) {
+      setByte(bytes, index + i, (byte) src[offset + i]);
+    }
+  }
+
+  /**
+   * Set {@code length} unsigned short values from {@code src}, starting at {@code offset}, into
+   * {@code bytes} starting at the given {@code index}.
+   *
+   * <p>All values are range checked before any are set.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   * @throws IllegalArgumentException if any value is out of range.
+   */
+  public void setUShorts(T bytes, int index, int[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+
+    for (int i = 0; i < length; i++) {
+      checkRange(src[offset + i], 0xFFFF);
+    }
+
+    for (int i = 0; i < length; i++) {
+      setShort(bytes, index + i * Short.BYTES, (short) src[offset + i]);
+    }
+  }
+
+  /**
+   * Set {@code length} unsigned int values from {@code src}, starting at {@code offset}, into
+   * {@code bytes} starting at the given {@code index}.
+   *
+   * <p>All values are range checked before any are set.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   * @throws IllegalArgumentException if any value is out of range.
+   */
+  public void setUInts(T bytes, int index, long[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+
+    for (int i = 0; i < length; i++) {
+      checkRange(src[offset + i], 0xFFFF_FFFFL);
+    }
+
+    for (int i = 0; i < length; i++) {
+      setInt(bytes, index + i * Integer.BYTES, (int) src[offset + i]);
+    }
+  }
+
+  /**
+   * Set {@code length} unsigned long values, given as their raw bits, from {@code src},
+   * starting at {@code offset}, into {@code bytes} starting at the given {@code index}.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   * @see #setULong(Object, int, long)
+   */
+  public void setULongs(T bytes, int index, long[] src, int offset, int length) {
+    setLongs(bytes, index, src, offset, length);
+  }
+
+  private static int checkRange(int value, int max) {
+    if (value < 0 || value > max) {
+      throw new IllegalArgumentException(
+          String.format("value: %d (expected: range(0, %d))", value, max));
+    }
+    return value;
+  }
+
+  private static long checkRange(long value, long max) {
+    if (value < 0 || value > max) {
+      throw new IllegalArgumentException(
+          String.format("value: %d (expected: range(0, %d))", value, max));
+    }
+    return value;
+  }
+
   //region ByteOps delegated methods
 
   @Override
@@ -189,6 +469,239 @@ public final class UnsignedByteOps<T> implements ByteOps<T> {
     delegate.setDouble(bytes, index, value);
   }
 
+  @Override
+  public void getBooleans(T bytes, int index, boolean[] dst, int offset, int length) {
+    delegate.getBooleans(bytes, index, dst, offset, length);
+  }
+
+  @Override
+  public void getBytes(T bytes, int index, byte[] dst, int offset, int length) {
+    delegate.getBytes(bytes, index, dst, offset, length);
+  }
+
+  @Override
+  public void getShorts(T bytes, int index, short[] dst, int offset, int length) {
+    delegate.getShorts(bytes, index, dst, offset, length);
+  }
+
+  @Override
+  public void getInts(T bytes, int index, int[] dst, int offset, int length) {
+    delegate.getInts(bytes, index, dst, offset, length);
+  }
+
+  @Override
+  public void getLongs(T bytes, int index, long[] dst, int offset, int length) {
+    delegate.getLongs(bytes, index, dst, offset, length);
+  }
+
+  @Override
+  public void getFloats(T bytes, int index, float[] dst, int offset, int length) {
+    delegate.getFloats(bytes, index, dst, offset, length);
+  }
+
+  @Override
+  public void getDoubles(T bytes, int index, double[] dst, int offset, int length) {
+    delegate.getDoubles(bytes, index, dst, offset, length);
+  }
+
+  @Override
+  public void setBooleans(T bytes, int index, boolean[] src, int offset, int length) {
+    delegate.setBooleans(bytes, index, src, offset, length);
+  }
+
+  @Override
+  public void setBytes(T bytes, int index, byte[] src, int offset, int length) {
+    delegate.setBytes(bytes, index, src, offset, length);
+  }
+
+  @Override
+  public void setShorts(T bytes, int index, short[] src, int offset, int length) {
+    delegate.setShorts(bytes, index, src, offset, length);
+  }
+
+  @Override
+  public void setInts(T bytes, int index, int[] src, int offset, int length) {
+    delegate.setInts(bytes, index, src, offset, length);
+  }
+
+  @Override
+  public void setLongs(T bytes, int index, long[] src, int offset, int length) {
+    delegate.setLongs(bytes, index, src, offset, length);
+  }
+
+  @Override
+  public void setFloats(T bytes, int index, float[] src, int offset, int length) {
+    delegate.setFloats(bytes, index, src, offset, length);
+  }
+
+  @Override
+  public void setDoubles(T bytes, int index, double[] src, int offset, int length) {
+    delegate.setDoubles(bytes, index, src, offset, length);
+  }
+
+  @Override
+  public boolean getBit(T bytes, int index, int bit) {
+    return delegate.getBit(bytes, index, bit);
+  }
+
+  @Override
+  public void setBit(T bytes, int index, int bit, boolean value) {
+    delegate.setBit(bytes, index, bit, value);
+  }
+
+  @Override
+  public long getBits(T bytes, int bitOffset, int bitLength) {
+    return delegate.getBits(bytes, bitOffset, bitLength);
+  }
+
+  @Override
+  public void setBits(T bytes, int bitOffset, int bitLength, long value) {
+    delegate.setBits(bytes, bitOffset, bitLength, value);
+  }
+
+  @Override
+  public void getPackedBits(T bytes, int bitOffset, boolean[] dst, int offset, int length) {
+    delegate.getPackedBits(bytes, bitOffset, dst, offset, length);
+  }
+
+  @Override
+  public void getPackedBits(T bytes, int bitOffset, long[] dst, int length) {
+    delegate.getPackedBits(bytes, bitOffset, dst, length);
+  }
+
+  @Override
+  public void setPackedBits(T bytes, int bitOffset, boolean[] src, int offset, int length) {
+    delegate.setPackedBits(bytes, bitOffset, src, offset, length);
+  }
+
+  @Override
+  public void setPackedBits(T bytes, int bitOffset, long[] src, int length) {
+    delegate.setPackedBits(bytes, bitOffset, src, length);
+  }
+
+  @Override
+  public int getVarInt(T bytes, int index) {
+    return delegate.getVarInt(bytes, index);
+  }
+
+  @Override
+  public long getVarLong(T bytes, int index) {
+    return delegate.getVarLong(bytes, index);
+  }
+
+  @Override
+  public int getVarLength(T bytes, int index) {
+    return delegate.getVarLength(bytes, index);
+  }
+
+  @Override
+  public int getZigZagInt(T bytes, int index) {
+    return delegate.getZigZagInt(bytes, index);
+  }
+
+  @Override
+  public long getZigZagLong(T bytes, int index) {
+    return delegate.getZigZagLong(bytes, index);
+  }
+
+  @Override
+  public int setVarInt(T bytes, int index, int value) {
+    return delegate.setVarInt(bytes, index, value);
+  }
+
+  @Override
+  public int setVarLong(T bytes, int index, long value) {
+    return delegate.setVarLong(bytes, index, value);
+  }
+
+  @Override
+  public int setZigZagInt(T bytes, int index, int value) {
+    return delegate.setZigZagInt(bytes, index, value);
+  }
+
+  @Override
+  public int setZigZagLong(T bytes, int index, long value) {
+    return delegate.setZigZagLong(bytes, index, value);
+  }
+
+  @Override
+  public float getFloat16(T bytes, int index) {
+    return delegate.getFloat16(bytes, index);
+  }
+
+  @Override
+  public void setFloat16(T bytes, int index, float value) {
+    delegate.setFloat16(bytes, index, value);
+  }
+
+  @Override
+  public void getFloat16s(T bytes, int index, float[] dst, int offset, int length) {
+    delegate.getFloat16s(bytes, index, dst, offset, length);
+  }
+
+  @Override
+  public void setFloat16s(T bytes, int index, float[] src, int offset, int length) {
+    delegate.setFloat16s(bytes, index, src, offset, length);
+  }
+
+  @Override
+  public float getBFloat16(T bytes, int index) {
+    return delegate.getBFloat16(bytes, index);
+  }
+
+  @Override
+  public void setBFloat16(T bytes, int index, float value) {
+    delegate.setBFloat16(bytes, index, value);
+  }
+
+  @Override
+  public void getBFloat16s(T bytes, int index, float[] dst, int offset, int length) {
+    delegate.getBFloat16s(bytes, index, dst, offset, length);
+  }
+
+  @Override
+  public void setBFloat16s(T bytes, int index, float[] src, int offset, int length) {
+    delegate.setBFloat16s(bytes, index, src, offset, length);
+  }
+
+  @Override
+  public String getString(T bytes, int index, int length, Charset charset) {
+    return delegate.getString(bytes, index, length, charset);
+  }
+
+  @Override
+  public String getString(T bytes, int index, int length, Charset charset, StringOrder order) {
+    return delegate.getString(bytes, index, length, charset, order);
+  }
+
+  @Override
+  public void setString(T bytes, int index, int length, String value, Charset charset) {
+    delegate.setString(bytes, index, length, value, charset);
+  }
+
+  @Override
+  public void setString(
+      T bytes,
+      int index,
+      int length,
+      String value,
+      Charset charset,
+      StringOrder order
+  ) {
+
+    delegate.setString(bytes, index, length, value, charset, order);
+  }
+
+  @Override
+  public void updateChecksum(T bytes, int index, int length, Checksum checksum) {
+    delegate.updateChecksum(bytes, index, length, checksum);
+  }
+
+  @Override
+  public long getChecksum(T bytes, int index, int length, ChecksumAlgorithm algorithm) {
+    return delegate.getChecksum(bytes, index, length, algorithm);
+  }
+
   //endregion
 
 }
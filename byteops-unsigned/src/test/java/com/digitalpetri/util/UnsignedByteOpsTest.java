@@ -1,7 +1,10 @@
 package com.digitalpetri.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Arrays;
 import org.joou.UByte;
 import org.joou.UInteger;
 import org.joou.ULong;
@@ -117,4 +120,79 @@ class UnsignedByteOpsTest {
     assertEquals(0xffffffffffffffffL, unsignedOps.getULong(bytes, 0).longValue());
   }
 
-}
\ No newline at end of file
+  @Test
+  void getPrimitives() {
+    UnsignedByteOps<byte[]> unsignedOps = UnsignedByteOps.of(ByteArrayByteOps.BIG_ENDIAN);
+
+    byte[] bytes = new byte[8];
+    Arrays.fill(bytes, (byte) 0xff);
+
+    assertEquals(0xff, unsignedOps.getUByteAsInt(bytes, 0));
+    assertEquals(0xffff, unsignedOps.getUShortAsInt(bytes, 0));
+    assertEquals(0xffffffffL, unsignedOps.getUIntAsLong(bytes, 0));
+    assertEquals("18446744073709551615",
+        Long.toUnsignedString(unsignedOps.getULongAsLong(bytes, 0)));
+  }
+
+  @Test
+  void setPrimitives() {
+    UnsignedByteOps<byte[]> unsignedOps = UnsignedByteOps.of(ByteArrayByteOps.BIG_ENDIAN);
+
+    byte[] bytes = new byte[8];
+
+    unsignedOps.setUByte(bytes, 0, 0xfe);
+    assertEquals(0xfe, unsignedOps.getUByteAsInt(bytes, 0));
+
+    unsignedOps.setUShort(bytes, 0, 0xfedc);
+    assertEquals(0xfedc, unsignedOps.getUShortAsInt(bytes, 0));
+
+    unsignedOps.setUInt(bytes, 0, 0xfedcba98L);
+    assertEquals(0xfedcba98L, unsignedOps.getUIntAsLong(bytes, 0));
+
+    unsignedOps.setULong(bytes, 0, 0xfedcba9876543210L);
+    assertEquals(0xfedcba9876543210L, unsignedOps.getULongAsLong(bytes, 0));
+  }
+
+  @Test
+  void setPrimitivesOutOfRange() {
+    UnsignedByteOps<byte[]> unsignedOps = UnsignedByteOps.of(ByteArrayByteOps.BIG_ENDIAN);
+
+    byte[] bytes = new byte[4];
+
+    assertThrows(IllegalArgumentException.class, () -> unsignedOps.setUByte(bytes, 0, 256));
+    assertThrows(IllegalArgumentException.class, () -> unsignedOps.setUShort(bytes, 0, -1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> unsignedOps.setUInt(bytes, 0, 0x1_0000_0000L)
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> unsignedOps.setUShorts(bytes, 0, new int[]{1, 0x10000}, 0, 2)
+    );
+    assertEquals(0, unsignedOps.getInt(bytes, 0));
+  }
+
+  @Test
+  void bulkPrimitives() {
+    UnsignedByteOps<byte[]> unsignedOps = UnsignedByteOps.of(ByteArrayByteOps.LITTLE_ENDIAN);
+
+    byte[] bytes = new byte[8];
+
+    unsignedOps.setUShorts(bytes, 0, new int[]{0xffff, 0x0001, 0x8000, 0x7fff}, 0, 4);
+
+    int[] ushorts = new int[4];
+    unsignedOps.getUShorts(bytes, 0, ushorts, 0, 4);
+    assertArrayEquals(new int[]{0xffff, 0x0001, 0x8000, 0x7fff}, ushorts);
+
+    int[] ubytes = new int[2];
+    unsignedOps.getUBytes(bytes, 0, ubytes, 0, 2);
+    assertArrayEquals(new int[]{0xff, 0xff}, ubytes);
+
+    unsignedOps.setUInts(bytes, 0, new long[]{0xffffffffL, 0x80000000L}, 0, 2);
+
+    long[] uints = new long[2];
+    unsignedOps.getUInts(bytes, 0, uints, 0, 2);
+    assertArrayEquals(new long[]{0xffffffffL, 0x80000000L}, uints);
+  }
+
+}
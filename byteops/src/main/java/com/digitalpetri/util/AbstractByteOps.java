@@ -1,11 +1,36 @@
 package com.digitalpetri.util;
 
+import java.util.Objects;
+
 public abstract class AbstractByteOps<T> implements ByteOps<T> {
 
+  private final OrderedOps.ByteGetter<T> getter = this::get;
+  private final OrderedOps.ByteSetter<T> setter = this::set;
+
   private final OrderedOps orderedOps;
 
+  /**
+   * Whether the low word of a 32 or 64-bit value comes first, so that word-aligned bit fields
+   * can be read and written as ints and longs; see {@link ByteOps#getBits(Object, int, int)}.
+   */
+  private final boolean lowWordFirst;
+
+  /**
+   * Whether the high byte of each 16-bit word comes first, so that bit fields start in the
+   * second byte of each word.
+   */
+  private final boolean highByteFirst;
+
   public AbstractByteOps(OrderedOps orderedOps) {
     this.orderedOps = orderedOps;
+
+    // derive the bit numbering from the ordering itself so custom OrderedOps are supported
+    byte[] probe = new byte[]{0x01, 0x02, 0x03, 0x04};
+    OrderedOps.ByteGetter<byte[]> probeGetter = (bs, i) -> bs[i];
+    short word = orderedOps.getShort(probeGetter, probe, 0);
+
+    lowWordFirst = (short) orderedOps.getInt(probeGetter, probe, 0) == word;
+    highByteFirst = word == 0x0102;
   }
 
   /**
@@ -38,17 +63,17 @@ public abstract class AbstractByteOps<T> implements ByteOps<T> {
 
   @Override
   public short getShort(T bytes, int index) {
-    return orderedOps.getShort(idx -> get(bytes, idx), index);
+    return orderedOps.getShort(getter, bytes, index);
   }
 
   @Override
   public int getInt(T bytes, int index) {
-    return orderedOps.getInt(idx -> get(bytes, idx), index);
+    return orderedOps.getInt(getter, bytes, index);
   }
 
   @Override
   public long getLong(T bytes, int index) {
-    return orderedOps.getLong(idx -> get(bytes, idx), index);
+    return orderedOps.getLong(getter, bytes, index);
   }
 
   @Override
@@ -77,17 +102,17 @@ public abstract class AbstractByteOps<T> implements ByteOps<T> {
 
   @Override
   public void setShort(T bytes, int index, short value) {
-    orderedOps.setShort((idx, b) -> set(bytes, idx, b), index, value);
+    orderedOps.setShort(setter, bytes, index, value);
   }
 
   @Override
   public void setInt(T bytes, int index, int value) {
-    orderedOps.setInt((idx, b) -> set(bytes, idx, b), index, value);
+    orderedOps.setInt(setter, bytes, index, value);
   }
 
   @Override
   public void setLong(T bytes, int index, long value) {
-    orderedOps.setLong((idx, b) -> set(bytes, idx, b), index, value);
+    orderedOps.setLong(setter, bytes, index, value);
   }
 
   @Override
@@ -100,4 +125,208 @@ public abstract class AbstractByteOps<T> implements ByteOps<T> {
     setLong(bytes, index, Double.doubleToRawLongBits(value));
   }
 
+  @Override
+  public long getBits(T bytes, int bitOffset, int bitLength) {
+    checkBits(bitOffset, bitLength);
+
+    if ((bitOffset & 15) == 0) {
+      int index = bitOffset >>> 3;
+
+      switch (bitLength) {
+        case Short.SIZE:
+          return getShort(bytes, index) & 0xFFFFL;
+        case Integer.SIZE:
+          int i = getInt(bytes, index);
+          return (lowWordFirst ? i : Integer.rotateLeft(i, 16)) & 0xFFFFFFFFL;
+        case Long.SIZE:
+          long l = getLong(bytes, index);
+          return lowWordFirst ? l : reverseWords(l);
+        default:
+          break;
+      }
+    }
+
+    return readBits(bytes, bitOffset, bitLength, highByteFirst);
+  }
+
+  @Override
+  public void setBits(T bytes, int bitOffset, int bitLength, long value) {
+    checkBits(bitOffset, bitLength);
+
+    if ((bitOffset & 15) == 0) {
+      int index = bitOffset >>> 3;
+
+      switch (bitLength) {
+        case Short.SIZE:
+          setShort(bytes, index, (short) value);
+          return;
+        case Integer.SIZE:
+          int i = (int) value;
+          setInt(bytes, index, lowWordFirst ? i : Integer.rotateLeft(i, 16));
+          return;
+        case Long.SIZE:
+          setLong(bytes, index, lowWordFirst ? value : reverseWords(value));
+          return;
+        default:
+          break;
+      }
+    }
+
+    writeBits(bytes, bitOffset, bitLength, value, highByteFirst);
+  }
+
+  @Override
+  public void getPackedBits(T bytes, int bitOffset, boolean[] dst, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, dst.length);
+    checkBits(bitOffset, 0);
+
+    for (int i = 0; i < length; i += Long.SIZE) {
+      int count = Math.min(Long.SIZE, length - i);
+      long bits = readBits(bytes, (long) bitOffset + i, count, false);
+
+      for (int k = 0; k < count; k++) {
+        dst[offset + i + k] = (bits >>> k & 1L) != 0;
+      }
+    }
+  }
+
+  @Override
+  public void getPackedBits(T bytes, int bitOffset, long[] dst, int length) {
+    Objects.checkFromIndexSize(0, (int) ((length + 63L) >>> 6), dst.length);
+    checkBits(bitOffset, 0);
+
+    for (int i = 0; i < length; i += Long.SIZE) {
+      int count = Math.min(Long.SIZE, length - i);
+
+      dst[i >>> 6] = readBits(bytes, (long) bitOffset + i, count, false);
+    }
+  }
+
+  @Override
+  public void setPackedBits(T bytes, int bitOffset, boolean[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+    checkBits(bitOffset, 0);
+
+    for (int i = 0; i < length; i += Long.SIZE) {
+      int count = Math.min(Long.SIZE, length - i);
+      long bits = 0L;
+
+      for (int k = 0; k < count; k++) {
+        if (src[offset + i + k]) {
+          bits |= 1L << k;
+        }
+      }
+
+      writeBits(bytes, (long) bitOffset + i, count, bits, false);
+    }
+  }
+
+  @Override
+  public void setPackedBits(T bytes, int bitOffset, long[] src, int length) {
+    Objects.checkFromIndexSize(0, (int) ((length + 63L) >>> 6), src.length);
+    checkBits(bitOffset, 0);
+
+    for (int i = 0; i < length; i += Long.SIZE) {
+      int count = Math.min(Long.SIZE, length - i);
+
+      writeBits(bytes, (long) bitOffset + i, count, src[i >>> 6], false);
+    }
+  }
+
+  /**
+   * Read the {@code bitLength} bits starting at {@code bitOffset} a byte at a time, least
+   * significant bit first, with the bytes of each 16-bit word swapped if {@code swapBytes}.
+   */
+  private long readBits(T bytes, long bitOffset, int bitLength, boolean swapBytes) {
+    long value = 0L;
+    int shift = 0;
+
+    while (bitLength > 0) {
+      int bit = (int) bitOffset & 7;
+      int count = Math.min(8 - bit, bitLength);
+      int octet = get(bytes, octetIndex(bitOffset, swapBytes)) & 0xFF;
+
+      value |= (long) (octet >>> bit & (1 << count) - 1) << shift;
+
+      shift += count;
+      bitOffset += count;
+      bitLength -= count;
+    }
+
+    return value;
+  }
+
+  /**
+   * Write the low {@code bitLength} bits of {@code value} starting at {@code bitOffset} a byte at
+   * a time, keeping the surrounding bits of each byte, least significant bit first, with the
+   * bytes of each 16-bit word swapped if {@code swapBytes}.
+   */
+  private void writeBits(T bytes, long bitOffset, int bitLength, long value, boolean swapBytes) {
+    while (bitLength > 0) {
+      int bit = (int) bitOffset & 7;
+      int count = Math.min(8 - bit, bitLength);
+      int mask = ((1 << count) - 1) << bit;
+      int index = octetIndex(bitOffset, swapBytes);
+
+      if (count == 8) {
+        set(bytes, index, (byte) value);
+      } else {
+        int octet = get(bytes, index);
+
+        set(bytes, index, (byte) (octet & ~mask | (int) value << bit & mask));
+      }
+
+      value >>>= count;
+      bitOffset += count;
+      bitLength -= count;
+    }
+  }
+
+  /**
+   * Get the index of the byte that holds bit {@code bitOffset}.
+   */
+  private static int octetIndex(long bitOffset, boolean swapBytes) {
+    int index = (int) (bitOffset >>> 3);
+
+    return swapBytes ? index ^ 1 : index;
+  }
+
+  /**
+   * Reverse the order of the 16-bit words of {@code value}.
+   */
+  private static long reverseWords(long value) {
+    value = value >>> 32 | value << 32;
+
+    return (value >>> 16 & 0x0000FFFF0000FFFFL) | (value & 0x0000FFFF0000FFFFL) << 16;
+  }
+
+  private static void checkBits(int bitOffset, int bitLength) {
+    if (bitOffset < 0) {
+      throw new IndexOutOfBoundsException("bitOffset: " + bitOffset);
+    }
+    if (bitLength < 0 || bitLength > Long.SIZE) {
+      throw new IllegalArgumentException(
+          String.format("bitLength: %d (expected: range(0, %d))", bitLength, Long.SIZE + 1));
+    }
+  }
+
+  /**
+   * Check that {@code count} values of {@code size} bytes each, starting at {@code index}, fit
+   * within {@code capacity} bytes.
+   *
+   * @param index the index of the first value.
+   * @param count the number of values.
+   * @param size the size, in bytes, of each value.
+   * @param capacity the number of bytes available.
+   * @throws IndexOutOfBoundsException if the values do not fit within {@code capacity}.
+   */
+  protected static void checkBulkIndex(int index, int count, int size, int capacity) {
+    long length = (long) count * size;
+
+    if (index < 0 || count < 0 || index + length > capacity) {
+      throw new IndexOutOfBoundsException(String.format(
+          "index: %d, length: %d (expected: range(0, %d))", index, length, capacity));
+    }
+  }
+
 }
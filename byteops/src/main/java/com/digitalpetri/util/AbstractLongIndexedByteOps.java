@@ -0,0 +1,236 @@
+package com.digitalpetri.util;
+
+/**
+ * Adapts one of the four built-in {@link OrderedOps} orderings to bytes addressed with 64-bit
+ * indices.
+ *
+ * <p>Subclasses get and set single bytes, and may override the big-endian wide accessors (e.g.
+ * {@link #getIntBigEndian(Object, long)}) with a single wide access. Values in the configured
+ * ordering are derived from the big-endian value by a byte reversal for the little-endian
+ * orderings and a word swap for the low-high orderings.
+ *
+ * @param <T> the type of bytes.
+ */
+public abstract class AbstractLongIndexedByteOps<T> implements LongIndexedByteOps<T> {
+
+  private final boolean littleEndian;
+  private final boolean lowHigh;
+
+  /**
+   * Create an {@link AbstractLongIndexedByteOps} with the ordering of {@code orderedOps}.
+   *
+   * @param orderedOps one of the four built-in {@link OrderedOps} implementations.
+   * @throws IllegalArgumentException if {@code orderedOps} is not a built-in implementation.
+   */
+  public AbstractLongIndexedByteOps(OrderedOps orderedOps) {
+    if (!(orderedOps instanceof OrderedOps.BigEndianOps
+        || orderedOps instanceof OrderedOps.LittleEndianOps
+        || orderedOps instanceof OrderedOps.BigEndianLowHighOps
+        || orderedOps instanceof OrderedOps.LittleEndianLowHighOps)) {
+
+      throw new IllegalArgumentException("unsupported OrderedOps: " + orderedOps);
+    }
+
+    littleEndian = orderedOps instanceof OrderedOps.LittleEndianOps
+        || orderedOps instanceof OrderedOps.LittleEndianLowHighOps;
+    lowHigh = orderedOps instanceof OrderedOps.BigEndianLowHighOps
+        || orderedOps instanceof OrderedOps.LittleEndianLowHighOps;
+  }
+
+  /**
+   * Get the byte at the given {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} to get the value at.
+   * @return the byte at the given {@code index}.
+   */
+  protected abstract byte get(T bytes, long index);
+
+  /**
+   * Set the byte at the given {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to set the value at.
+   * @param value the value to set.
+   */
+  protected abstract void set(T bytes, long index, byte value);
+
+  /**
+   * Get the big-endian short value at the given {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} to get the value at.
+   * @return the big-endian short value at the given {@code index}.
+   */
+  protected short getShortBigEndian(T bytes, long index) {
+    return (short) getBigEndian(bytes, index, Short.BYTES);
+  }
+
+  /**
+   * Get the big-endian int value at the given {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} to get the value at.
+   * @return the big-endian int value at the given {@code index}.
+   */
+  protected int getIntBigEndian(T bytes, long index) {
+    return (int) getBigEndian(bytes, index, Integer.BYTES);
+  }
+
+  /**
+   * Get the big-endian long value at the given {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} to get the value at.
+   * @return the big-endian long value at the given {@code index}.
+   */
+  protected long getLongBigEndian(T bytes, long index) {
+    return getBigEndian(bytes, index, Long.BYTES);
+  }
+
+  /**
+   * Set the short value at the given {@code index} in {@code bytes} in big-endian order.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to set the value at.
+   * @param value the value to set.
+   */
+  protected void setShortBigEndian(T bytes, long index, short value) {
+    setBigEndian(bytes, index, Short.BYTES, value);
+  }
+
+  /**
+   * Set the int value at the given {@code index} in {@code bytes} in big-endian order.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to set the value at.
+   * @param value the value to set.
+   */
+  protected void setIntBigEndian(T bytes, long index, int value) {
+    setBigEndian(bytes, index, Integer.BYTES, value);
+  }
+
+  /**
+   * Set the long value at the given {@code index} in {@code bytes} in big-endian order.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to set the value at.
+   * @param value the value to set.
+   */
+  protected void setLongBigEndian(T bytes, long index, long value) {
+    setBigEndian(bytes, index, Long.BYTES, value);
+  }
+
+  @Override
+  public boolean getBoolean(T bytes, long index) {
+    return get(bytes, index) != 0;
+  }
+
+  @Override
+  public byte getByte(T bytes, long index) {
+    return get(bytes, index);
+  }
+
+  @Override
+  public short getShort(T bytes, long index) {
+    short value = getShortBigEndian(bytes, index);
+
+    return littleEndian ? Short.reverseBytes(value) : value;
+  }
+
+  @Override
+  public int getInt(T bytes, long index) {
+    int value = getIntBigEndian(bytes, index);
+
+    if (littleEndian) {
+      value = Integer.reverseBytes(value);
+    }
+
+    return lowHigh ? OrderedOps.swapWords(value) : value;
+  }
+
+  @Override
+  public long getLong(T bytes, long index) {
+    long value = getLongBigEndian(bytes, index);
+
+    if (littleEndian) {
+      value = Long.reverseBytes(value);
+    }
+
+    return lowHigh ? OrderedOps.swapWords(value) : value;
+  }
+
+  @Override
+  public float getFloat(T bytes, long index) {
+    return Float.intBitsToFloat(getInt(bytes, index));
+  }
+
+  @Override
+  public double getDouble(T bytes, long index) {
+    return Double.longBitsToDouble(getLong(bytes, index));
+  }
+
+  @Override
+  public void setBoolean(T bytes, long index, boolean value) {
+    if (value) {
+      set(bytes, index, (byte) 1);
+    } else {
+      set(bytes, index, (byte) 0);
+    }
+  }
+
+  @Override
+  public void setByte(T bytes, long index, byte value) {
+    set(bytes, index, value);
+  }
+
+  @Override
+  public void setShort(T bytes, long index, short value) {
+    setShortBigEndian(bytes, index, littleEndian ? Short.reverseBytes(value) : value);
+  }
+
+  @Override
+  public void setInt(T bytes, long index, int value) {
+    if (lowHigh) {
+      value = OrderedOps.swapWords(value);
+    }
+
+    setIntBigEndian(bytes, index, littleEndian ? Integer.reverseBytes(value) : value);
+  }
+
+  @Override
+  public void setLong(T bytes, long index, long value) {
+    if (lowHigh) {
+      value = OrderedOps.swapWords(value);
+    }
+
+    setLongBigEndian(bytes, index, littleEndian ? Long.reverseBytes(value) : value);
+  }
+
+  @Override
+  public void setFloat(T bytes, long index, float value) {
+    setInt(bytes, index, Float.floatToRawIntBits(value));
+  }
+
+  @Override
+  public void setDouble(T bytes, long index, double value) {
+    setLong(bytes, index, Double.doubleToRawLongBits(value));
+  }
+
+  private long getBigEndian(T bytes, long index, int length) {
+    long value = 0L;
+
+    for (int i = 0; i < length; i++) {
+      value = value << 8 | get(bytes, index + i) & 0xFF;
+    }
+
+    return value;
+  }
+
+  private void setBigEndian(T bytes, long index, int length, long value) {
+    for (int i = 0; i < length; i++) {
+      set(bytes, index + i, (byte) (value >>> (length - 1 - i) * 8));
+    }
+  }
+
+}
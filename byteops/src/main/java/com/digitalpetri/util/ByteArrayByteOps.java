@@ -1,7 +1,19 @@
 package com.digitalpetri.util;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.zip.Checksum;
+
 /**
  * {@link ByteOps} implementation that operates on byte arrays.
+ *
+ * <p>When constructed with one of the built-in {@link OrderedOps} implementations, multi-byte
+ * values are read and written with a single wide access through a byte array view
+ * {@link VarHandle}, followed by a word swap for the low-high word orders. Any other
+ * {@link OrderedOps} falls back to assembling values byte-by-byte.
  */
 public final class ByteArrayByteOps extends AbstractByteOps<byte[]> {
 
@@ -30,8 +42,31 @@ public final class ByteArrayByteOps extends AbstractByteOps<byte[]> {
       new ByteArrayByteOps(new OrderedOps.LittleEndianLowHighOps());
 
 
+  private static final VarHandle SHORT_BE =
+      MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle SHORT_LE =
+      MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle INT_BE =
+      MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle INT_LE =
+      MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle LONG_BE =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle LONG_LE =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private final boolean wide;
+  private final boolean bigEndian;
+  private final boolean lowHigh;
+
   public ByteArrayByteOps(OrderedOps orderedOps) {
     super(orderedOps);
+
+    bigEndian = orderedOps instanceof OrderedOps.BigEndianOps
+        || orderedOps instanceof OrderedOps.BigEndianLowHighOps;
+    lowHigh = orderedOps instanceof OrderedOps.BigEndianLowHighOps
+        || orderedOps instanceof OrderedOps.LittleEndianLowHighOps;
+    wide = bigEndian || lowHigh || orderedOps instanceof OrderedOps.LittleEndianOps;
   }
 
   @Override
@@ -44,4 +79,276 @@ public final class ByteArrayByteOps extends AbstractByteOps<byte[]> {
     bytes[index] = value;
   }
 
+  @Override
+  public short getShort(byte[] bytes, int index) {
+    if (!wide) {
+      return super.getShort(bytes, index);
+    }
+
+    return bigEndian ? (short) SHORT_BE.get(bytes, index) : (short) SHORT_LE.get(bytes, index);
+  }
+
+  @Override
+  public int getInt(byte[] bytes, int index) {
+    if (!wide) {
+      return super.getInt(bytes, index);
+    }
+
+    int value = bigEndian ? (int) INT_BE.get(bytes, index) : (int) INT_LE.get(bytes, index);
+
+    return lowHigh ? OrderedOps.swapWords(value) : value;
+  }
+
+  @Override
+  public long getLong(byte[] bytes, int index) {
+    if (!wide) {
+      return super.getLong(bytes, index);
+    }
+
+    long value = bigEndian ? (long) LONG_BE.get(bytes, index) : (long) LONG_LE.get(bytes, index);
+
+    return lowHigh ? OrderedOps.swapWords(value) : value;
+  }
+
+  @Override
+  public void setShort(byte[] bytes, int index, short value) {
+    if (!wide) {
+      super.setShort(bytes, index, value);
+    } else if (bigEndian) {
+      SHORT_BE.set(bytes, index, value);
+    } else {
+      SHORT_LE.set(bytes, index, value);
+    }
+  }
+
+  @Override
+  public void setInt(byte[] bytes, int index, int value) {
+    if (!wide) {
+      super.setInt(bytes, index, value);
+      return;
+    }
+
+    if (lowHigh) {
+      value = OrderedOps.swapWords(value);
+    }
+
+    if (bigEndian) {
+      INT_BE.set(bytes, index, value);
+    } else {
+      INT_LE.set(bytes, index, value);
+    }
+  }
+
+  @Override
+  public void setLong(byte[] bytes, int index, long value) {
+    if (!wide) {
+      super.setLong(bytes, index, value);
+      return;
+    }
+
+    if (lowHigh) {
+      value = OrderedOps.swapWords(value);
+    }
+
+    if (bigEndian) {
+      LONG_BE.set(bytes, index, value);
+    } else {
+      LONG_LE.set(bytes, index, value);
+    }
+  }
+
+  @Override
+  public void getBooleans(byte[] bytes, int index, boolean[] dst, int offset, int length) {
+    checkBulkIndex(index, length, 1, bytes.length);
+    Objects.checkFromIndexSize(offset, length, dst.length);
+
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = bytes[index + i] != 0;
+    }
+  }
+
+  @Override
+  public void getBytes(byte[] bytes, int index, byte[] dst, int offset, int length) {
+    System.arraycopy(bytes, index, dst, offset, length);
+  }
+
+  @Override
+  public void getShorts(byte[] bytes, int index, short[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Short.BYTES, bytes.length);
+    Objects.checkFromIndexSize(offset, length, dst.length);
+
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getShort(bytes, index + i * Short.BYTES);
+    }
+  }
+
+  @Override
+  public void getInts(byte[] bytes, int index, int[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Integer.BYTES, bytes.length);
+    Objects.checkFromIndexSize(offset, length, dst.length);
+
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getInt(bytes, index + i * Integer.BYTES);
+    }
+  }
+
+  @Override
+  public void getLongs(byte[] bytes, int index, long[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Long.BYTES, bytes.length);
+    Objects.checkFromIndexSize(offset, length, dst.length);
+
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getLong(bytes, index + i * Long.BYTES);
+    }
+  }
+
+  @Override
+  public void getFloats(byte[] bytes, int index, float[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Float.BYTES, bytes.length);
+    Objects.checkFromIndexSize(offset, length, dst.length);
+
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getFloat(bytes, index + i * Float.BYTES);
+    }
+  }
+
+  @Override
+  public void getDoubles(byte[] bytes, int index, double[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Double.BYTES, bytes.length);
+    Objects.checkFromIndexSize(offset, length, dst.length);
+
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getDouble(bytes, index + i * Double.BYTES);
+    }
+  }
+
+  @Override
+  public void setBooleans(byte[] bytes, int index, boolean[] src, int offset, int length) {
+    checkBulkIndex(index, length, 1, bytes.length);
+    Objects.checkFromIndexSize(offset, length, src.length);
+
+    for (int i = 0; i < length; i++) {
+      bytes[index + i] = src[offset + i] ? (byte) 1 : (byte) 0;
+    }
+  }
+
+  @Override
+  public void setBytes(byte[] bytes, int index, byte[] src, int offset, int length) {
+    System.arraycopy(src, offset, bytes, index, length);
+  }
+
+  @Override
+  public void setShorts(byte[] bytes, int index, short[] src, int offset, int length) {
+    checkBulkIndex(index, length, Short.BYTES, bytes.length);
+    Objects.checkFromIndexSize(offset, length, src.length);
+
+    for (int i = 0; i < length; i++) {
+      setShort(bytes, index + i * Short.BYTES, src[offset + i]);
+    }
+  }
+
+  @Override
+  public void setInts(byte[] bytes, int index, int[] src, int offset, int length) {
+    checkBulkIndex(index, length, Integer.BYTES, bytes.length);
+    Objects.checkFromIndexSize(offset, length, src.length);
+
+    for (int i = 0; i < length; i++) {
+      setInt(bytes, index + i * Integer.BYTES, src[offset + i]);
+    }
+  }
+
+  @Override
+  public void setLongs(byte[] bytes, int index, long[] src, int offset, int length) {
+    checkBulkIndex(index, length, Long.BYTES, bytes.length);
+    Objects.checkFromIndexSize(offset, length, src.length);
+
+    for (int i = 0; i < length; i++) {
+      setLong(bytes, index + i * Long.BYTES, src[offset + i]);
+    }
+  }
+
+  @Override
+  public void setFloats(byte[] bytes, int index, float[] src, int offset, int length) {
+    checkBulkIndex(index, length, Float.BYTES, bytes.length);
+    Objects.checkFromIndexSize(offset, length, src.length);
+
+    for (int i = 0; i < length; i++) {
+      setFloat(bytes, index + i * Float.BYTES, src[offset + i]);
+    }
+  }
+
+  @Override
+  public void setDoubles(byte[] bytes, int index, double[] src, int offset, int length) {
+    checkBulkIndex(index, length, Double.BYTES, bytes.length);
+    Objects.checkFromIndexSize(offset, length, src.length);
+
+    for (int i = 0; i < length; i++) {
+      setDouble(bytes, index + i * Double.BYTES, src[offset + i]);
+    }
+  }
+
+  @Override
+  public long getVarLong(byte[] bytes, int index) {
+    if (bytes.length - index >= Long.BYTES) {
+      long word = (long) LONG_LE.get(bytes, index);
+      int length = VarInts.length(word);
+
+      if (length != 0) {
+        return VarInts.decode(word, length);
+      }
+    }
+
+    return VarInts.getVarLong(this, bytes, index);
+  }
+
+  @Override
+  public int getVarLength(byte[] bytes, int index) {
+    if (bytes.length - index >= Long.BYTES) {
+      int length = VarInts.length((long) LONG_LE.get(bytes, index));
+
+      if (length != 0) {
+        return length;
+      }
+    }
+
+    return VarInts.getVarLength(this, bytes, index);
+  }
+
+  @Override
+  public int setVarLong(byte[] bytes, int index, long value) {
+    int i = index;
+
+    while ((value & ~0x7FL) != 0L) {
+      bytes[i++] = (byte) (value | 0x80);
+      value >>>= 7;
+    }
+
+    bytes[i++] = (byte) value;
+
+    return i - index;
+  }
+
+  @Override
+  public String getString(byte[] bytes, int index, int length, Charset charset, StringOrder order) {
+    return ByteStrings.decode(bytes, index, length, charset, order);
+  }
+
+  @Override
+  public void setString(
+      byte[] bytes,
+      int index,
+      int length,
+      String value,
+      Charset charset,
+      StringOrder order
+  ) {
+
+    ByteStrings.encode(bytes, index, length, value, charset, order);
+  }
+
+  @Override
+  public void updateChecksum(byte[] bytes, int index, int length, Checksum checksum) {
+    checksum.update(bytes, index, length);
+  }
+
 }
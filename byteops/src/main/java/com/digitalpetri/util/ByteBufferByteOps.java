@@ -1,9 +1,19 @@
 package com.digitalpetri.util;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.zip.Checksum;
 
 /**
  * {@link ByteOps} implementation that operates on {@link ByteBuffer}s.
+ *
+ * <p>When constructed with one of the built-in {@link OrderedOps} implementations, multi-byte
+ * values are read and written with the buffer's absolute wide accessors. Values are byte-swapped
+ * when the buffer's own {@link ByteBuffer#order()} differs from this instance's byte order, so the
+ * buffer's order is never changed, and word-swapped for the low-high word orders. Any other
+ * {@link OrderedOps} falls back to assembling values byte-by-byte.
  */
 public final class ByteBufferByteOps extends AbstractByteOps<ByteBuffer> {
 
@@ -32,8 +42,24 @@ public final class ByteBufferByteOps extends AbstractByteOps<ByteBuffer> {
       new ByteBufferByteOps(new OrderedOps.LittleEndianLowHighOps());
 
 
+  private final ByteOrder byteOrder;
+  private final boolean lowHigh;
+
   public ByteBufferByteOps(OrderedOps orderedOps) {
     super(orderedOps);
+
+    if (orderedOps instanceof OrderedOps.BigEndianOps
+        || orderedOps instanceof OrderedOps.BigEndianLowHighOps) {
+      byteOrder = ByteOrder.BIG_ENDIAN;
+    } else if (orderedOps instanceof OrderedOps.LittleEndianOps
+        || orderedOps instanceof OrderedOps.LittleEndianLowHighOps) {
+      byteOrder = ByteOrder.LITTLE_ENDIAN;
+    } else {
+      byteOrder = null;
+    }
+
+    lowHigh = orderedOps instanceof OrderedOps.BigEndianLowHighOps
+        || orderedOps instanceof OrderedOps.LittleEndianLowHighOps;
   }
 
   @Override
@@ -46,4 +72,357 @@ public final class ByteBufferByteOps extends AbstractByteOps<ByteBuffer> {
     bytes.put(index, value);
   }
 
+  @Override
+  public short getShort(ByteBuffer bytes, int index) {
+    if (byteOrder == null) {
+      return super.getShort(bytes, index);
+    }
+
+    short value = bytes.getShort(index);
+
+    return bytes.order() == byteOrder ? value : Short.reverseBytes(value);
+  }
+
+  @Override
+  public int getInt(ByteBuffer bytes, int index) {
+    if (byteOrder == null) {
+      return super.getInt(bytes, index);
+    }
+
+    int value = bytes.getInt(index);
+
+    if (bytes.order() != byteOrder) {
+      value = Integer.reverseBytes(value);
+    }
+
+    return lowHigh ? OrderedOps.swapWords(value) : value;
+  }
+
+  @Override
+  public long getLong(ByteBuffer bytes, int index) {
+    if (byteOrder == null) {
+      return super.getLong(bytes, index);
+    }
+
+    long value = bytes.getLong(index);
+
+    if (bytes.order() != byteOrder) {
+      value = Long.reverseBytes(value);
+    }
+
+    return lowHigh ? OrderedOps.swapWords(value) : value;
+  }
+
+  @Override
+  public void setShort(ByteBuffer bytes, int index, short value) {
+    if (byteOrder == null) {
+      super.setShort(bytes, index, value);
+      return;
+    }
+
+    bytes.putShort(index, bytes.order() == byteOrder ? value : Short.reverseBytes(value));
+  }
+
+  @Override
+  public void setInt(ByteBuffer bytes, int index, int value) {
+    if (byteOrder == null) {
+      super.setInt(bytes, index, value);
+      return;
+    }
+
+    if (lowHigh) {
+      value = OrderedOps.swapWords(value);
+    }
+
+    bytes.putInt(index, bytes.order() == byteOrder ? value : Integer.reverseBytes(value));
+  }
+
+  @Override
+  public void setLong(ByteBuffer bytes, int index, long value) {
+    if (byteOrder == null) {
+      super.setLong(bytes, index, value);
+      return;
+    }
+
+    if (lowHigh) {
+      value = OrderedOps.swapWords(value);
+    }
+
+    bytes.putLong(index, bytes.order() == byteOrder ? value : Long.reverseBytes(value));
+  }
+
+  @Override
+  public void getBooleans(ByteBuffer bytes, int index, boolean[] dst, int offset, int length) {
+    checkBulkIndex(index, length, 1, bytes.limit());
+    Objects.checkFromIndexSize(offset, length, dst.length);
+
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = bytes.get(index + i) != 0;
+    }
+  }
+
+  @Override
+  public void getBytes(ByteBuffer bytes, int index, byte[] dst, int offset, int length) {
+    checkBulkIndex(index, length, 1, bytes.limit());
+
+    bytes.duplicate().position(index).get(dst, offset, length);
+  }
+
+  @Override
+  public void getShorts(ByteBuffer bytes, int index, short[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Short.BYTES, bytes.limit());
+
+    if (byteOrder != null) {
+      view(bytes, index).asShortBuffer().get(dst, offset, length);
+    } else {
+      Objects.checkFromIndexSize(offset, length, dst.length);
+
+      for (int i = 0; i < length; i++) {
+        dst[offset + i] = getShort(bytes, index + i * Short.BYTES);
+      }
+    }
+  }
+
+  @Override
+  public void getInts(ByteBuffer bytes, int index, int[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Integer.BYTES, bytes.limit());
+
+    if (byteOrder != null && !lowHigh) {
+      view(bytes, index).asIntBuffer().get(dst, offset, length);
+    } else {
+      Objects.checkFromIndexSize(offset, length, dst.length);
+
+      for (int i = 0; i < length; i++) {
+        dst[offset + i] = getInt(bytes, index + i * Integer.BYTES);
+      }
+    }
+  }
+
+  @Override
+  public void getLongs(ByteBuffer bytes, int index, long[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Long.BYTES, bytes.limit());
+
+    if (byteOrder != null && !lowHigh) {
+      view(bytes, index).asLongBuffer().get(dst, offset, length);
+    } else {
+      Objects.checkFromIndexSize(offset, length, dst.length);
+
+      for (int i = 0; i < length; i++) {
+        dst[offset + i] = getLong(bytes, index + i * Long.BYTES);
+      }
+    }
+  }
+
+  @Override
+  public void getFloats(ByteBuffer bytes, int index, float[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Float.BYTES, bytes.limit());
+
+    if (byteOrder != null && !lowHigh) {
+      view(bytes, index).asFloatBuffer().get(dst, offset, length);
+    } else {
+      Objects.checkFromIndexSize(offset, length, dst.length);
+
+      for (int i = 0; i < length; i++) {
+        dst[offset + i] = getFloat(bytes, index + i * Float.BYTES);
+      }
+    }
+  }
+
+  @Override
+  public void getDoubles(ByteBuffer bytes, int index, double[] dst, int offset, int length) {
+    checkBulkIndex(index, length, Double.BYTES, bytes.limit());
+
+    if (byteOrder != null && !lowHigh) {
+      view(bytes, index).asDoubleBuffer().get(dst, offset, length);
+    } else {
+      Objects.checkFromIndexSize(offset, length, dst.length);
+
+      for (int i = 0; i < length; i++) {
+        dst[offset + i] = getDouble(bytes, index + i * Double.BYTES);
+      }
+    }
+  }
+
+  @Override
+  public void setBooleans(ByteBuffer bytes, int index, boolean[] src, int offset, int length) {
+    checkBulkIndex(index, length, 1, bytes.limit());
+    Objects.checkFromIndexSize(offset, length, src.length);
+
+    for (int i = 0; i < length; i++) {
+      bytes.put(index + i, src[offset + i] ? (byte) 1 : (byte) 0);
+    }
+  }
+
+  @Override
+  public void setBytes(ByteBuffer bytes, int index, byte[] src, int offset, int length) {
+    checkBulkIndex(index, length, 1, bytes.limit());
+
+    bytes.duplicate().position(index).put(src, offset, length);
+  }
+
+  @Override
+  public void setShorts(ByteBuffer bytes, int index, short[] src, int offset, int length) {
+    checkBulkIndex(index, length, Short.BYTES, bytes.limit());
+
+    if (byteOrder != null) {
+      view(bytes, index).asShortBuffer().put(src, offset, length);
+    } else {
+      Objects.checkFromIndexSize(offset, length, src.length);
+
+      for (int i = 0; i < length; i++) {
+        setShort(bytes, index + i * Short.BYTES, src[offset + i]);
+      }
+    }
+  }
+
+  @Override
+  public void setInts(ByteBuffer bytes, int index, int[] src, int offset, int length) {
+    checkBulkIndex(index, length, Integer.BYTES, bytes.limit());
+
+    if (byteOrder != null && !lowHigh) {
+      view(bytes, index).asIntBuffer().put(src, offset, length);
+    } else {
+      Objects.checkFromIndexSize(offset, length, src.length);
+
+      for (int i = 0; i < length; i++) {
+        setInt(bytes, index + i * Integer.BYTES, src[offset + i]);
+      }
+    }
+  }
+
+  @Override
+  public void setLongs(ByteBuffer bytes, int index, long[] src, int offset, int length) {
+    checkBulkIndex(index, length, Long.BYTES, bytes.limit());
+
+    if (byteOrder != null && !lowHigh) {
+      view(bytes, index).asLongBuffer().put(src, offset, length);
+    } else {
+      Objects.checkFromIndexSize(offset, length, src.length);
+
+      for (int i = 0; i < length; i++) {
+        setLong(bytes, index + i * Long.BYTES, src[offset + i]);
+      }
+    }
+  }
+
+  @Override
+  public void setFloats(ByteBuffer bytes, int index, float[] src, int offset, int length) {
+    checkBulkIndex(index, length, Float.BYTES, bytes.limit());
+
+    if (byteOrder != null && !lowHigh) {
+      view(bytes, index).asFloatBuffer().put(src, offset, length);
+    } else {
+      Objects.checkFromIndexSize(offset, length, src.length);
+
+      for (int i = 0; i < length; i++) {
+        setFloat(bytes, index + i * Float.BYTES, src[offset + i]);
+      }
+    }
+  }
+
+  @Override
+  public void setDoubles(ByteBuffer bytes, int index, double[] src, int offset, int length) {
+    checkBulkIndex(index, length, Double.BYTES, bytes.limit());
+
+    if (byteOrder != null && !lowHigh) {
+      view(bytes, index).asDoubleBuffer().put(src, offset, length);
+    } else {
+      Objects.checkFromIndexSize(offset, length, src.length);
+
+      for (int i = 0; i < length; i++) {
+        setDouble(bytes, index + i * Double.BYTES, src[offset + i]);
+      }
+    }
+  }
+
+  @Override
+  public String getString(
+      ByteBuffer bytes,
+      int index,
+      int length,
+      Charset charset,
+      StringOrder order
+  ) {
+
+    if (bytes.hasArray()) {
+      checkBulkIndex(index, length, 1, bytes.limit());
+
+      return ByteStrings.decode(bytes.array(), bytes.arrayOffset() + index, length, charset, order);
+    } else {
+      return super.getString(bytes, index, length, charset, order);
+    }
+  }
+
+  @Override
+  public void setString(
+      ByteBuffer bytes,
+      int index,
+      int length,
+      String value,
+      Charset charset,
+      StringOrder order
+  ) {
+
+    if (bytes.hasArray()) {
+      checkBulkIndex(index, length, 1, bytes.limit());
+
+      ByteStrings.encode(
+          bytes.array(), bytes.arrayOffset() + index, length, value, charset, order);
+    } else {
+      super.setString(bytes, index, length, value, charset, order);
+    }
+  }
+
+  /**
+   * Get a duplicate of {@code bytes}, positioned at {@code index} and in this instance's byte
+   * order, for use with the bulk transfer methods of its typed views.
+   */
+  private ByteBuffer view(ByteBuffer bytes, int index) {
+    return bytes.duplicate().position(index).order(byteOrder);
+  }
+
+  @Override
+  public long getVarLong(ByteBuffer bytes, int index) {
+    if (bytes.limit() - index >= Long.BYTES) {
+      long word = littleEndianLong(bytes, index);
+      int length = VarInts.length(word);
+
+      if (length != 0) {
+        return VarInts.decode(word, length);
+      }
+    }
+
+    return VarInts.getVarLong(this, bytes, index);
+  }
+
+  @Override
+  public int getVarLength(ByteBuffer bytes, int index) {
+    if (bytes.limit() - index >= Long.BYTES) {
+      int length = VarInts.length(littleEndianLong(bytes, index));
+
+      if (length != 0) {
+        return length;
+      }
+    }
+
+    return VarInts.getVarLength(this, bytes, index);
+  }
+
+  private static long littleEndianLong(ByteBuffer bytes, int index) {
+    long value = bytes.getLong(index);
+
+    return bytes.order() == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value);
+  }
+
+  @Override
+  public void updateChecksum(ByteBuffer bytes, int index, int length, Checksum checksum) {
+    checkBulkIndex(index, length, 1, bytes.limit());
+
+    // CRC32 and CRC32C checksum direct buffers in place; others read heap buffers' arrays
+    ByteBuffer region = bytes.duplicate();
+    region.limit(index + length).position(index);
+
+    checksum.update(region);
+  }
+
 }
@@ -1,5 +1,9 @@
 package com.digitalpetri.util;
 
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.zip.Checksum;
+
 public interface ByteOps<T> {
 
   /**
@@ -132,4 +136,866 @@ public interface ByteOps<T> {
    */
   void setDouble(T bytes, int index, double value);
 
+  /**
+   * Get {@code length} boolean values, starting at the given {@code index} in {@code bytes}, into
+   * {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   */
+  default void getBooleans(T bytes, int index, boolean[] dst, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getBoolean(bytes, index + i);
+    }
+  }
+
+  /**
+   * Get {@code length} byte values, starting at the given {@code index} in {@code bytes}, into
+   * {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   */
+  default void getBytes(T bytes, int index, byte[] dst, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getByte(bytes, index + i);
+    }
+  }
+
+  /**
+   * Get {@code length} short values, starting at the given {@code index} in {@code bytes}, into
+   * {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   */
+  default void getShorts(T bytes, int index, short[] dst, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getShort(bytes, index + i * Short.BYTES);
+    }
+  }
+
+  /**
+   * Get {@code length} int values, starting at the given {@code index} in {@code bytes}, into
+   * {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   */
+  default void getInts(T bytes, int index, int[] dst, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getInt(bytes, index + i * Integer.BYTES);
+    }
+  }
+
+  /**
+   * Get {@code length} long values, starting at the given {@code index} in {@code bytes}, into
+   * {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   */
+  default void getLongs(T bytes, int index, long[] dst, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getLong(bytes, index + i * Long.BYTES);
+    }
+  }
+
+  /**
+   * Get {@code length} float values, starting at the given {@code index} in {@code bytes}, into
+   * {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   */
+  default void getFloats(T bytes, int index, float[] dst, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getFloat(bytes, index + i * Float.BYTES);
+    }
+  }
+
+  /**
+   * Get {@code length} double values, starting at the given {@code index} in {@code bytes}, into
+   * {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   */
+  default void getDoubles(T bytes, int index, double[] dst, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getDouble(bytes, index + i * Double.BYTES);
+    }
+  }
+
+  /**
+   * Set {@code length} boolean values from {@code src}, starting at {@code offset}, into
+   * {@code bytes} starting at the given {@code index}.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   */
+  default void setBooleans(T bytes, int index, boolean[] src, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      setBoolean(bytes, index + i, src[offset + i]);
+    }
+  }
+
+  /**
+   * Set {@code length} byte values from {@code src}, starting at {@code offset}, into
+   * {@code bytes} starting at the given {@code index}.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   */
+  default void setBytes(T bytes, int index, byte[] src, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      setByte(bytes, index + i, src[offset + i]);
+    }
+  }
+
+  /**
+   * Set {@code length} short values from {@code src}, starting at {@code offset}, into
+   * {@code bytes} starting at the given {@code index}.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   */
+  default void setShorts(T bytes, int index, short[] src, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      setShort(bytes, index + i * Short.BYTES, src[offset + i]);
+    }
+  }
+
+  /**
+   * Set {@code length} int values from {@code src}, starting at {@code offset}, into
+   * {@code bytes} starting at the given {@code index}.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   */
+  default void setInts(T bytes, int index, int[] src, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      setInt(bytes, index + i * Integer.BYTES, src[offset + i]);
+    }
+  }
+
+  /**
+   * Set {@code length} long values from {@code src}, starting at {@code offset}, into
+   * {@code bytes} starting at the given {@code index}.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   */
+  default void setLongs(T bytes, int index, long[] src, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      setLong(bytes, index + i * Long.BYTES, src[offset + i]);
+    }
+  }
+
+  /**
+   * Set {@code length} float values from {@code src}, starting at {@code offset}, into
+   * {@code bytes} starting at the given {@code index}.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   */
+  default void setFloats(T bytes, int index, float[] src, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      setFloat(bytes, index + i * Float.BYTES, src[offset + i]);
+    }
+  }
+
+  /**
+   * Set {@code length} double values from {@code src}, starting at {@code offset}, into
+   * {@code bytes} starting at the given {@code index}.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   */
+  default void setDoubles(T bytes, int index, double[] src, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      setDouble(bytes, index + i * Double.BYTES, src[offset + i]);
+    }
+  }
+
+  /**
+   * Get bit {@code bit} of the 16-bit word at the given {@code index} in {@code bytes}, where bit
+   * 0 is the least significant, e.g. a flag in a status register.
+   *
+   * @param bytes the bytes to get the bit from.
+   * @param index the index into {@code bytes} of the word.
+   * @param bit the bit of the word to get, in {@code range(0, 16)}.
+   * @return {@code true} if the bit is set.
+   */
+  default boolean getBit(T bytes, int index, int bit) {
+    Objects.checkIndex(bit, Short.SIZE);
+
+    return (getShort(bytes, index) >> bit & 1) != 0;
+  }
+
+  /**
+   * Set bit {@code bit} of the 16-bit word at the given {@code index} in {@code bytes}, where bit
+   * 0 is the least significant, leaving the other bits of the word unchanged.
+   *
+   * @param bytes the bytes to set the bit in.
+   * @param index the index into {@code bytes} of the word.
+   * @param bit the bit of the word to set, in {@code range(0, 16)}.
+   * @param value the value to set the bit to.
+   */
+  default void setBit(T bytes, int index, int bit, boolean value) {
+    Objects.checkIndex(bit, Short.SIZE);
+
+    int word = getShort(bytes, index);
+    int mask = 1 << bit;
+
+    setShort(bytes, index, (short) (value ? word | mask : word & ~mask));
+  }
+
+  /**
+   * Get the unsigned {@code bitLength}-bit field starting at bit {@code bitOffset} of
+   * {@code bytes}, e.g. a field of a status register.
+   *
+   * <p>Bits are numbered within 16-bit words, as in {@link #getBit(Object, int, int)}: bit
+   * {@code b} is bit {@code b % 16}, counting from the least significant, of the word at index
+   * {@code 2 * (b / 16)}, so the ordering's byte order applies within each word. A field's first
+   * bit is its least significant, and a field continues from the most significant bit of one word
+   * into the least significant bit of the next. A 16-bit field starting on a word boundary has the
+   * same value as {@link #getShort(Object, int)}; for orderings whose low word comes first, so do
+   * 32 and 64-bit fields and {@link #getInt(Object, int)} and {@link #getLong(Object, int)}.
+   *
+   * @param bytes the bytes to get the field from.
+   * @param bitOffset the offset, in bits, of the field from the start of {@code bytes}.
+   * @param bitLength the length of the field, in {@code range(0, 65)} bits.
+   * @return the field, zero-extended to a long.
+   */
+  default long getBits(T bytes, int bitOffset, int bitLength) {
+    if (bitOffset < 0) {
+      throw new IndexOutOfBoundsException("bitOffset: " + bitOffset);
+    }
+    if (bitLength < 0 || bitLength > Long.SIZE) {
+      throw new IllegalArgumentException(
+          String.format("bitLength: %d (expected: range(0, %d))", bitLength, Long.SIZE + 1));
+    }
+
+    long value = 0L;
+    int shift = 0;
+
+    // one word of the field at a time
+    while (bitLength > 0) {
+      int bit = bitOffset & 15;
+      int count = Math.min(Short.SIZE - bit, bitLength);
+      int word = getShort(bytes, bitOffset >>> 4 << 1) & 0xFFFF;
+
+      value |= (long) (word >>> bit & (1 << count) - 1) << shift;
+
+      shift += count;
+      bitOffset += count;
+      bitLength -= count;
+    }
+
+    return value;
+  }
+
+  /**
+   * Set the unsigned {@code bitLength}-bit field starting at bit {@code bitOffset} of
+   * {@code bytes} to the low {@code bitLength} bits of {@code value}, leaving the surrounding bits
+   * unchanged.
+   *
+   * <p>See {@link #getBits(Object, int, int)} for how bits are numbered.
+   *
+   * @param bytes the bytes to set the field in.
+   * @param bitOffset the offset, in bits, of the field from the start of {@code bytes}.
+   * @param bitLength the length of the field, in {@code range(0, 65)} bits.
+   * @param value the value to set the field to.
+   */
+  default void setBits(T bytes, int bitOffset, int bitLength, long value) {
+    if (bitOffset < 0) {
+      throw new IndexOutOfBoundsException("bitOffset: " + bitOffset);
+    }
+    if (bitLength < 0 || bitLength > Long.SIZE) {
+      throw new IllegalArgumentException(
+          String.format("bitLength: %d (expected: range(0, %d))", bitLength, Long.SIZE + 1));
+    }
+
+    // one word of the field at a time, keeping the surrounding bits of each word
+    while (bitLength > 0) {
+      int bit = bitOffset & 15;
+      int count = Math.min(Short.SIZE - bit, bitLength);
+      int mask = ((1 << count) - 1) << bit;
+      int index = bitOffset >>> 4 << 1;
+      int word = getShort(bytes, index);
+
+      setShort(bytes, index, (short) (word & ~mask | (int) value << bit & mask));
+
+      value >>>= count;
+      bitOffset += count;
+      bitLength -= count;
+    }
+  }
+
+  /**
+   * Get {@code length} bits, starting at bit {@code bitOffset} of {@code bytes}, into
+   * {@code dst} starting at {@code offset}, e.g. to unpack a block of coils.
+   *
+   * <p>Bits are numbered as a stream of bytes, least significant bit first, whatever the
+   * ordering: bit {@code b} is bit {@code b % 8} of the byte at index {@code b / 8}. This is how
+   * Modbus packs coils and discrete inputs, and how {@link java.util.BitSet#valueOf(byte[])}
+   * reads bytes.
+   *
+   * @param bytes the bytes to get the bits from.
+   * @param bitOffset the offset, in bits, of the first bit from the start of {@code bytes}.
+   * @param dst the array to get the bits into.
+   * @param offset the offset into {@code dst} to get the first bit into.
+   * @param length the number of bits to get.
+   */
+  default void getPackedBits(T bytes, int bitOffset, boolean[] dst, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, dst.length);
+
+    if (bitOffset < 0) {
+      throw new IndexOutOfBoundsException("bitOffset: " + bitOffset);
+    }
+
+    for (int i = 0; i < length; i++) {
+      long bit = (long) bitOffset + i;
+
+      dst[offset + i] = (getByte(bytes, (int) (bit >>> 3)) >>> (bit & 7) & 1) != 0;
+    }
+  }
+
+  /**
+   * Get {@code length} bits, starting at bit {@code bitOffset} of {@code bytes}, into the bitset
+   * {@code dst}, where bit {@code i} is bit {@code i % 64} of {@code dst[i / 64]} as in
+   * {@link java.util.BitSet#valueOf(long[])}.
+   *
+   * <p>The {@code (length + 63) / 64} elements of {@code dst} are overwritten, and the bits past
+   * {@code length} in the last of them are cleared. See
+   * {@link #getPackedBits(Object, int, boolean[], int, int)} for how bits are numbered.
+   *
+   * @param bytes the bytes to get the bits from.
+   * @param bitOffset the offset, in bits, of the first bit from the start of {@code bytes}.
+   * @param dst the bitset to get the bits into.
+   * @param length the number of bits to get.
+   */
+  default void getPackedBits(T bytes, int bitOffset, long[] dst, int length) {
+    int words = (int) ((length + 63L) >>> 6);
+    Objects.checkFromIndexSize(0, words, dst.length);
+
+    if (bitOffset < 0) {
+      throw new IndexOutOfBoundsException("bitOffset: " + bitOffset);
+    }
+
+    for (int i = 0; i < words; i++) {
+      dst[i] = 0L;
+    }
+
+    for (int i = 0; i < length; i++) {
+      long bit = (long) bitOffset + i;
+
+      dst[i >>> 6] |= (getByte(bytes, (int) (bit >>> 3)) >>> (bit & 7) & 1L) << i;
+    }
+  }
+
+  /**
+   * Set {@code length} bits from {@code src}, starting at {@code offset}, into {@code bytes}
+   * starting at bit {@code bitOffset}, e.g. to pack a block of coils.
+   *
+   * <p>See {@link #getPackedBits(Object, int, boolean[], int, int)} for how bits are numbered.
+   *
+   * @param bytes the bytes to set the bits in.
+   * @param bitOffset the offset, in bits, of the first bit from the start of {@code bytes}.
+   * @param src the array to set the bits from.
+   * @param offset the offset into {@code src} of the first bit to set.
+   * @param length the number of bits to set.
+   */
+  default void setPackedBits(T bytes, int bitOffset, boolean[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+
+    if (bitOffset < 0) {
+      throw new IndexOutOfBoundsException("bitOffset: " + bitOffset);
+    }
+
+    for (int i = 0; i < length; i++) {
+      long bit = (long) bitOffset + i;
+      int index = (int) (bit >>> 3);
+      int mask = 1 << (bit & 7);
+      int octet = getByte(bytes, index);
+
+      setByte(bytes, index, (byte) (src[offset + i] ? octet | mask : octet & ~mask));
+    }
+  }
+
+  /**
+   * Set {@code length} bits from the bitset {@code src}, where bit {@code i} is bit
+   * {@code i % 64} of {@code src[i / 64]}, into {@code bytes} starting at bit
+   * {@code bitOffset}.
+   *
+   * <p>See {@link #getPackedBits(Object, int, boolean[], int, int)} for how bits are numbered.
+   *
+   * @param bytes the bytes to set the bits in.
+   * @param bitOffset the offset, in bits, of the first bit from the start of {@code bytes}.
+   * @param src the bitset to set the bits from.
+   * @param length the number of bits to set.
+   */
+  default void setPackedBits(T bytes, int bitOffset, long[] src, int length) {
+    Objects.checkFromIndexSize(0, (int) ((length + 63L) >>> 6), src.length);
+
+    if (bitOffset < 0) {
+      throw new IndexOutOfBoundsException("bitOffset: " + bitOffset);
+    }
+
+    for (int i = 0; i < length; i++) {
+      long bit = (long) bitOffset + i;
+      int index = (int) (bit >>> 3);
+      int mask = 1 << (bit & 7);
+      int octet = getByte(bytes, index);
+
+      setByte(bytes, index, (byte) ((src[i >>> 6] >>> i & 1L) != 0 ? octet | mask : octet & ~mask));
+    }
+  }
+
+  /**
+   * Get the unsigned LEB128 variable-length int starting at the given {@code index} in
+   * {@code bytes}: 7 bits per byte, least significant first, with the high bit of every byte but
+   * the last set.
+   *
+   * <p>Encodings of up to 10 bytes are accepted, so values written as sign-extended 64-bit
+   * varints (e.g. a negative protobuf {@code int32}) are read back as the same int. Use
+   * {@link #getVarLength(Object, int)} to find how many bytes were read.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} of the first byte of the varint.
+   * @return the value, truncated to 32 bits.
+   * @throws IllegalArgumentException if the varint is longer than 10 bytes.
+   */
+  default int getVarInt(T bytes, int index) {
+    return (int) getVarLong(bytes, index);
+  }
+
+  /**
+   * Get the unsigned LEB128 variable-length long starting at the given {@code index} in
+   * {@code bytes}.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} of the first byte of the varint.
+   * @return the value.
+   * @throws IllegalArgumentException if the varint is longer than 10 bytes.
+   * @see #getVarInt(Object, int)
+   */
+  default long getVarLong(T bytes, int index) {
+    return VarInts.getVarLong(this, bytes, index);
+  }
+
+  /**
+   * Get the length, in bytes, of the varint starting at the given {@code index} in
+   * {@code bytes}.
+   *
+   * @param bytes the bytes the varint is in.
+   * @param index the index into {@code bytes} of the first byte of the varint.
+   * @return the length of the varint, from 1 to 10 bytes.
+   * @throws IllegalArgumentException if the varint is longer than 10 bytes.
+   */
+  default int getVarLength(T bytes, int index) {
+    return VarInts.getVarLength(this, bytes, index);
+  }
+
+  /**
+   * Get the zigzag-encoded variable-length int starting at the given {@code index} in
+   * {@code bytes}, where small negative values take as few bytes as small positive ones.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} of the first byte of the varint.
+   * @return the value.
+   * @throws IllegalArgumentException if the varint is longer than 10 bytes.
+   * @see #getVarInt(Object, int)
+   */
+  default int getZigZagInt(T bytes, int index) {
+    int value = getVarInt(bytes, index);
+
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Get the zigzag-encoded variable-length long starting at the given {@code index} in
+   * {@code bytes}.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} of the first byte of the varint.
+   * @return the value.
+   * @throws IllegalArgumentException if the varint is longer than 10 bytes.
+   * @see #getZigZagInt(Object, int)
+   */
+  default long getZigZagLong(T bytes, int index) {
+    long value = getVarLong(bytes, index);
+
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Set {@code value} as an unsigned LEB128 variable-length int, starting at the given
+   * {@code index} in {@code bytes}.
+   *
+   * <p>Negative values are written as unsigned 32-bit values, in 5 bytes.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to write the first byte of the varint at.
+   * @param value the value to set.
+   * @return the number of bytes written, from 1 to 5.
+   * @see #varIntSize(int)
+   */
+  default int setVarInt(T bytes, int index, int value) {
+    return setVarLong(bytes, index, value & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Set {@code value} as an unsigned LEB128 variable-length long, starting at the given
+   * {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to write the first byte of the varint at.
+   * @param value the value to set.
+   * @return the number of bytes written, from 1 to 10.
+   * @see #varLongSize(long)
+   */
+  default int setVarLong(T bytes, int index, long value) {
+    return VarInts.setVarLong(this, bytes, index, value);
+  }
+
+  /**
+   * Set {@code value} as a zigzag-encoded variable-length int, starting at the given
+   * {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to write the first byte of the varint at.
+   * @param value the value to set.
+   * @return the number of bytes written, from 1 to 5.
+   */
+  default int setZigZagInt(T bytes, int index, int value) {
+    return setVarInt(bytes, index, (value << 1) ^ (value >> 31));
+  }
+
+  /**
+   * Set {@code value} as a zigzag-encoded variable-length long, starting at the given
+   * {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to write the first byte of the varint at.
+   * @param value the value to set.
+   * @return the number of bytes written, from 1 to 10.
+   */
+  default int setZigZagLong(T bytes, int index, long value) {
+    return setVarLong(bytes, index, (value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Get the null-padded string in the {@code length}-byte field starting at the given
+   * {@code index} in {@code bytes}, e.g. a PLC string register.
+   *
+   * <p>The string ends at the first zero byte, or at the end of the field; this suits
+   * byte-oriented charsets such as ASCII, ISO-8859-1, and UTF-8.
+   *
+   * @param bytes the bytes to get the string from.
+   * @param index the index into {@code bytes} of the field.
+   * @param length the length of the field, in bytes.
+   * @param charset the charset to decode the string with.
+   * @return the decoded string.
+   */
+  default String getString(T bytes, int index, int length, Charset charset) {
+    return getString(bytes, index, length, charset, StringOrder.SEQUENTIAL);
+  }
+
+  /**
+   * Get the null-padded string in the {@code length}-byte field starting at the given
+   * {@code index} in {@code bytes}, with its characters stored in {@code order}.
+   *
+   * @param bytes the bytes to get the string from.
+   * @param index the index into {@code bytes} of the field.
+   * @param length the length of the field, in bytes.
+   * @param charset the charset to decode the string with.
+   * @param order the order the characters are stored in.
+   * @return the decoded string.
+   * @throws IllegalArgumentException if {@code length} is not a whole number of registers, or
+   *     register pairs, for {@code order}.
+   * @see #getString(Object, int, int, Charset)
+   */
+  default String getString(T bytes, int index, int length, Charset charset, StringOrder order) {
+    byte[] field = new byte[length];
+    getBytes(bytes, index, field, 0, length);
+
+    return ByteStrings.decode(field, 0, length, charset, order);
+  }
+
+  /**
+   * Set {@code value} into the {@code length}-byte field starting at the given {@code index} in
+   * {@code bytes}, padding the rest of the field with zero bytes.
+   *
+   * <p>ASCII and ISO-8859-1 strings are encoded one character per byte, and characters that
+   * can't be encoded become {@code '?'}.
+   *
+   * @param bytes the bytes to set the string in.
+   * @param index the index into {@code bytes} of the field.
+   * @param length the length of the field, in bytes.
+   * @param value the string to set.
+   * @param charset the charset to encode the string with.
+   * @throws IllegalArgumentException if the encoded string is longer than {@code length}.
+   */
+  default void setString(T bytes, int index, int length, String value, Charset charset) {
+    setString(bytes, index, length, value, charset, StringOrder.SEQUENTIAL);
+  }
+
+  /**
+   * Set {@code value} into the {@code length}-byte field starting at the given {@code index} in
+   * {@code bytes}, with its characters stored in {@code order}, padding the rest of the field
+   * with zero bytes.
+   *
+   * @param bytes the bytes to set the string in.
+   * @param index the index into {@code bytes} of the field.
+   * @param length the length of the field, in bytes.
+   * @param value the string to set.
+   * @param charset the charset to encode the string with.
+   * @param order the order to store the characters in.
+   * @throws IllegalArgumentException if the encoded string is longer than {@code length}, or
+   *     {@code length} is not a whole number of registers, or register pairs, for {@code order}.
+   * @see #setString(Object, int, int, String, Charset)
+   */
+  default void setString(
+      T bytes,
+      int index,
+      int length,
+      String value,
+      Charset charset,
+      StringOrder order
+  ) {
+
+    byte[] field = new byte[length];
+    ByteStrings.encode(field, 0, length, value, charset, order);
+
+    setBytes(bytes, index, field, 0, length);
+  }
+
+  /**
+   * Get the IEEE 754 half-precision (float16) value at the given {@code index} in
+   * {@code bytes}, a 16-bit word in this instance's byte order.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} to get the value at.
+   * @return the float16 value, widened to a float.
+   */
+  default float getFloat16(T bytes, int index) {
+    return HalfFloats.float16ToFloat(getShort(bytes, index));
+  }
+
+  /**
+   * Get the bfloat16 value at the given {@code index} in {@code bytes}, a 16-bit word in this
+   * instance's byte order holding the upper half of a float.
+   *
+   * @param bytes the bytes to get the value from.
+   * @param index the index into {@code bytes} to get the value at.
+   * @return the bfloat16 value, widened to a float.
+   */
+  default float getBFloat16(T bytes, int index) {
+    return HalfFloats.bfloat16ToFloat(getShort(bytes, index));
+  }
+
+  /**
+   * Set {@code value}, rounded to the nearest IEEE 754 half-precision (float16) value, at the
+   * given {@code index} in {@code bytes}.
+   *
+   * <p>Values beyond the float16 range of &plusmn;65504 become infinite, and values too small
+   * for it become zero.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to set the value at.
+   * @param value the value to set.
+   */
+  default void setFloat16(T bytes, int index, float value) {
+    setShort(bytes, index, HalfFloats.floatToFloat16(value));
+  }
+
+  /**
+   * Set {@code value}, rounded to the nearest bfloat16 value, at the given {@code index} in
+   * {@code bytes}.
+   *
+   * @param bytes the bytes to set the value in.
+   * @param index the index into {@code bytes} to set the value at.
+   * @param value the value to set.
+   */
+  default void setBFloat16(T bytes, int index, float value) {
+    setShort(bytes, index, HalfFloats.floatToBFloat16(value));
+  }
+
+  /**
+   * Get {@code length} float16 values, starting at the given {@code index} in {@code bytes},
+   * into {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   * @see #getFloat16(Object, int)
+   */
+  default void getFloat16s(T bytes, int index, float[] dst, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getFloat16(bytes, index + i * Short.BYTES);
+    }
+  }
+
+  /**
+   * Get {@code length} bfloat16 values, starting at the given {@code index} in {@code bytes},
+   * into {@code dst} starting at {@code offset}.
+   *
+   * @param bytes the bytes to get the values from.
+   * @param index the index into {@code bytes} to get the first value at.
+   * @param dst the array to get the values into.
+   * @param offset the offset into {@code dst} to get the first value into.
+   * @param length the number of values to get.
+   * @see #getBFloat16(Object, int)
+   */
+  default void getBFloat16s(T bytes, int index, float[] dst, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = getBFloat16(bytes, index + i * Short.BYTES);
+    }
+  }
+
+  /**
+   * Set {@code length} values from {@code src}, starting at {@code offset}, as float16 values
+   * into {@code bytes} starting at the given {@code index}.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   * @see #setFloat16(Object, int, float)
+   */
+  default void setFloat16s(T bytes, int index, float[] src, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      setFloat16(bytes, index + i * Short.BYTES, src[offset + i]);
+    }
+  }
+
+  /**
+   * Set {@code length} values from {@code src}, starting at {@code offset}, as bfloat16 values
+   * into {@code bytes} starting at the given {@code index}.
+   *
+   * @param bytes the bytes to set the values in.
+   * @param index the index into {@code bytes} to set the first value at.
+   * @param src the array to set the values from.
+   * @param offset the offset into {@code src} of the first value to set.
+   * @param length the number of values to set.
+   * @see #setBFloat16(Object, int, float)
+   */
+  default void setBFloat16s(T bytes, int index, float[] src, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      setBFloat16(bytes, index + i * Short.BYTES, src[offset + i]);
+    }
+  }
+
+  /**
+   * Update {@code checksum} with the {@code length} bytes starting at the given {@code index} in
+   * {@code bytes}.
+   *
+   * <p>A region can be checksummed in pieces, e.g. as a streaming decoder reads it, by updating
+   * the same {@link Checksum} with each piece in turn.
+   *
+   * @param bytes the bytes to checksum.
+   * @param index the index into {@code bytes} of the first byte to checksum.
+   * @param length the number of bytes to checksum.
+   * @param checksum the checksum to update.
+   * @see ChecksumAlgorithm#newChecksum()
+   */
+  default void updateChecksum(T bytes, int index, int length, Checksum checksum) {
+    if (length < 0) {
+      throw new IndexOutOfBoundsException("length: " + length);
+    }
+
+    byte[] chunk = new byte[Math.min(length, 512)];
+
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(length - i, chunk.length);
+      getBytes(bytes, index + i, chunk, 0, n);
+      checksum.update(chunk, 0, n);
+    }
+  }
+
+  /**
+   * Get the checksum, computed with {@code algorithm}, of the {@code length} bytes starting at
+   * the given {@code index} in {@code bytes}.
+   *
+   * @param bytes the bytes to checksum.
+   * @param index the index into {@code bytes} of the first byte to checksum.
+   * @param length the number of bytes to checksum.
+   * @param algorithm the checksum algorithm.
+   * @return the checksum value; the CRC-16 and LRC values occupy the low 16 and 8 bits.
+   * @see #updateChecksum(Object, int, int, Checksum)
+   */
+  default long getChecksum(T bytes, int index, int length, ChecksumAlgorithm algorithm) {
+    Checksum checksum = algorithm.newChecksum();
+    updateChecksum(bytes, index, length, checksum);
+
+    return checksum.getValue();
+  }
+
+  /**
+   * Get the number of bytes {@link #setVarInt(Object, int, int)} writes for {@code value}.
+   *
+   * @param value the value.
+   * @return the length of the varint, from 1 to 5 bytes.
+   */
+  static int varIntSize(int value) {
+    return varLongSize(value & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Get the number of bytes {@link #setVarLong(Object, int, long)} writes for {@code value}.
+   *
+   * @param value the value.
+   * @return the length of the varint, from 1 to 10 bytes.
+   */
+  static int varLongSize(long value) {
+    return (Long.SIZE - 1 - Long.numberOfLeadingZeros(value | 1)) / 7 + 1;
+  }
+
 }
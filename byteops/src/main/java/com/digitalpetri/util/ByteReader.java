@@ -0,0 +1,409 @@
+package com.digitalpetri.util;
+
+/**
+ * A cursor that reads consecutive values from some bytes using a {@link ByteOps}, advancing its
+ * position past each value read.
+ *
+ * <pre>
+ *   reader.require(6);
+ *   short function = reader.readShort();
+ *   int address = reader.readInt();
+ * </pre>
+ *
+ * <p>Each read is checked against the limit before the position moves, so the position never
+ * passes it; use {@link #require(int)} to check a run of reads up front, before any of them is
+ * made. Instances are mutable, not thread-safe, and can be re-pointed with
+ * {@link #reset(Object, int, int)}.
+ *
+ * @param <T> the type of bytes.
+ */
+public final class ByteReader<T> {
+
+  private final ByteOps<T> ops;
+
+  private T bytes;
+  private int position;
+  private int limit;
+
+  /**
+   * Create a {@link ByteReader} that is not yet positioned on any bytes.
+   *
+   * <p>{@link #reset(Object, int, int)} must be called before reading.
+   *
+   * @param ops the {@link ByteOps} used to read values.
+   */
+  public ByteReader(ByteOps<T> ops) {
+    this.ops = ops;
+  }
+
+  /**
+   * Create a {@link ByteReader} that reads {@code bytes} from {@code index} up to {@code limit}.
+   *
+   * @param ops the {@link ByteOps} used to read values.
+   * @param bytes the bytes to read.
+   * @param index the index of the first byte to read.
+   * @param limit the index one past the last byte that may be read.
+   */
+  public ByteReader(ByteOps<T> ops, T bytes, int index, int limit) {
+    this.ops = ops;
+
+    reset(bytes, index, limit);
+  }
+
+  /**
+   * Re-position this {@link ByteReader} on {@code bytes}, from {@code index} up to
+   * {@code limit}, so a single instance can be reused without allocation.
+   *
+   * @param bytes the bytes to read.
+   * @param index the index of the first byte to read.
+   * @param limit the index one past the last byte that may be read.
+   * @return this {@link ByteReader}.
+   * @throws IndexOutOfBoundsException if {@code index} is negative or greater than
+   *     {@code limit}.
+   */
+  public ByteReader<T> reset(T bytes, int index, int limit) {
+    if (index < 0 || index > limit) {
+      throw new IndexOutOfBoundsException(
+          String.format("index: %d (expected: range(0, %d))", index, limit));
+    }
+
+    this.bytes = bytes;
+    this.position = index;
+    this.limit = limit;
+
+    return this;
+  }
+
+  /**
+   * @return the bytes being read.
+   */
+  public T bytes() {
+    return bytes;
+  }
+
+  /**
+   * @return the index the next value will be read at.
+   */
+  public int position() {
+    return position;
+  }
+
+  /**
+   * Set the index the next value will be read at.
+   *
+   * @param position the index the next value will be read at.
+   * @return this {@link ByteReader}.
+   * @throws IndexOutOfBoundsException if {@code position} is negative or greater than the
+   *     limit.
+   */
+  public ByteReader<T> position(int position) {
+    if (position < 0 || position > limit) {
+      throw new IndexOutOfBoundsException(
+          String.format("position: %d (expected: range(0, %d))", position, limit));
+    }
+
+    this.position = position;
+
+    return this;
+  }
+
+  /**
+   * @return the index one past the last byte that may be read.
+   */
+  public int limit() {
+    return limit;
+  }
+
+  /**
+   * @return the number of bytes between the position and the limit.
+   */
+  public int remaining() {
+    return limit - position;
+  }
+
+  /**
+   * Check that at least {@code length} bytes remain before the limit.
+   *
+   * <p>The read methods check the limit for each value; a single {@code require} covering a
+   * run of values fails before any of them is read.
+   *
+   * @param length the number of bytes required.
+   * @return this {@link ByteReader}.
+   * @throws IndexOutOfBoundsException if fewer than {@code length} bytes remain.
+   */
+  public ByteReader<T> require(int length) {
+    if (length < 0 || length > limit - position) {
+      throw new IndexOutOfBoundsException(String.format(
+          "position: %d, length: %d (expected: range(0, %d))", position, length, limit));
+    }
+
+    return this;
+  }
+
+  /**
+   * Advance the position by {@code length} bytes.
+   *
+   * @param length the number of bytes to skip.
+   * @return this {@link ByteReader}.
+   * @throws IndexOutOfBoundsException if fewer than {@code length} bytes remain.
+   */
+  public ByteReader<T> skip(int length) {
+    require(length);
+
+    position += length;
+
+    return this;
+  }
+
+  /**
+   * Read a boolean value at the position and advance the position past it.
+   *
+   * @return the boolean value read.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public boolean readBoolean() {
+    require(1);
+    boolean value = ops.getBoolean(bytes, position);
+    position += 1;
+    return value;
+  }
+
+  /**
+   * Read a byte value at the position and advance the position past it.
+   *
+   * @return the byte value read.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public byte readByte() {
+    require(1);
+    byte value = ops.getByte(bytes, position);
+    position += 1;
+    return value;
+  }
+
+  /**
+   * Read a short value at the position and advance the position past it.
+   *
+   * @return the short value read.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public short readShort() {
+    require(Short.BYTES);
+    short value = ops.getShort(bytes, position);
+    position += Short.BYTES;
+    return value;
+  }
+
+  /**
+   * Read an int value at the position and advance the position past it.
+   *
+   * @return the int value read.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public int readInt() {
+    require(Integer.BYTES);
+    int value = ops.getInt(bytes, position);
+    position += Integer.BYTES;
+    return value;
+  }
+
+  /**
+   * Read a long value at the position and advance the position past it.
+   *
+   * @return the long value read.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public long readLong() {
+    require(Long.BYTES);
+    long value = ops.getLong(bytes, position);
+    position += Long.BYTES;
+    return value;
+  }
+
+  /**
+   * Read a float value at the position and advance the position past it.
+   *
+   * @return the float value read.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public float readFloat() {
+    require(Float.BYTES);
+    float value = ops.getFloat(bytes, position);
+    position += Float.BYTES;
+    return value;
+  }
+
+  /**
+   * Read a double value at the position and advance the position past it.
+   *
+   * @return the double value read.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public double readDouble() {
+    require(Double.BYTES);
+    double value = ops.getDouble(bytes, position);
+    position += Double.BYTES;
+    return value;
+  }
+
+  /**
+   * Read an unsigned LEB128 variable-length int at the position and advance the position past it.
+   *
+   * @return the int value read.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   * @see ByteOps#getVarInt(Object, int)
+   */
+  public int readVarInt() {
+    return (int) readVarLong();
+  }
+
+  /**
+   * Read an unsigned LEB128 variable-length long at the position and advance the position past it.
+   *
+   * @return the long value read.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   * @see ByteOps#getVarLong(Object, int)
+   */
+  public long readVarLong() {
+    long value = ops.getVarLong(bytes, position);
+    int length = ByteOps.varLongSize(value);
+
+    if (ops.getByte(bytes, position + length - 1) < 0) {
+      // padded with redundant continuation bytes, so longer than the value needs
+      length = ops.getVarLength(bytes, position);
+    }
+
+    skip(length);
+    return value;
+  }
+
+  /**
+   * Read a zigzag-encoded variable-length int at the position and advance the position past it.
+   *
+   * @return the int value read.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   * @see ByteOps#getZigZagInt(Object, int)
+   */
+  public int readZigZagInt() {
+    int value = readVarInt();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Read a zigzag-encoded variable-length long at the position and advance the position past it.
+   *
+   * @return the long value read.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   * @see ByteOps#getZigZagLong(Object, int)
+   */
+  public long readZigZagLong() {
+    long value = readVarLong();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Read {@code length} boolean values at the position into {@code dst}, starting at
+   * {@code offset}, and advance the position past them.
+   *
+   * @param dst the array to read the values into.
+   * @param offset the offset into {@code dst} to read the first value into.
+   * @param length the number of values to read.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public void readBooleans(boolean[] dst, int offset, int length) {
+    require(length);
+    ops.getBooleans(bytes, position, dst, offset, length);
+    position += length;
+  }
+
+  /**
+   * Read {@code length} byte values at the position into {@code dst}, starting at
+   * {@code offset}, and advance the position past them.
+   *
+   * @param dst the array to read the values into.
+   * @param offset the offset into {@code dst} to read the first value into.
+   * @param length the number of values to read.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public void readBytes(byte[] dst, int offset, int length) {
+    require(length);
+    ops.getBytes(bytes, position, dst, offset, length);
+    position += length;
+  }
+
+  /**
+   * Read {@code length} short values at the position into {@code dst}, starting at
+   * {@code offset}, and advance the position past them.
+   *
+   * @param dst the array to read the values into.
+   * @param offset the offset into {@code dst} to read the first value into.
+   * @param length the number of values to read.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public void readShorts(short[] dst, int offset, int length) {
+    require(length * Short.BYTES);
+    ops.getShorts(bytes, position, dst, offset, length);
+    position += length * Short.BYTES;
+  }
+
+  /**
+   * Read {@code length} int values at the position into {@code dst}, starting at
+   * {@code offset}, and advance the position past them.
+   *
+   * @param dst the array to read the values into.
+   * @param offset the offset into {@code dst} to read the first value into.
+   * @param length the number of values to read.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public void readInts(int[] dst, int offset, int length) {
+    require(length * Integer.BYTES);
+    ops.getInts(bytes, position, dst, offset, length);
+    position += length * Integer.BYTES;
+  }
+
+  /**
+   * Read {@code length} long values at the position into {@code dst}, starting at
+   * {@code offset}, and advance the position past them.
+   *
+   * @param dst the array to read the values into.
+   * @param offset the offset into {@code dst} to read the first value into.
+   * @param length the number of values to read.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public void readLongs(long[] dst, int offset, int length) {
+    require(length * Long.BYTES);
+    ops.getLongs(bytes, position, dst, offset, length);
+    position += length * Long.BYTES;
+  }
+
+  /**
+   * Read {@code length} float values at the position into {@code dst}, starting at
+   * {@code offset}, and advance the position past them.
+   *
+   * @param dst the array to read the values into.
+   * @param offset the offset into {@code dst} to read the first value into.
+   * @param length the number of values to read.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public void readFloats(float[] dst, int offset, int length) {
+    require(length * Float.BYTES);
+    ops.getFloats(bytes, position, dst, offset, length);
+    position += length * Float.BYTES;
+  }
+
+  /**
+   * Read {@code length} double values at the position into {@code dst}, starting at
+   * {@code offset}, and advance the position past them.
+   *
+   * @param dst the array to read the values into.
+   * @param offset the offset into {@code dst} to read the first value into.
+   * @param length the number of values to read.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public void readDoubles(double[] dst, int offset, int length) {
+    require(length * Double.BYTES);
+    ops.getDoubles(bytes, position, dst, offset, length);
+    position += length * Double.BYTES;
+  }
+
+}
@@ -0,0 +1,253 @@
+package com.digitalpetri.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable sequence of bytes, backed by a heap array or a direct {@link ByteBuffer}, for
+ * encoding messages whose size isn't known up front.
+ *
+ * <p>Use with {@link ByteSinkByteOps} to get and set values. Setting a value at or past the end
+ * grows the sink, doubling its capacity as needed, and extends its {@link #size()} to the end of
+ * the value; getting a value is checked against the size. Bytes that are skipped over are zero.
+ *
+ * <pre>
+ *   ByteSink sink = ByteSink.allocate(64);
+ *   ByteWriter&lt;ByteSink&gt; writer = sink.writer(ByteSinkByteOps.BIG_ENDIAN);
+ *
+ *   writer.writeShort(function).writeVarInt(payload.length).writeBytes(payload, 0, payload.length);
+ *   channel.write(sink.toByteBuffer());
+ *
+ *   sink.reset();
+ * </pre>
+ *
+ * <p>{@link #reset()} empties the sink but keeps its capacity, so once a sink has grown to fit
+ * the largest message, encoding further messages into it doesn't allocate.
+ *
+ * <p>Instances are mutable and not thread-safe.
+ */
+public final class ByteSink {
+
+  /**
+   * The largest capacity a sink can grow to; some VMs reserve header words in an array.
+   */
+  static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  private final boolean direct;
+
+  byte[] array;
+  ByteBuffer buffer;
+
+  private int size;
+
+  private ByteSink(int initialCapacity, boolean direct) {
+    if (initialCapacity < 0 || initialCapacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException("initialCapacity: " + initialCapacity);
+    }
+
+    this.direct = direct;
+
+    if (direct) {
+      buffer = ByteBuffer.allocateDirect(initialCapacity);
+    } else {
+      array = new byte[initialCapacity];
+    }
+  }
+
+  /**
+   * Allocate a heap {@link ByteSink} with {@code initialCapacity} bytes.
+   *
+   * @param initialCapacity the initial capacity, in bytes.
+   * @return a new, empty {@link ByteSink}.
+   */
+  public static ByteSink allocate(int initialCapacity) {
+    return new ByteSink(initialCapacity, false);
+  }
+
+  /**
+   * Allocate a direct {@link ByteSink} with {@code initialCapacity} bytes.
+   *
+   * @param initialCapacity the initial capacity, in bytes.
+   * @return a new, empty {@link ByteSink}.
+   */
+  public static ByteSink allocateDirect(int initialCapacity) {
+    return new ByteSink(initialCapacity, true);
+  }
+
+  /**
+   * @return the number of bytes written, i.e. the index one past the last byte written.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the number of bytes the sink can hold before it has to grow.
+   */
+  public int capacity() {
+    return direct ? buffer.capacity() : array.length;
+  }
+
+  /**
+   * @return {@code true} if this sink is backed by a direct {@link ByteBuffer}.
+   */
+  public boolean isDirect() {
+    return direct;
+  }
+
+  /**
+   * Get the array backing this heap sink, whose first {@link #size()} bytes are the bytes
+   * written.
+   *
+   * <p>The array is replaced when the sink grows, so it should not be held across writes.
+   *
+   * @return the array backing this sink.
+   * @throws UnsupportedOperationException if this sink is direct.
+   */
+  public byte[] array() {
+    if (direct) {
+      throw new UnsupportedOperationException("direct sink");
+    }
+
+    return array;
+  }
+
+  /**
+   * Grow this sink, if necessary, so it can hold at least {@code minCapacity} bytes without
+   * growing again.
+   *
+   * @param minCapacity the required capacity, in bytes.
+   * @return this {@link ByteSink}.
+   * @throws IndexOutOfBoundsException if {@code minCapacity} is greater than the largest
+   *     possible capacity.
+   */
+  public ByteSink ensureCapacity(int minCapacity) {
+    if (minCapacity > capacity()) {
+      grow(minCapacity);
+    }
+
+    return this;
+  }
+
+  /**
+   * Empty this sink, keeping its capacity.
+   *
+   * <p>The bytes written so far are zeroed, so any bytes skipped over by later writes are zero.
+   * Views previously returned by {@link #toByteBuffer()} see the zeroed bytes.
+   */
+  public void reset() {
+    if (direct) {
+      int i = 0;
+      for (; i <= size - Long.BYTES; i += Long.BYTES) {
+        buffer.putLong(i, 0L);
+      }
+      for (; i < size; i++) {
+        buffer.put(i, (byte) 0);
+      }
+    } else {
+      Arrays.fill(array, 0, size, (byte) 0);
+    }
+
+    size = 0;
+  }
+
+  /**
+   * Copy the bytes written into a new array.
+   *
+   * @return a new array holding the {@link #size()} bytes written.
+   */
+  public byte[] toByteArray() {
+    if (direct) {
+      byte[] bs = new byte[size];
+      buffer.duplicate().get(bs, 0, size);
+      return bs;
+    } else {
+      return Arrays.copyOf(array, size);
+    }
+  }
+
+  /**
+   * Get a view of the bytes written, without copying them.
+   *
+   * <p>The view's position is zero, its limit is {@link #size()}, and its order is big-endian.
+   * It shares this sink's current storage, so it no longer sees later writes once the sink grows,
+   * and sees them zeroed once the sink is {@link #reset()}.
+   *
+   * @return a {@link ByteBuffer} view of the bytes written.
+   */
+  public ByteBuffer toByteBuffer() {
+    if (direct) {
+      ByteBuffer view = buffer.duplicate();
+      view.limit(size);
+      return view.slice();
+    } else {
+      return ByteBuffer.wrap(array, 0, size).slice();
+    }
+  }
+
+  /**
+   * Create a {@link ByteWriter} that appends to this sink, starting at its current
+   * {@link #size()}.
+   *
+   * <p>The writer's limit is the largest possible capacity, so it never stops a write short; the
+   * sink grows instead. After a {@link #reset()}, the same writer can be re-positioned with
+   * {@code writer.position(0)}.
+   *
+   * @param ops the {@link ByteOps} used to write values.
+   * @return a new {@link ByteWriter} positioned at the end of this sink.
+   */
+  public ByteWriter<ByteSink> writer(ByteOps<ByteSink> ops) {
+    return new ByteWriter<>(ops, this, size, MAX_CAPACITY);
+  }
+
+  /**
+   * Check that {@code length} bytes starting at {@code index} have been written.
+   */
+  void checkReadable(int index, long length) {
+    if (index < 0 || length < 0 || index + length > size) {
+      throw new IndexOutOfBoundsException(String.format(
+          "index: %d, length: %d (expected: range(0, %d))", index, length, size));
+    }
+  }
+
+  /**
+   * Make room for {@code length} bytes starting at {@code index}, growing this sink if necessary,
+   * and extend the size to include them.
+   */
+  void ensureWritable(int index, long length) {
+    long end = index + length;
+
+    if (index < 0 || length < 0 || end > MAX_CAPACITY) {
+      throw new IndexOutOfBoundsException(String.format(
+          "index: %d, length: %d (expected: range(0, %d))", index, length, MAX_CAPACITY));
+    }
+
+    if (end > size) {
+      if (end > capacity()) {
+        grow((int) end);
+      }
+
+      size = (int) end;
+    }
+  }
+
+  private void grow(int minCapacity) {
+    if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+      throw new IndexOutOfBoundsException(String.format(
+          "capacity: %d (expected: range(0, %d))", minCapacity, MAX_CAPACITY + 1));
+    }
+
+    int capacity = (int) Math.min(MAX_CAPACITY, Math.max(minCapacity, capacity() * 2L));
+
+    if (direct) {
+      ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+      ByteBuffer written = buffer.duplicate();
+      written.limit(size);
+      grown.put(written).clear();
+      buffer = grown;
+    } else {
+      array = Arrays.copyOf(array, capacity);
+    }
+  }
+
+}
@@ -0,0 +1,396 @@
+package com.digitalpetri.util;
+
+import java.util.Objects;
+import java.util.zip.Checksum;
+
+/**
+ * {@link ByteOps} implementation that operates on {@link ByteSink}s.
+ *
+ * <p>Setting a value at or past the end of a sink grows it to fit, instead of throwing, and
+ * extends its {@link ByteSink#size()}; getting a value is checked against the size. Values are
+ * read and written with a {@link ByteArrayByteOps} or {@link ByteBufferByteOps} of the same
+ * ordering on the sink's current storage, so they get the same wide accesses.
+ *
+ * <p>Bits are read and written a byte at a time as described by
+ * {@link ByteOps#getBits(Object, int, int)} and
+ * {@link ByteOps#getPackedBits(Object, int, boolean[], int, int)}; for orderings whose high byte
+ * comes first, setting a bit field extends the size to the end of the 16-bit word holding it.
+ */
+public final class ByteSinkByteOps extends AbstractByteOps<ByteSink> {
+
+  /**
+   * {@link ByteSinkByteOps} that assumes big-endian byte order.
+   */
+  public static final ByteSinkByteOps BIG_ENDIAN =
+      new ByteSinkByteOps(new OrderedOps.BigEndianOps());
+
+  /**
+   * {@link ByteSinkByteOps} that assumes little-endian byte order.
+   */
+  public static final ByteSinkByteOps LITTLE_ENDIAN =
+      new ByteSinkByteOps(new OrderedOps.LittleEndianOps());
+
+  /**
+   * {@link ByteSinkByteOps} that assumes big-endian byte order and low-high word order.
+   */
+  public static final ByteSinkByteOps BIG_ENDIAN_LOW_HIGH =
+      new ByteSinkByteOps(new OrderedOps.BigEndianLowHighOps());
+
+  /**
+   * {@link ByteSinkByteOps} that assumes little-endian byte order and low-high word order.
+   */
+  public static final ByteSinkByteOps LITTLE_ENDIAN_LOW_HIGH =
+      new ByteSinkByteOps(new OrderedOps.LittleEndianLowHighOps());
+
+
+  private final ByteArrayByteOps arrayOps;
+  private final ByteBufferByteOps bufferOps;
+
+  /**
+   * Whether bit fields start in the second byte of each 16-bit word.
+   */
+  private final boolean swapBytes;
+
+  public ByteSinkByteOps(OrderedOps orderedOps) {
+    super(orderedOps);
+
+    arrayOps = new ByteArrayByteOps(orderedOps);
+    bufferOps = new ByteBufferByteOps(orderedOps);
+
+    byte[] probe = new byte[2];
+    arrayOps.setBits(probe, 0, 1, 1L);
+    swapBytes = probe[0] == 0;
+  }
+
+  @Override
+  protected byte get(ByteSink bytes, int index) {
+    bytes.checkReadable(index, 1);
+
+    return bytes.array != null ? bytes.array[index] : bytes.buffer.get(index);
+  }
+
+  @Override
+  protected void set(ByteSink bytes, int index, byte value) {
+    bytes.ensureWritable(index, 1);
+
+    if (bytes.array != null) {
+      bytes.array[index] = value;
+    } else {
+      bytes.buffer.put(index, value);
+    }
+  }
+
+  @Override
+  public short getShort(ByteSink bytes, int index) {
+    bytes.checkReadable(index, Short.BYTES);
+
+    if (bytes.array != null) {
+      return arrayOps.getShort(bytes.array, index);
+    } else {
+      return bufferOps.getShort(bytes.buffer, index);
+    }
+  }
+
+  @Override
+  public int getInt(ByteSink bytes, int index) {
+    bytes.checkReadable(index, Integer.BYTES);
+
+    if (bytes.array != null) {
+      return arrayOps.getInt(bytes.array, index);
+    } else {
+      return bufferOps.getInt(bytes.buffer, index);
+    }
+  }
+
+  @Override
+  public long getLong(ByteSink bytes, int index) {
+    bytes.checkReadable(index, Long.BYTES);
+
+    if (bytes.array != null) {
+      return arrayOps.getLong(bytes.array, index);
+    } else {
+      return bufferOps.getLong(bytes.buffer, index);
+    }
+  }
+
+  @Override
+  public void setShort(ByteSink bytes, int index, short value) {
+    bytes.ensureWritable(index, Short.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.setShort(bytes.array, index, value);
+    } else {
+      bufferOps.setShort(bytes.buffer, index, value);
+    }
+  }
+
+  @Override
+  public void setInt(ByteSink bytes, int index, int value) {
+    bytes.ensureWritable(index, Integer.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.setInt(bytes.array, index, value);
+    } else {
+      bufferOps.setInt(bytes.buffer, index, value);
+    }
+  }
+
+  @Override
+  public void setLong(ByteSink bytes, int index, long value) {
+    bytes.ensureWritable(index, Long.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.setLong(bytes.array, index, value);
+    } else {
+      bufferOps.setLong(bytes.buffer, index, value);
+    }
+  }
+
+  @Override
+  public void getBooleans(ByteSink bytes, int index, boolean[] dst, int offset, int length) {
+    bytes.checkReadable(index, length);
+
+    if (bytes.array != null) {
+      arrayOps.getBooleans(bytes.array, index, dst, offset, length);
+    } else {
+      bufferOps.getBooleans(bytes.buffer, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void getBytes(ByteSink bytes, int index, byte[] dst, int offset, int length) {
+    bytes.checkReadable(index, length);
+
+    if (bytes.array != null) {
+      arrayOps.getBytes(bytes.array, index, dst, offset, length);
+    } else {
+      bufferOps.getBytes(bytes.buffer, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void getShorts(ByteSink bytes, int index, short[] dst, int offset, int length) {
+    bytes.checkReadable(index, (long) length * Short.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.getShorts(bytes.array, index, dst, offset, length);
+    } else {
+      bufferOps.getShorts(bytes.buffer, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void getInts(ByteSink bytes, int index, int[] dst, int offset, int length) {
+    bytes.checkReadable(index, (long) length * Integer.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.getInts(bytes.array, index, dst, offset, length);
+    } else {
+      bufferOps.getInts(bytes.buffer, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void getLongs(ByteSink bytes, int index, long[] dst, int offset, int length) {
+    bytes.checkReadable(index, (long) length * Long.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.getLongs(bytes.array, index, dst, offset, length);
+    } else {
+      bufferOps.getLongs(bytes.buffer, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void getFloats(ByteSink bytes, int index, float[] dst, int offset, int length) {
+    bytes.checkReadable(index, (long) length * Float.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.getFloats(bytes.array, index, dst, offset, length);
+    } else {
+      bufferOps.getFloats(bytes.buffer, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void getDoubles(ByteSink bytes, int index, double[] dst, int offset, int length) {
+    bytes.checkReadable(index, (long) length * Double.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.getDoubles(bytes.array, index, dst, offset, length);
+    } else {
+      bufferOps.getDoubles(bytes.buffer, index, dst, offset, length);
+    }
+  }
+
+  @Override
+  public void setBooleans(ByteSink bytes, int index, boolean[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+    bytes.ensureWritable(index, length);
+
+    if (bytes.array != null) {
+      arrayOps.setBooleans(bytes.array, index, src, offset, length);
+    } else {
+      bufferOps.setBooleans(bytes.buffer, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setBytes(ByteSink bytes, int index, byte[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+    bytes.ensureWritable(index, length);
+
+    if (bytes.array != null) {
+      arrayOps.setBytes(bytes.array, index, src, offset, length);
+    } else {
+      bufferOps.setBytes(bytes.buffer, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setShorts(ByteSink bytes, int index, short[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+    bytes.ensureWritable(index, (long) length * Short.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.setShorts(bytes.array, index, src, offset, length);
+    } else {
+      bufferOps.setShorts(bytes.buffer, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setInts(ByteSink bytes, int index, int[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+    bytes.ensureWritable(index, (long) length * Integer.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.setInts(bytes.array, index, src, offset, length);
+    } else {
+      bufferOps.setInts(bytes.buffer, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setLongs(ByteSink bytes, int index, long[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+    bytes.ensureWritable(index, (long) length * Long.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.setLongs(bytes.array, index, src, offset, length);
+    } else {
+      bufferOps.setLongs(bytes.buffer, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setFloats(ByteSink bytes, int index, float[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+    bytes.ensureWritable(index, (long) length * Float.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.setFloats(bytes.array, index, src, offset, length);
+    } else {
+      bufferOps.setFloats(bytes.buffer, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setDoubles(ByteSink bytes, int index, double[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+    bytes.ensureWritable(index, (long) length * Double.BYTES);
+
+    if (bytes.array != null) {
+      arrayOps.setDoubles(bytes.array, index, src, offset, length);
+    } else {
+      bufferOps.setDoubles(bytes.buffer, index, src, offset, length);
+    }
+  }
+
+  @Override
+  public void setBit(ByteSink bytes, int index, int bit, boolean value) {
+    Objects.checkIndex(bit, Short.SIZE);
+    // the word is read back before it's set
+    bytes.ensureWritable(index, Short.BYTES);
+
+    super.setBit(bytes, index, bit, value);
+  }
+
+  @Override
+  public long getBits(ByteSink bytes, int bitOffset, int bitLength) {
+    if (bitOffset >= 0 && bitLength > 0 && bitLength <= Long.SIZE) {
+      int start = octetStart(bitOffset);
+      bytes.checkReadable(start, octetEnd(bitOffset, bitLength) - start);
+    }
+
+    return super.getBits(bytes, bitOffset, bitLength);
+  }
+
+  @Override
+  public void setBits(ByteSink bytes, int bitOffset, int bitLength, long value) {
+    if (bitOffset >= 0 && bitLength > 0 && bitLength <= Long.SIZE) {
+      // the surrounding bits of each byte are read back before it's set
+      int start = octetStart(bitOffset);
+      bytes.ensureWritable(start, octetEnd(bitOffset, bitLength) - start);
+    }
+
+    super.setBits(bytes, bitOffset, bitLength, value);
+  }
+
+  @Override
+  public void setPackedBits(ByteSink bytes, int bitOffset, boolean[] src, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, src.length);
+    ensureBitsWritable(bytes, bitOffset, length);
+
+    super.setPackedBits(bytes, bitOffset, src, offset, length);
+  }
+
+  @Override
+  public void setPackedBits(ByteSink bytes, int bitOffset, long[] src, int length) {
+    Objects.checkFromIndexSize(0, (int) ((length + 63L) >>> 6), src.length);
+    ensureBitsWritable(bytes, bitOffset, length);
+
+    super.setPackedBits(bytes, bitOffset, src, length);
+  }
+
+  @Override
+  public void updateChecksum(ByteSink bytes, int index, int length, Checksum checksum) {
+    bytes.checkReadable(index, length);
+
+    if (bytes.array != null) {
+      checksum.update(bytes.array, index, length);
+    } else {
+      bufferOps.updateChecksum(bytes.buffer, index, length, checksum);
+    }
+  }
+
+  /**
+   * Make room for the bytes holding {@code length} bits starting at {@code bitOffset}; the
+   * surrounding bits of the first and last byte are read back before they're set.
+   */
+  private static void ensureBitsWritable(ByteSink bytes, int bitOffset, int length) {
+    if (bitOffset >= 0 && length > 0) {
+      int start = bitOffset >>> 3;
+      bytes.ensureWritable(start, ((bitOffset + (long) length + 7) >>> 3) - start);
+    }
+  }
+
+  /**
+   * Get the index of the first byte holding the bit field at {@code bitOffset}.
+   */
+  private int octetStart(int bitOffset) {
+    int index = bitOffset >>> 3;
+
+    return swapBytes ? index & ~1 : index;
+  }
+
+  /**
+   * Get the index one past the last byte holding the bit field at {@code bitOffset}.
+   */
+  private long octetEnd(int bitOffset, int bitLength) {
+    long end = (bitOffset + (long) bitLength + 7) >>> 3;
+
+    return swapBytes ? end + 1 & ~1L : end;
+  }
+
+}
@@ -0,0 +1,92 @@
+package com.digitalpetri.util;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Encoding and decoding of fixed-length, null-padded strings in byte arrays, shared by the
+ * {@link ByteOps} implementations.
+ *
+ * <p>Strings in {@link StringOrder#SEQUENTIAL} order are decoded straight from the array, and
+ * ASCII and ISO-8859-1 strings are encoded straight into it, one character per byte, without an
+ * intermediate {@code byte[]}.
+ */
+final class ByteStrings {
+
+  private ByteStrings() {}
+
+  static String decode(byte[] bytes, int index, int length, Charset charset, StringOrder order) {
+    Objects.checkFromIndexSize(index, length, bytes.length);
+    order.checkLength(length);
+
+    int mask = order.mask();
+    int n = 0;
+    while (n < length && bytes[index + (n ^ mask)] != 0) {
+      n++;
+    }
+
+    if (mask == 0) {
+      return new String(bytes, index, n, charset);
+    } else {
+      byte[] chars = new byte[n];
+      for (int i = 0; i < n; i++) {
+        chars[i] = bytes[index + (i ^ mask)];
+      }
+      return new String(chars, charset);
+    }
+  }
+
+  static void encode(
+      byte[] bytes,
+      int index,
+      int length,
+      String value,
+      Charset charset,
+      StringOrder order
+  ) {
+
+    Objects.checkFromIndexSize(index, length, bytes.length);
+    order.checkLength(length);
+
+    int mask = order.mask();
+    int n;
+
+    if (charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII)) {
+      n = value.length();
+      checkFits(n, length);
+
+      // each unmappable char becomes '?'
+      char max = charset.equals(StandardCharsets.US_ASCII) ? (char) 0x7F : (char) 0xFF;
+
+      for (int i = 0; i < n; i++) {
+        char c = value.charAt(i);
+        bytes[index + (i ^ mask)] = c <= max ? (byte) c : (byte) '?';
+      }
+    } else {
+      byte[] encoded = value.getBytes(charset);
+      n = encoded.length;
+      checkFits(n, length);
+
+      if (mask == 0) {
+        System.arraycopy(encoded, 0, bytes, index, n);
+      } else {
+        for (int i = 0; i < n; i++) {
+          bytes[index + (i ^ mask)] = encoded[i];
+        }
+      }
+    }
+
+    for (int i = n; i < length; i++) {
+      bytes[index + (i ^ mask)] = 0;
+    }
+  }
+
+  private static void checkFits(int n, int length) {
+    if (n > length) {
+      throw new IllegalArgumentException(
+          String.format("encoded length: %d (expected: at most %d)", n, length));
+    }
+  }
+
+}
@@ -0,0 +1,435 @@
+package com.digitalpetri.util;
+
+/**
+ * A cursor that writes consecutive values into some bytes using a {@link ByteOps}, advancing its
+ * position past each value written.
+ *
+ * <pre>
+ *   writer.require(6)
+ *       .writeShort(function)
+ *       .writeInt(address);
+ * </pre>
+ *
+ * <p>Each write is checked against the limit before the position moves, so the position never
+ * passes it; use {@link #require(int)} to check a run of writes up front, before any of them is
+ * made. Instances are mutable, not thread-safe, and can be re-pointed with
+ * {@link #reset(Object, int, int)}.
+ *
+ * @param <T> the type of bytes.
+ */
+public final class ByteWriter<T> {
+
+  private final ByteOps<T> ops;
+
+  private T bytes;
+  private int position;
+  private int limit;
+
+  /**
+   * Create a {@link ByteWriter} that is not yet positioned on any bytes.
+   *
+   * <p>{@link #reset(Object, int, int)} must be called before writing.
+   *
+   * @param ops the {@link ByteOps} used to write values.
+   */
+  public ByteWriter(ByteOps<T> ops) {
+    this.ops = ops;
+  }
+
+  /**
+   * Create a {@link ByteWriter} that writes {@code bytes} from {@code index} up to {@code limit}.
+   *
+   * @param ops the {@link ByteOps} used to write values.
+   * @param bytes the bytes to write.
+   * @param index the index of the first byte to write.
+   * @param limit the index one past the last byte that may be written.
+   */
+  public ByteWriter(ByteOps<T> ops, T bytes, int index, int limit) {
+    this.ops = ops;
+
+    reset(bytes, index, limit);
+  }
+
+  /**
+   * Re-position this {@link ByteWriter} on {@code bytes}, from {@code index} up to
+   * {@code limit}, so a single instance can be reused without allocation.
+   *
+   * @param bytes the bytes to write.
+   * @param index the index of the first byte to write.
+   * @param limit the index one past the last byte that may be written.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if {@code index} is negative or greater than
+   *     {@code limit}.
+   */
+  public ByteWriter<T> reset(T bytes, int index, int limit) {
+    if (index < 0 || index > limit) {
+      throw new IndexOutOfBoundsException(
+          String.format("index: %d (expected: range(0, %d))", index, limit));
+    }
+
+    this.bytes = bytes;
+    this.position = index;
+    this.limit = limit;
+
+    return this;
+  }
+
+  /**
+   * @return the bytes being written.
+   */
+  public T bytes() {
+    return bytes;
+  }
+
+  /**
+   * @return the index the next value will be written at.
+   */
+  public int position() {
+    return position;
+  }
+
+  /**
+   * Set the index the next value will be written at.
+   *
+   * @param position the index the next value will be written at.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if {@code position} is negative or greater than the
+   *     limit.
+   */
+  public ByteWriter<T> position(int position) {
+    if (position < 0 || position > limit) {
+      throw new IndexOutOfBoundsException(
+          String.format("position: %d (expected: range(0, %d))", position, limit));
+    }
+
+    this.position = position;
+
+    return this;
+  }
+
+  /**
+   * @return the index one past the last byte that may be written.
+   */
+  public int limit() {
+    return limit;
+  }
+
+  /**
+   * @return the number of bytes between the position and the limit.
+   */
+  public int remaining() {
+    return limit - position;
+  }
+
+  /**
+   * Check that at least {@code length} bytes remain before the limit.
+   *
+   * <p>The write methods check the limit for each value; a single {@code require} covering a
+   * run of values fails before any of them is written.
+   *
+   * @param length the number of bytes required.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if fewer than {@code length} bytes remain.
+   */
+  public ByteWriter<T> require(int length) {
+    if (length < 0 || length > limit - position) {
+      throw new IndexOutOfBoundsException(String.format(
+          "position: %d, length: %d (expected: range(0, %d))", position, length, limit));
+    }
+
+    return this;
+  }
+
+  /**
+   * Advance the position by {@code length} bytes.
+   *
+   * @param length the number of bytes to skip.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if fewer than {@code length} bytes remain.
+   */
+  public ByteWriter<T> skip(int length) {
+    require(length);
+
+    position += length;
+
+    return this;
+  }
+
+  /**
+   * Write a boolean value at the position and advance the position past it.
+   *
+   * @param value the boolean value to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public ByteWriter<T> writeBoolean(boolean value) {
+    require(1);
+    ops.setBoolean(bytes, position, value);
+    position += 1;
+    return this;
+  }
+
+  /**
+   * Write a byte value at the position and advance the position past it.
+   *
+   * @param value the byte value to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public ByteWriter<T> writeByte(byte value) {
+    require(1);
+    ops.setByte(bytes, position, value);
+    position += 1;
+    return this;
+  }
+
+  /**
+   * Write a short value at the position and advance the position past it.
+   *
+   * @param value the short value to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public ByteWriter<T> writeShort(short value) {
+    require(Short.BYTES);
+    ops.setShort(bytes, position, value);
+    position += Short.BYTES;
+    return this;
+  }
+
+  /**
+   * Write an int value at the position and advance the position past it.
+   *
+   * @param value the int value to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public ByteWriter<T> writeInt(int value) {
+    require(Integer.BYTES);
+    ops.setInt(bytes, position, value);
+    position += Integer.BYTES;
+    return this;
+  }
+
+  /**
+   * Write a long value at the position and advance the position past it.
+   *
+   * @param value the long value to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public ByteWriter<T> writeLong(long value) {
+    require(Long.BYTES);
+    ops.setLong(bytes, position, value);
+    position += Long.BYTES;
+    return this;
+  }
+
+  /**
+   * Write a float value at the position and advance the position past it.
+   *
+   * @param value the float value to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public ByteWriter<T> writeFloat(float value) {
+    require(Float.BYTES);
+    ops.setFloat(bytes, position, value);
+    position += Float.BYTES;
+    return this;
+  }
+
+  /**
+   * Write a double value at the position and advance the position past it.
+   *
+   * @param value the double value to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   */
+  public ByteWriter<T> writeDouble(double value) {
+    require(Double.BYTES);
+    ops.setDouble(bytes, position, value);
+    position += Double.BYTES;
+    return this;
+  }
+
+  /**
+   * Write an unsigned LEB128 variable-length int at the position and advance the position
+   * past it.
+   *
+   * @param value the int value to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   * @see ByteOps#setVarInt(Object, int, int)
+   */
+  public ByteWriter<T> writeVarInt(int value) {
+    require(ByteOps.varIntSize(value));
+    position += ops.setVarInt(bytes, position, value);
+    return this;
+  }
+
+  /**
+   * Write an unsigned LEB128 variable-length long at the position and advance the position
+   * past it.
+   *
+   * @param value the long value to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   * @see ByteOps#setVarLong(Object, int, long)
+   */
+  public ByteWriter<T> writeVarLong(long value) {
+    require(ByteOps.varLongSize(value));
+    position += ops.setVarLong(bytes, position, value);
+    return this;
+  }
+
+  /**
+   * Write a zigzag-encoded variable-length int at the position and advance the position
+   * past it.
+   *
+   * @param value the int value to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   * @see ByteOps#setZigZagInt(Object, int, int)
+   */
+  public ByteWriter<T> writeZigZagInt(int value) {
+    require(ByteOps.varIntSize((value << 1) ^ (value >> 31)));
+    position += ops.setZigZagInt(bytes, position, value);
+    return this;
+  }
+
+  /**
+   * Write a zigzag-encoded variable-length long at the position and advance the position
+   * past it.
+   *
+   * @param value the long value to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the value would pass the limit.
+   * @see ByteOps#setZigZagLong(Object, int, long)
+   */
+  public ByteWriter<T> writeZigZagLong(long value) {
+    require(ByteOps.varLongSize((value << 1) ^ (value >> 63)));
+    position += ops.setZigZagLong(bytes, position, value);
+    return this;
+  }
+
+  /**
+   * Write {@code length} boolean values from {@code src}, starting at {@code offset}, at the
+   * position and advance the position past them.
+   *
+   * @param src the array to write the values from.
+   * @param offset the offset into {@code src} of the first value to write.
+   * @param length the number of values to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public ByteWriter<T> writeBooleans(boolean[] src, int offset, int length) {
+    require(length);
+    ops.setBooleans(bytes, position, src, offset, length);
+    position += length;
+    return this;
+  }
+
+  /**
+   * Write {@code length} byte values from {@code src}, starting at {@code offset}, at the
+   * position and advance the position past them.
+   *
+   * @param src the array to write the values from.
+   * @param offset the offset into {@code src} of the first value to write.
+   * @param length the number of values to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public ByteWriter<T> writeBytes(byte[] src, int offset, int length) {
+    require(length);
+    ops.setBytes(bytes, position, src, offset, length);
+    position += length;
+    return this;
+  }
+
+  /**
+   * Write {@code length} short values from {@code src}, starting at {@code offset}, at the
+   * position and advance the position past them.
+   *
+   * @param src the array to write the values from.
+   * @param offset the offset into {@code src} of the first value to write.
+   * @param length the number of values to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public ByteWriter<T> writeShorts(short[] src, int offset, int length) {
+    require(length * Short.BYTES);
+    ops.setShorts(bytes, position, src, offset, length);
+    position += length * Short.BYTES;
+    return this;
+  }
+
+  /**
+   * Write {@code length} int values from {@code src}, starting at {@code offset}, at the
+   * position and advance the position past them.
+   *
+   * @param src the array to write the values from.
+   * @param offset the offset into {@code src} of the first value to write.
+   * @param length the number of values to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public ByteWriter<T> writeInts(int[] src, int offset, int length) {
+    require(length * Integer.BYTES);
+    ops.setInts(bytes, position, src, offset, length);
+    position += length * Integer.BYTES;
+    return this;
+  }
+
+  /**
+   * Write {@code length} long values from {@code src}, starting at {@code offset}, at the
+   * position and advance the position past them.
+   *
+   * @param src the array to write the values from.
+   * @param offset the offset into {@code src} of the first value to write.
+   * @param length the number of values to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public ByteWriter<T> writeLongs(long[] src, int offset, int length) {
+    require(length * Long.BYTES);
+    ops.setLongs(bytes, position, src, offset, length);
+    position += length * Long.BYTES;
+    return this;
+  }
+
+  /**
+   * Write {@code length} float values from {@code src}, starting at {@code offset}, at the
+   * position and advance the position past them.
+   *
+   * @param src the array to write the values from.
+   * @param offset the offset into {@code src} of the first value to write.
+   * @param length the number of values to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public ByteWriter<T> writeFloats(float[] src, int offset, int length) {
+    require(length * Float.BYTES);
+    ops.setFloats(bytes, position, src, offset, length);
+    position += length * Float.BYTES;
+    return this;
+  }
+
+  /**
+   * Write {@code length} double values from {@code src}, starting at {@code offset}, at the
+   * position and advance the position past them.
+   *
+   * @param src the array to write the values from.
+   * @param offset the offset into {@code src} of the first value to write.
+   * @param length the number of values to write.
+   * @return this {@link ByteWriter}.
+   * @throws IndexOutOfBoundsException if the values would pass the limit.
+   */
+  public ByteWriter<T> writeDoubles(double[] src, int offset, int length) {
+    require(length * Double.BYTES);
+    ops.setDoubles(bytes, position, src, offset, length);
+    position += length * Double.BYTES;
+    return this;
+  }
+
+}
@@ -0,0 +1,69 @@
+package com.digitalpetri.util;
+
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * Checksum algorithms commonly used to protect frames, computed over a region of bytes with
+ * {@link ByteOps#getChecksum(Object, int, int, ChecksumAlgorithm)}, or incrementally with a
+ * {@link #newChecksum()} and {@link ByteOps#updateChecksum(Object, int, int, Checksum)}.
+ *
+ * <pre>
+ *   Checksum crc = ChecksumAlgorithm.CRC16_MODBUS.newChecksum();
+ *   ops.updateChecksum(frame, 0, headerLength, crc);
+ *   ops.updateChecksum(frame, headerLength, dataLength, crc);
+ * </pre>
+ */
+public enum ChecksumAlgorithm {
+
+  /**
+   * CRC-16/MODBUS, as used by Modbus RTU; a 16-bit value, sent low byte first.
+   */
+  CRC16_MODBUS {
+    @Override
+    public Checksum newChecksum() {
+      return new Crc16Modbus();
+    }
+  },
+
+  /**
+   * CRC-32 (ISO-HDLC), as used by Ethernet and zip; {@link CRC32}.
+   */
+  CRC32 {
+    @Override
+    public Checksum newChecksum() {
+      return new CRC32();
+    }
+  },
+
+  /**
+   * CRC-32C (Castagnoli), as used by iSCSI and many storage formats; {@link CRC32C}.
+   */
+  CRC32C {
+    @Override
+    public Checksum newChecksum() {
+      return new CRC32C();
+    }
+  },
+
+  /**
+   * LRC, as used by Modbus ASCII; the 8-bit two's complement of the sum of the bytes.
+   */
+  LRC {
+    @Override
+    public Checksum newChecksum() {
+      return new Lrc();
+    }
+  };
+
+  /**
+   * Create a new {@link Checksum} that computes this algorithm, in its initial state.
+   *
+   * <p>{@link Checksum} instances are not thread-safe.
+   *
+   * @return a new {@link Checksum}.
+   */
+  public abstract Checksum newChecksum();
+
+}
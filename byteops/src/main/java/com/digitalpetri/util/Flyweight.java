@@ -0,0 +1,68 @@
+package com.digitalpetri.util;
+
+/**
+ * Base class of flyweights: typed, zero-copy views of a fixed layout at some offset in some
+ * bytes, re-pointable with {@link #wrap(Object, int)} so a single instance can be reused for
+ * every frame without allocation.
+ *
+ * <p>Subclasses are usually generated from an interface annotated with {@link GenerateFlyweight}
+ * by the annotation processor in {@code byteops-processor}.
+ *
+ * <pre>
+ *   SensorFrameFlyweight&lt;byte[]&gt; frame =
+ *       new SensorFrameFlyweight&lt;&gt;(ByteArrayByteOps::new);
+ *
+ *   for (int offset = 0; offset &lt; bytes.length; offset += SensorFrameFlyweight.SIZE) {
+ *     short temperature = frame.wrap(bytes, offset).temperature();
+ *   }
+ * </pre>
+ *
+ * <p>Accessors are only checked against the bounds of the underlying bytes. Instances are
+ * mutable and not thread-safe.
+ *
+ * @param <T> the type of bytes.
+ */
+public abstract class Flyweight<T> {
+
+  private T bytes;
+  private int offset;
+
+  /**
+   * Point this flyweight at the layout starting at {@code offset} in {@code bytes}.
+   *
+   * @param bytes the bytes to view.
+   * @param offset the index into {@code bytes} the layout starts at.
+   * @return this flyweight.
+   * @throws IndexOutOfBoundsException if {@code offset} is negative.
+   */
+  public Flyweight<T> wrap(T bytes, int offset) {
+    if (offset < 0) {
+      throw new IndexOutOfBoundsException("offset: " + offset);
+    }
+
+    this.bytes = bytes;
+    this.offset = offset;
+
+    return this;
+  }
+
+  /**
+   * @return the bytes this flyweight currently views.
+   */
+  public final T bytes() {
+    return bytes;
+  }
+
+  /**
+   * @return the index into {@link #bytes()} the layout starts at.
+   */
+  public final int offset() {
+    return offset;
+  }
+
+  /**
+   * @return the size of the layout, in bytes.
+   */
+  public abstract int size();
+
+}
@@ -0,0 +1,31 @@
+package com.digitalpetri.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the offset and ordering of a field accessed by a getter or setter of an interface
+ * annotated with {@link GenerateFlyweight}.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface FlyweightField {
+
+  /**
+   * @return the offset of the field relative to the start of the layout.
+   */
+  int offset();
+
+  /**
+   * The ordering of the field, or {@link OrderedOps} itself to use the default ordering declared
+   * by {@link GenerateFlyweight#order()}.
+   *
+   * @return the ordering of the field.
+   */
+  Class<? extends OrderedOps> order() default OrderedOps.class;
+
+}
@@ -0,0 +1,293 @@
+package com.digitalpetri.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Decodes a stream of fixed-size or length-prefixed frames read from a
+ * {@link ReadableByteChannel}, handing each complete frame to a {@link FrameHandler} in place,
+ * without copying it out of the decoder's buffer.
+ *
+ * <pre>
+ *   // Modbus TCP: a big-endian length at offset 4 counts the bytes that follow it
+ *   FrameDecoder decoder = new FrameDecoder(
+ *       FrameDecoder.Framing.lengthField(ByteBufferByteOps.BIG_ENDIAN, 4, 2, 0),
+ *       ByteBuffer.allocateDirect(260)
+ *   );
+ *
+ *   FrameDecoder.FrameHandler handler = (buffer, index, length) -&gt; {
+ *     byte unitId = ByteBufferByteOps.BIG_ENDIAN.getByte(buffer, index + 6);
+ *     ...
+ *     return true;
+ *   };
+ *
+ *   while (decoder.decode(channel, handler) != -1) {
+ *     ...
+ *   }
+ * </pre>
+ *
+ * <p>The buffer is the decoder's only storage: frames that straddle reads are completed in it,
+ * compacting it when needed, and a frame longer than it is an error. A {@link FrameHandler} that
+ * returns {@code false} pauses the decoder, which then stops reading the channel until the
+ * frames already buffered have been handled.
+ *
+ * <p>Instances are mutable and not thread-safe.
+ */
+public final class FrameDecoder {
+
+  private final Framing framing;
+  private final ByteBuffer buffer;
+
+  private int readIndex;
+  private int writeIndex;
+  private int frameLength = -1;
+
+  /**
+   * Create a {@link FrameDecoder} that buffers frames in a heap buffer of {@code capacity}
+   * bytes.
+   *
+   * @param framing the {@link Framing} that finds each frame's length.
+   * @param capacity the capacity of the buffer; the longest frame that can be decoded.
+   */
+  public FrameDecoder(Framing framing, int capacity) {
+    this(framing, ByteBuffer.allocate(capacity));
+  }
+
+  /**
+   * Create a {@link FrameDecoder} that buffers frames in {@code buffer}, e.g. a direct buffer
+   * to read socket channels without an intermediate copy.
+   *
+   * <p>The decoder uses the whole capacity of {@code buffer} and owns its position and limit.
+   *
+   * @param framing the {@link Framing} that finds each frame's length.
+   * @param buffer the buffer; its capacity is the longest frame that can be decoded.
+   */
+  public FrameDecoder(Framing framing, ByteBuffer buffer) {
+    if (buffer.capacity() == 0 || buffer.isReadOnly()) {
+      throw new IllegalArgumentException("buffer must be writable and non-empty");
+    }
+
+    this.framing = framing;
+    this.buffer = buffer;
+
+    buffer.clear();
+  }
+
+  /**
+   * Hand any complete frames already buffered to {@code handler} then, unless it paused the
+   * decoder, read once from {@code channel} and hand it the frames completed by the read.
+   *
+   * <p>The frames are passed as the decoder's buffer with its position and limit set to the
+   * frame; the buffer must not be modified, and is only valid until the handler returns.
+   *
+   * @param channel the channel to read from; may be non-blocking.
+   * @param handler the handler for each complete frame.
+   * @return the number of bytes read, possibly zero, or -1 if the channel has reached
+   *     end-of-stream; {@link #buffered()} bytes of a truncated frame may then remain.
+   * @throws IOException if reading fails, a frame's length is invalid or longer than the buffer,
+   *     or {@code handler} throws.
+   */
+  public int decode(ReadableByteChannel channel, FrameHandler handler) throws IOException {
+    if (!handle(handler)) {
+      return 0;
+    }
+
+    if (readIndex == writeIndex) {
+      readIndex = writeIndex = 0;
+    } else if (readIndex > 0
+        && (writeIndex == buffer.capacity() || readIndex + frameLength > buffer.capacity())) {
+
+      buffer.limit(writeIndex).position(readIndex);
+      buffer.compact();
+      writeIndex -= readIndex;
+      readIndex = 0;
+    }
+
+    buffer.limit(buffer.capacity()).position(writeIndex);
+
+    int read = channel.read(buffer);
+
+    if (read > 0) {
+      writeIndex += read;
+
+      handle(handler);
+    }
+
+    return read;
+  }
+
+  /**
+   * @return the number of bytes buffered but not yet handed to a {@link FrameHandler}.
+   */
+  public int buffered() {
+    return writeIndex - readIndex;
+  }
+
+  /**
+   * Discard any buffered bytes, e.g. to reuse this decoder for another channel.
+   */
+  public void reset() {
+    readIndex = writeIndex = 0;
+    frameLength = -1;
+
+    buffer.clear();
+  }
+
+  /**
+   * Hand the complete frames in the buffer to {@code handler}.
+   *
+   * @return {@code false} if {@code handler} paused the decoder.
+   */
+  private boolean handle(FrameHandler handler) throws IOException {
+    while (true) {
+      int available = writeIndex - readIndex;
+
+      if (frameLength < 0) {
+        buffer.limit(writeIndex).position(readIndex);
+
+        frameLength = framing.frameLength(buffer, readIndex, available);
+
+        if (frameLength < 0) {
+          if (available == buffer.capacity()) {
+            throw new IOException("frame header longer than buffer: " + available);
+          }
+          return true;
+        } else if (frameLength == 0 || frameLength > buffer.capacity()) {
+          throw new IOException(String.format(
+              "frame length: %d (expected: range(1, %d))", frameLength, buffer.capacity()));
+        }
+      }
+
+      if (available < frameLength) {
+        return true;
+      }
+
+      int index = readIndex;
+      int length = frameLength;
+
+      readIndex += length;
+      frameLength = -1;
+
+      buffer.limit(index + length).position(index);
+
+      if (!handler.onFrame(buffer, index, length)) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Finds the length of the frame at the start of the buffered bytes.
+   */
+  @FunctionalInterface
+  public interface Framing {
+
+    /**
+     * Get the length of the frame starting at {@code index} in {@code buffer}, if enough of it
+     * is available to tell.
+     *
+     * @param buffer the buffer, with its position and limit set to the available bytes.
+     * @param index the index into {@code buffer} of the start of the frame.
+     * @param available the number of bytes available from {@code index}.
+     * @return the length of the frame, including any header, or -1 if more bytes are needed.
+     * @throws IOException if the frame's header is invalid.
+     */
+    int frameLength(ByteBuffer buffer, int index, int available) throws IOException;
+
+    /**
+     * Create a {@link Framing} for frames that are all {@code length} bytes long.
+     *
+     * @param length the length of each frame.
+     * @return a new {@link Framing}.
+     */
+    static Framing fixedLength(int length) {
+      if (length < 1) {
+        throw new IllegalArgumentException("length: " + length);
+      }
+
+      return (buffer, index, available) -> length;
+    }
+
+    /**
+     * Create a {@link Framing} for frames with an unsigned length field in their header.
+     *
+     * <p>The frame length is {@code fieldOffset + fieldLength + value + adjustment}, i.e. a
+     * length field that counts the bytes following it needs no adjustment, and one that counts
+     * the whole frame needs {@code -(fieldOffset + fieldLength)}.
+     *
+     * @param ops the {@link ByteOps} used to read the length field.
+     * @param fieldOffset the offset of the length field within the frame.
+     * @param fieldLength the length of the length field: 1, 2, or 4 bytes.
+     * @param adjustment the adjustment added to the length field's value.
+     * @return a new {@link Framing}.
+     */
+    static Framing lengthField(
+        ByteOps<ByteBuffer> ops,
+        int fieldOffset,
+        int fieldLength,
+        int adjustment
+    ) {
+
+      if (fieldOffset < 0) {
+        throw new IllegalArgumentException("fieldOffset: " + fieldOffset);
+      }
+      if (fieldLength != 1 && fieldLength != 2 && fieldLength != 4) {
+        throw new IllegalArgumentException("fieldLength: " + fieldLength);
+      }
+
+      int headerLength = fieldOffset + fieldLength;
+
+      return (buffer, index, available) -> {
+        if (available < headerLength) {
+          return -1;
+        }
+
+        long value;
+        switch (fieldLength) {
+          case 1:
+            value = ops.getByte(buffer, index + fieldOffset) & 0xFFL;
+            break;
+          case 2:
+            value = ops.getShort(buffer, index + fieldOffset) & 0xFFFFL;
+            break;
+          default:
+            value = ops.getInt(buffer, index + fieldOffset) & 0xFFFFFFFFL;
+            break;
+        }
+
+        long length = headerLength + value + adjustment;
+
+        if (length < headerLength || length > Integer.MAX_VALUE) {
+          throw new IOException(String.format(
+              "length field: %d (frame length: %d)", value, length));
+        }
+
+        return (int) length;
+      };
+    }
+
+  }
+
+  /**
+   * Handles each complete frame decoded by a {@link FrameDecoder}.
+   */
+  @FunctionalInterface
+  public interface FrameHandler {
+
+    /**
+     * Handle the {@code length}-byte frame starting at {@code index} in {@code buffer}.
+     *
+     * @param buffer the decoder's buffer, with its position and limit set to the frame; only
+     *     valid until this method returns.
+     * @param index the index into {@code buffer} of the start of the frame.
+     * @param length the length of the frame.
+     * @return {@code true} to continue, or {@code false} to pause the decoder until the next
+     *     call to {@link FrameDecoder#decode(ReadableByteChannel, FrameHandler)}.
+     * @throws IOException if the frame can't be handled.
+     */
+    boolean onFrame(ByteBuffer buffer, int index, int length) throws IOException;
+
+  }
+
+}
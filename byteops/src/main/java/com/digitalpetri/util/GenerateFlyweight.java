@@ -0,0 +1,41 @@
+package com.digitalpetri.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface from which the annotation processor in {@code byteops-processor} generates
+ * a {@link Flyweight} implementation named after the interface with a {@code Flyweight} suffix.
+ *
+ * <p>Every abstract method of the interface must be annotated with {@link FlyweightField} and be
+ * either a getter, with no parameters and a primitive return type, or a setter, with a single
+ * primitive parameter and a {@code void} return type. A setter may omit the annotation if a
+ * getter with the same name has one.
+ *
+ * <pre>
+ *   &#64;GenerateFlyweight(order = OrderedOps.BigEndianOps.class)
+ *   public interface SensorFrame {
+ *     &#64;FlyweightField(offset = 0)
+ *     short temperature();
+ *
+ *     void temperature(short value);
+ *   }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateFlyweight {
+
+  /**
+   * The default ordering of fields; must be an {@link OrderedOps} with a public no-argument
+   * constructor, e.g. one of the four built-in implementations.
+   *
+   * @return the default ordering of fields.
+   */
+  Class<? extends OrderedOps> order() default OrderedOps.BigEndianOps.class;
+
+}
@@ -0,0 +1,70 @@
+package com.digitalpetri.util;
+
+/**
+ * Conversions between {@code float} and the 16-bit IEEE 754 binary16 ("float16") and bfloat16
+ * formats, rounding to nearest even.
+ *
+ * <p>There is a JDK 22+ version of this class in the multi-release JAR that converts float16
+ * with the intrinsified {@code Float.float16ToFloat} and {@code Float.floatToFloat16}; it must
+ * keep the same signatures.
+ */
+final class HalfFloats {
+
+  private HalfFloats() {}
+
+  static float float16ToFloat(short value) {
+    int sign = (value & 0x8000) << 16;
+    int abs = value & 0x7FFF;
+
+    if (abs >= 0x7C00) {
+      // infinity or NaN, keeping the NaN payload
+      return Float.intBitsToFloat(sign | 0x7F800000 | (abs & 0x03FF) << 13);
+    } else if (abs >= 0x0400) {
+      // normal: rebias the exponent from 15 to 127
+      return Float.intBitsToFloat(sign | (abs << 13) + 0x38000000);
+    } else {
+      // subnormal or zero, exactly representable as a float
+      float f = abs * 0x1p-24f;
+      return sign == 0 ? f : -f;
+    }
+  }
+
+  static short floatToFloat16(float value) {
+    int bits = Float.floatToRawIntBits(value);
+    int sign = bits >>> 16 & 0x8000;
+    int abs = bits & 0x7FFFFFFF;
+
+    if (abs > 0x7F800000) {
+      // NaN, kept quiet and keeping what fits of the payload
+      return (short) (sign | 0x7E00 | abs >>> 13 & 0x03FF);
+    } else if (abs >= 0x477FF000) {
+      // rounds to beyond the largest float16, 65504
+      return (short) (sign | 0x7C00);
+    } else if (abs >= 0x38800000) {
+      // normal: rebias the exponent, then round the dropped 13 bits to nearest even; a carry out
+      // of the significand correctly bumps the exponent
+      int h = (abs - 0x38000000) >>> 13;
+      h += ((abs & 0x1FFF) + 0x0FFF + (h & 1)) >>> 13;
+      return (short) (sign | h);
+    } else {
+      // subnormal or zero: a multiple of 2^-24, rounded to nearest even by rint
+      return (short) (sign | (int) Math.rint(Float.intBitsToFloat(abs) * 0x1p24f));
+    }
+  }
+
+  static float bfloat16ToFloat(short value) {
+    return Float.intBitsToFloat(value << 16);
+  }
+
+  static short floatToBFloat16(float value) {
+    int bits = Float.floatToRawIntBits(value);
+
+    if ((bits & 0x7FFFFFFF) > 0x7F800000) {
+      // NaN, kept quiet so truncating the payload can't turn it into infinity
+      return (short) (bits >>> 16 | 0x0040);
+    }
+
+    return (short) ((bits + 0x7FFF + (bits >>> 16 & 1)) >>> 16);
+  }
+
+}
@@ -0,0 +1,307 @@
+package com.digitalpetri.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * A fixed binary layout: a set of named fields, each with a type, an offset relative to the start
+ * of the layout, an ordering, and a scale.
+ *
+ * <pre>
+ *   Layout layout = Layout.builder(new OrderedOps.BigEndianOps())
+ *       .field("status", Layout.Type.USHORT, 0)
+ *       .field("temperature", Layout.Type.SHORT, 2, 0.1)
+ *       .field("counter", Layout.Type.UINT, 4, 1.0, new OrderedOps.BigEndianLowHighOps())
+ *       .build();
+ *
+ *   LayoutCodec&lt;byte[]&gt; codec = layout.codec(ByteArrayByteOps::new, bs -&gt; bs.length);
+ * </pre>
+ *
+ * <p>A {@link Layout} is immutable and is compiled into a reusable {@link LayoutCodec} for a
+ * particular kind of bytes with {@link #codec(Function, ToIntFunction)}.
+ */
+public final class Layout {
+
+  private final List<Field> fields;
+  private final int size;
+
+  private Layout(List<Field> fields) {
+    this.fields = Collections.unmodifiableList(fields);
+
+    int size = 0;
+    for (Field field : fields) {
+      size = Math.max(size, field.offset() + field.type().size());
+    }
+    this.size = size;
+  }
+
+  /**
+   * Create a {@link Builder} for a layout whose fields default to the ordering of
+   * {@code orderedOps}.
+   *
+   * @param orderedOps the default ordering of fields.
+   * @return a new {@link Builder}.
+   */
+  public static Builder builder(OrderedOps orderedOps) {
+    return new Builder(orderedOps);
+  }
+
+  /**
+   * @return the fields of this layout, in the order they were declared.
+   */
+  public List<Field> fields() {
+    return fields;
+  }
+
+  /**
+   * @return the size of this layout, in bytes: the end of the field that ends last.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Compile this layout into a {@link LayoutCodec} for bytes of type {@code T}.
+   *
+   * @param byteOps a function that creates the {@link ByteOps} for an ordering, e.g.
+   *     {@code ByteArrayByteOps::new}. It is called once for each distinct ordering.
+   * @param capacity a function that gets the number of addressable bytes in some bytes, e.g.
+   *     {@code bs -> bs.length}, used to bounds check the whole layout at once.
+   * @param <T> the type of bytes.
+   * @return a new {@link LayoutCodec}.
+   */
+  public <T> LayoutCodec<T> codec(
+      Function<OrderedOps, ? extends ByteOps<T>> byteOps,
+      ToIntFunction<T> capacity
+  ) {
+
+    return new LayoutCodec<>(this, byteOps, capacity);
+  }
+
+  /**
+   * The type of a {@link Field}.
+   */
+  public enum Type {
+
+    /**
+     * A boolean, one byte; zero is false and any non-zero is true.
+     */
+    BOOLEAN(1),
+
+    /**
+     * A signed 8-bit integer.
+     */
+    BYTE(1),
+
+    /**
+     * An unsigned 8-bit integer, decoded as an {@code int}.
+     */
+    UBYTE(1),
+
+    /**
+     * A signed 16-bit integer.
+     */
+    SHORT(2),
+
+    /**
+     * An unsigned 16-bit integer, decoded as an {@code int}.
+     */
+    USHORT(2),
+
+    /**
+     * A signed 32-bit integer.
+     */
+    INT(4),
+
+    /**
+     * An unsigned 32-bit integer, decoded as a {@code long}.
+     */
+    UINT(4),
+
+    /**
+     * A signed 64-bit integer.
+     *
+     * <p>Values with a magnitude above 2<sup>53</sup> lose precision when decoded into or
+     * encoded from a {@code double[]}; bind the codec to a {@code long} field to keep every bit.
+     */
+    LONG(8),
+
+    /**
+     * A 32-bit IEEE 754 floating point number.
+     */
+    FLOAT(4),
+
+    /**
+     * A 64-bit IEEE 754 floating point number.
+     */
+    DOUBLE(8);
+
+    private final int size;
+
+    Type(int size) {
+      this.size = size;
+    }
+
+    /**
+     * @return the size of this type, in bytes.
+     */
+    public int size() {
+      return size;
+    }
+
+  }
+
+  /**
+   * A named field of a {@link Layout}.
+   */
+  public static final class Field {
+
+    private final String name;
+    private final Type type;
+    private final int offset;
+    private final double scale;
+    private final OrderedOps orderedOps;
+
+    private Field(String name, Type type, int offset, double scale, OrderedOps orderedOps) {
+      this.name = name;
+      this.type = type;
+      this.offset = offset;
+      this.scale = scale;
+      this.orderedOps = orderedOps;
+    }
+
+    /**
+     * @return the name of this field.
+     */
+    public String name() {
+      return name;
+    }
+
+    /**
+     * @return the type of this field.
+     */
+    public Type type() {
+      return type;
+    }
+
+    /**
+     * @return the offset of this field relative to the start of the layout.
+     */
+    public int offset() {
+      return offset;
+    }
+
+    /**
+     * Get the scale of this field. A field with a scale other than 1 is decoded as a
+     * {@code double}, the raw value multiplied by the scale, and encoded by dividing by the scale
+     * and rounding to the nearest integer for integer types.
+     *
+     * @return the scale of this field.
+     */
+    public double scale() {
+      return scale;
+    }
+
+    /**
+     * @return the ordering of this field.
+     */
+    public OrderedOps orderedOps() {
+      return orderedOps;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "Field{name=%s, type=%s, offset=%d, scale=%s}", name, type, offset, scale);
+    }
+
+  }
+
+  /**
+   * Builds a {@link Layout} one field at a time.
+   */
+  public static final class Builder {
+
+    private final List<Field> fields = new ArrayList<>();
+    private final Set<String> names = new HashSet<>();
+
+    private final OrderedOps orderedOps;
+
+    private Builder(OrderedOps orderedOps) {
+      this.orderedOps = Objects.requireNonNull(orderedOps);
+    }
+
+    /**
+     * Add a field with the default ordering and a scale of 1.
+     *
+     * @param name the name of the field.
+     * @param type the type of the field.
+     * @param offset the offset of the field relative to the start of the layout.
+     * @return this {@link Builder}.
+     */
+    public Builder field(String name, Type type, int offset) {
+      return field(name, type, offset, 1.0, orderedOps);
+    }
+
+    /**
+     * Add a field with the default ordering.
+     *
+     * @param name the name of the field.
+     * @param type the type of the field.
+     * @param offset the offset of the field relative to the start of the layout.
+     * @param scale the scale of the field; see {@link Field#scale()}.
+     * @return this {@link Builder}.
+     */
+    public Builder field(String name, Type type, int offset, double scale) {
+      return field(name, type, offset, scale, orderedOps);
+    }
+
+    /**
+     * Add a field.
+     *
+     * @param name the name of the field.
+     * @param type the type of the field.
+     * @param offset the offset of the field relative to the start of the layout.
+     * @param scale the scale of the field; see {@link Field#scale()}.
+     * @param orderedOps the ordering of the field.
+     * @return this {@link Builder}.
+     * @throws IllegalArgumentException if {@code name} is already used, {@code offset} is
+     *     negative, or {@code scale} is zero, not finite, or not 1 for a boolean field.
+     */
+    public Builder field(String name, Type type, int offset, double scale, OrderedOps orderedOps) {
+      Objects.requireNonNull(type);
+      Objects.requireNonNull(orderedOps);
+
+      if (names.contains(Objects.requireNonNull(name))) {
+        throw new IllegalArgumentException("duplicate field: " + name);
+      }
+      if (offset < 0) {
+        throw new IllegalArgumentException("offset: " + offset);
+      }
+      if (scale == 0.0 || !Double.isFinite(scale) || (type == Type.BOOLEAN && scale != 1.0)) {
+        throw new IllegalArgumentException("scale: " + scale);
+      }
+
+      names.add(name);
+
+      fields.add(new Field(name, type, offset, scale, orderedOps));
+
+      return this;
+    }
+
+    /**
+     * @return a new {@link Layout} with the fields added so far.
+     */
+    public Layout build() {
+      return new Layout(new ArrayList<>(fields));
+    }
+
+  }
+
+}
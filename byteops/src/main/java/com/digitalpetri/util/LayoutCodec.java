@@ -0,0 +1,610 @@
+package com.digitalpetri.util;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Decodes and encodes all the fields of a {@link Layout} at once, into or out of a
+ * {@code double[]} or an object bound with {@link #bind(MethodHandles.Lookup, Class)}.
+ *
+ * <p>The accessors for every field are composed into a single {@link MethodHandle} when the codec
+ * is created, so decoding and encoding do not reflect. The whole layout is bounds checked once
+ * before any field is read or written, so an encode that fails a bounds check writes nothing.
+ *
+ * <p>Instances are immutable and thread-safe; create one per layout and kind of bytes and reuse
+ * it.
+ *
+ * @param <T> the type of bytes.
+ */
+public final class LayoutCodec<T> {
+
+  private static final MethodHandle ADD;
+  private static final MethodHandle MULTIPLY;
+  private static final MethodHandle DIVIDE;
+  private static final MethodHandle ROUND;
+  private static final MethodHandle BOOLEAN_TO_DOUBLE;
+  private static final MethodHandle DOUBLE_TO_BOOLEAN;
+
+  /**
+   * {@code (ByteOps, Object, int)X} getters, indexed by {@link Layout.Type} ordinal.
+   */
+  private static final MethodHandle[] GETTERS = new MethodHandle[Layout.Type.values().length];
+
+  /**
+   * {@code (ByteOps, Object, int, X)void} setters, indexed by {@link Layout.Type} ordinal.
+   */
+  private static final MethodHandle[] SETTERS = new MethodHandle[Layout.Type.values().length];
+
+  static {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    try {
+      ADD = lookup.findStatic(
+          LayoutCodec.class, "add", methodType(int.class, int.class, int.class));
+      MULTIPLY = lookup.findStatic(
+          LayoutCodec.class, "multiply", methodType(double.class, double.class, double.class));
+      DIVIDE = lookup.findStatic(
+          LayoutCodec.class, "divide", methodType(double.class, double.class, double.class));
+      ROUND = lookup.findStatic(
+          Math.class, "round", methodType(long.class, double.class));
+      BOOLEAN_TO_DOUBLE = lookup.findStatic(
+          LayoutCodec.class, "booleanToDouble", methodType(double.class, boolean.class));
+      DOUBLE_TO_BOOLEAN = lookup.findStatic(
+          LayoutCodec.class, "doubleToBoolean", methodType(boolean.class, double.class));
+
+      MethodHandle byteToUnsigned = lookup.findStatic(
+          Byte.class, "toUnsignedInt", methodType(int.class, byte.class));
+      MethodHandle shortToUnsigned = lookup.findStatic(
+          Short.class, "toUnsignedInt", methodType(int.class, short.class));
+      MethodHandle intToUnsigned = lookup.findStatic(
+          Integer.class, "toUnsignedLong", methodType(long.class, int.class));
+
+      for (Layout.Type type : Layout.Type.values()) {
+        MethodHandle getter;
+        MethodHandle setter;
+
+        switch (type) {
+          case BOOLEAN:
+            getter = getter(lookup, "getBoolean", boolean.class);
+            setter = setter(lookup, "setBoolean", boolean.class);
+            break;
+          case BYTE:
+            getter = getter(lookup, "getByte", byte.class);
+            setter = setter(lookup, "setByte", byte.class);
+            break;
+          case UBYTE:
+            getter = MethodHandles.filterReturnValue(
+                getter(lookup, "getByte", byte.class), byteToUnsigned);
+            setter = narrow(setter(lookup, "setByte", byte.class), int.class);
+            break;
+          case SHORT:
+            getter = getter(lookup, "getShort", short.class);
+            setter = setter(lookup, "setShort", short.class);
+            break;
+          case USHORT:
+            getter = MethodHandles.filterReturnValue(
+                getter(lookup, "getShort", short.class), shortToUnsigned);
+            setter = narrow(setter(lookup, "setShort", short.class), int.class);
+            break;
+          case INT:
+            getter = getter(lookup, "getInt", int.class);
+            setter = setter(lookup, "setInt", int.class);
+            break;
+          case UINT:
+            getter = MethodHandles.filterReturnValue(
+                getter(lookup, "getInt", int.class), intToUnsigned);
+            setter = narrow(setter(lookup, "setInt", int.class), long.class);
+            break;
+          case LONG:
+            getter = getter(lookup, "getLong", long.class);
+            setter = setter(lookup, "setLong", long.class);
+            break;
+          case FLOAT:
+            getter = getter(lookup, "getFloat", float.class);
+            setter = setter(lookup, "setFloat", float.class);
+            break;
+          case DOUBLE:
+            getter = getter(lookup, "getDouble", double.class);
+            setter = setter(lookup, "setDouble", double.class);
+            break;
+          default:
+            throw new AssertionError(type);
+        }
+
+        GETTERS[type.ordinal()] = getter;
+        SETTERS[type.ordinal()] = setter;
+      }
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private static final MethodType ARRAY_TYPE =
+      methodType(void.class, Object.class, int.class, double[].class);
+
+  private static final MethodType OBJECT_TYPE =
+      methodType(void.class, Object.class, int.class, Object.class);
+
+
+  private final Layout layout;
+  private final ToIntFunction<T> capacity;
+
+  /**
+   * {@code (Object, int)D} getters for each field, with offset and scale applied.
+   */
+  private final MethodHandle[] getters;
+
+  /**
+   * {@code (Object, int, D)void} setters for each field, with offset and scale applied.
+   */
+  private final MethodHandle[] setters;
+
+  private final MethodHandle arrayDecoder;
+  private final MethodHandle arrayEncoder;
+
+  LayoutCodec(
+      Layout layout,
+      Function<OrderedOps, ? extends ByteOps<T>> byteOps,
+      ToIntFunction<T> capacity
+  ) {
+
+    this.layout = layout;
+    this.capacity = Objects.requireNonNull(capacity);
+
+    List<Layout.Field> fields = layout.fields();
+    Map<OrderedOps, ByteOps<T>> ops = new IdentityHashMap<>();
+
+    getters = new MethodHandle[fields.size()];
+    setters = new MethodHandle[fields.size()];
+
+    MethodHandle decoder = MethodHandles.empty(ARRAY_TYPE);
+    MethodHandle encoder = MethodHandles.empty(ARRAY_TYPE);
+
+    for (int i = fields.size() - 1; i >= 0; i--) {
+      Layout.Field field = fields.get(i);
+      ByteOps<T> fieldOps = ops.computeIfAbsent(field.orderedOps(), byteOps);
+      MethodHandle offset = MethodHandles.insertArguments(ADD, 1, field.offset());
+
+      MethodHandle getter = GETTERS[field.type().ordinal()].bindTo(fieldOps);
+      getter = MethodHandles.filterArguments(getter, 1, offset);
+
+      MethodHandle setter = SETTERS[field.type().ordinal()].bindTo(fieldOps);
+      setter = MethodHandles.filterArguments(setter, 1, offset);
+
+      if (field.scale() != 1.0) {
+        getter = MethodHandles.filterReturnValue(
+            toDouble(getter), MethodHandles.insertArguments(MULTIPLY, 1, field.scale()));
+        setter = MethodHandles.filterArguments(
+            fromDouble(setter), 2, MethodHandles.insertArguments(DIVIDE, 1, field.scale()));
+      }
+
+      getters[i] = getter;
+      setters[i] = setter;
+
+      // (double[], Object, int)void -> (Object, int, double[])void
+      MethodHandle decode = MethodHandles.collectArguments(
+          MethodHandles.insertArguments(MethodHandles.arrayElementSetter(double[].class), 1, i),
+          1,
+          toDouble(getter)
+      );
+      decoder = MethodHandles.foldArguments(
+          decoder, MethodHandles.permuteArguments(decode, ARRAY_TYPE, 2, 0, 1));
+
+      MethodHandle encode = MethodHandles.filterArguments(
+          fromDouble(setter),
+          2,
+          MethodHandles.insertArguments(MethodHandles.arrayElementGetter(double[].class), 1, i)
+      );
+      encoder = MethodHandles.foldArguments(encoder, encode);
+    }
+
+    arrayDecoder = decoder;
+    arrayEncoder = encoder;
+  }
+
+  /**
+   * @return the {@link Layout} this codec was compiled from.
+   */
+  public Layout layout() {
+    return layout;
+  }
+
+  /**
+   * Decode every field of the layout at {@code index} in {@code bytes} into {@code values}, in
+   * the order the fields were declared.
+   *
+   * <p>Values of {@link Layout.Type#LONG} fields with a magnitude above 2<sup>53</sup> are
+   * rounded to the nearest {@code double}; use {@link #bind(MethodHandles.Lookup, Class)} to
+   * decode them exactly.
+   *
+   * @param bytes the bytes to decode from.
+   * @param index the index into {@code bytes} the layout starts at.
+   * @param values the array to decode into; must have at least one element per field.
+   * @throws IndexOutOfBoundsException if the layout does not fit in {@code bytes} at
+   *     {@code index}, or {@code values} is too short.
+   */
+  public void decode(T bytes, int index, double[] values) {
+    checkIndex(bytes, index);
+    Objects.checkFromIndexSize(0, getters.length, values.length);
+
+    try {
+      arrayDecoder.invokeExact((Object) bytes, index, values);
+    } catch (Throwable t) {
+      throw propagate(t);
+    }
+  }
+
+  /**
+   * Encode every field of the layout from {@code values}, in the order the fields were declared,
+   * at {@code index} in {@code bytes}.
+   *
+   * <p>Values of integer fields are rounded to the nearest integer; values of boolean fields are
+   * true if non-zero.
+   *
+   * @param bytes the bytes to encode into.
+   * @param index the index into {@code bytes} the layout starts at.
+   * @param values the array to encode from; must have at least one element per field.
+   * @throws IndexOutOfBoundsException if the layout does not fit in {@code bytes} at
+   *     {@code index}, or {@code values} is too short.
+   */
+  public void encode(T bytes, int index, double[] values) {
+    checkIndex(bytes, index);
+    Objects.checkFromIndexSize(0, setters.length, values.length);
+
+    try {
+      arrayEncoder.invokeExact((Object) bytes, index, values);
+    } catch (Throwable t) {
+      throw propagate(t);
+    }
+  }
+
+  /**
+   * Bind this codec to objects of class {@code type}, whose non-static fields named after the
+   * layout's fields hold the decoded values.
+   *
+   * <p>Each field of {@code type} must be assignable from the decoded type of the layout field
+   * by a widening or boxing conversion, e.g. an {@code int} or {@code long} for a
+   * {@link Layout.Type#USHORT}, or a {@code double} for a field with a scale. If {@code type} has
+   * a constructor whose parameters correspond, in order, to the layout's fields, instances can
+   * also be created with {@link Binding#create(Object, int)}; this is the only way to decode into
+   * classes with final fields.
+   *
+   * @param lookup a {@link MethodHandles.Lookup} with access to the fields and constructor of
+   *     {@code type}, e.g. {@code MethodHandles.lookup()} from within {@code type}.
+   * @param type the class of objects to bind to.
+   * @param <R> the type of objects to bind to.
+   * @return a new {@link Binding}.
+   * @throws IllegalArgumentException if {@code type} is missing a field or a field has an
+   *     incompatible type.
+   * @throws IllegalAccessException if {@code lookup} does not have access to a field.
+   */
+  public <R> Binding<T, R> bind(
+      MethodHandles.Lookup lookup,
+      Class<R> type
+  ) throws IllegalAccessException {
+
+    List<Layout.Field> fields = layout.fields();
+
+    MethodHandle decoder = MethodHandles.empty(OBJECT_TYPE);
+    MethodHandle encoder = MethodHandles.empty(OBJECT_TYPE);
+
+    for (int i = fields.size() - 1; i >= 0; i--) {
+      Layout.Field field = fields.get(i);
+      java.lang.reflect.Field member = findMember(type, field.name());
+      Class<?> decodedType = getters[i].type().returnType();
+
+      checkConvertible(field, decodedType, member.getType());
+
+      if (decoder != null && !Modifier.isFinal(member.getModifiers())) {
+        MethodHandle setter = lookup.unreflectSetter(member)
+            .asType(methodType(void.class, Object.class, decodedType));
+
+        // (Object, Object, int)void -> (Object, int, Object)void
+        MethodHandle decode = MethodHandles.collectArguments(setter, 1, getters[i]);
+        decoder = MethodHandles.foldArguments(
+            decoder, MethodHandles.permuteArguments(decode, OBJECT_TYPE, 2, 0, 1));
+      } else {
+        decoder = null;
+      }
+
+      MethodHandle getter = MethodHandles.explicitCastArguments(
+          lookup.unreflectGetter(member), methodType(decodedType, Object.class));
+
+      encoder = MethodHandles.foldArguments(
+          encoder, MethodHandles.filterArguments(setters[i], 2, getter));
+    }
+
+    return new Binding<>(this, type, decoder, encoder, findConstructor(lookup, type));
+  }
+
+  private void checkIndex(T bytes, int index) {
+    AbstractByteOps.checkBulkIndex(index, 1, layout.size(), capacity.applyAsInt(bytes));
+  }
+
+  /**
+   * Find a constructor of {@code type} whose parameters correspond to the layout's fields and
+   * compose it with the field getters into a {@code (Object, int)Object} handle, or return
+   * {@code null} if there is none.
+   */
+  private MethodHandle findConstructor(MethodHandles.Lookup lookup, Class<?> type) {
+    for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+      if (constructor.getParameterCount() != getters.length) {
+        continue;
+      }
+
+      try {
+        MethodHandle handle = lookup.unreflectConstructor(constructor);
+        handle = handle.asType(handle.type().changeReturnType(Object.class));
+
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        int[] reorder = new int[getters.length * 2];
+
+        for (int i = getters.length - 1; i >= 0; i--) {
+          MethodHandle getter = getters[i].asType(
+              methodType(parameterTypes[i], Object.class, int.class));
+
+          handle = MethodHandles.collectArguments(handle, i, getter);
+          reorder[i * 2 + 1] = 1;
+        }
+
+        return MethodHandles.permuteArguments(
+            handle, methodType(Object.class, Object.class, int.class), reorder);
+      } catch (IllegalAccessException | WrongMethodTypeException e) {
+        // not accessible or not compatible; try the next candidate
+      }
+    }
+
+    return null;
+  }
+
+  private static java.lang.reflect.Field findMember(Class<?> type, String name) {
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      try {
+        java.lang.reflect.Field member = c.getDeclaredField(name);
+
+        if (!Modifier.isStatic(member.getModifiers())) {
+          return member;
+        }
+      } catch (NoSuchFieldException ignored) {
+        // keep looking in the superclass
+      }
+    }
+
+    throw new IllegalArgumentException(
+        String.format("no field '%s' in %s", name, type.getName()));
+  }
+
+  private static void checkConvertible(Layout.Field field, Class<?> from, Class<?> to) {
+    try {
+      MethodHandles.identity(from).asType(methodType(to, from));
+    } catch (WrongMethodTypeException e) {
+      throw new IllegalArgumentException(String.format(
+          "field '%s': cannot convert %s to %s", field.name(), from, to));
+    }
+  }
+
+  private static MethodHandle getter(
+      MethodHandles.Lookup lookup,
+      String name,
+      Class<?> type
+  ) throws ReflectiveOperationException {
+
+    return lookup.findVirtual(ByteOps.class, name, methodType(type, Object.class, int.class));
+  }
+
+  private static MethodHandle setter(
+      MethodHandles.Lookup lookup,
+      String name,
+      Class<?> type
+  ) throws ReflectiveOperationException {
+
+    return lookup.findVirtual(
+        ByteOps.class, name, methodType(void.class, Object.class, int.class, type));
+  }
+
+  /**
+   * Adapt a {@code (ByteOps, Object, int, X)void} setter to take a wider value that is
+   * truncated to {@code X}.
+   */
+  private static MethodHandle narrow(MethodHandle setter, Class<?> type) {
+    return MethodHandles.explicitCastArguments(setter, setter.type().changeParameterType(3, type));
+  }
+
+  /**
+   * Adapt a {@code (Object, int)X} getter to return a {@code double}.
+   */
+  private static MethodHandle toDouble(MethodHandle getter) {
+    Class<?> type = getter.type().returnType();
+
+    if (type == boolean.class) {
+      return MethodHandles.filterReturnValue(getter, BOOLEAN_TO_DOUBLE);
+    } else {
+      return getter.asType(getter.type().changeReturnType(double.class));
+    }
+  }
+
+  /**
+   * Adapt a {@code (Object, int, X)void} setter to take a {@code double}, rounded to the nearest
+   * integer for integer types.
+   */
+  private static MethodHandle fromDouble(MethodHandle setter) {
+    Class<?> type = setter.type().parameterType(2);
+
+    if (type == double.class) {
+      return setter;
+    } else if (type == boolean.class) {
+      return MethodHandles.filterArguments(setter, 2, DOUBLE_TO_BOOLEAN);
+    } else if (type == float.class) {
+      return MethodHandles.explicitCastArguments(
+          setter, setter.type().changeParameterType(2, double.class));
+    } else {
+      MethodHandle rounded = MethodHandles.explicitCastArguments(
+          setter, setter.type().changeParameterType(2, long.class));
+
+      return MethodHandles.filterArguments(rounded, 2, ROUND);
+    }
+  }
+
+  private static RuntimeException propagate(Throwable t) {
+    if (t instanceof RuntimeException) {
+      return (RuntimeException) t;
+    } else if (t instanceof Error) {
+      throw (Error) t;
+    } else {
+      return new UndeclaredThrowableException(t);
+    }
+  }
+
+  private static int add(int index, int offset) {
+    return index + offset;
+  }
+
+  private static double multiply(double value, double scale) {
+    return value * scale;
+  }
+
+  private static double divide(double value, double scale) {
+    return value / scale;
+  }
+
+  private static double booleanToDouble(boolean value) {
+    return value ? 1.0 : 0.0;
+  }
+
+  private static boolean doubleToBoolean(double value) {
+    return value != 0.0;
+  }
+
+  /**
+   * A {@link LayoutCodec} bound to objects of a particular class; see
+   * {@link LayoutCodec#bind(MethodHandles.Lookup, Class)}.
+   *
+   * @param <T> the type of bytes.
+   * @param <R> the type of objects.
+   */
+  public static final class Binding<T, R> {
+
+    private final LayoutCodec<T> codec;
+    private final Class<R> type;
+    private final MethodHandle decoder;
+    private final MethodHandle encoder;
+    private final MethodHandle constructor;
+
+    private Binding(
+        LayoutCodec<T> codec,
+        Class<R> type,
+        MethodHandle decoder,
+        MethodHandle encoder,
+        MethodHandle constructor
+    ) {
+
+      this.codec = codec;
+      this.type = type;
+      this.decoder = decoder;
+      this.encoder = encoder;
+      this.constructor = constructor;
+    }
+
+    /**
+     * @return the {@link LayoutCodec} this binding was created from.
+     */
+    public LayoutCodec<T> codec() {
+      return codec;
+    }
+
+    /**
+     * @return the class of objects this binding is bound to.
+     */
+    public Class<R> type() {
+      return type;
+    }
+
+    /**
+     * Decode every field of the layout at {@code index} in {@code bytes} into the corresponding
+     * fields of {@code target}.
+     *
+     * @param bytes the bytes to decode from.
+     * @param index the index into {@code bytes} the layout starts at.
+     * @param target the object to decode into.
+     * @throws IndexOutOfBoundsException if the layout does not fit in {@code bytes} at
+     *     {@code index}.
+     * @throws UnsupportedOperationException if any of the bound fields is final.
+     */
+    public void decode(T bytes, int index, R target) {
+      if (decoder == null) {
+        throw new UnsupportedOperationException(type.getName() + " has final fields");
+      }
+
+      codec.checkIndex(bytes, index);
+
+      try {
+        decoder.invokeExact((Object) bytes, index, (Object) target);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    /**
+     * Create a new object from every field of the layout at {@code index} in {@code bytes},
+     * using the constructor whose parameters correspond to the layout's fields.
+     *
+     * @param bytes the bytes to decode from.
+     * @param index the index into {@code bytes} the layout starts at.
+     * @return a new object.
+     * @throws IndexOutOfBoundsException if the layout does not fit in {@code bytes} at
+     *     {@code index}.
+     * @throws UnsupportedOperationException if there is no such constructor.
+     */
+    public R create(T bytes, int index) {
+      if (constructor == null) {
+        throw new UnsupportedOperationException(
+            type.getName() + " has no constructor matching the layout");
+      }
+
+      codec.checkIndex(bytes, index);
+
+      try {
+        Object value = constructor.invokeExact((Object) bytes, index);
+
+        return type.cast(value);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    /**
+     * Encode every field of the layout from the corresponding fields of {@code source} at
+     * {@code index} in {@code bytes}.
+     *
+     * @param bytes the bytes to encode into.
+     * @param index the index into {@code bytes} the layout starts at.
+     * @param source the object to encode from.
+     * @throws IndexOutOfBoundsException if the layout does not fit in {@code bytes} at
+     *     {@code index}.
+     */
+    public void encode(T bytes, int index, R source) {
+      codec.checkIndex(bytes, index);
+
+      try {
+        encoder.invokeExact((Object) bytes, index, (Object) source);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+  }
+
+}
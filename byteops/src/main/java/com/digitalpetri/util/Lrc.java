@@ -0,0 +1,39 @@
+package com.digitalpetri.util;
+
+import java.util.Objects;
+import java.util.zip.Checksum;
+
+/**
+ * LRC, as used by Modbus ASCII: the two's complement of the 8-bit sum of the bytes.
+ */
+final class Lrc implements Checksum {
+
+  private int sum;
+
+  @Override
+  public void update(int b) {
+    sum += b;
+  }
+
+  @Override
+  public void update(byte[] b, int off, int len) {
+    Objects.checkFromIndexSize(off, len, b.length);
+
+    int s = sum;
+    for (int i = off; i < off + len; i++) {
+      s += b[i];
+    }
+    sum = s;
+  }
+
+  @Override
+  public long getValue() {
+    return -sum & 0xFF;
+  }
+
+  @Override
+  public void reset() {
+    sum = 0;
+  }
+
+}
@@ -0,0 +1,119 @@
+package com.digitalpetri.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file mapped into memory as a sequence of fixed-size segments, addressable with 64-bit
+ * offsets beyond the 2 GB limit of a single {@link MappedByteBuffer}.
+ *
+ * <p>Use {@link SegmentedByteBufferByteOps} on {@link #buffer()} to get and set values in the file.
+ *
+ * <p>Closing a {@link MappedFile} closes its channel; the mapped segments themselves are released
+ * when they are garbage collected.
+ */
+public final class MappedFile implements Closeable {
+
+  /**
+   * The default segment size, 1 GB.
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer[] segments;
+  private final SegmentedByteBuffer buffer;
+
+  private MappedFile(FileChannel channel, MapMode mode, int segmentSize) throws IOException {
+    this.channel = channel;
+
+    long size = channel.size();
+    int count = (int) ((size + segmentSize - 1) / segmentSize);
+    segments = new MappedByteBuffer[count];
+
+    for (int i = 0; i < count; i++) {
+      long position = (long) i * segmentSize;
+      segments[i] = channel.map(mode, position, Math.min(segmentSize, size - position));
+    }
+
+    buffer = new SegmentedByteBuffer(segmentSize, segments);
+  }
+
+  /**
+   * Map the file at {@code path} using {@link #DEFAULT_SEGMENT_SIZE}-byte segments.
+   *
+   * @param path the path of the file to map.
+   * @param mode the {@link MapMode} to map the file with.
+   * @return a new {@link MappedFile}.
+   * @throws IOException if the file could not be opened or mapped.
+   */
+  public static MappedFile open(Path path, MapMode mode) throws IOException {
+    return open(path, mode, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Map the file at {@code path} using {@code segmentSize}-byte segments.
+   *
+   * @param path the path of the file to map.
+   * @param mode the {@link MapMode} to map the file with.
+   * @param segmentSize the size of each mapped segment; must be a power of two of at least 8.
+   * @return a new {@link MappedFile}.
+   * @throws IOException if the file could not be opened or mapped.
+   */
+  public static MappedFile open(Path path, MapMode mode, int segmentSize) throws IOException {
+    if (segmentSize < Long.BYTES || Integer.bitCount(segmentSize) != 1) {
+      throw new IllegalArgumentException("segmentSize: " + segmentSize);
+    }
+
+    // a PRIVATE mapping is copy-on-write, but FileChannel.map still requires a writable channel
+    OpenOption[] options = mode == MapMode.READ_ONLY
+        ? new OpenOption[]{StandardOpenOption.READ}
+        : new OpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+
+    FileChannel channel = FileChannel.open(path, options);
+
+    try {
+      return new MappedFile(channel, mode, segmentSize);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the size of the file, in bytes, at the time it was mapped.
+   */
+  public long size() {
+    return buffer.capacity();
+  }
+
+  /**
+   * Get the mapped segments of this file as a {@link SegmentedByteBuffer}, for use with
+   * {@link SegmentedByteBufferByteOps}.
+   *
+   * @return the mapped segments of this file.
+   */
+  public SegmentedByteBuffer buffer() {
+    return buffer;
+  }
+
+  /**
+   * Force any changes made to the mapped segments to be written to the storage device.
+   */
+  public void force() {
+    for (MappedByteBuffer segment : segments) {
+      segment.force();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+}
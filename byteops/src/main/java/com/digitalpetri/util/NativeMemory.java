@@ -0,0 +1,77 @@
+package com.digitalpetri.util;
+
+/**
+ * A region of native memory, identified by its base address and length, that is allocated and
+ * owned outside the JVM heap, e.g. shared memory mapped by another process or memory obtained
+ * through JNI.
+ *
+ * <p>A {@link NativeMemory} does not own the memory it describes; it is the caller's
+ * responsibility to keep the memory valid for as long as it is accessed.
+ *
+ * <p>Use with {@link NativeMemoryByteOps} to get and set values.
+ */
+public final class NativeMemory {
+
+  private final long address;
+  private final long length;
+
+  private NativeMemory(long address, long length) {
+    this.address = address;
+    this.length = length;
+  }
+
+  /**
+   * Describe the {@code length} bytes of native memory starting at {@code address}.
+   *
+   * @param address the base address of the region; must not be 0.
+   * @param length the length of the region, in bytes.
+   * @return a new {@link NativeMemory}.
+   */
+  public static NativeMemory of(long address, long length) {
+    if (address == 0L) {
+      throw new IllegalArgumentException("address: 0");
+    }
+    if (length < 0L) {
+      throw new IllegalArgumentException("length: " + length);
+    }
+
+    return new NativeMemory(address, length);
+  }
+
+  /**
+   * @return the base address of this region.
+   */
+  public long address() {
+    return address;
+  }
+
+  /**
+   * @return the length of this region, in bytes.
+   */
+  public long length() {
+    return length;
+  }
+
+  /**
+   * Get the {@code length} bytes of this region starting at {@code offset} as a new region.
+   *
+   * @param offset the offset into this region the new region starts at.
+   * @param length the length of the new region, in bytes.
+   * @return a new {@link NativeMemory}.
+   * @throws IndexOutOfBoundsException if the new region does not lie within this region.
+   */
+  public NativeMemory slice(long offset, long length) {
+    if (offset < 0L || length < 0L || offset > this.length - length) {
+      throw new IndexOutOfBoundsException(String.format(
+          "offset: %d, length: %d (expected: range(0, %d))", offset, length, this.length));
+    }
+
+    return new NativeMemory(address + offset, length);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("NativeMemory{address=0x%x, length=%d}", address, length);
+  }
+
+}
@@ -0,0 +1,246 @@
+package com.digitalpetri.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Native-order access to raw memory addresses, backed by {@code sun.misc.Unsafe}.
+ *
+ * <p>{@code Unsafe} is only found reflectively and its accessors are called through constant
+ * {@link MethodHandle}s, which the JIT inlines like direct calls, so compiling this class doesn't
+ * depend on, or warn about, the internal API.
+ *
+ * <p>On JDK 22 and later the multi-release JAR replaces this class with one backed by the Foreign
+ * Function &amp; Memory API; the two must keep the same signatures.
+ */
+final class NativeMemoryAccess {
+
+  private static final MethodHandle GET_BYTE;
+  private static final MethodHandle GET_SHORT;
+  private static final MethodHandle GET_INT;
+  private static final MethodHandle GET_LONG;
+  private static final MethodHandle PUT_BYTE;
+  private static final MethodHandle PUT_SHORT;
+  private static final MethodHandle PUT_INT;
+  private static final MethodHandle PUT_LONG;
+
+  /**
+   * {@code Unsafe.objectFieldOffset(Field)} and {@code Unsafe.getLong(Object, long)}, used to
+   * find the address of a direct buffer.
+   */
+  private static final MethodHandle OBJECT_FIELD_OFFSET;
+  private static final MethodHandle GET_OBJECT_LONG;
+
+  /**
+   * Whether the platform supports unaligned wide accesses; if not, unaligned values are assembled
+   * from, or split into, individual bytes.
+   */
+  private static final boolean UNALIGNED;
+
+  private static final boolean BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+
+  static {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field field = unsafeClass.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      Object unsafe = field.get(null);
+
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+      GET_BYTE = accessor(lookup, unsafe, "getByte", byte.class, long.class);
+      GET_SHORT = accessor(lookup, unsafe, "getShort", short.class, long.class);
+      GET_INT = accessor(lookup, unsafe, "getInt", int.class, long.class);
+      GET_LONG = accessor(lookup, unsafe, "getLong", long.class, long.class);
+      PUT_BYTE = accessor(lookup, unsafe, "putByte", void.class, long.class, byte.class);
+      PUT_SHORT = accessor(lookup, unsafe, "putShort", void.class, long.class, short.class);
+      PUT_INT = accessor(lookup, unsafe, "putInt", void.class, long.class, int.class);
+      PUT_LONG = accessor(lookup, unsafe, "putLong", void.class, long.class, long.class);
+
+      OBJECT_FIELD_OFFSET =
+          accessor(lookup, unsafe, "objectFieldOffset", long.class, Field.class);
+      GET_OBJECT_LONG =
+          accessor(lookup, unsafe, "getLong", long.class, Object.class, long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+
+    String arch = System.getProperty("os.arch", "");
+    UNALIGNED = arch.equals("amd64") || arch.equals("x86_64")
+        || arch.equals("i386") || arch.equals("x86")
+        || arch.equals("aarch64") || arch.equals("ppc64le") || arch.equals("s390x");
+  }
+
+  private NativeMemoryAccess() {}
+
+  static byte getByte(long address) {
+    try {
+      return (byte) GET_BYTE.invokeExact(address);
+    } catch (Throwable t) {
+      throw propagate(t);
+    }
+  }
+
+  static short getShort(long address) {
+    if (UNALIGNED || (address & 1L) == 0L) {
+      try {
+        return (short) GET_SHORT.invokeExact(address);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    } else {
+      return (short) getBytes(address, Short.BYTES);
+    }
+  }
+
+  static int getInt(long address) {
+    if (UNALIGNED || (address & 3L) == 0L) {
+      try {
+        return (int) GET_INT.invokeExact(address);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    } else {
+      return (int) getBytes(address, Integer.BYTES);
+    }
+  }
+
+  static long getLong(long address) {
+    if (UNALIGNED || (address & 7L) == 0L) {
+      try {
+        return (long) GET_LONG.invokeExact(address);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    } else {
+      return getBytes(address, Long.BYTES);
+    }
+  }
+
+  static void setByte(long address, byte value) {
+    try {
+      PUT_BYTE.invokeExact(address, value);
+    } catch (Throwable t) {
+      throw propagate(t);
+    }
+  }
+
+  static void setShort(long address, short value) {
+    if (UNALIGNED || (address & 1L) == 0L) {
+      try {
+        PUT_SHORT.invokeExact(address, value);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    } else {
+      setBytes(address, Short.BYTES, value);
+    }
+  }
+
+  static void setInt(long address, int value) {
+    if (UNALIGNED || (address & 3L) == 0L) {
+      try {
+        PUT_INT.invokeExact(address, value);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    } else {
+      setBytes(address, Integer.BYTES, value);
+    }
+  }
+
+  static void setLong(long address, long value) {
+    if (UNALIGNED || (address & 7L) == 0L) {
+      try {
+        PUT_LONG.invokeExact(address, value);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    } else {
+      setBytes(address, Long.BYTES, value);
+    }
+  }
+
+  /**
+   * Get the address of the memory backing a direct buffer, e.g. to describe it as a
+   * {@link NativeMemory}; the buffer must stay reachable while the memory is accessed.
+   *
+   * @param buffer a direct buffer.
+   * @return the address of the buffer's first byte, ignoring its position.
+   */
+  static long address(ByteBuffer buffer) {
+    if (!buffer.isDirect()) {
+      throw new IllegalArgumentException("not a direct buffer");
+    }
+
+    try {
+      long offset = (long) OBJECT_FIELD_OFFSET.invokeExact(
+          Buffer.class.getDeclaredField("address"));
+
+      return (long) GET_OBJECT_LONG.invokeExact((Object) buffer, offset);
+    } catch (Throwable t) {
+      throw propagate(t);
+    }
+  }
+
+  /**
+   * Assemble the {@code length} bytes at {@code address} into a native-order value.
+   */
+  private static long getBytes(long address, int length) {
+    long value = 0L;
+
+    for (int i = 0; i < length; i++) {
+      int shift = (BIG_ENDIAN ? length - 1 - i : i) * 8;
+
+      value |= (getByte(address + i) & 0xFFL) << shift;
+    }
+
+    return value;
+  }
+
+  /**
+   * Split the native-order {@code value} into {@code length} bytes starting at {@code address}.
+   */
+  private static void setBytes(long address, int length, long value) {
+    for (int i = 0; i < length; i++) {
+      int shift = (BIG_ENDIAN ? length - 1 - i : i) * 8;
+
+      setByte(address + i, (byte) (value >>> shift));
+    }
+  }
+
+  /**
+   * Find the {@code Unsafe} method {@code name}, bound to the {@code unsafe} instance.
+   */
+  private static MethodHandle accessor(
+      MethodHandles.Lookup lookup,
+      Object unsafe,
+      String name,
+      Class<?> returnType,
+      Class<?>... parameterTypes
+  ) throws ReflectiveOperationException {
+
+    MethodType type = MethodType.methodType(returnType, parameterTypes);
+
+    return lookup.findVirtual(unsafe.getClass(), name, type).bindTo(unsafe);
+  }
+
+  /**
+   * {@code Unsafe}'s accessors throw nothing checked; pass anything unchecked through as-is.
+   */
+  private static RuntimeException propagate(Throwable t) {
+    if (t instanceof Error) {
+      throw (Error) t;
+    } else if (t instanceof RuntimeException) {
+      return (RuntimeException) t;
+    } else {
+      return new IllegalStateException(t);
+    }
+  }
+
+}
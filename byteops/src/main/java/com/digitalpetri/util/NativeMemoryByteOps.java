@@ -0,0 +1,149 @@
+package com.digitalpetri.util;
+
+import java.nio.ByteOrder;
+
+/**
+ * {@link LongIndexedByteOps} implementation that operates on {@link NativeMemory} regions.
+ *
+ * <p>Every value is read and written with a single wide access at the region's address plus
+ * {@code index}. The access goes through {@code sun.misc.Unsafe}, or, when running from the
+ * multi-release JAR on JDK 22 or later, through the Foreign Function &amp; Memory API.
+ *
+ * <p>The constants and {@link #NativeMemoryByteOps(OrderedOps)} check every access against the
+ * region's length and throw {@link IndexOutOfBoundsException} when it falls outside. Instances
+ * created with bounds checking disabled skip this check; an out-of-bounds access then reads or
+ * writes arbitrary memory and may crash the JVM.
+ */
+public final class NativeMemoryByteOps extends AbstractLongIndexedByteOps<NativeMemory> {
+
+  /**
+   * {@link NativeMemoryByteOps} that assumes big-endian byte order.
+   */
+  public static final NativeMemoryByteOps BIG_ENDIAN =
+      new NativeMemoryByteOps(new OrderedOps.BigEndianOps());
+
+  /**
+   * {@link NativeMemoryByteOps} that assumes little-endian byte order.
+   */
+  public static final NativeMemoryByteOps LITTLE_ENDIAN =
+      new NativeMemoryByteOps(new OrderedOps.LittleEndianOps());
+
+  /**
+   * {@link NativeMemoryByteOps} that assumes big-endian byte order and low-high word order.
+   */
+  public static final NativeMemoryByteOps BIG_ENDIAN_LOW_HIGH =
+      new NativeMemoryByteOps(new OrderedOps.BigEndianLowHighOps());
+
+  /**
+   * {@link NativeMemoryByteOps} that assumes little-endian byte order and low-high word order.
+   */
+  public static final NativeMemoryByteOps LITTLE_ENDIAN_LOW_HIGH =
+      new NativeMemoryByteOps(new OrderedOps.LittleEndianLowHighOps());
+
+
+  private static final boolean NATIVE_BIG_ENDIAN =
+      ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+
+  private final boolean checkBounds;
+
+  /**
+   * Create a {@link NativeMemoryByteOps} with the ordering of {@code orderedOps} that checks every
+   * access against the bounds of the region.
+   *
+   * @param orderedOps one of the four built-in {@link OrderedOps} implementations.
+   * @throws IllegalArgumentException if {@code orderedOps} is not a built-in implementation.
+   */
+  public NativeMemoryByteOps(OrderedOps orderedOps) {
+    this(orderedOps, true);
+  }
+
+  /**
+   * Create a {@link NativeMemoryByteOps} with the ordering of {@code orderedOps}.
+   *
+   * @param orderedOps one of the four built-in {@link OrderedOps} implementations.
+   * @param checkBounds whether to check every access against the bounds of the region.
+   * @throws IllegalArgumentException if {@code orderedOps} is not a built-in implementation.
+   */
+  public NativeMemoryByteOps(OrderedOps orderedOps, boolean checkBounds) {
+    super(orderedOps);
+
+    this.checkBounds = checkBounds;
+  }
+
+  /**
+   * @return {@code true} if this {@link NativeMemoryByteOps} checks every access against the
+   *     bounds of the region.
+   */
+  public boolean isCheckBounds() {
+    return checkBounds;
+  }
+
+  @Override
+  protected byte get(NativeMemory bytes, long index) {
+    return NativeMemoryAccess.getByte(address(bytes, index, Byte.BYTES));
+  }
+
+  @Override
+  protected void set(NativeMemory bytes, long index, byte value) {
+    NativeMemoryAccess.setByte(address(bytes, index, Byte.BYTES), value);
+  }
+
+  @Override
+  protected short getShortBigEndian(NativeMemory bytes, long index) {
+    short value = NativeMemoryAccess.getShort(address(bytes, index, Short.BYTES));
+
+    return NATIVE_BIG_ENDIAN ? value : Short.reverseBytes(value);
+  }
+
+  @Override
+  protected int getIntBigEndian(NativeMemory bytes, long index) {
+    int value = NativeMemoryAccess.getInt(address(bytes, index, Integer.BYTES));
+
+    return NATIVE_BIG_ENDIAN ? value : Integer.reverseBytes(value);
+  }
+
+  @Override
+  protected long getLongBigEndian(NativeMemory bytes, long index) {
+    long value = NativeMemoryAccess.getLong(address(bytes, index, Long.BYTES));
+
+    return NATIVE_BIG_ENDIAN ? value : Long.reverseBytes(value);
+  }
+
+  @Override
+  protected void setShortBigEndian(NativeMemory bytes, long index, short value) {
+    NativeMemoryAccess.setShort(
+        address(bytes, index, Short.BYTES),
+        NATIVE_BIG_ENDIAN ? value : Short.reverseBytes(value)
+    );
+  }
+
+  @Override
+  protected void setIntBigEndian(NativeMemory bytes, long index, int value) {
+    NativeMemoryAccess.setInt(
+        address(bytes, index, Integer.BYTES),
+        NATIVE_BIG_ENDIAN ? value : Integer.reverseBytes(value)
+    );
+  }
+
+  @Override
+  protected void setLongBigEndian(NativeMemory bytes, long index, long value) {
+    NativeMemoryAccess.setLong(
+        address(bytes, index, Long.BYTES),
+        NATIVE_BIG_ENDIAN ? value : Long.reverseBytes(value)
+    );
+  }
+
+  /**
+   * Get the address of the {@code length}-byte value at {@code index} in {@code bytes}, checking
+   * it lies within the region if bounds checking is enabled.
+   */
+  private long address(NativeMemory bytes, long index, int length) {
+    if (checkBounds && (index < 0 || index > bytes.length() - length)) {
+      throw new IndexOutOfBoundsException(String.format(
+          "index: %d, length: %d (expected: range(0, %d))", index, length, bytes.length()));
+    }
+
+    return bytes.address() + index;
+  }
+
+}
@@ -1,22 +1,117 @@
 package com.digitalpetri.util;
 
+import java.nio.ByteBuffer;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 /**
  * Operations that span multiple bytes/words that need to be aware of the underlying byte/word
  * order.
+ *
+ * <p>Implementations override either the {@link ByteGetter}/{@link ByteSetter} methods or the
+ * deprecated {@link Function}/{@link BiConsumer} ones; each set defaults to adapting the other,
+ * so implementations written against the older methods keep working. The built-in orderings
+ * override the {@link ByteGetter}/{@link ByteSetter} methods.
  */
 public interface OrderedOps {
 
+  /**
+   * Get a short value using the given {@code getter}, starting at {@code index}.
+   *
+   * @param getter a function that takes {@code bytes} and an index and returns a byte value.
+   * @param bytes the bytes to get the value from.
+   * @param index the index to start at.
+   * @param <T> the type of bytes.
+   * @return the assembled short value.
+   */
+  @SuppressWarnings("deprecation")
+  default <T> short getShort(ByteGetter<T> getter, T bytes, int index) {
+    return getShort(i -> getter.get(bytes, i), index);
+  }
+
+  /**
+   * Get an int value using the given {@code getter}, starting at {@code index}.
+   *
+   * @param getter a function that takes {@code bytes} and an index and returns a byte value.
+   * @param bytes the bytes to get the value from.
+   * @param index the index to start at.
+   * @param <T> the type of bytes.
+   * @return the assembled int value.
+   */
+  @SuppressWarnings("deprecation")
+  default <T> int getInt(ByteGetter<T> getter, T bytes, int index) {
+    return getInt(i -> getter.get(bytes, i), index);
+  }
+
+  /**
+   * Get a long value using the given {@code getter}, starting at {@code index}.
+   *
+   * @param getter a function that takes {@code bytes} and an index and returns a byte value.
+   * @param bytes the bytes to get the value from.
+   * @param index the index to start at.
+   * @param <T> the type of bytes.
+   * @return the assembled long value.
+   */
+  @SuppressWarnings("deprecation")
+  default <T> long getLong(ByteGetter<T> getter, T bytes, int index) {
+    return getLong(i -> getter.get(bytes, i), index);
+  }
+
+  /**
+   * Set the bytes of a short value using the given {@code setter}, starting at {@code index}.
+   *
+   * @param setter a function that takes {@code bytes}, an index, and a byte value to set.
+   * @param bytes the bytes to set the value in.
+   * @param index the index to start at.
+   * @param value the short value to set.
+   * @param <T> the type of bytes.
+   */
+  @SuppressWarnings("deprecation")
+  default <T> void setShort(ByteSetter<T> setter, T bytes, int index, short value) {
+    setShort((i, b) -> setter.set(bytes, i, b), index, value);
+  }
+
+  /**
+   * Set the bytes of an int value using the given {@code setter}, starting at {@code index}.
+   *
+   * @param setter a function that takes {@code bytes}, an index, and a byte value to set.
+   * @param bytes the bytes to set the value in.
+   * @param index the index to start at.
+   * @param value the int value to set.
+   * @param <T> the type of bytes.
+   */
+  @SuppressWarnings("deprecation")
+  default <T> void setInt(ByteSetter<T> setter, T bytes, int index, int value) {
+    setInt((i, b) -> setter.set(bytes, i, b), index, value);
+  }
+
+  /**
+   * Set the bytes of a long value using the given {@code setter}, starting at {@code index}.
+   *
+   * @param setter a function that takes {@code bytes}, an index, and a byte value to set.
+   * @param bytes the bytes to set the value in.
+   * @param index the index to start at.
+   * @param value the long value to set.
+   * @param <T> the type of bytes.
+   */
+  @SuppressWarnings("deprecation")
+  default <T> void setLong(ByteSetter<T> setter, T bytes, int index, long value) {
+    setLong((i, b) -> setter.set(bytes, i, b), index, value);
+  }
+
   /**
    * Get a short value using the given {@code getByte} function, starting at {@code index}.
    *
    * @param getByte a function that takes an index and returns a byte value.
    * @param index the index to start at.
    * @return the assembled short value.
+   * @deprecated boxes every index and byte; use
+   *     {@link #getShort(ByteGetter, Object, int)} instead.
    */
-  short getShort(Function<Integer, Byte> getByte, int index);
+  @Deprecated
+  default short getShort(Function<Integer, Byte> getByte, int index) {
+    return getShort(Function::apply, getByte, index);
+  }
 
   /**
    * Get an int value using the given {@code getByte} function, starting at {@code index}.
@@ -24,8 +119,13 @@ public interface OrderedOps {
    * @param getByte a function that takes an index and returns a byte value.
    * @param index the index to start at.
    * @return the assembled int value.
+   * @deprecated boxes every index and byte; use
+   *     {@link #getInt(ByteGetter, Object, int)} instead.
    */
-  int getInt(Function<Integer, Byte> getByte, int index);
+  @Deprecated
+  default int getInt(Function<Integer, Byte> getByte, int index) {
+    return getInt(Function::apply, getByte, index);
+  }
 
   /**
    * Get a long value using the given {@code getByte} function, starting at {@code index}.
@@ -33,8 +133,13 @@ public interface OrderedOps {
    * @param getByte a function that takes an index and returns a byte value.
    * @param index the index to start at.
    * @return the assembled long value.
+   * @deprecated boxes every index and byte; use
+   *     {@link #getLong(ByteGetter, Object, int)} instead.
    */
-  long getLong(Function<Integer, Byte> getByte, int index);
+  @Deprecated
+  default long getLong(Function<Integer, Byte> getByte, int index) {
+    return getLong(Function::apply, getByte, index);
+  }
 
   /**
    * Set the bytes of a short value using the given {@code setByte} function, starting
@@ -43,8 +148,13 @@ public interface OrderedOps {
    * @param setByte a function that takes an index and a byte value to set.
    * @param index the index to start at.
    * @param value the short value to set.
+   * @deprecated boxes every index and byte; use
+   *     {@link #setShort(ByteSetter, Object, int, short)} instead.
    */
-  void setShort(BiConsumer<Integer, Byte> setByte, int index, short value);
+  @Deprecated
+  default void setShort(BiConsumer<Integer, Byte> setByte, int index, short value) {
+    setShort(BiConsumer::accept, setByte, index, value);
+  }
 
   /**
    * Set the bytes of an int value using the given {@code setByte} function, starting at
@@ -53,8 +163,13 @@ public interface OrderedOps {
    * @param setByte a function that takes an index and a byte value to set.
    * @param index the index to start at.
    * @param value the int value to set.
+   * @deprecated boxes every index and byte; use
+   *     {@link #setInt(ByteSetter, Object, int, int)} instead.
    */
-  void setInt(BiConsumer<Integer, Byte> setByte, int index, int value);
+  @Deprecated
+  default void setInt(BiConsumer<Integer, Byte> setByte, int index, int value) {
+    setInt(BiConsumer::accept, setByte, index, value);
+  }
 
   /**
    * Set the bytes of a long value using the given {@code setByte} function, starting at
@@ -63,8 +178,141 @@ public interface OrderedOps {
    * @param setByte a function that takes an index and a byte value to set.
    * @param index the index to start at.
    * @param value the long value to set.
+   * @deprecated boxes every index and byte; use
+   *     {@link #setLong(ByteSetter, Object, int, long)} instead.
+   */
+  @Deprecated
+  default void setLong(BiConsumer<Integer, Byte> setByte, int index, long value) {
+    setLong(BiConsumer::accept, setByte, index, value);
+  }
+
+  /**
+   * Swap the 16-bit words of an int value, converting between high-low and low-high word order.
+   *
+   * @param value the int value to swap the words of.
+   * @return {@code value} with its words swapped.
    */
-  void setLong(BiConsumer<Integer, Byte> setByte, int index, long value);
+  static int swapWords(int value) {
+    return Integer.rotateLeft(value, 16);
+  }
+
+  /**
+   * Reverse the order of the 16-bit words of a long value, converting between high-low and
+   * low-high word order.
+   *
+   * @param value the long value to reverse the words of.
+   * @return {@code value} with its words reversed.
+   */
+  static long swapWords(long value) {
+    long v = Long.rotateLeft(value, 32);
+    return (v & 0xFFFF0000FFFF0000L) >>> 16 | (v & 0x0000FFFF0000FFFFL) << 16;
+  }
+
+  /**
+   * Convert {@code count} values of {@code elementSize} bytes each from {@code from} order to
+   * {@code to} order, e.g. a block of floats from {@link BigEndianOps} to
+   * {@link LittleEndianLowHighOps}.
+   *
+   * <p>Conversions between the built-in orderings are done 8 bytes at a time. {@code src} and
+   * {@code dst} may be the same array to convert in place, as long as {@code srcIndex} and
+   * {@code dstIndex} are equal or the ranges don't overlap.
+   *
+   * @param src the bytes to convert.
+   * @param srcIndex the index into {@code src} of the first value.
+   * @param dst the bytes to write the converted values to.
+   * @param dstIndex the index into {@code dst} of the first converted value.
+   * @param elementSize the size of each value: 2, 4, or 8.
+   * @param count the number of values to convert.
+   * @param from the ordering of the values in {@code src}.
+   * @param to the ordering to write the values in {@code dst} with.
+   * @throws IllegalArgumentException if {@code elementSize} is not 2, 4, or 8, or
+   *     {@code count} is negative.
+   * @throws IndexOutOfBoundsException if either range is out of bounds.
+   */
+  static void transcode(
+      byte[] src,
+      int srcIndex,
+      byte[] dst,
+      int dstIndex,
+      int elementSize,
+      int count,
+      OrderedOps from,
+      OrderedOps to
+  ) {
+
+    OrderedTranscoder.transcode(src, srcIndex, dst, dstIndex, elementSize, count, from, to);
+  }
+
+  /**
+   * Convert {@code count} values of {@code elementSize} bytes each from {@code from} order to
+   * {@code to} order, at absolute indices in {@code src} and {@code dst}.
+   *
+   * <p>The positions, limits, and byte orders of both buffers are left unchanged.
+   *
+   * @param src the bytes to convert.
+   * @param srcIndex the index into {@code src} of the first value.
+   * @param dst the bytes to write the converted values to.
+   * @param dstIndex the index into {@code dst} of the first converted value.
+   * @param elementSize the size of each value: 2, 4, or 8.
+   * @param count the number of values to convert.
+   * @param from the ordering of the values in {@code src}.
+   * @param to the ordering to write the values in {@code dst} with.
+   * @throws IllegalArgumentException if {@code elementSize} is not 2, 4, or 8, or
+   *     {@code count} is negative.
+   * @throws IndexOutOfBoundsException if either range is out of bounds.
+   * @see #transcode(byte[], int, byte[], int, int, int, OrderedOps, OrderedOps)
+   */
+  static void transcode(
+      ByteBuffer src,
+      int srcIndex,
+      ByteBuffer dst,
+      int dstIndex,
+      int elementSize,
+      int count,
+      OrderedOps from,
+      OrderedOps to
+  ) {
+
+    OrderedTranscoder.transcode(src, srcIndex, dst, dstIndex, elementSize, count, from, to);
+  }
+
+  /**
+   * Gets the byte at an index in some bytes, without boxing either.
+   *
+   * @param <T> the type of bytes.
+   */
+  @FunctionalInterface
+  interface ByteGetter<T> {
+
+    /**
+     * Get the byte at the given {@code index} in {@code bytes}.
+     *
+     * @param bytes the bytes to get the value from.
+     * @param index the index into {@code bytes} to get the value at.
+     * @return the byte at the given {@code index}.
+     */
+    byte get(T bytes, int index);
+
+  }
+
+  /**
+   * Sets the byte at an index in some bytes, without boxing either.
+   *
+   * @param <T> the type of bytes.
+   */
+  @FunctionalInterface
+  interface ByteSetter<T> {
+
+    /**
+     * Set the byte at the given {@code index} in {@code bytes}.
+     *
+     * @param bytes the bytes to set the value in.
+     * @param index the index into {@code bytes} to set the value at.
+     * @param value the value to set.
+     */
+    void set(T bytes, int index, byte value);
+
+  }
 
   /**
    * Operations that assume big-endian byte order and high-low word order.
@@ -78,59 +326,59 @@ public interface OrderedOps {
   final class BigEndianOps implements OrderedOps {
 
     @Override
-    public short getShort(Function<Integer, Byte> getByte, int index) {
-      int b0 = getByte.apply(index) & 0xFF;
-      int b1 = getByte.apply(index + 1) & 0xFF;
+    public <T> short getShort(ByteGetter<T> getter, T bytes, int index) {
+      int b0 = getter.get(bytes, index) & 0xFF;
+      int b1 = getter.get(bytes, index + 1) & 0xFF;
       return (short) (b0 << 8 | b1);
     }
 
     @Override
-    public int getInt(Function<Integer, Byte> getByte, int index) {
-      int b0 = getByte.apply(index) & 0xFF;
-      int b1 = getByte.apply(index + 1) & 0xFF;
-      int b2 = getByte.apply(index + 2) & 0xFF;
-      int b3 = getByte.apply(index + 3) & 0xFF;
+    public <T> int getInt(ByteGetter<T> getter, T bytes, int index) {
+      int b0 = getter.get(bytes, index) & 0xFF;
+      int b1 = getter.get(bytes, index + 1) & 0xFF;
+      int b2 = getter.get(bytes, index + 2) & 0xFF;
+      int b3 = getter.get(bytes, index + 3) & 0xFF;
       return (b0 << 24) | (b1 << 16) | (b2 << 8) | b3;
     }
 
     @Override
-    public long getLong(Function<Integer, Byte> getByte, int index) {
-      long b0 = getByte.apply(index) & 0xFF;
-      long b1 = getByte.apply(index + 1) & 0xFF;
-      long b2 = getByte.apply(index + 2) & 0xFF;
-      long b3 = getByte.apply(index + 3) & 0xFF;
-      long b4 = getByte.apply(index + 4) & 0xFF;
-      long b5 = getByte.apply(index + 5) & 0xFF;
-      long b6 = getByte.apply(index + 6) & 0xFF;
-      long b7 = getByte.apply(index + 7) & 0xFF;
+    public <T> long getLong(ByteGetter<T> getter, T bytes, int index) {
+      long b0 = getter.get(bytes, index) & 0xFF;
+      long b1 = getter.get(bytes, index + 1) & 0xFF;
+      long b2 = getter.get(bytes, index + 2) & 0xFF;
+      long b3 = getter.get(bytes, index + 3) & 0xFF;
+      long b4 = getter.get(bytes, index + 4) & 0xFF;
+      long b5 = getter.get(bytes, index + 5) & 0xFF;
+      long b6 = getter.get(bytes, index + 6) & 0xFF;
+      long b7 = getter.get(bytes, index + 7) & 0xFF;
       return (b0 << 56) | (b1 << 48) | (b2 << 40) | (b3 << 32)
           | (b4 << 24) | (b5 << 16) | (b6 << 8) | b7;
     }
 
     @Override
-    public void setShort(BiConsumer<Integer, Byte> setByte, int index, short value) {
-      setByte.accept(index, (byte) (value >> 8 & 0xFF));
-      setByte.accept(index + 1, (byte) (value & 0xFF));
+    public <T> void setShort(ByteSetter<T> setter, T bytes, int index, short value) {
+      setter.set(bytes, index, (byte) (value >> 8 & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value & 0xFF));
     }
 
     @Override
-    public void setInt(BiConsumer<Integer, Byte> setByte, int index, int value) {
-      setByte.accept(index, (byte) (value >> 24 & 0xFF));
-      setByte.accept(index + 1, (byte) (value >> 16 & 0xFF));
-      setByte.accept(index + 2, (byte) (value >> 8 & 0xFF));
-      setByte.accept(index + 3, (byte) (value & 0xFF));
+    public <T> void setInt(ByteSetter<T> setter, T bytes, int index, int value) {
+      setter.set(bytes, index, (byte) (value >> 24 & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value >> 16 & 0xFF));
+      setter.set(bytes, index + 2, (byte) (value >> 8 & 0xFF));
+      setter.set(bytes, index + 3, (byte) (value & 0xFF));
     }
 
     @Override
-    public void setLong(BiConsumer<Integer, Byte> setByte, int index, long value) {
-      setByte.accept(index, (byte) (value >> 56 & 0xFF));
-      setByte.accept(index + 1, (byte) (value >> 48 & 0xFF));
-      setByte.accept(index + 2, (byte) (value >> 40 & 0xFF));
-      setByte.accept(index + 3, (byte) (value >> 32 & 0xFF));
-      setByte.accept(index + 4, (byte) (value >> 24 & 0xFF));
-      setByte.accept(index + 5, (byte) (value >> 16 & 0xFF));
-      setByte.accept(index + 6, (byte) (value >> 8 & 0xFF));
-      setByte.accept(index + 7, (byte) (value & 0xFF));
+    public <T> void setLong(ByteSetter<T> setter, T bytes, int index, long value) {
+      setter.set(bytes, index, (byte) (value >> 56 & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value >> 48 & 0xFF));
+      setter.set(bytes, index + 2, (byte) (value >> 40 & 0xFF));
+      setter.set(bytes, index + 3, (byte) (value >> 32 & 0xFF));
+      setter.set(bytes, index + 4, (byte) (value >> 24 & 0xFF));
+      setter.set(bytes, index + 5, (byte) (value >> 16 & 0xFF));
+      setter.set(bytes, index + 6, (byte) (value >> 8 & 0xFF));
+      setter.set(bytes, index + 7, (byte) (value & 0xFF));
     }
 
   }
@@ -147,59 +395,59 @@ public interface OrderedOps {
   final class LittleEndianOps implements OrderedOps {
 
     @Override
-    public short getShort(Function<Integer, Byte> getByte, int index) {
-      int b0 = getByte.apply(index) & 0xFF;
-      int b1 = getByte.apply(index + 1) & 0xFF;
+    public <T> short getShort(ByteGetter<T> getter, T bytes, int index) {
+      int b0 = getter.get(bytes, index) & 0xFF;
+      int b1 = getter.get(bytes, index + 1) & 0xFF;
       return (short) (b1 << 8 | b0);
     }
 
     @Override
-    public int getInt(Function<Integer, Byte> getByte, int index) {
-      int b0 = getByte.apply(index) & 0xFF;
-      int b1 = getByte.apply(index + 1) & 0xFF;
-      int b2 = getByte.apply(index + 2) & 0xFF;
-      int b3 = getByte.apply(index + 3) & 0xFF;
+    public <T> int getInt(ByteGetter<T> getter, T bytes, int index) {
+      int b0 = getter.get(bytes, index) & 0xFF;
+      int b1 = getter.get(bytes, index + 1) & 0xFF;
+      int b2 = getter.get(bytes, index + 2) & 0xFF;
+      int b3 = getter.get(bytes, index + 3) & 0xFF;
       return (b3 << 24) | (b2 << 16) | (b1 << 8) | b0;
     }
 
     @Override
-    public long getLong(Function<Integer, Byte> getByte, int index) {
-      long b0 = getByte.apply(index) & 0xFF;
-      long b1 = getByte.apply(index + 1) & 0xFF;
-      long b2 = getByte.apply(index + 2) & 0xFF;
-      long b3 = getByte.apply(index + 3) & 0xFF;
-      long b4 = getByte.apply(index + 4) & 0xFF;
-      long b5 = getByte.apply(index + 5) & 0xFF;
-      long b6 = getByte.apply(index + 6) & 0xFF;
-      long b7 = getByte.apply(index + 7) & 0xFF;
+    public <T> long getLong(ByteGetter<T> getter, T bytes, int index) {
+      long b0 = getter.get(bytes, index) & 0xFF;
+      long b1 = getter.get(bytes, index + 1) & 0xFF;
+      long b2 = getter.get(bytes, index + 2) & 0xFF;
+      long b3 = getter.get(bytes, index + 3) & 0xFF;
+      long b4 = getter.get(bytes, index + 4) & 0xFF;
+      long b5 = getter.get(bytes, index + 5) & 0xFF;
+      long b6 = getter.get(bytes, index + 6) & 0xFF;
+      long b7 = getter.get(bytes, index + 7) & 0xFF;
       return (b7 << 56) | (b6 << 48) | (b5 << 40) | (b4 << 32)
           | (b3 << 24) | (b2 << 16) | (b1 << 8) | b0;
     }
 
     @Override
-    public void setShort(BiConsumer<Integer, Byte> setByte, int index, short value) {
-      setByte.accept(index, (byte) (value & 0xFF));
-      setByte.accept(index + 1, (byte) (value >> 8 & 0xFF));
+    public <T> void setShort(ByteSetter<T> setter, T bytes, int index, short value) {
+      setter.set(bytes, index, (byte) (value & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value >> 8 & 0xFF));
     }
 
     @Override
-    public void setInt(BiConsumer<Integer, Byte> setByte, int index, int value) {
-      setByte.accept(index, (byte) (value & 0xFF));
-      setByte.accept(index + 1, (byte) (value >> 8 & 0xFF));
-      setByte.accept(index + 2, (byte) (value >> 16 & 0xFF));
-      setByte.accept(index + 3, (byte) (value >> 24 & 0xFF));
+    public <T> void setInt(ByteSetter<T> setter, T bytes, int index, int value) {
+      setter.set(bytes, index, (byte) (value & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value >> 8 & 0xFF));
+      setter.set(bytes, index + 2, (byte) (value >> 16 & 0xFF));
+      setter.set(bytes, index + 3, (byte) (value >> 24 & 0xFF));
     }
 
     @Override
-    public void setLong(BiConsumer<Integer, Byte> setByte, int index, long value) {
-      setByte.accept(index, (byte) (value & 0xFF));
-      setByte.accept(index + 1, (byte) (value >> 8 & 0xFF));
-      setByte.accept(index + 2, (byte) (value >> 16 & 0xFF));
-      setByte.accept(index + 3, (byte) (value >> 24 & 0xFF));
-      setByte.accept(index + 4, (byte) (value >> 32 & 0xFF));
-      setByte.accept(index + 5, (byte) (value >> 40 & 0xFF));
-      setByte.accept(index + 6, (byte) (value >> 48 & 0xFF));
-      setByte.accept(index + 7, (byte) (value >> 56 & 0xFF));
+    public <T> void setLong(ByteSetter<T> setter, T bytes, int index, long value) {
+      setter.set(bytes, index, (byte) (value & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value >> 8 & 0xFF));
+      setter.set(bytes, index + 2, (byte) (value >> 16 & 0xFF));
+      setter.set(bytes, index + 3, (byte) (value >> 24 & 0xFF));
+      setter.set(bytes, index + 4, (byte) (value >> 32 & 0xFF));
+      setter.set(bytes, index + 5, (byte) (value >> 40 & 0xFF));
+      setter.set(bytes, index + 6, (byte) (value >> 48 & 0xFF));
+      setter.set(bytes, index + 7, (byte) (value >> 56 & 0xFF));
     }
 
   }
@@ -216,59 +464,59 @@ public interface OrderedOps {
   final class BigEndianLowHighOps implements OrderedOps {
 
     @Override
-    public short getShort(Function<Integer, Byte> getByte, int index) {
-      int b0 = getByte.apply(index) & 0xFF;
-      int b1 = getByte.apply(index + 1) & 0xFF;
+    public <T> short getShort(ByteGetter<T> getter, T bytes, int index) {
+      int b0 = getter.get(bytes, index) & 0xFF;
+      int b1 = getter.get(bytes, index + 1) & 0xFF;
       return (short) (b0 << 8 | b1);
     }
 
     @Override
-    public int getInt(Function<Integer, Byte> getByte, int index) {
-      int b0 = getByte.apply(index) & 0xFF;
-      int b1 = getByte.apply(index + 1) & 0xFF;
-      int b2 = getByte.apply(index + 2) & 0xFF;
-      int b3 = getByte.apply(index + 3) & 0xFF;
+    public <T> int getInt(ByteGetter<T> getter, T bytes, int index) {
+      int b0 = getter.get(bytes, index) & 0xFF;
+      int b1 = getter.get(bytes, index + 1) & 0xFF;
+      int b2 = getter.get(bytes, index + 2) & 0xFF;
+      int b3 = getter.get(bytes, index + 3) & 0xFF;
       return (b2 << 24) | (b3 << 16) | (b0 << 8) | b1;
     }
 
     @Override
-    public long getLong(Function<Integer, Byte> getByte, int index) {
-      long b0 = getByte.apply(index) & 0xFF;
-      long b1 = getByte.apply(index + 1) & 0xFF;
-      long b2 = getByte.apply(index + 2) & 0xFF;
-      long b3 = getByte.apply(index + 3) & 0xFF;
-      long b4 = getByte.apply(index + 4) & 0xFF;
-      long b5 = getByte.apply(index + 5) & 0xFF;
-      long b6 = getByte.apply(index + 6) & 0xFF;
-      long b7 = getByte.apply(index + 7) & 0xFF;
+    public <T> long getLong(ByteGetter<T> getter, T bytes, int index) {
+      long b0 = getter.get(bytes, index) & 0xFF;
+      long b1 = getter.get(bytes, index + 1) & 0xFF;
+      long b2 = getter.get(bytes, index + 2) & 0xFF;
+      long b3 = getter.get(bytes, index + 3) & 0xFF;
+      long b4 = getter.get(bytes, index + 4) & 0xFF;
+      long b5 = getter.get(bytes, index + 5) & 0xFF;
+      long b6 = getter.get(bytes, index + 6) & 0xFF;
+      long b7 = getter.get(bytes, index + 7) & 0xFF;
       return (b6 << 56) | (b7 << 48) | (b4 << 40) | (b5 << 32)
           | (b2 << 24) | (b3 << 16) | (b0 << 8) | b1;
     }
 
     @Override
-    public void setShort(BiConsumer<Integer, Byte> setByte, int index, short value) {
-      setByte.accept(index, (byte) (value >> 8 & 0xFF));
-      setByte.accept(index + 1, (byte) (value & 0xFF));
+    public <T> void setShort(ByteSetter<T> setter, T bytes, int index, short value) {
+      setter.set(bytes, index, (byte) (value >> 8 & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value & 0xFF));
     }
 
     @Override
-    public void setInt(BiConsumer<Integer, Byte> setByte, int index, int value) {
-      setByte.accept(index, (byte) (value >> 8 & 0xFF));
-      setByte.accept(index + 1, (byte) (value & 0xFF));
-      setByte.accept(index + 2, (byte) (value >> 24 & 0xFF));
-      setByte.accept(index + 3, (byte) (value >> 16 & 0xFF));
+    public <T> void setInt(ByteSetter<T> setter, T bytes, int index, int value) {
+      setter.set(bytes, index, (byte) (value >> 8 & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value & 0xFF));
+      setter.set(bytes, index + 2, (byte) (value >> 24 & 0xFF));
+      setter.set(bytes, index + 3, (byte) (value >> 16 & 0xFF));
     }
 
     @Override
-    public void setLong(BiConsumer<Integer, Byte> setByte, int index, long value) {
-      setByte.accept(index, (byte) (value >> 8 & 0xFF));
-      setByte.accept(index + 1, (byte) (value & 0xFF));
-      setByte.accept(index + 2, (byte) (value >> 24 & 0xFF));
-      setByte.accept(index + 3, (byte) (value >> 16 & 0xFF));
-      setByte.accept(index + 4, (byte) (value >> 40 & 0xFF));
-      setByte.accept(index + 5, (byte) (value >> 32 & 0xFF));
-      setByte.accept(index + 6, (byte) (value >> 56 & 0xFF));
-      setByte.accept(index + 7, (byte) (value >> 48 & 0xFF));
+    public <T> void setLong(ByteSetter<T> setter, T bytes, int index, long value) {
+      setter.set(bytes, index, (byte) (value >> 8 & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value & 0xFF));
+      setter.set(bytes, index + 2, (byte) (value >> 24 & 0xFF));
+      setter.set(bytes, index + 3, (byte) (value >> 16 & 0xFF));
+      setter.set(bytes, index + 4, (byte) (value >> 40 & 0xFF));
+      setter.set(bytes, index + 5, (byte) (value >> 32 & 0xFF));
+      setter.set(bytes, index + 6, (byte) (value >> 56 & 0xFF));
+      setter.set(bytes, index + 7, (byte) (value >> 48 & 0xFF));
     }
 
   }
@@ -285,59 +533,59 @@ public interface OrderedOps {
   final class LittleEndianLowHighOps implements OrderedOps {
 
     @Override
-    public short getShort(Function<Integer, Byte> getByte, int index) {
-      int b0 = getByte.apply(index) & 0xFF;
-      int b1 = getByte.apply(index + 1) & 0xFF;
+    public <T> short getShort(ByteGetter<T> getter, T bytes, int index) {
+      int b0 = getter.get(bytes, index) & 0xFF;
+      int b1 = getter.get(bytes, index + 1) & 0xFF;
       return (short) (b1 << 8 | b0);
     }
 
     @Override
-    public int getInt(Function<Integer, Byte> getByte, int index) {
-      int b0 = getByte.apply(index) & 0xFF;
-      int b1 = getByte.apply(index + 1) & 0xFF;
-      int b2 = getByte.apply(index + 2) & 0xFF;
-      int b3 = getByte.apply(index + 3) & 0xFF;
+    public <T> int getInt(ByteGetter<T> getter, T bytes, int index) {
+      int b0 = getter.get(bytes, index) & 0xFF;
+      int b1 = getter.get(bytes, index + 1) & 0xFF;
+      int b2 = getter.get(bytes, index + 2) & 0xFF;
+      int b3 = getter.get(bytes, index + 3) & 0xFF;
       return (b1 << 24) | (b0 << 16) | (b3 << 8) | b2;
     }
 
     @Override
-    public long getLong(Function<Integer, Byte> getByte, int index) {
-      long b0 = getByte.apply(index) & 0xFF;
-      long b1 = getByte.apply(index + 1) & 0xFF;
-      long b2 = getByte.apply(index + 2) & 0xFF;
-      long b3 = getByte.apply(index + 3) & 0xFF;
-      long b4 = getByte.apply(index + 4) & 0xFF;
-      long b5 = getByte.apply(index + 5) & 0xFF;
-      long b6 = getByte.apply(index + 6) & 0xFF;
-      long b7 = getByte.apply(index + 7) & 0xFF;
+    public <T> long getLong(ByteGetter<T> getter, T bytes, int index) {
+      long b0 = getter.get(bytes, index) & 0xFF;
+      long b1 = getter.get(bytes, index + 1) & 0xFF;
+      long b2 = getter.get(bytes, index + 2) & 0xFF;
+      long b3 = getter.get(bytes, index + 3) & 0xFF;
+      long b4 = getter.get(bytes, index + 4) & 0xFF;
+      long b5 = getter.get(bytes, index + 5) & 0xFF;
+      long b6 = getter.get(bytes, index + 6) & 0xFF;
+      long b7 = getter.get(bytes, index + 7) & 0xFF;
       return (b1 << 56) | (b0 << 48) | (b3 << 40) | (b2 << 32)
           | (b5 << 24) | (b4 << 16) | (b7 << 8) | b6;
     }
 
     @Override
-    public void setShort(BiConsumer<Integer, Byte> setByte, int index, short value) {
-      setByte.accept(index, (byte) (value & 0xFF));
-      setByte.accept(index + 1, (byte) (value >> 8 & 0xFF));
+    public <T> void setShort(ByteSetter<T> setter, T bytes, int index, short value) {
+      setter.set(bytes, index, (byte) (value & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value >> 8 & 0xFF));
     }
 
     @Override
-    public void setInt(BiConsumer<Integer, Byte> setByte, int index, int value) {
-      setByte.accept(index, (byte) (value >> 16 & 0xFF));
-      setByte.accept(index + 1, (byte) (value >> 24 & 0xFF));
-      setByte.accept(index + 2, (byte) (value & 0xFF));
-      setByte.accept(index + 3, (byte) (value >> 8 & 0xFF));
+    public <T> void setInt(ByteSetter<T> setter, T bytes, int index, int value) {
+      setter.set(bytes, index, (byte) (value >> 16 & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value >> 24 & 0xFF));
+      setter.set(bytes, index + 2, (byte) (value & 0xFF));
+      setter.set(bytes, index + 3, (byte) (value >> 8 & 0xFF));
     }
 
     @Override
-    public void setLong(BiConsumer<Integer, Byte> setByte, int index, long value) {
-      setByte.accept(index, (byte) (value >> 48 & 0xFF));
-      setByte.accept(index + 1, (byte) (value >> 56 & 0xFF));
-      setByte.accept(index + 2, (byte) (value >> 32 & 0xFF));
-      setByte.accept(index + 3, (byte) (value >> 40 & 0xFF));
-      setByte.accept(index + 4, (byte) (value >> 16 & 0xFF));
-      setByte.accept(index + 5, (byte) (value >> 24 & 0xFF));
-      setByte.accept(index + 6, (byte) (value & 0xFF));
-      setByte.accept(index + 7, (byte) (value >> 8 & 0xFF));
+    public <T> void setLong(ByteSetter<T> setter, T bytes, int index, long value) {
+      setter.set(bytes, index, (byte) (value >> 48 & 0xFF));
+      setter.set(bytes, index + 1, (byte) (value >> 56 & 0xFF));
+      setter.set(bytes, index + 2, (byte) (value >> 32 & 0xFF));
+      setter.set(bytes, index + 3, (byte) (value >> 40 & 0xFF));
+      setter.set(bytes, index + 4, (byte) (value >> 16 & 0xFF));
+      setter.set(bytes, index + 5, (byte) (value >> 24 & 0xFF));
+      setter.set(bytes, index + 6, (byte) (value & 0xFF));
+      setter.set(bytes, index + 7, (byte) (value >> 8 & 0xFF));
     }
 
   }
@@ -0,0 +1,289 @@
+package com.digitalpetri.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Bulk conversion of values between two {@link OrderedOps} orderings.
+ *
+ * <p>Converting an element between any two orderings moves each of its bytes to a fixed new
+ * position. That permutation is probed once per call, and when it is one the built-in orderings
+ * produce (swapping the bytes of each word, reversing the words of each element, or both) the
+ * bytes are converted 8 at a time with a few shifts and masks on a long. Any other permutation
+ * falls back to moving one byte at a time.
+ *
+ * @see OrderedOps#transcode(byte[], int, byte[], int, int, int, OrderedOps, OrderedOps)
+ */
+final class OrderedTranscoder {
+
+  /**
+   * Every conversion moves bytes the same way whether the long was read big or little-endian,
+   * so the native order is used to avoid byte swapping on each read and write.
+   */
+  private static final VarHandle LONG =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+  private static final long LOW_BYTES = 0x00FF00FF00FF00FFL;
+  private static final long LOW_WORDS = 0x0000FFFF0000FFFFL;
+
+  private static final int IDENTITY = 0;
+  private static final int SWAP_BYTES = 1;
+  private static final int REVERSE_WORDS = 2;
+  private static final int SWAP_BYTES_REVERSE_WORDS = 3;
+  private static final int PERMUTE = 4;
+
+  private OrderedTranscoder() {}
+
+  static void transcode(
+      byte[] src,
+      int srcIndex,
+      byte[] dst,
+      int dstIndex,
+      int elementSize,
+      int count,
+      OrderedOps from,
+      OrderedOps to
+  ) {
+
+    int length = length(elementSize, count);
+    Objects.checkFromIndexSize(srcIndex, length, src.length);
+    Objects.checkFromIndexSize(dstIndex, length, dst.length);
+
+    int[] permutation = permutation(from, to, elementSize);
+    int kind = kind(permutation);
+
+    if (kind == IDENTITY) {
+      System.arraycopy(src, srcIndex, dst, dstIndex, length);
+      return;
+    }
+
+    int i = kind == PERMUTE
+        ? 0
+        : convertLongs(src, srcIndex, dst, dstIndex, length, kind, elementSize);
+
+    byte[] element = new byte[elementSize];
+    for (; i < length; i += elementSize) {
+      System.arraycopy(src, srcIndex + i, element, 0, elementSize);
+
+      for (int j = 0; j < elementSize; j++) {
+        dst[dstIndex + i + j] = element[permutation[j]];
+      }
+    }
+  }
+
+  static void transcode(
+      ByteBuffer src,
+      int srcIndex,
+      ByteBuffer dst,
+      int dstIndex,
+      int elementSize,
+      int count,
+      OrderedOps from,
+      OrderedOps to
+  ) {
+
+    int length = length(elementSize, count);
+    Objects.checkFromIndexSize(srcIndex, length, src.limit());
+    Objects.checkFromIndexSize(dstIndex, length, dst.limit());
+
+    int[] permutation = permutation(from, to, elementSize);
+    int kind = kind(permutation);
+
+    // absolute get/put of a long use the buffer's byte order, which is the caller's to keep
+    ByteBuffer s = src.duplicate().order(ByteOrder.nativeOrder());
+    ByteBuffer d = dst.duplicate().order(ByteOrder.nativeOrder());
+
+    int i = 0;
+
+    if (kind != PERMUTE) {
+      for (; i <= length - Long.BYTES; i += Long.BYTES) {
+        long value = s.getLong(srcIndex + i);
+        d.putLong(dstIndex + i, convert(value, kind, elementSize));
+      }
+    }
+
+    byte[] element = new byte[elementSize];
+    for (; i < length; i += elementSize) {
+      for (int j = 0; j < elementSize; j++) {
+        element[j] = s.get(srcIndex + i + j);
+      }
+
+      for (int j = 0; j < elementSize; j++) {
+        d.put(dstIndex + i + j, element[permutation[j]]);
+      }
+    }
+  }
+
+  /**
+   * Convert as many whole longs as fit in {@code length} bytes, with a loop specialized for
+   * each conversion so the JIT compiler sees straight-line shifts and masks.
+   *
+   * @return the number of bytes converted.
+   */
+  private static int convertLongs(
+      byte[] src,
+      int srcIndex,
+      byte[] dst,
+      int dstIndex,
+      int length,
+      int kind,
+      int elementSize
+  ) {
+
+    int end = length - length % Long.BYTES;
+
+    if (kind == SWAP_BYTES) {
+      for (int i = 0; i < end; i += Long.BYTES) {
+        LONG.set(dst, dstIndex + i, swapBytes((long) LONG.get(src, srcIndex + i)));
+      }
+    } else if (kind == REVERSE_WORDS && elementSize == Integer.BYTES) {
+      for (int i = 0; i < end; i += Long.BYTES) {
+        LONG.set(dst, dstIndex + i, swapWordPairs((long) LONG.get(src, srcIndex + i)));
+      }
+    } else if (kind == REVERSE_WORDS) {
+      for (int i = 0; i < end; i += Long.BYTES) {
+        LONG.set(dst, dstIndex + i, OrderedOps.swapWords((long) LONG.get(src, srcIndex + i)));
+      }
+    } else if (elementSize == Integer.BYTES) {
+      for (int i = 0; i < end; i += Long.BYTES) {
+        long value = (long) LONG.get(src, srcIndex + i);
+        LONG.set(dst, dstIndex + i, Long.rotateLeft(Long.reverseBytes(value), 32));
+      }
+    } else {
+      for (int i = 0; i < end; i += Long.BYTES) {
+        LONG.set(dst, dstIndex + i, Long.reverseBytes((long) LONG.get(src, srcIndex + i)));
+      }
+    }
+
+    return end;
+  }
+
+  /**
+   * Convert the elements packed in {@code value}.
+   */
+  private static long convert(long value, int kind, int elementSize) {
+    switch (kind) {
+      case IDENTITY:
+        return value;
+      case SWAP_BYTES:
+        return swapBytes(value);
+      case REVERSE_WORDS:
+        return reverseWords(value, elementSize);
+      case SWAP_BYTES_REVERSE_WORDS:
+        return elementSize == Long.BYTES
+            ? Long.reverseBytes(value)
+            : Long.rotateLeft(Long.reverseBytes(value), 32);
+      default:
+        throw new IllegalArgumentException("kind: " + kind);
+    }
+  }
+
+  private static long swapBytes(long value) {
+    return (value >>> 8) & LOW_BYTES | (value & LOW_BYTES) << 8;
+  }
+
+  private static long reverseWords(long value, int elementSize) {
+    switch (elementSize) {
+      case Short.BYTES:
+        return value;
+      case Integer.BYTES:
+        return swapWordPairs(value);
+      default:
+        return OrderedOps.swapWords(value);
+    }
+  }
+
+  private static long swapWordPairs(long value) {
+    return (value >>> 16) & LOW_WORDS | (value & LOW_WORDS) << 16;
+  }
+
+  private static int length(int elementSize, int count) {
+    if (elementSize != Short.BYTES && elementSize != Integer.BYTES && elementSize != Long.BYTES) {
+      throw new IllegalArgumentException("elementSize: " + elementSize);
+    }
+    if (count < 0) {
+      throw new IllegalArgumentException("count: " + count);
+    }
+
+    return Math.multiplyExact(elementSize, count);
+  }
+
+  /**
+   * Get, for each byte of an element in {@code to} order, the index of the same byte in
+   * {@code from} order.
+   */
+  private static int[] permutation(OrderedOps from, OrderedOps to, int elementSize) {
+    byte[] fromBytes = significance(from, elementSize);
+    byte[] toBytes = significance(to, elementSize);
+
+    int[] permutation = new int[elementSize];
+
+    for (int j = 0; j < elementSize; j++) {
+      for (int i = 0; i < elementSize; i++) {
+        if (fromBytes[i] == toBytes[j]) {
+          permutation[j] = i;
+        }
+      }
+    }
+
+    return permutation;
+  }
+
+  /**
+   * Get the significance (1 for the least significant) of each byte of an element written in
+   * {@code order}.
+   */
+  private static byte[] significance(OrderedOps order, int elementSize) {
+    byte[] bytes = new byte[elementSize];
+
+    OrderedOps.ByteSetter<byte[]> setter = (bs, i, b) -> bs[i] = b;
+
+    switch (elementSize) {
+      case Short.BYTES:
+        order.setShort(setter, bytes, 0, (short) 0x0201);
+        break;
+      case Integer.BYTES:
+        order.setInt(setter, bytes, 0, 0x04030201);
+        break;
+      default:
+        order.setLong(setter, bytes, 0, 0x0807060504030201L);
+        break;
+    }
+
+    return bytes;
+  }
+
+  private static int kind(int[] permutation) {
+    int n = permutation.length;
+
+    boolean identity = true;
+    boolean swapBytes = true;
+    boolean reverseWords = true;
+    boolean reverse = true;
+
+    for (int j = 0; j < n; j++) {
+      int p = permutation[j];
+
+      identity &= p == j;
+      swapBytes &= p == (j ^ 1);
+      reverseWords &= p == n - 2 - (j & ~1) + (j & 1);
+      reverse &= p == n - 1 - j;
+    }
+
+    if (identity) {
+      return IDENTITY;
+    } else if (swapBytes) {
+      return SWAP_BYTES;
+    } else if (reverseWords) {
+      return REVERSE_WORDS;
+    } else if (reverse) {
+      return SWAP_BYTES_REVERSE_WORDS;
+    } else {
+      return PERMUTE;
+    }
+  }
+
+}
@@ -0,0 +1,110 @@
+package com.digitalpetri.util;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe cache of the {@link ByteOps} detected by an {@link OrderingDetector} for each
+ * device, so the ordering of a device is detected once and then served without re-analysis.
+ *
+ * <pre>
+ *   OrderingCache&lt;String, byte[]&gt; cache = new OrderingCache&lt;&gt;(detector);
+ *
+ *   Optional&lt;ByteOps&lt;byte[]&gt;&gt; byteOps =
+ *       cache.get(deviceId, () -&gt; readSamples(deviceId));
+ * </pre>
+ *
+ * @param <K> the type of device identifier.
+ * @param <T> the type of bytes.
+ */
+public final class OrderingCache<K, T> {
+
+  private final ConcurrentMap<K, ByteOps<T>> cache = new ConcurrentHashMap<>();
+
+  private final OrderingDetector<T> detector;
+
+  /**
+   * Create an {@link OrderingCache} that detects orderings with {@code detector}.
+   *
+   * @param detector the {@link OrderingDetector} to detect orderings with.
+   */
+  public OrderingCache(OrderingDetector<T> detector) {
+    this.detector = Objects.requireNonNull(detector);
+  }
+
+  /**
+   * Get the {@link ByteOps} for {@code device}, detecting its ordering from {@code samples} if
+   * it hasn't been detected yet.
+   *
+   * <p>Samples are gathered and analyzed outside the cache, so {@code samples} may do blocking
+   * I/O or use this cache itself. Concurrent calls that miss for the same device may each detect
+   * an ordering, but all of them return the first one cached, and an ordering {@link #put} in the
+   * meantime takes precedence. If the ordering can't be detected nothing is cached, and the next
+   * call tries again with new samples.
+   *
+   * @param device the device identifier.
+   * @param samples supplies sample bytes from {@code device}; only called on a cache miss.
+   * @return the {@link ByteOps} for {@code device}, or empty if its ordering couldn't be
+   *     detected.
+   */
+  public Optional<ByteOps<T>> get(K device, Supplier<? extends List<T>> samples) {
+    ByteOps<T> byteOps = cache.get(device);
+
+    if (byteOps == null) {
+      byteOps = detector.detect(samples.get()).byteOps().orElse(null);
+
+      if (byteOps != null) {
+        ByteOps<T> cached = cache.putIfAbsent(device, byteOps);
+
+        if (cached != null) {
+          byteOps = cached;
+        }
+      }
+    }
+
+    return Optional.ofNullable(byteOps);
+  }
+
+  /**
+   * Get the {@link ByteOps} previously detected or put for {@code device}.
+   *
+   * @param device the device identifier.
+   * @return the cached {@link ByteOps}, or empty if there is none.
+   */
+  public Optional<ByteOps<T>> get(K device) {
+    return Optional.ofNullable(cache.get(device));
+  }
+
+  /**
+   * Set the {@link ByteOps} for {@code device}, e.g. from configuration, replacing any detected
+   * one.
+   *
+   * @param device the device identifier.
+   * @param byteOps the {@link ByteOps} to use for {@code device}.
+   */
+  public void put(K device, ByteOps<T> byteOps) {
+    cache.put(device, Objects.requireNonNull(byteOps));
+  }
+
+  /**
+   * Forget the {@link ByteOps} for {@code device}, e.g. after the device was replaced, so its
+   * ordering is detected again on the next call to {@link #get(Object, Supplier)}.
+   *
+   * @param device the device identifier.
+   */
+  public void invalidate(K device) {
+    cache.remove(device);
+  }
+
+  /**
+   * Forget the {@link ByteOps} for every device.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+}
@@ -0,0 +1,444 @@
+package com.digitalpetri.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Detects which of the four built-in orderings some bytes were written with, by scoring each
+ * ordering against checks on sample bytes: known expected values, or plausibility constraints
+ * such as a float within a range or a monotonic counter.
+ *
+ * <pre>
+ *   OrderingDetector&lt;byte[]&gt; detector = OrderingDetector.builder(ByteArrayByteOps::new)
+ *       .expectFloat(0, 230.0f, 10.0f)
+ *       .monotonicInt(4, 1000)
+ *       .build();
+ *
+ *   Optional&lt;ByteOps&lt;byte[]&gt;&gt; byteOps = detector.detect(samples).byteOps();
+ * </pre>
+ *
+ * <p>Instances are immutable and thread-safe. Use with {@link OrderingCache} to detect the
+ * ordering of each device once.
+ *
+ * @param <T> the type of bytes.
+ */
+public final class OrderingDetector<T> {
+
+  private final List<OrderedOps> orderings;
+  private final List<ByteOps<T>> byteOps;
+  private final List<Check<T>> checks;
+
+  private OrderingDetector(
+      Function<OrderedOps, ? extends ByteOps<T>> byteOps,
+      List<Check<T>> checks
+  ) {
+
+    this.orderings = List.of(
+        new OrderedOps.BigEndianOps(),
+        new OrderedOps.LittleEndianOps(),
+        new OrderedOps.BigEndianLowHighOps(),
+        new OrderedOps.LittleEndianLowHighOps()
+    );
+
+    List<ByteOps<T>> ops = new ArrayList<>();
+    for (OrderedOps ordering : orderings) {
+      ops.add(byteOps.apply(ordering));
+    }
+
+    this.byteOps = Collections.unmodifiableList(ops);
+    this.checks = List.copyOf(checks);
+  }
+
+  /**
+   * Create a {@link Builder} for an {@link OrderingDetector} over bytes of type {@code T}.
+   *
+   * @param byteOps a function that creates the {@link ByteOps} for an ordering, e.g.
+   *     {@code ByteArrayByteOps::new}.
+   * @param <T> the type of bytes.
+   * @return a new {@link Builder}.
+   */
+  public static <T> Builder<T> builder(Function<OrderedOps, ? extends ByteOps<T>> byteOps) {
+    return new Builder<>(byteOps);
+  }
+
+  /**
+   * Score each of the four orderings against the checks on a single sample.
+   *
+   * @param sample the sample bytes.
+   * @return the {@link Result}.
+   */
+  public Result<T> detect(T sample) {
+    return detect(List.of(sample));
+  }
+
+  /**
+   * Score each of the four orderings against the checks on {@code samples}, e.g. successive
+   * reads of the same registers.
+   *
+   * @param samples the sample bytes, in the order they were read.
+   * @return the {@link Result}.
+   */
+  public Result<T> detect(List<T> samples) {
+    List<Candidate<T>> candidates = new ArrayList<>();
+
+    for (int i = 0; i < orderings.size(); i++) {
+      ByteOps<T> ops = byteOps.get(i);
+      int score = 0;
+
+      for (Check<T> check : checks) {
+        try {
+          if (check.test(ops, samples)) {
+            score++;
+          }
+        } catch (IndexOutOfBoundsException e) {
+          // a sample too short for the check fails it
+        }
+      }
+
+      candidates.add(new Candidate<>(orderings.get(i), ops, score));
+    }
+
+    // stable, so ties keep the order above
+    candidates.sort(Comparator.comparingInt((Candidate<T> c) -> c.score).reversed());
+
+    return new Result<>(candidates, checks.size());
+  }
+
+  /**
+   * A check that bytes decoded with a candidate {@link ByteOps} are plausible.
+   *
+   * @param <T> the type of bytes.
+   */
+  @FunctionalInterface
+  public interface Check<T> {
+
+    /**
+     * Test the samples decoded with {@code byteOps}.
+     *
+     * @param byteOps the candidate {@link ByteOps}.
+     * @param samples the sample bytes, in the order they were read.
+     * @return {@code true} if the samples pass this check.
+     */
+    boolean test(ByteOps<T> byteOps, List<T> samples);
+
+  }
+
+  /**
+   * An ordering and its score.
+   *
+   * @param <T> the type of bytes.
+   */
+  public static final class Candidate<T> {
+
+    private final OrderedOps orderedOps;
+    private final ByteOps<T> byteOps;
+    private final int score;
+
+    private Candidate(OrderedOps orderedOps, ByteOps<T> byteOps, int score) {
+      this.orderedOps = orderedOps;
+      this.byteOps = byteOps;
+      this.score = score;
+    }
+
+    /**
+     * @return the ordering.
+     */
+    public OrderedOps orderedOps() {
+      return orderedOps;
+    }
+
+    /**
+     * @return the {@link ByteOps} with this ordering.
+     */
+    public ByteOps<T> byteOps() {
+      return byteOps;
+    }
+
+    /**
+     * @return the number of checks passed with this ordering.
+     */
+    public int score() {
+      return score;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "Candidate{orderedOps=%s, score=%d}", orderedOps.getClass().getSimpleName(), score);
+    }
+
+  }
+
+  /**
+   * The result of {@link #detect(List)}.
+   *
+   * @param <T> the type of bytes.
+   */
+  public static final class Result<T> {
+
+    private final List<Candidate<T>> candidates;
+    private final int checkCount;
+
+    private Result(List<Candidate<T>> candidates, int checkCount) {
+      this.candidates = Collections.unmodifiableList(candidates);
+      this.checkCount = checkCount;
+    }
+
+    /**
+     * @return the four orderings, highest score first.
+     */
+    public List<Candidate<T>> candidates() {
+      return candidates;
+    }
+
+    /**
+     * @return the number of checks each ordering was scored against.
+     */
+    public int checkCount() {
+      return checkCount;
+    }
+
+    /**
+     * Get the {@link ByteOps} of the ordering with the highest score, if it passed at least one
+     * check and scored strictly higher than every other ordering.
+     *
+     * <p>Checks that don't depend on word order, e.g. on a short value, can't tell two
+     * orderings apart; include checks on 32 or 64-bit values to avoid a tie.
+     *
+     * @return the {@link ByteOps} of the detected ordering, or empty if there is no clear winner.
+     */
+    public Optional<ByteOps<T>> byteOps() {
+      Candidate<T> best = candidates.get(0);
+
+      if (best.score > 0 && best.score > candidates.get(1).score) {
+        return Optional.of(best.byteOps);
+      } else {
+        return Optional.empty();
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "Result{candidates=" + candidates + ", checkCount=" + checkCount + "}";
+    }
+
+  }
+
+  /**
+   * Builds an {@link OrderingDetector} one check at a time.
+   *
+   * <p>Expected value checks pass if the value matches in every sample; range checks pass if the
+   * value is in range in every sample; monotonic checks pass if each sample's value is at most
+   * {@code maxIncrement} more than the previous one, wrapping around, and need at least two
+   * samples.
+   *
+   * @param <T> the type of bytes.
+   */
+  public static final class Builder<T> {
+
+    private final List<Check<T>> checks = new ArrayList<>();
+
+    private final Function<OrderedOps, ? extends ByteOps<T>> byteOps;
+
+    private Builder(Function<OrderedOps, ? extends ByteOps<T>> byteOps) {
+      this.byteOps = Objects.requireNonNull(byteOps);
+    }
+
+    /**
+     * Add a check that the short value at {@code index} is {@code expected}.
+     *
+     * @param index the index of the value.
+     * @param expected the expected value.
+     * @return this {@link Builder}.
+     */
+    public Builder<T> expectShort(int index, short expected) {
+      return check((ops, samples) -> all(samples, bs -> ops.getShort(bs, index) == expected));
+    }
+
+    /**
+     * Add a check that the int value at {@code index} is {@code expected}.
+     *
+     * @param index the index of the value.
+     * @param expected the expected value.
+     * @return this {@link Builder}.
+     */
+    public Builder<T> expectInt(int index, int expected) {
+      return check((ops, samples) -> all(samples, bs -> ops.getInt(bs, index) == expected));
+    }
+
+    /**
+     * Add a check that the long value at {@code index} is {@code expected}.
+     *
+     * @param index the index of the value.
+     * @param expected the expected value.
+     * @return this {@link Builder}.
+     */
+    public Builder<T> expectLong(int index, long expected) {
+      return check((ops, samples) -> all(samples, bs -> ops.getLong(bs, index) == expected));
+    }
+
+    /**
+     * Add a check that the float value at {@code index} is within {@code tolerance} of
+     * {@code expected}.
+     *
+     * @param index the index of the value.
+     * @param expected the expected value.
+     * @param tolerance the largest allowed difference from {@code expected}.
+     * @return this {@link Builder}.
+     */
+    public Builder<T> expectFloat(int index, float expected, float tolerance) {
+      return floatInRange(index, expected - tolerance, expected + tolerance);
+    }
+
+    /**
+     * Add a check that the double value at {@code index} is within {@code tolerance} of
+     * {@code expected}.
+     *
+     * @param index the index of the value.
+     * @param expected the expected value.
+     * @param tolerance the largest allowed difference from {@code expected}.
+     * @return this {@link Builder}.
+     */
+    public Builder<T> expectDouble(int index, double expected, double tolerance) {
+      return doubleInRange(index, expected - tolerance, expected + tolerance);
+    }
+
+    /**
+     * Add a check that the float value at {@code index} is in {@code [min, max]}; NaN is never
+     * in range.
+     *
+     * @param index the index of the value.
+     * @param min the smallest plausible value.
+     * @param max the largest plausible value.
+     * @return this {@link Builder}.
+     */
+    public Builder<T> floatInRange(int index, float min, float max) {
+      return check((ops, samples) -> all(samples, bs -> {
+        float value = ops.getFloat(bs, index);
+        return value >= min && value <= max;
+      }));
+    }
+
+    /**
+     * Add a check that the double value at {@code index} is in {@code [min, max]}; NaN is never
+     * in range.
+     *
+     * @param index the index of the value.
+     * @param min the smallest plausible value.
+     * @param max the largest plausible value.
+     * @return this {@link Builder}.
+     */
+    public Builder<T> doubleInRange(int index, double min, double max) {
+      return check((ops, samples) -> all(samples, bs -> {
+        double value = ops.getDouble(bs, index);
+        return value >= min && value <= max;
+      }));
+    }
+
+    /**
+     * Add a check that the unsigned 16-bit counter at {@code index} increases by at most
+     * {@code maxIncrement} from each sample to the next.
+     *
+     * @param index the index of the counter.
+     * @param maxIncrement the largest plausible increase between samples.
+     * @return this {@link Builder}.
+     */
+    public Builder<T> monotonicShort(int index, int maxIncrement) {
+      return check((ops, samples) -> monotonic(
+          samples, bs -> (long) ops.getShort(bs, index), 0xFFFFL, maxIncrement));
+    }
+
+    /**
+     * Add a check that the unsigned 32-bit counter at {@code index} increases by at most
+     * {@code maxIncrement} from each sample to the next.
+     *
+     * @param index the index of the counter.
+     * @param maxIncrement the largest plausible increase between samples.
+     * @return this {@link Builder}.
+     */
+    public Builder<T> monotonicInt(int index, long maxIncrement) {
+      return check((ops, samples) -> monotonic(
+          samples, bs -> (long) ops.getInt(bs, index), 0xFFFFFFFFL, maxIncrement));
+    }
+
+    /**
+     * Add a check that the 64-bit counter at {@code index} increases by at most
+     * {@code maxIncrement} from each sample to the next.
+     *
+     * @param index the index of the counter.
+     * @param maxIncrement the largest plausible increase between samples.
+     * @return this {@link Builder}.
+     */
+    public Builder<T> monotonicLong(int index, long maxIncrement) {
+      return check((ops, samples) -> monotonic(
+          samples, bs -> ops.getLong(bs, index), -1L, maxIncrement));
+    }
+
+    /**
+     * Add a custom check.
+     *
+     * @param check the check.
+     * @return this {@link Builder}.
+     */
+    public Builder<T> check(Check<T> check) {
+      checks.add(Objects.requireNonNull(check));
+
+      return this;
+    }
+
+    /**
+     * @return a new {@link OrderingDetector} with the checks added so far.
+     */
+    public OrderingDetector<T> build() {
+      return new OrderingDetector<>(byteOps, checks);
+    }
+
+    private static <T> boolean all(List<T> samples, Predicate<T> predicate) {
+      if (samples.isEmpty()) {
+        return false;
+      }
+
+      for (T sample : samples) {
+        if (!predicate.test(sample)) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    private static <T> boolean monotonic(
+        List<T> samples,
+        Function<T, Long> value,
+        long mask,
+        long maxIncrement
+    ) {
+
+      if (samples.size() < 2) {
+        return false;
+      }
+
+      long previous = value.apply(samples.get(0)) & mask;
+
+      for (int i = 1; i < samples.size(); i++) {
+        long current = value.apply(samples.get(i)) & mask;
+
+        if (Long.compareUnsigned((current - previous) & mask, maxIncrement) > 0) {
+          return false;
+        }
+
+        previous = current;
+      }
+
+      return true;
+    }
+
+  }
+
+}
@@ -0,0 +1,482 @@
+package com.digitalpetri.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * A pool of scratch {@code byte[]} and direct {@link ByteBuffer} buffers to encode into with
+ * {@link ByteArrayByteOps} or {@link ByteBufferByteOps}, so encoding an outgoing frame doesn't
+ * allocate a new buffer.
+ *
+ * <pre>
+ *   byte[] frame = pool.leaseArray(260);
+ *   try {
+ *     ByteArrayByteOps.BIG_ENDIAN.setShort(frame, 0, transactionId);
+ *     ...
+ *     channel.write(ByteBuffer.wrap(frame, 0, length));
+ *   } finally {
+ *     pool.returnArray(frame);
+ *   }
+ * </pre>
+ *
+ * <p>Buffers are pooled in power-of-two size classes, from {@link Builder#minCapacity(int)} to
+ * {@link Builder#maxCapacity(int)}; a lease gets a buffer of the smallest size class that fits,
+ * and larger leases are allocated and never retained. Returned buffers are kept in a shared
+ * lock-free list per size class, up to a cap on the total bytes retained; beyond the cap, returned
+ * buffers are dropped for the garbage collector.
+ *
+ * <p>Buffers are leased and returned explicitly, and may be returned from a thread other than
+ * the one that leased them. A small per-thread magazine, enabled with
+ * {@link Builder#magazineSize(int)}, keeps a thread's most recently returned buffers for that
+ * thread alone. Magazines are not counted against the retained bytes cap: each thread can hold
+ * up to {@code magazineSize} buffers of each kind and size class, released when the thread ends.
+ * Leave them disabled with virtual threads, or any large number of short-lived threads.
+ *
+ * <p>A leased buffer's contents are undefined, and it must not be used after it is returned, or
+ * returned more than once. Instances are thread-safe.
+ */
+public final class ScratchPool {
+
+  private final int minCapacity;
+  private final int maxCapacity;
+  private final long maxRetainedBytes;
+
+  private final Arena<byte[]> arrays;
+  private final Arena<ByteBuffer> directBuffers;
+
+  private final AtomicLong retainedBytes = new AtomicLong();
+
+  private final LongAdder leases = new LongAdder();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder returns = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+
+  private ScratchPool(Builder builder) {
+    this.minCapacity = builder.minCapacity;
+    this.maxCapacity = builder.maxCapacity;
+    this.maxRetainedBytes = builder.maxRetainedBytes;
+
+    int sizeClasses = sizeClass(maxCapacity) + 1;
+
+    arrays = new Arena<>(sizeClasses, builder.magazineSize, builder.sharedSlots, byte[]::new);
+    directBuffers = new Arena<>(
+        sizeClasses, builder.magazineSize, builder.sharedSlots, ByteBuffer::allocateDirect);
+  }
+
+  /**
+   * @return a new {@link Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Lease a {@code byte[]} of at least {@code minLength} bytes.
+   *
+   * @param minLength the minimum length of the array.
+   * @return an array of the smallest size class that fits {@code minLength}, or of exactly
+   *     {@code minLength} if larger than the largest size class.
+   */
+  public byte[] leaseArray(int minLength) {
+    return lease(arrays, minLength);
+  }
+
+  /**
+   * Return a {@code byte[]} leased from {@link #leaseArray(int)} to this pool.
+   *
+   * @param array the array to return.
+   */
+  public void returnArray(byte[] array) {
+    release(arrays, array, array.length);
+  }
+
+  /**
+   * Lease a direct {@link ByteBuffer} of at least {@code minCapacity} bytes, cleared and in
+   * big-endian order.
+   *
+   * @param minCapacity the minimum capacity of the buffer.
+   * @return a buffer of the smallest size class that fits {@code minCapacity}, or of exactly
+   *     {@code minCapacity} if larger than the largest size class.
+   */
+  public ByteBuffer leaseDirect(int minCapacity) {
+    return lease(directBuffers, minCapacity).clear().order(ByteOrder.BIG_ENDIAN);
+  }
+
+  /**
+   * Return a direct {@link ByteBuffer} leased from {@link #leaseDirect(int)} to this pool.
+   *
+   * <p>Return the buffer that was leased, not a slice or duplicate of it.
+   *
+   * @param buffer the buffer to return.
+   */
+  public void returnDirect(ByteBuffer buffer) {
+    if (buffer.isDirect() && !buffer.isReadOnly()) {
+      release(directBuffers, buffer, buffer.capacity());
+    } else {
+      returns.increment();
+      dropped.increment();
+    }
+  }
+
+  /**
+   * @return a snapshot of this pool's {@link Stats}.
+   */
+  public Stats stats() {
+    long leases = this.leases.sum();
+    long hits = this.hits.sum();
+
+    return new Stats(
+        leases, hits, leases - hits, returns.sum(), dropped.sum(), retainedBytes.get());
+  }
+
+  private <T> T lease(Arena<T> arena, int minCapacity) {
+    if (minCapacity < 0) {
+      throw new IllegalArgumentException("minCapacity: " + minCapacity);
+    }
+
+    leases.increment();
+
+    if (minCapacity > maxCapacity) {
+      return arena.allocator.apply(minCapacity);
+    }
+
+    int sizeClass = sizeClass(minCapacity);
+    T buffer = arena.takeLocal(sizeClass);
+
+    if (buffer != null) {
+      hits.increment();
+
+      return buffer;
+    }
+
+    buffer = arena.takeShared(sizeClass);
+
+    if (buffer != null) {
+      hits.increment();
+      retainedBytes.addAndGet(-capacity(sizeClass));
+
+      return buffer;
+    } else {
+      return arena.allocator.apply(capacity(sizeClass));
+    }
+  }
+
+  private <T> void release(Arena<T> arena, T buffer, int capacity) {
+    returns.increment();
+
+    int sizeClass = capacity >= minCapacity && capacity <= maxCapacity
+        && Integer.bitCount(capacity) == 1 ? sizeClass(capacity) : -1;
+
+    if (sizeClass < 0) {
+      dropped.increment();
+    } else if (!arena.offerLocal(sizeClass, buffer)) {
+      // only buffers in the shared lists count against the cap; a magazine dies with its thread
+      if (retainedBytes.addAndGet(capacity) > maxRetainedBytes
+          || !arena.offerShared(sizeClass, buffer)) {
+
+        retainedBytes.addAndGet(-capacity);
+        dropped.increment();
+      }
+    }
+  }
+
+  private int sizeClass(int capacity) {
+    if (capacity <= minCapacity) {
+      return 0;
+    } else {
+      // ceil(log2(capacity)) - log2(minCapacity)
+      return Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1)
+          - Integer.numberOfTrailingZeros(minCapacity);
+    }
+  }
+
+  private int capacity(int sizeClass) {
+    return minCapacity << sizeClass;
+  }
+
+  /**
+   * The buffers of one kind, in per-thread magazines and shared lists for each size class.
+   */
+  private static final class Arena<T> {
+
+    final IntFunction<T> allocator;
+
+    private final int magazineSize;
+    private final ThreadLocal<Magazine> magazines;
+    private final AtomicReferenceArray<T>[] shared;
+
+    @SuppressWarnings("unchecked")
+    Arena(int sizeClasses, int magazineSize, int sharedSlots, IntFunction<T> allocator) {
+      this.allocator = allocator;
+      this.magazineSize = magazineSize;
+
+      magazines = magazineSize > 0
+          ? ThreadLocal.withInitial(() -> new Magazine(sizeClasses, magazineSize))
+          : null;
+
+      shared = new AtomicReferenceArray[sizeClasses];
+      for (int i = 0; i < sizeClasses; i++) {
+        shared[i] = new AtomicReferenceArray<>(sharedSlots);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    T takeLocal(int sizeClass) {
+      if (magazines != null) {
+        Magazine magazine = magazines.get();
+        int count = magazine.counts[sizeClass];
+
+        if (count > 0) {
+          Object[] buffers = magazine.buffers[sizeClass];
+          T buffer = (T) buffers[count - 1];
+          buffers[count - 1] = null;
+          magazine.counts[sizeClass] = count - 1;
+
+          return buffer;
+        }
+      }
+
+      return null;
+    }
+
+    T takeShared(int sizeClass) {
+      AtomicReferenceArray<T> slots = shared[sizeClass];
+
+      for (int i = 0; i < slots.length(); i++) {
+        T buffer = slots.get(i);
+
+        if (buffer != null && slots.compareAndSet(i, buffer, null)) {
+          return buffer;
+        }
+      }
+
+      return null;
+    }
+
+    boolean offerLocal(int sizeClass, T buffer) {
+      if (magazines != null) {
+        Magazine magazine = magazines.get();
+        int count = magazine.counts[sizeClass];
+
+        if (count < magazineSize) {
+          magazine.buffers[sizeClass][count] = buffer;
+          magazine.counts[sizeClass] = count + 1;
+
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    boolean offerShared(int sizeClass, T buffer) {
+      AtomicReferenceArray<T> slots = shared[sizeClass];
+
+      for (int i = 0; i < slots.length(); i++) {
+        if (slots.get(i) == null && slots.compareAndSet(i, null, buffer)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+  }
+
+  /**
+   * A thread's stack of buffers for each size class.
+   */
+  private static final class Magazine {
+
+    final Object[][] buffers;
+    final int[] counts;
+
+    Magazine(int sizeClasses, int magazineSize) {
+      buffers = new Object[sizeClasses][magazineSize];
+      counts = new int[sizeClasses];
+    }
+
+  }
+
+  /**
+   * A snapshot of the usage of a {@link ScratchPool}.
+   */
+  public static final class Stats {
+
+    private final long leases;
+    private final long hits;
+    private final long misses;
+    private final long returns;
+    private final long dropped;
+    private final long retainedBytes;
+
+    private Stats(
+        long leases,
+        long hits,
+        long misses,
+        long returns,
+        long dropped,
+        long retainedBytes
+    ) {
+
+      this.leases = leases;
+      this.hits = hits;
+      this.misses = misses;
+      this.returns = returns;
+      this.dropped = dropped;
+      this.retainedBytes = retainedBytes;
+    }
+
+    /**
+     * @return the number of buffers leased.
+     */
+    public long leases() {
+      return leases;
+    }
+
+    /**
+     * @return the number of leases served by a pooled buffer.
+     */
+    public long hits() {
+      return hits;
+    }
+
+    /**
+     * @return the number of leases that allocated a new buffer.
+     */
+    public long misses() {
+      return misses;
+    }
+
+    /**
+     * @return the number of buffers returned.
+     */
+    public long returns() {
+      return returns;
+    }
+
+    /**
+     * @return the number of returned buffers that were not retained: too large, not from the
+     *     pool, or over the retained bytes cap.
+     */
+    public long dropped() {
+      return dropped;
+    }
+
+    /**
+     * @return the number of bytes in buffers retained in the pool's shared lists; buffers in
+     *     per-thread magazines are not counted.
+     */
+    public long retainedBytes() {
+      return retainedBytes;
+    }
+
+    /**
+     * @return the fraction of leases served by a pooled buffer, or 0 if there were none.
+     */
+    public double hitRate() {
+      return leases == 0 ? 0.0 : (double) hits / leases;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "Stats{leases=%d, hits=%d, misses=%d, returns=%d, dropped=%d, retainedBytes=%d}",
+          leases, hits, misses, returns, dropped, retainedBytes);
+    }
+
+  }
+
+  /**
+   * Builds a {@link ScratchPool}.
+   */
+  public static final class Builder {
+
+    private int minCapacity = 64;
+    private int maxCapacity = 64 * 1024;
+    private long maxRetainedBytes = 16 * 1024 * 1024;
+    private int magazineSize = 0;
+    private int sharedSlots = 32;
+
+    private Builder() {}
+
+    /**
+     * @param minCapacity the capacity of the smallest size class, a power of two; default 64.
+     * @return this {@link Builder}.
+     */
+    public Builder minCapacity(int minCapacity) {
+      this.minCapacity = minCapacity;
+      return this;
+    }
+
+    /**
+     * @param maxCapacity the capacity of the largest size class, a power of two; default 64 KiB.
+     * @return this {@link Builder}.
+     */
+    public Builder maxCapacity(int maxCapacity) {
+      this.maxCapacity = maxCapacity;
+      return this;
+    }
+
+    /**
+     * @param maxRetainedBytes the maximum number of bytes, in returned buffers of all kinds,
+     *     that the pool retains in its shared lists; default 16 MiB.
+     * @return this {@link Builder}.
+     */
+    public Builder maxRetainedBytes(long maxRetainedBytes) {
+      this.maxRetainedBytes = maxRetainedBytes;
+      return this;
+    }
+
+    /**
+     * @param magazineSize the number of buffers of each kind and size class each thread keeps
+     *     for itself, outside the retained bytes cap, or 0 to share every buffer; default 0.
+     * @return this {@link Builder}.
+     */
+    public Builder magazineSize(int magazineSize) {
+      this.magazineSize = magazineSize;
+      return this;
+    }
+
+    /**
+     * @param sharedSlots the number of buffers of each kind and size class shared between
+     *     threads; default 32.
+     * @return this {@link Builder}.
+     */
+    public Builder sharedSlots(int sharedSlots) {
+      this.sharedSlots = sharedSlots;
+      return this;
+    }
+
+    /**
+     * @return a new {@link ScratchPool}.
+     * @throws IllegalArgumentException if the capacities are not powers of two, or
+     *     {@code maxCapacity} is less than {@code minCapacity}, or a limit is negative.
+     */
+    public ScratchPool build() {
+      if (minCapacity < 1 || Integer.bitCount(minCapacity) != 1) {
+        throw new IllegalArgumentException("minCapacity: " + minCapacity);
+      }
+      if (maxCapacity < minCapacity || Integer.bitCount(maxCapacity) != 1) {
+        throw new IllegalArgumentException("maxCapacity: " + maxCapacity);
+      }
+      if (maxRetainedBytes < 0) {
+        throw new IllegalArgumentException("maxRetainedBytes: " + maxRetainedBytes);
+      }
+      if (magazineSize < 0) {
+        throw new IllegalArgumentException("magazineSize: " + magazineSize);
+      }
+      if (sharedSlots < 0) {
+        throw new IllegalArgumentException("sharedSlots: " + sharedSlots);
+      }
+
+      return new ScratchPool(this);
+    }
+
+  }
+
+}
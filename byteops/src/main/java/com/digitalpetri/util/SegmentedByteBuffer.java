@@ -0,0 +1,288 @@
+package com.digitalpetri.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A sequence of equally sized {@link ByteBuffer} segments addressable as a single region with
+ * 64-bit indices, lifting the 2 GB limit of a single {@link ByteBuffer}.
+ *
+ * <p>Every segment except the last holds exactly {@link #segmentSize()} bytes, which is a power of
+ * two so that an index can be split into a segment and an index within it with a shift and a mask.
+ *
+ * <p>Use with {@link SegmentedByteBufferByteOps} to get and set values.
+ */
+public final class SegmentedByteBuffer {
+
+  private final ByteBuffer[] segments;
+  private final long capacity;
+  private final int segmentShift;
+  private final long segmentMask;
+
+  SegmentedByteBuffer(int segmentSize, ByteBuffer[] segments) {
+    if (segmentSize < Long.BYTES || Integer.bitCount(segmentSize) != 1) {
+      throw new IllegalArgumentException("segmentSize: " + segmentSize);
+    }
+
+    long capacity = 0L;
+
+    for (int i = 0; i < segments.length; i++) {
+      int remaining = segments[i].remaining();
+
+      if (i < segments.length - 1 ? remaining != segmentSize : remaining > segmentSize) {
+        throw new IllegalArgumentException(String.format(
+            "segment %d: %d bytes (expected: %d)", i, remaining, segmentSize));
+      }
+
+      capacity += remaining;
+    }
+
+    this.segments = segments;
+    this.capacity = capacity;
+    this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+    this.segmentMask = segmentSize - 1;
+  }
+
+  /**
+   * Allocate a heap {@link SegmentedByteBuffer} with {@code capacity} bytes.
+   *
+   * @param capacity the capacity, in bytes.
+   * @param segmentSize the size of each segment; must be a power of two of at least 8.
+   * @return a new {@link SegmentedByteBuffer}.
+   */
+  public static SegmentedByteBuffer allocate(long capacity, int segmentSize) {
+    return allocate(capacity, segmentSize, false);
+  }
+
+  /**
+   * Allocate a direct {@link SegmentedByteBuffer} with {@code capacity} bytes.
+   *
+   * @param capacity the capacity, in bytes.
+   * @param segmentSize the size of each segment; must be a power of two of at least 8.
+   * @return a new {@link SegmentedByteBuffer}.
+   */
+  public static SegmentedByteBuffer allocateDirect(long capacity, int segmentSize) {
+    return allocate(capacity, segmentSize, true);
+  }
+
+  /**
+   * Wrap existing {@link ByteBuffer}s as the segments of a {@link SegmentedByteBuffer}.
+   *
+   * <p>Each segment is the remaining bytes of the corresponding buffer; the buffers' positions,
+   * limits, and orders are not modified and do not affect the {@link SegmentedByteBuffer}
+   * afterward.
+   *
+   * @param segmentSize the size of each segment; must be a power of two of at least 8.
+   * @param buffers the buffers to wrap. All but the last must have exactly {@code segmentSize}
+   *     bytes remaining, and the last no more than {@code segmentSize}.
+   * @return a new {@link SegmentedByteBuffer}.
+   */
+  public static SegmentedByteBuffer wrap(int segmentSize, ByteBuffer... buffers) {
+    ByteBuffer[] segments = new ByteBuffer[buffers.length];
+
+    for (int i = 0; i < buffers.length; i++) {
+      segments[i] = buffers[i].slice();
+    }
+
+    return new SegmentedByteBuffer(segmentSize, segments);
+  }
+
+  private static SegmentedByteBuffer allocate(long capacity, int segmentSize, boolean direct) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("capacity: " + capacity);
+    }
+    if (segmentSize < Long.BYTES || Integer.bitCount(segmentSize) != 1) {
+      throw new IllegalArgumentException("segmentSize: " + segmentSize);
+    }
+
+    int count = (int) ((capacity + segmentSize - 1) / segmentSize);
+    ByteBuffer[] segments = new ByteBuffer[count];
+
+    for (int i = 0; i < count; i++) {
+      int size = (int) Math.min(segmentSize, capacity - (long) i * segmentSize);
+
+      segments[i] = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+
+    return new SegmentedByteBuffer(segmentSize, segments);
+  }
+
+  /**
+   * @return the capacity, in bytes.
+   */
+  public long capacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the size of each segment but the last, in bytes.
+   */
+  public int segmentSize() {
+    return (int) (segmentMask + 1);
+  }
+
+  /**
+   * @return the number of segments.
+   */
+  public int segmentCount() {
+    return segments.length;
+  }
+
+  /**
+   * Get the segment at {@code index}.
+   *
+   * <p>The returned buffer is shared, not a copy; it is big-endian and its position and limit must
+   * not be modified.
+   *
+   * @param index the index of the segment.
+   * @return the segment at {@code index}.
+   */
+  public ByteBuffer segment(int index) {
+    return segments[index];
+  }
+
+  byte get(long index) {
+    checkIndex(index, Byte.BYTES);
+
+    return segments[(int) (index >>> segmentShift)].get((int) (index & segmentMask));
+  }
+
+  void put(long index, byte value) {
+    checkIndex(index, Byte.BYTES);
+
+    segments[(int) (index >>> segmentShift)].put((int) (index & segmentMask), value);
+  }
+
+  /**
+   * Get the big-endian short value at {@code index}.
+   */
+  short getShort(long index) {
+    checkIndex(index, Short.BYTES);
+
+    ByteBuffer segment = segments[(int) (index >>> segmentShift)];
+    int i = (int) (index & segmentMask);
+
+    if (i <= segment.limit() - Short.BYTES) {
+      return segment.getShort(i);
+    } else {
+      return (short) getStraddling(index, Short.BYTES);
+    }
+  }
+
+  /**
+   * Get the big-endian int value at {@code index}.
+   */
+  int getInt(long index) {
+    checkIndex(index, Integer.BYTES);
+
+    ByteBuffer segment = segments[(int) (index >>> segmentShift)];
+    int i = (int) (index & segmentMask);
+
+    if (i <= segment.limit() - Integer.BYTES) {
+      return segment.getInt(i);
+    } else {
+      return (int) getStraddling(index, Integer.BYTES);
+    }
+  }
+
+  /**
+   * Get the big-endian long value at {@code index}.
+   */
+  long getLong(long index) {
+    checkIndex(index, Long.BYTES);
+
+    ByteBuffer segment = segments[(int) (index >>> segmentShift)];
+    int i = (int) (index & segmentMask);
+
+    if (i <= segment.limit() - Long.BYTES) {
+      return segment.getLong(i);
+    } else {
+      return getStraddling(index, Long.BYTES);
+    }
+  }
+
+  /**
+   * Put the short value at {@code index} in big-endian order.
+   */
+  void putShort(long index, short value) {
+    checkIndex(index, Short.BYTES);
+
+    ByteBuffer segment = segments[(int) (index >>> segmentShift)];
+    int i = (int) (index & segmentMask);
+
+    if (i <= segment.limit() - Short.BYTES) {
+      segment.putShort(i, value);
+    } else {
+      putStraddling(index, Short.BYTES, value);
+    }
+  }
+
+  /**
+   * Put the int value at {@code index} in big-endian order.
+   */
+  void putInt(long index, int value) {
+    checkIndex(index, Integer.BYTES);
+
+    ByteBuffer segment = segments[(int) (index >>> segmentShift)];
+    int i = (int) (index & segmentMask);
+
+    if (i <= segment.limit() - Integer.BYTES) {
+      segment.putInt(i, value);
+    } else {
+      putStraddling(index, Integer.BYTES, value);
+    }
+  }
+
+  /**
+   * Put the long value at {@code index} in big-endian order.
+   */
+  void putLong(long index, long value) {
+    checkIndex(index, Long.BYTES);
+
+    ByteBuffer segment = segments[(int) (index >>> segmentShift)];
+    int i = (int) (index & segmentMask);
+
+    if (i <= segment.limit() - Long.BYTES) {
+      segment.putLong(i, value);
+    } else {
+      putStraddling(index, Long.BYTES, value);
+    }
+  }
+
+  /**
+   * Assemble {@code length} bytes that straddle a segment boundary, starting at {@code index},
+   * into a big-endian value.
+   */
+  private long getStraddling(long index, int length) {
+    long value = 0L;
+
+    for (int i = 0; i < length; i++) {
+      long idx = index + i;
+      byte b = segments[(int) (idx >>> segmentShift)].get((int) (idx & segmentMask));
+
+      value = value << 8 | b & 0xFF;
+    }
+
+    return value;
+  }
+
+  /**
+   * Split the big-endian {@code value} into {@code length} bytes that straddle a segment
+   * boundary, starting at {@code index}.
+   */
+  private void putStraddling(long index, int length, long value) {
+    for (int i = 0; i < length; i++) {
+      long idx = index + i;
+      byte b = (byte) (value >>> (length - 1 - i) * 8);
+
+      segments[(int) (idx >>> segmentShift)].put((int) (idx & segmentMask), b);
+    }
+  }
+
+  private void checkIndex(long index, int length) {
+    if (index < 0 || index > capacity - length) {
+      throw new IndexOutOfBoundsException(String.format(
+          "index: %d, length: %d (expected: range(0, %d))", index, length, capacity));
+    }
+  }
+
+}
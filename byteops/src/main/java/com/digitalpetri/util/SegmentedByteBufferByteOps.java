@@ -0,0 +1,88 @@
+package com.digitalpetri.util;
+
+/**
+ * {@link LongIndexedByteOps} implementation that operates on {@link SegmentedByteBuffer}s.
+ *
+ * <p>Values that lie within a single segment are read and written with a single wide access.
+ * Values that straddle the boundary between two segments are assembled from, or split into,
+ * individual bytes instead.
+ */
+public final class SegmentedByteBufferByteOps
+    extends AbstractLongIndexedByteOps<SegmentedByteBuffer> {
+
+  /**
+   * {@link SegmentedByteBufferByteOps} that assumes big-endian byte order.
+   */
+  public static final SegmentedByteBufferByteOps BIG_ENDIAN =
+      new SegmentedByteBufferByteOps(new OrderedOps.BigEndianOps());
+
+  /**
+   * {@link SegmentedByteBufferByteOps} that assumes little-endian byte order.
+   */
+  public static final SegmentedByteBufferByteOps LITTLE_ENDIAN =
+      new SegmentedByteBufferByteOps(new OrderedOps.LittleEndianOps());
+
+  /**
+   * {@link SegmentedByteBufferByteOps} that assumes big-endian byte order and low-high word order.
+   */
+  public static final SegmentedByteBufferByteOps BIG_ENDIAN_LOW_HIGH =
+      new SegmentedByteBufferByteOps(new OrderedOps.BigEndianLowHighOps());
+
+  /**
+   * {@link SegmentedByteBufferByteOps} that assumes little-endian byte order and low-high word
+   * order.
+   */
+  public static final SegmentedByteBufferByteOps LITTLE_ENDIAN_LOW_HIGH =
+      new SegmentedByteBufferByteOps(new OrderedOps.LittleEndianLowHighOps());
+
+  /**
+   * Create a {@link SegmentedByteBufferByteOps} with the ordering of {@code orderedOps}.
+   *
+   * @param orderedOps one of the four built-in {@link OrderedOps} implementations.
+   * @throws IllegalArgumentException if {@code orderedOps} is not a built-in implementation.
+   */
+  public SegmentedByteBufferByteOps(OrderedOps orderedOps) {
+    super(orderedOps);
+  }
+
+  @Override
+  protected byte get(SegmentedByteBuffer bytes, long index) {
+    return bytes.get(index);
+  }
+
+  @Override
+  protected void set(SegmentedByteBuffer bytes, long index, byte value) {
+    bytes.put(index, value);
+  }
+
+  @Override
+  protected short getShortBigEndian(SegmentedByteBuffer bytes, long index) {
+    return bytes.getShort(index);
+  }
+
+  @Override
+  protected int getIntBigEndian(SegmentedByteBuffer bytes, long index) {
+    return bytes.getInt(index);
+  }
+
+  @Override
+  protected long getLongBigEndian(SegmentedByteBuffer bytes, long index) {
+    return bytes.getLong(index);
+  }
+
+  @Override
+  protected void setShortBigEndian(SegmentedByteBuffer bytes, long index, short value) {
+    bytes.putShort(index, value);
+  }
+
+  @Override
+  protected void setIntBigEndian(SegmentedByteBuffer bytes, long index, int value) {
+    bytes.putInt(index, value);
+  }
+
+  @Override
+  protected void setLongBigEndian(SegmentedByteBuffer bytes, long index, long value) {
+    bytes.putLong(index, value);
+  }
+
+}
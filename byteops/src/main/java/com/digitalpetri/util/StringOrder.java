@@ -0,0 +1,89 @@
+package com.digitalpetri.util;
+
+/**
+ * The order of the characters of a string stored in 16-bit registers, as used by
+ * {@link ByteOps#getString(Object, int, int, java.nio.charset.Charset, StringOrder)}.
+ *
+ * <p>Devices usually store two characters per register with the first in the high byte, but
+ * some swap the characters of each register, and devices that store 32-bit values low word first
+ * may also swap each pair of registers. For the string {@code "ABCD"}:
+ *
+ * <pre>
+ *   SEQUENTIAL:              A,B | C,D
+ *   SWAPPED_BYTES:           B,A | D,C
+ *   SWAPPED_WORDS:           C,D | A,B
+ *   SWAPPED_BYTES_AND_WORDS: D,C | B,A
+ * </pre>
+ */
+public enum StringOrder {
+
+  /**
+   * Characters in order.
+   */
+  SEQUENTIAL,
+
+  /**
+   * The two characters of each 16-bit register swapped; the length must be even.
+   */
+  SWAPPED_BYTES,
+
+  /**
+   * Each pair of 16-bit registers swapped; the length must be a multiple of 4.
+   */
+  SWAPPED_WORDS,
+
+  /**
+   * Both the characters of each register and each pair of registers swapped; the length must be
+   * a multiple of 4.
+   */
+  SWAPPED_BYTES_AND_WORDS;
+
+  /**
+   * Get the {@link StringOrder} that stores a string the way {@code orderedOps} would store its
+   * bytes as consecutive 16-bit registers, high word first for the high-low orderings and low
+   * word first for the low-high orderings.
+   *
+   * @param orderedOps one of the four built-in {@link OrderedOps}.
+   * @return the matching {@link StringOrder}.
+   * @throws IllegalArgumentException if {@code orderedOps} is not a built-in ordering.
+   */
+  public static StringOrder of(OrderedOps orderedOps) {
+    if (orderedOps instanceof OrderedOps.BigEndianOps) {
+      return SEQUENTIAL;
+    } else if (orderedOps instanceof OrderedOps.LittleEndianOps) {
+      return SWAPPED_BYTES;
+    } else if (orderedOps instanceof OrderedOps.BigEndianLowHighOps) {
+      return SWAPPED_WORDS;
+    } else if (orderedOps instanceof OrderedOps.LittleEndianLowHighOps) {
+      return SWAPPED_BYTES_AND_WORDS;
+    } else {
+      throw new IllegalArgumentException("unsupported OrderedOps: " + orderedOps);
+    }
+  }
+
+  /**
+   * Get the mask that, XORed with the position of a character, gives the position of its byte.
+   *
+   * @return the mask.
+   */
+  int mask() {
+    return ordinal();
+  }
+
+  /**
+   * Check that a string field of {@code length} bytes is a whole number of registers, or
+   * register pairs, for this order.
+   *
+   * @param length the length of the field, in bytes.
+   * @throws IllegalArgumentException if {@code length} doesn't fit this order.
+   */
+  void checkLength(int length) {
+    int unit = this == SEQUENTIAL ? 1 : this == SWAPPED_BYTES ? 2 : 4;
+
+    if (length % unit != 0) {
+      throw new IllegalArgumentException(
+          String.format("length: %d (expected: multiple of %d for %s)", length, unit, this));
+    }
+  }
+
+}
@@ -0,0 +1,92 @@
+package com.digitalpetri.util;
+
+/**
+ * LEB128 variable-length integer encoding shared by the {@link ByteOps} implementations.
+ *
+ * <p>The byte-at-a-time methods work with any {@link ByteOps}. Back ends that can read 8 bytes
+ * at once use {@link #length(long)} and {@link #decode(long, int)} to decode varints of up to 8
+ * bytes from a single little-endian long, without a branch per byte.
+ */
+final class VarInts {
+
+  /**
+   * The longest varint: 64 bits at 7 bits per byte.
+   */
+  static final int MAX_LENGTH = 10;
+
+  private static final long CONTINUATION_BITS = 0x8080808080808080L;
+
+  private VarInts() {}
+
+  /**
+   * Get the length of the varint at the start of {@code word}, 8 bytes read little-endian.
+   *
+   * @param word the next 8 bytes, read little-endian.
+   * @return the length of the varint, from 1 to 8, or 0 if it's longer than 8 bytes.
+   */
+  static int length(long word) {
+    long last = ~word & CONTINUATION_BITS;
+
+    return last == 0 ? 0 : (Long.numberOfTrailingZeros(last) >>> 3) + 1;
+  }
+
+  /**
+   * Decode the varint of {@code length} bytes at the start of {@code word}, 8 bytes read
+   * little-endian, by gathering the 7-bit groups in pairs, then quads, then all 8.
+   *
+   * @param word the next 8 bytes, read little-endian.
+   * @param length the length of the varint, from 1 to 8, as returned by {@link #length(long)}.
+   * @return the value.
+   */
+  static long decode(long word, int length) {
+    long x = word & (-1L >>> (Long.SIZE - length * Byte.SIZE)) & 0x7F7F7F7F7F7F7F7FL;
+
+    x = (x & 0x007F007F007F007FL) | (x & 0x7F007F007F007F00L) >>> 1;
+    x = (x & 0x00003FFF00003FFFL) | (x & 0x3FFF00003FFF0000L) >>> 2;
+    return (x & 0x000000000FFFFFFFL) | (x & 0x0FFFFFFF00000000L) >>> 4;
+  }
+
+  static <T> long getVarLong(ByteOps<T> ops, T bytes, int index) {
+    long value = 0L;
+
+    for (int i = 0; i < MAX_LENGTH; i++) {
+      byte b = ops.getByte(bytes, index + i);
+
+      value |= (long) (b & 0x7F) << (i * 7);
+
+      if (b >= 0) {
+        return value;
+      }
+    }
+
+    throw malformed(index);
+  }
+
+  static <T> int getVarLength(ByteOps<T> ops, T bytes, int index) {
+    for (int i = 0; i < MAX_LENGTH; i++) {
+      if (ops.getByte(bytes, index + i) >= 0) {
+        return i + 1;
+      }
+    }
+
+    throw malformed(index);
+  }
+
+  static <T> int setVarLong(ByteOps<T> ops, T bytes, int index, long value) {
+    int i = 0;
+
+    while ((value & ~0x7FL) != 0L) {
+      ops.setByte(bytes, index + i++, (byte) (value | 0x80));
+      value >>>= 7;
+    }
+
+    ops.setByte(bytes, index + i++, (byte) value);
+
+    return i;
+  }
+
+  static IllegalArgumentException malformed(int index) {
+    return new IllegalArgumentException("varint at index " + index + " is longer than 10 bytes");
+  }
+
+}
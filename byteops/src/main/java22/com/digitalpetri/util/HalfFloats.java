@@ -0,0 +1,38 @@
+package com.digitalpetri.util;
+
+/**
+ * Conversions between {@code float} and the 16-bit IEEE 754 binary16 ("float16") and bfloat16
+ * formats, rounding to nearest even.
+ *
+ * <p>This is the JDK 22+ version of the class in the multi-release JAR, converting float16 with
+ * the intrinsified {@link Float#float16ToFloat(short)} and {@link Float#floatToFloat16(float)};
+ * it must keep the same signatures as the version it replaces.
+ */
+final class HalfFloats {
+
+  private HalfFloats() {}
+
+  static float float16ToFloat(short value) {
+    return Float.float16ToFloat(value);
+  }
+
+  static short floatToFloat16(float value) {
+    return Float.floatToFloat16(value);
+  }
+
+  static float bfloat16ToFloat(short value) {
+    return Float.intBitsToFloat(value << 16);
+  }
+
+  static short floatToBFloat16(float value) {
+    int bits = Float.floatToRawIntBits(value);
+
+    if ((bits & 0x7FFFFFFF) > 0x7F800000) {
+      // NaN, kept quiet so truncating the payload can't turn it into infinity
+      return (short) (bits >>> 16 | 0x0040);
+    }
+
+    return (short) ((bits + 0x7FFF + (bits >>> 16 & 1)) >>> 16);
+  }
+
+}
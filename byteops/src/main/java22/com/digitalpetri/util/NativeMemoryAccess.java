@@ -0,0 +1,63 @@
+package com.digitalpetri.util;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+
+/**
+ * Native-order access to raw memory addresses, backed by the Foreign Function &amp; Memory API.
+ *
+ * <p>This is the JDK 22+ version of the class in the multi-release JAR; it must keep the same
+ * signatures as the {@code sun.misc.Unsafe} version it replaces.
+ *
+ * <p>Creating the segment spanning all of memory calls the restricted method
+ * {@link MemorySegment#reinterpret(long)}; run with {@code --enable-native-access} to grant
+ * native access to the module (or {@code ALL-UNNAMED}) and avoid a warning.
+ */
+final class NativeMemoryAccess {
+
+  private static final MemorySegment ALL = MemorySegment.NULL.reinterpret(Long.MAX_VALUE);
+
+  private NativeMemoryAccess() {}
+
+  static byte getByte(long address) {
+    return ALL.get(ValueLayout.JAVA_BYTE, address);
+  }
+
+  static short getShort(long address) {
+    return ALL.get(ValueLayout.JAVA_SHORT_UNALIGNED, address);
+  }
+
+  static int getInt(long address) {
+    return ALL.get(ValueLayout.JAVA_INT_UNALIGNED, address);
+  }
+
+  static long getLong(long address) {
+    return ALL.get(ValueLayout.JAVA_LONG_UNALIGNED, address);
+  }
+
+  static void setByte(long address, byte value) {
+    ALL.set(ValueLayout.JAVA_BYTE, address, value);
+  }
+
+  static void setShort(long address, short value) {
+    ALL.set(ValueLayout.JAVA_SHORT_UNALIGNED, address, value);
+  }
+
+  static void setInt(long address, int value) {
+    ALL.set(ValueLayout.JAVA_INT_UNALIGNED, address, value);
+  }
+
+  static void setLong(long address, long value) {
+    ALL.set(ValueLayout.JAVA_LONG_UNALIGNED, address, value);
+  }
+
+  static long address(ByteBuffer buffer) {
+    if (!buffer.isDirect()) {
+      throw new IllegalArgumentException("not a direct buffer");
+    }
+
+    return MemorySegment.ofBuffer(buffer.duplicate().clear()).address();
+  }
+
+}
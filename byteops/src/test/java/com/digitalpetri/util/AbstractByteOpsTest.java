@@ -2,9 +2,16 @@ package com.digitalpetri.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Checksum;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -16,6 +23,14 @@ abstract class AbstractByteOpsTest<T> {
 
   protected abstract ByteOps<T> getSwappedByteOps(ByteOrder byteOrder);
 
+  /**
+   * @return {@code true} if setting values past the end of the bytes grows them instead of
+   *     throwing {@link IndexOutOfBoundsException}.
+   */
+  protected boolean isGrowable() {
+    return false;
+  }
+
   @Nested
   class BigEndian {
 
@@ -533,5 +548,824 @@ abstract class AbstractByteOpsTest<T> {
 
   }
 
+  @Nested
+  class MatchesOrderedOps {
+
+    private final Random random = new Random(0);
+
+    @Test
+    void bigEndian() {
+      assertMatches(getByteOps(ByteOrder.BIG_ENDIAN), new OrderedOps.BigEndianOps());
+    }
+
+    @Test
+    void littleEndian() {
+      assertMatches(getByteOps(ByteOrder.LITTLE_ENDIAN), new OrderedOps.LittleEndianOps());
+    }
+
+    @Test
+    void bigEndianWordSwapped() {
+      assertMatches(
+          getSwappedByteOps(ByteOrder.BIG_ENDIAN),
+          new OrderedOps.BigEndianLowHighOps()
+      );
+    }
+
+    @Test
+    void littleEndianWordSwapped() {
+      assertMatches(
+          getSwappedByteOps(ByteOrder.LITTLE_ENDIAN),
+          new OrderedOps.LittleEndianLowHighOps()
+      );
+    }
+
+    private void assertMatches(ByteOps<T> byteOps, OrderedOps orderedOps) {
+      byte[] bs = new byte[32];
+      random.nextBytes(bs);
+      T bytes = getBytes(bs.clone());
+
+      OrderedOps.ByteGetter<byte[]> getter = (b, i) -> b[i];
+      OrderedOps.ByteSetter<byte[]> setter = (b, i, v) -> b[i] = v;
+
+      for (int i = 0; i <= bs.length - 8; i++) {
+        assertEquals(orderedOps.getShort(getter, bs, i), byteOps.getShort(bytes, i));
+        assertEquals(orderedOps.getInt(getter, bs, i), byteOps.getInt(bytes, i));
+        assertEquals(orderedOps.getLong(getter, bs, i), byteOps.getLong(bytes, i));
+      }
+
+      for (int i = 0; i <= bs.length - 8; i++) {
+        long value = random.nextLong();
+
+        orderedOps.setShort(setter, bs, i, (short) value);
+        byteOps.setShort(bytes, i, (short) value);
+        assertBytesEqual(bs, bytes, byteOps);
+
+        orderedOps.setInt(setter, bs, i, (int) value);
+        byteOps.setInt(bytes, i, (int) value);
+        assertBytesEqual(bs, bytes, byteOps);
+
+        orderedOps.setLong(setter, bs, i, value);
+        byteOps.setLong(bytes, i, value);
+        assertBytesEqual(bs, bytes, byteOps);
+      }
+    }
+
+    private void assertBytesEqual(byte[] expected, T actual, ByteOps<T> byteOps) {
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i], byteOps.getByte(actual, i), "index " + i);
+      }
+    }
+
+  }
+
+  @Nested
+  class Bulk {
+
+    private final Random random = new Random(0);
+
+    @Test
+    void bigEndian() {
+      assertBulkMatchesScalar(getByteOps(ByteOrder.BIG_ENDIAN));
+    }
+
+    @Test
+    void littleEndian() {
+      assertBulkMatchesScalar(getByteOps(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    @Test
+    void bigEndianWordSwapped() {
+      assertBulkMatchesScalar(getSwappedByteOps(ByteOrder.BIG_ENDIAN));
+    }
+
+    @Test
+    void littleEndianWordSwapped() {
+      assertBulkMatchesScalar(getSwappedByteOps(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    @Test
+    void outOfBounds() {
+      ByteOps<T> byteOps = getByteOps(ByteOrder.BIG_ENDIAN);
+      T bytes = getBytes(new byte[16]);
+
+      assertThrows(
+          IndexOutOfBoundsException.class,
+          () -> byteOps.getInts(bytes, 4, new int[4], 0, 4)
+      );
+      assertThrows(
+          IndexOutOfBoundsException.class,
+          () -> byteOps.setLongs(bytes, -1, new long[1], 0, 1)
+      );
+      assertThrows(
+          IndexOutOfBoundsException.class,
+          () -> byteOps.getShorts(bytes, 0, new short[2], 1, 2)
+      );
+    }
+
+    private void assertBulkMatchesScalar(ByteOps<T> byteOps) {
+      byte[] bs = new byte[67];
+      random.nextBytes(bs);
+      T bytes = getBytes(bs);
+
+      // odd index so the wide accesses are unaligned
+      int index = 3;
+
+      boolean[] booleans = new boolean[10];
+      byteOps.getBooleans(bytes, index, booleans, 1, 8);
+      byte[] bytes1 = new byte[10];
+      byteOps.getBytes(bytes, index, bytes1, 1, 8);
+      short[] shorts = new short[10];
+      byteOps.getShorts(bytes, index, shorts, 1, 8);
+      int[] ints = new int[10];
+      byteOps.getInts(bytes, index, ints, 1, 8);
+      long[] longs = new long[10];
+      byteOps.getLongs(bytes, index, longs, 1, 8);
+      float[] floats = new float[10];
+      byteOps.getFloats(bytes, index, floats, 1, 8);
+      double[] doubles = new double[10];
+      byteOps.getDoubles(bytes, index, doubles, 1, 8);
+
+      for (int i = 0; i < 8; i++) {
+        assertEquals(byteOps.getBoolean(bytes, index + i), booleans[i + 1]);
+        assertEquals(byteOps.getByte(bytes, index + i), bytes1[i + 1]);
+        assertEquals(byteOps.getShort(bytes, index + i * 2), shorts[i + 1]);
+        assertEquals(byteOps.getInt(bytes, index + i * 4), ints[i + 1]);
+        assertEquals(byteOps.getLong(bytes, index + i * 8), longs[i + 1]);
+        assertEquals(
+            Float.floatToRawIntBits(byteOps.getFloat(bytes, index + i * 4)),
+            Float.floatToRawIntBits(floats[i + 1])
+        );
+        assertEquals(
+            Double.doubleToRawLongBits(byteOps.getDouble(bytes, index + i * 8)),
+            Double.doubleToRawLongBits(doubles[i + 1])
+        );
+      }
+
+      T copy = getBytes(new byte[bs.length]);
+
+      byteOps.setShorts(copy, index, shorts, 1, 8);
+      assertRangeEquals(bytes, copy, index, 16, byteOps);
+      byteOps.setInts(copy, index, ints, 1, 8);
+      assertRangeEquals(bytes, copy, index, 32, byteOps);
+      byteOps.setLongs(copy, index, longs, 1, 8);
+      assertRangeEquals(bytes, copy, index, 64, byteOps);
+
+      copy = getBytes(new byte[bs.length]);
+      byteOps.setFloats(copy, index, floats, 1, 8);
+      assertRangeEquals(bytes, copy, index, 32, byteOps);
+      byteOps.setDoubles(copy, index, doubles, 1, 8);
+      assertRangeEquals(bytes, copy, index, 64, byteOps);
+
+      copy = getBytes(new byte[bs.length]);
+      byteOps.setBytes(copy, index, bytes1, 1, 8);
+      assertRangeEquals(bytes, copy, index, 8, byteOps);
+
+      byteOps.setBooleans(copy, index, booleans, 1, 8);
+      for (int i = 0; i < 8; i++) {
+        assertEquals(booleans[i + 1] ? 1 : 0, byteOps.getByte(copy, index + i));
+      }
+    }
+
+    private void assertRangeEquals(T expected, T actual, int index, int length, ByteOps<T> ops) {
+      for (int i = index; i < index + length; i++) {
+        assertEquals(ops.getByte(expected, i), ops.getByte(actual, i), "index " + i);
+      }
+    }
+
+  }
+
+  @Nested
+  class Bits {
+
+    private final Random random = new Random(0);
+
+    @Test
+    void bit() {
+      ByteOps<T> byteOps = getByteOps(ByteOrder.BIG_ENDIAN);
+      T bytes = getBytes(new byte[]{(byte) 0x80, 0x01});
+
+      assertTrue(byteOps.getBit(bytes, 0, 0));
+      assertFalse(byteOps.getBit(bytes, 0, 1));
+      assertTrue(byteOps.getBit(bytes, 0, 15));
+
+      byteOps.setBit(bytes, 0, 0, false);
+      byteOps.setBit(bytes, 0, 14, true);
+
+      assertEquals((short) 0xC000, byteOps.getShort(bytes, 0));
+      assertThrows(IndexOutOfBoundsException.class, () -> byteOps.getBit(bytes, 0, 16));
+    }
+
+    @Test
+    void bitsBigEndian() {
+      T bytes = getBytes(new byte[]{0x12, 0x34});
+
+      assertEquals(0x23, getByteOps(ByteOrder.BIG_ENDIAN).getBits(bytes, 4, 8));
+      assertEquals(0x41, getByteOps(ByteOrder.LITTLE_ENDIAN).getBits(bytes, 4, 8));
+    }
+
+    @Test
+    void bitsAgreeWithBit() {
+      T bytes = getBytes(new byte[]{0x00, 0x01, (byte) 0x80, 0x00});
+
+      for (ByteOps<T> byteOps : allByteOps()) {
+        for (int b = 0; b < 32; b++) {
+          assertEquals(
+              byteOps.getBit(bytes, b / 16 * 2, b % 16),
+              byteOps.getBits(bytes, b, 1) == 1L,
+              "bit " + b
+          );
+        }
+      }
+
+      assertEquals(1L, getByteOps(ByteOrder.BIG_ENDIAN).getBits(bytes, 0, 1));
+      assertEquals(1L, getByteOps(ByteOrder.LITTLE_ENDIAN).getBits(bytes, 8, 1));
+    }
+
+    @Test
+    void coils() {
+      // Modbus example: coils 20-38 are CD 6B 05, least significant bit of the first byte first
+      T bytes = getBytes(new byte[]{(byte) 0xCD, 0x6B, 0x05});
+      String expected = "1011001111010110101";
+
+      // coils are a stream of bytes, whatever the ordering of the registers
+      for (ByteOps<T> byteOps : allByteOps()) {
+        boolean[] coils = new boolean[19];
+        byteOps.getPackedBits(bytes, 0, coils, 0, coils.length);
+
+        for (int i = 0; i < coils.length; i++) {
+          assertEquals(expected.charAt(i) == '1', coils[i], "coil " + i);
+        }
+
+        long[] bitset = new long[]{-1L};
+        byteOps.getPackedBits(bytes, 0, bitset, coils.length);
+
+        assertEquals(0x56BCDL, bitset[0]);
+      }
+    }
+
+    @Test
+    void coilStatusBigEndian() {
+      ByteOps<T> byteOps = getByteOps(ByteOrder.BIG_ENDIAN);
+
+      // a Read Coils response's status byte 0x01: only the first coil is on
+      boolean[] coils = new boolean[8];
+      byteOps.getPackedBits(getBytes(new byte[]{0x01}), 0, coils, 0, coils.length);
+
+      assertEquals("[true, false, false, false, false, false, false, false]",
+          Arrays.toString(coils));
+
+      T bytes = getBytes(new byte[2]);
+      byteOps.setPackedBits(bytes, 0, new boolean[]{true, false, true, true}, 0, 4);
+      byteOps.setPackedBits(bytes, 8, new long[]{0b10L}, 2);
+
+      assertEquals(0x0D, byteOps.getByte(bytes, 0));
+      assertEquals(0x02, byteOps.getByte(bytes, 1));
+    }
+
+    @Test
+    void bigEndian() {
+      assertBits(getByteOps(ByteOrder.BIG_ENDIAN), false);
+      assertBits(new DefaultBits<>(getByteOps(ByteOrder.BIG_ENDIAN)), false);
+    }
+
+    @Test
+    void littleEndian() {
+      assertBits(getByteOps(ByteOrder.LITTLE_ENDIAN), true);
+      assertBits(new DefaultBits<>(getByteOps(ByteOrder.LITTLE_ENDIAN)), true);
+    }
+
+    @Test
+    void bigEndianWordSwapped() {
+      assertBits(getSwappedByteOps(ByteOrder.BIG_ENDIAN), true);
+      assertBits(new DefaultBits<>(getSwappedByteOps(ByteOrder.BIG_ENDIAN)), true);
+    }
+
+    @Test
+    void littleEndianWordSwapped() {
+      assertBits(getSwappedByteOps(ByteOrder.LITTLE_ENDIAN), false);
+      assertBits(new DefaultBits<>(getSwappedByteOps(ByteOrder.LITTLE_ENDIAN)), false);
+    }
+
+    @Test
+    void invalid() {
+      ByteOps<T> byteOps = getByteOps(ByteOrder.BIG_ENDIAN);
+      T bytes = getBytes(new byte[16]);
+
+      assertThrows(IndexOutOfBoundsException.class, () -> byteOps.getBits(bytes, -1, 8));
+      assertThrows(IllegalArgumentException.class, () -> byteOps.getBits(bytes, 0, 65));
+      assertThrows(IndexOutOfBoundsException.class, () -> byteOps.getBits(bytes, 121, 8));
+      assertThrows(
+          IndexOutOfBoundsException.class,
+          () -> byteOps.getPackedBits(bytes, 0, new long[1], 65)
+      );
+    }
+
+    private List<ByteOps<T>> allByteOps() {
+      List<ByteOps<T>> byteOps = new ArrayList<>();
+
+      for (ByteOrder byteOrder : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+        byteOps.add(getByteOps(byteOrder));
+        byteOps.add(getSwappedByteOps(byteOrder));
+        byteOps.add(new DefaultBits<>(getByteOps(byteOrder)));
+        byteOps.add(new DefaultBits<>(getSwappedByteOps(byteOrder)));
+      }
+
+      return byteOps;
+    }
+
+    private void assertBits(ByteOps<T> byteOps, boolean lowWordFirst) {
+      byte[] bs = new byte[32];
+      random.nextBytes(bs);
+      T bytes = getBytes(bs);
+
+      // word-aligned fields have the same value as the wide accessors, their words low first
+      for (int i = 0; i <= bs.length - 8; i += 2) {
+        long words = 0L;
+        for (int w = 0; w < 4; w++) {
+          words |= (byteOps.getShort(bytes, i + w * 2) & 0xFFFFL) << (w * 16);
+        }
+
+        assertEquals(byteOps.getShort(bytes, i) & 0xFFFFL, byteOps.getBits(bytes, i * 8, 16));
+        assertEquals(words & 0xFFFFFFFFL, byteOps.getBits(bytes, i * 8, 32));
+        assertEquals(words, byteOps.getBits(bytes, i * 8, 64));
+
+        if (lowWordFirst) {
+          assertEquals(byteOps.getInt(bytes, i) & 0xFFFFFFFFL, byteOps.getBits(bytes, i * 8, 32));
+          assertEquals(byteOps.getLong(bytes, i), byteOps.getBits(bytes, i * 8, 64));
+        }
+      }
+
+      // fields within four words have the value of the corresponding bits of the words
+      long value = byteOps.getBits(bytes, 64, 64);
+      for (int f = 0; f < 64; f++) {
+        for (int length = 1; f + length <= 64; length++) {
+          long mask = length == 64 ? -1L : (1L << length) - 1;
+
+          assertEquals(value >>> f & mask, byteOps.getBits(bytes, 64 + f, length));
+        }
+      }
+
+      // fields spanning four words are the concatenation of their parts
+      for (int f = 100; f < 128; f++) {
+        int length = 56;
+        int first = 128 - f;
+        long a = byteOps.getBits(bytes, f, first);
+        long b = byteOps.getBits(bytes, 128, length - first);
+
+        assertEquals(a | b << first, byteOps.getBits(bytes, f, length));
+      }
+
+      // setting a field changes only its bits
+      long[] before = new long[bs.length / 8];
+      long[] after = new long[bs.length / 8];
+
+      for (int f = 0; f < 64; f += 3) {
+        int length = 1 + random.nextInt(64);
+        long field = random.nextLong();
+        long mask = length == 64 ? -1L : (1L << length) - 1;
+
+        for (int i = 0; i < before.length; i++) {
+          before[i] = byteOps.getBits(bytes, i * 64, 64);
+        }
+        byteOps.setBits(bytes, f, length, field);
+        for (int i = 0; i < after.length; i++) {
+          after[i] = byteOps.getBits(bytes, i * 64, 64);
+        }
+
+        assertEquals(field & mask, byteOps.getBits(bytes, f, length));
+        for (int i = 0; i < bs.length * 8; i++) {
+          if (i < f || i >= f + length) {
+            assertEquals(before[i / 64] >>> i & 1, after[i / 64] >>> i & 1, "bit " + i);
+          }
+        }
+      }
+
+      // bitsets and boolean arrays are the bits of each byte, least significant first
+      boolean[] booleans = new boolean[100];
+      long[] bitset = new long[2];
+      byteOps.getPackedBits(bytes, 13, booleans, 0, booleans.length);
+      byteOps.getPackedBits(bytes, 13, bitset, booleans.length);
+
+      for (int i = 0; i < booleans.length; i++) {
+        int b = 13 + i;
+        boolean bit = (byteOps.getByte(bytes, b / 8) >>> (b % 8) & 1) == 1;
+
+        assertEquals(bit, booleans[i], "bit " + i);
+        assertEquals(booleans[i], (bitset[i / 64] >>> (i % 64) & 1) == 1, "bit " + i);
+      }
+
+      // and round trip
+      byte[] copy = new byte[bs.length];
+      T copyBytes = getBytes(copy);
+      byteOps.setPackedBits(copyBytes, 13, booleans, 0, booleans.length);
+
+      boolean[] roundTrip = new boolean[booleans.length];
+      byteOps.getPackedBits(copyBytes, 13, roundTrip, 0, roundTrip.length);
+      assertEquals(Arrays.toString(booleans), Arrays.toString(roundTrip));
+
+      long[] bitsetRoundTrip = new long[2];
+      byteOps.setPackedBits(copyBytes, 13, new long[2], booleans.length);
+      byteOps.setPackedBits(copyBytes, 13, bitset, booleans.length);
+      byteOps.getPackedBits(copyBytes, 13, bitsetRoundTrip, booleans.length);
+      assertEquals(bitset[0], bitsetRoundTrip[0]);
+      assertEquals(bitset[1], bitsetRoundTrip[1]);
+    }
+
+  }
+
+  @Nested
+  class VarInts {
+
+    private final ByteOps<T> byteOps = getByteOps(ByteOrder.BIG_ENDIAN);
+
+    @Test
+    void encodings() {
+      assertVarLong(0L, 0x00);
+      assertVarLong(1L, 0x01);
+      assertVarLong(127L, 0x7F);
+      assertVarLong(128L, 0x80, 0x01);
+      assertVarLong(300L, 0xAC, 0x02);
+      assertVarLong(0xFFFFFFFFL, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+      assertVarLong(Long.MAX_VALUE, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x7F);
+      assertVarLong(-1L, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01);
+    }
+
+    @Test
+    void varInt() {
+      T bytes = getBytes(new byte[16]);
+
+      assertEquals(5, byteOps.setVarInt(bytes, 3, -1));
+      assertEquals(-1, byteOps.getVarInt(bytes, 3));
+      assertEquals(5, byteOps.getVarLength(bytes, 3));
+      assertEquals(5, ByteOps.varIntSize(-1));
+
+      // a negative int written sign-extended to 64 bits reads back the same
+      byteOps.setVarLong(bytes, 3, -2L);
+      assertEquals(-2, byteOps.getVarInt(bytes, 3));
+    }
+
+    @Test
+    void zigZag() {
+      T bytes = getBytes(new byte[16]);
+
+      int[] ints = {0, -1, 1, -2, 2, Integer.MIN_VALUE, Integer.MAX_VALUE};
+      long[] encoded = {0, 1, 2, 3, 4, 0xFFFFFFFFL, 0xFFFFFFFEL};
+
+      for (int i = 0; i < ints.length; i++) {
+        assertEquals(ByteOps.varLongSize(encoded[i]), byteOps.setZigZagInt(bytes, 1, ints[i]));
+        assertEquals(encoded[i], byteOps.getVarLong(bytes, 1));
+        assertEquals(ints[i], byteOps.getZigZagInt(bytes, 1));
+      }
+
+      long[] longs = {0L, -1L, 1L, -64L, 64L, Long.MIN_VALUE, Long.MAX_VALUE};
+
+      for (long value : longs) {
+        int length = byteOps.setZigZagLong(bytes, 1, value);
+
+        assertEquals(length, byteOps.getVarLength(bytes, 1));
+        assertEquals(value, byteOps.getZigZagLong(bytes, 1));
+      }
+
+      assertEquals(1, byteOps.setZigZagLong(bytes, 1, -64L));
+      assertEquals(2, byteOps.setZigZagLong(bytes, 1, 64L));
+    }
+
+    @Test
+    void roundTrip() {
+      Random random = new Random(0);
+      byte[] bs = new byte[32];
+      T bytes = getBytes(bs);
+
+      for (int i = 0; i < 10_000; i++) {
+        long value = random.nextLong() >>> random.nextInt(64);
+        int length = ByteOps.varLongSize(value);
+
+        // ending at, and short of, the end of the bytes exercises the byte-at-a-time path
+        int index = random.nextInt(bs.length - length + 1);
+
+        assertEquals(length, byteOps.setVarLong(bytes, index, value));
+        assertEquals(length, byteOps.getVarLength(bytes, index));
+        assertEquals(value, byteOps.getVarLong(bytes, index), "value " + value);
+      }
+    }
+
+    @Test
+    void invalid() {
+      byte[] bs = new byte[16];
+      Arrays.fill(bs, (byte) 0x80);
+      T bytes = getBytes(bs);
+
+      assertThrows(IllegalArgumentException.class, () -> byteOps.getVarLong(bytes, 0));
+      assertThrows(IllegalArgumentException.class, () -> byteOps.getVarLength(bytes, 0));
+      assertThrows(IndexOutOfBoundsException.class, () -> byteOps.getVarLong(bytes, 8));
+      if (!isGrowable()) {
+        assertThrows(IndexOutOfBoundsException.class, () -> byteOps.setVarLong(bytes, 12, -1L));
+      }
+    }
+
+    private void assertVarLong(long value, int... encoding) {
+      byte[] expected = new byte[encoding.length];
+      for (int i = 0; i < encoding.length; i++) {
+        expected[i] = (byte) encoding[i];
+      }
+
+      T bytes = getBytes(new byte[encoding.length + 1]);
+
+      assertEquals(encoding.length, byteOps.setVarLong(bytes, 1, value));
+      assertEquals(encoding.length, ByteOps.varLongSize(value));
+
+      byte[] actual = new byte[encoding.length];
+      byteOps.getBytes(bytes, 1, actual, 0, actual.length);
+      assertEquals(Arrays.toString(expected), Arrays.toString(actual));
+
+      assertEquals(value, byteOps.getVarLong(bytes, 1));
+      assertEquals(encoding.length, byteOps.getVarLength(bytes, 1));
+    }
+
+  }
+
+  @Nested
+  class Strings {
+
+    private final ByteOps<T> byteOps = getByteOps(ByteOrder.BIG_ENDIAN);
+
+    @Test
+    void nullPadded() {
+      T bytes = getBytes(new byte[]{0x00, 'A', 'B', 0x00, 0x00, 'C', 'D', 'E', 'F'});
+
+      assertEquals("AB", byteOps.getString(bytes, 1, 4, StandardCharsets.US_ASCII));
+      assertEquals("", byteOps.getString(bytes, 3, 2, StandardCharsets.US_ASCII));
+      assertEquals("CDEF", byteOps.getString(bytes, 5, 4, StandardCharsets.ISO_8859_1));
+
+      byteOps.setString(bytes, 1, 8, "xyz", StandardCharsets.ISO_8859_1);
+
+      assertEquals(
+          Arrays.toString(new byte[]{0x00, 'x', 'y', 'z', 0x00, 0x00, 0x00, 0x00, 0x00}),
+          Arrays.toString(get(bytes, 0, 9))
+      );
+    }
+
+    @Test
+    void orders() {
+      assertOrder(StringOrder.SEQUENTIAL, "ABCDEF\0\0");
+      assertOrder(StringOrder.SWAPPED_BYTES, "BADCFE\0\0");
+      assertOrder(StringOrder.SWAPPED_WORDS, "CDAB\0\0EF");
+      assertOrder(StringOrder.SWAPPED_BYTES_AND_WORDS, "DCBA\0\0FE");
+
+      assertEquals(StringOrder.SEQUENTIAL, StringOrder.of(new OrderedOps.BigEndianOps()));
+      assertEquals(StringOrder.SWAPPED_BYTES, StringOrder.of(new OrderedOps.LittleEndianOps()));
+      assertEquals(
+          StringOrder.SWAPPED_WORDS, StringOrder.of(new OrderedOps.BigEndianLowHighOps()));
+      assertEquals(
+          StringOrder.SWAPPED_BYTES_AND_WORDS,
+          StringOrder.of(new OrderedOps.LittleEndianLowHighOps())
+      );
+    }
+
+    @Test
+    void charsets() {
+      T bytes = getBytes(new byte[16]);
+
+      byteOps.setString(bytes, 0, 16, "h\u00e9llo \u20ac", StandardCharsets.UTF_8);
+      assertEquals("h\u00e9llo \u20ac", byteOps.getString(bytes, 0, 16, StandardCharsets.UTF_8));
+
+      byteOps.setString(bytes, 0, 8, "h\u00e9\u20ac", StandardCharsets.ISO_8859_1);
+      assertEquals("h\u00e9?", byteOps.getString(bytes, 0, 8, StandardCharsets.ISO_8859_1));
+
+      byteOps.setString(bytes, 0, 8, "h\u00e9\u20ac", StandardCharsets.US_ASCII);
+      assertEquals("h??", byteOps.getString(bytes, 0, 8, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void invalid() {
+      T bytes = getBytes(new byte[8]);
+
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> byteOps.setString(bytes, 0, 4, "ABCDE", StandardCharsets.US_ASCII));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> byteOps.setString(bytes, 0, 8, "\u20ac\u20ac\u20ac", StandardCharsets.UTF_8));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> byteOps.getString(
+              bytes, 0, 3, StandardCharsets.US_ASCII, StringOrder.SWAPPED_BYTES));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> byteOps.getString(
+              bytes, 0, 6, StandardCharsets.US_ASCII, StringOrder.SWAPPED_WORDS));
+      assertThrows(
+          IndexOutOfBoundsException.class,
+          () -> byteOps.getString(bytes, 4, 6, StandardCharsets.US_ASCII));
+      if (!isGrowable()) {
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> byteOps.setString(bytes, 4, 6, "A", StandardCharsets.US_ASCII));
+      }
+    }
+
+    private void assertOrder(StringOrder order, String expected) {
+      T bytes = getBytes(new byte[10]);
+
+      byteOps.setString(bytes, 1, 8, "ABCDEF", StandardCharsets.US_ASCII, order);
+
+      assertEquals(expected, new String(get(bytes, 1, 8), StandardCharsets.US_ASCII));
+      assertEquals("ABCDEF", byteOps.getString(bytes, 1, 8, StandardCharsets.US_ASCII, order));
+    }
+
+    private byte[] get(T bytes, int index, int length) {
+      byte[] bs = new byte[length];
+      byteOps.getBytes(bytes, index, bs, 0, length);
+      return bs;
+    }
+
+  }
+
+  @Nested
+  class HalfFloats {
+
+    @Test
+    void float16() {
+      T bytes = getBytes(new byte[]{0x3C, 0x00, 0x00, (byte) 0xC0});
+
+      assertEquals(1.0f, getByteOps(ByteOrder.BIG_ENDIAN).getFloat16(bytes, 0));
+      assertEquals(-2.0f, getByteOps(ByteOrder.LITTLE_ENDIAN).getFloat16(bytes, 2));
+
+      getByteOps(ByteOrder.LITTLE_ENDIAN).setFloat16(bytes, 0, 0.5f);
+      assertEquals((short) 0x3800, getByteOps(ByteOrder.LITTLE_ENDIAN).getShort(bytes, 0));
+    }
+
+    @Test
+    void bfloat16() {
+      T bytes = getBytes(new byte[]{0x3F, (byte) 0x80, 0x00, (byte) 0xC0});
+
+      assertEquals(1.0f, getByteOps(ByteOrder.BIG_ENDIAN).getBFloat16(bytes, 0));
+      assertEquals(-2.0f, getByteOps(ByteOrder.LITTLE_ENDIAN).getBFloat16(bytes, 2));
+
+      getByteOps(ByteOrder.BIG_ENDIAN).setBFloat16(bytes, 2, 0.5f);
+      assertEquals((short) 0x3F00, getByteOps(ByteOrder.BIG_ENDIAN).getShort(bytes, 2));
+    }
+
+    @Test
+    void bulk() {
+      ByteOps<T> byteOps = getByteOps(ByteOrder.LITTLE_ENDIAN);
+      T bytes = getBytes(new byte[18]);
+
+      float[] values = {0.0f, 1.0f, -1.5f, 2048.0f, 0x1p-24f, Float.NEGATIVE_INFINITY, 3.0f};
+      float[] float16s = new float[values.length + 2];
+      float[] bfloat16s = new float[values.length + 2];
+
+      byteOps.setFloat16s(bytes, 2, values, 0, values.length);
+      byteOps.getFloat16s(bytes, 2, float16s, 1, values.length);
+      byteOps.setBFloat16s(bytes, 4, values, 1, values.length - 1);
+      byteOps.getBFloat16s(bytes, 2, bfloat16s, 1, values.length);
+
+      for (int i = 0; i < values.length; i++) {
+        assertEquals(values[i], float16s[i + 1]);
+      }
+      assertEquals(0.0f, bfloat16s[1]);
+      for (int i = 1; i < values.length; i++) {
+        assertEquals(values[i], bfloat16s[i + 1]);
+      }
+    }
+
+  }
+
+  @Nested
+  class Checksums {
+
+    @Test
+    void checkValues() {
+      ByteOps<T> byteOps = getByteOps(ByteOrder.BIG_ENDIAN);
+      T bytes = getBytes("xx123456789x".getBytes(StandardCharsets.US_ASCII));
+
+      assertEquals(0x4B37, byteOps.getChecksum(bytes, 2, 9, ChecksumAlgorithm.CRC16_MODBUS));
+      assertEquals(0xCBF43926L, byteOps.getChecksum(bytes, 2, 9, ChecksumAlgorithm.CRC32));
+      assertEquals(0xE3069283L, byteOps.getChecksum(bytes, 2, 9, ChecksumAlgorithm.CRC32C));
+      assertEquals(0x23, byteOps.getChecksum(bytes, 2, 9, ChecksumAlgorithm.LRC));
+    }
+
+    @Test
+    void incremental() {
+      ByteOps<T> byteOps = getByteOps(ByteOrder.LITTLE_ENDIAN);
+
+      byte[] bs = new byte[2000];
+      new Random(20).nextBytes(bs);
+      T bytes = getBytes(bs);
+
+      for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values()) {
+        Checksum expected = algorithm.newChecksum();
+        expected.update(bs, 3, 1990);
+
+        Checksum checksum = algorithm.newChecksum();
+        byteOps.updateChecksum(bytes, 3, 7, checksum);
+        byteOps.updateChecksum(bytes, 10, 0, checksum);
+        byteOps.updateChecksum(bytes, 10, 1983, checksum);
+
+        assertEquals(expected.getValue(), checksum.getValue(), algorithm.name());
+        assertEquals(
+            expected.getValue(),
+            byteOps.getChecksum(bytes, 3, 1990, algorithm),
+            algorithm.name()
+        );
+      }
+    }
+
+    @Test
+    void outOfBounds() {
+      ByteOps<T> byteOps = getByteOps(ByteOrder.BIG_ENDIAN);
+      T bytes = getBytes(new byte[8]);
+
+      assertThrows(
+          IndexOutOfBoundsException.class,
+          () -> byteOps.getChecksum(bytes, 4, 5, ChecksumAlgorithm.CRC32)
+      );
+    }
+
+  }
+
+  /**
+   * A {@link ByteOps} that only implements the accessors ByteOps requires, so its bit methods are
+   * the interface defaults.
+   */
+  private static final class DefaultBits<T> implements ByteOps<T> {
+
+    private final ByteOps<T> delegate;
+
+    DefaultBits(ByteOps<T> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean getBoolean(T bytes, int index) {
+      return delegate.getBoolean(bytes, index);
+    }
+
+    @Override
+    public byte getByte(T bytes, int index) {
+      return delegate.getByte(bytes, index);
+    }
+
+    @Override
+    public short getShort(T bytes, int index) {
+      return delegate.getShort(bytes, index);
+    }
+
+    @Override
+    public int getInt(T bytes, int index) {
+      return delegate.getInt(bytes, index);
+    }
+
+    @Override
+    public long getLong(T bytes, int index) {
+      return delegate.getLong(bytes, index);
+    }
+
+    @Override
+    public float getFloat(T bytes, int index) {
+      return delegate.getFloat(bytes, index);
+    }
+
+    @Override
+    public double getDouble(T bytes, int index) {
+      return delegate.getDouble(bytes, index);
+    }
+
+    @Override
+    public void setBoolean(T bytes, int index, boolean value) {
+      delegate.setBoolean(bytes, index, value);
+    }
+
+    @Override
+    public void setByte(T bytes, int index, byte value) {
+      delegate.setByte(bytes, index, value);
+    }
+
+    @Override
+    public void setShort(T bytes, int index, short value) {
+      delegate.setShort(bytes, index, value);
+    }
+
+    @Override
+    public void setInt(T bytes, int index, int value) {
+      delegate.setInt(bytes, index, value);
+    }
+
+    @Override
+    public void setLong(T bytes, int index, long value) {
+      delegate.setLong(bytes, index, value);
+    }
+
+    @Override
+    public void setFloat(T bytes, int index, float value) {
+      delegate.setFloat(bytes, index, value);
+    }
+
+    @Override
+    public void setDouble(T bytes, int index, double value) {
+      delegate.setDouble(bytes, index, value);
+    }
+
+  }
 
 }
@@ -0,0 +1,138 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class ByteReaderTest {
+
+  private final byte[] bytes = {
+      0x01, 0x00, 0x02, 0x00, 0x00, 0x00, 0x00, 0x03,
+      0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x04,
+      0x3F, (byte) 0x80, 0x00, 0x00,
+      0x3F, (byte) 0xF0, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00
+  };
+
+  @Test
+  void readsConsecutiveValues() {
+    ByteReader<byte[]> reader =
+        new ByteReader<>(ByteArrayByteOps.BIG_ENDIAN, bytes, 0, bytes.length);
+
+    reader.require(bytes.length);
+
+    assertTrue(reader.readBoolean());
+    assertEquals(0x00, reader.readByte());
+    assertEquals(0x0200, reader.readShort());
+    assertEquals(0x0000_0003, reader.readInt());
+    assertEquals(0x04L, reader.readLong());
+    assertEquals(1.0f, reader.readFloat());
+    assertEquals(1.0d, reader.readDouble());
+    assertEquals(bytes.length, reader.position());
+    assertEquals(0, reader.remaining());
+  }
+
+  @Test
+  void readsVarInts() {
+    byte[] bytes = {(byte) 0xAC, 0x02, 0x01, 0x03, (byte) 0x80, 0x01};
+    ByteReader<byte[]> reader =
+        new ByteReader<>(ByteArrayByteOps.BIG_ENDIAN, bytes, 0, bytes.length);
+
+    assertEquals(300, reader.readVarInt());
+    assertEquals(1L, reader.readVarLong());
+    assertEquals(-2, reader.readZigZagInt());
+    assertEquals(64L, reader.readZigZagLong());
+    assertEquals(0, reader.remaining());
+  }
+
+  @Test
+  void readsPaddedVarInts() {
+    // 0 and 1 padded with redundant continuation bytes, then 2^63 in the full 10 bytes
+    byte[] bytes = {
+        (byte) 0x80, (byte) 0x80, 0x00, (byte) 0x81, 0x00,
+        (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+        (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01
+    };
+    ByteReader<byte[]> reader =
+        new ByteReader<>(ByteArrayByteOps.BIG_ENDIAN, bytes, 0, bytes.length);
+
+    assertEquals(0, reader.readVarInt());
+    assertEquals(3, reader.position());
+    assertEquals(-1, reader.readZigZagInt());
+    assertEquals(5, reader.position());
+    assertEquals(Long.MIN_VALUE, reader.readVarLong());
+    assertEquals(0, reader.remaining());
+  }
+
+  @Test
+  void readsByteBuffer() {
+    ByteReader<ByteBuffer> reader = new ByteReader<>(
+        ByteBufferByteOps.BIG_ENDIAN, ByteBuffer.wrap(bytes), 3, bytes.length);
+
+    assertEquals(0x0000_0003, reader.skip(1).readInt());
+    assertEquals(8, reader.position());
+  }
+
+  @Test
+  void readsBulkValues() {
+    ByteReader<byte[]> reader =
+        new ByteReader<>(ByteArrayByteOps.BIG_ENDIAN, bytes, 1, bytes.length);
+
+    short[] shorts = new short[3];
+    reader.readShorts(shorts, 0, 3);
+
+    assertArrayEquals(new short[]{0x0002, 0x0000, 0x0000}, shorts);
+    assertEquals(7, reader.position());
+  }
+
+  @Test
+  void requireChecksLimit() {
+    ByteReader<byte[]> reader = new ByteReader<>(ByteArrayByteOps.BIG_ENDIAN, bytes, 0, 4);
+
+    reader.require(4);
+    reader.readShort();
+
+    assertEquals(2, reader.remaining());
+    assertThrows(IndexOutOfBoundsException.class, () -> reader.require(4));
+    assertThrows(IndexOutOfBoundsException.class, () -> reader.skip(3));
+  }
+
+  @Test
+  void readsCheckLimit() {
+    ByteReader<byte[]> reader = new ByteReader<>(ByteArrayByteOps.BIG_ENDIAN, bytes, 0, 6);
+
+    reader.readInt();
+
+    assertThrows(IndexOutOfBoundsException.class, reader::readInt);
+    assertThrows(IndexOutOfBoundsException.class, () -> reader.readShorts(new short[2], 0, 2));
+    assertEquals(4, reader.position());
+    assertEquals(0x0000, reader.readShort());
+
+    byte[] varInt = {(byte) 0xAC, 0x02};
+    reader.reset(varInt, 0, 1);
+
+    assertThrows(IndexOutOfBoundsException.class, reader::readVarInt);
+    assertEquals(0, reader.position());
+  }
+
+  @Test
+  void resetReusesInstance() {
+    ByteReader<byte[]> reader = new ByteReader<>(ByteArrayByteOps.BIG_ENDIAN);
+    byte[] other = {0x00, 0x05};
+
+    assertSame(reader, reader.reset(bytes, 0, bytes.length));
+    reader.readLong();
+
+    reader.reset(other, 0, other.length);
+
+    assertSame(other, reader.bytes());
+    assertEquals(0, reader.position());
+    assertEquals(0x0005, reader.readShort());
+    assertThrows(IndexOutOfBoundsException.class, () -> reader.reset(other, 3, 2));
+  }
+
+}
@@ -0,0 +1,233 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class ByteSinkByteOpsTest extends AbstractByteOpsTest<ByteSink> {
+
+  @Override
+  protected ByteSink getBytes(byte[] bs) {
+    // start short so that filling the sink grows it
+    ByteSink sink = newSink(bs.length / 2);
+    ByteSinkByteOps.BIG_ENDIAN.setBytes(sink, 0, bs, 0, bs.length);
+    return sink;
+  }
+
+  @Override
+  protected ByteOps<ByteSink> getByteOps(ByteOrder byteOrder) {
+    if (byteOrder == ByteOrder.BIG_ENDIAN) {
+      return ByteSinkByteOps.BIG_ENDIAN;
+    } else if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
+      return ByteSinkByteOps.LITTLE_ENDIAN;
+    } else {
+      throw new IllegalArgumentException("unsupported byte order: " + byteOrder);
+    }
+  }
+
+  @Override
+  protected ByteOps<ByteSink> getSwappedByteOps(ByteOrder byteOrder) {
+    if (byteOrder == ByteOrder.BIG_ENDIAN) {
+      return ByteSinkByteOps.BIG_ENDIAN_LOW_HIGH;
+    } else if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
+      return ByteSinkByteOps.LITTLE_ENDIAN_LOW_HIGH;
+    } else {
+      throw new IllegalArgumentException("unsupported byte order: " + byteOrder);
+    }
+  }
+
+  @Override
+  protected boolean isGrowable() {
+    return true;
+  }
+
+  protected ByteSink newSink(int initialCapacity) {
+    return ByteSink.allocate(initialCapacity);
+  }
+
+  @Test
+  void setPastEndGrows() {
+    ByteSinkByteOps ops = ByteSinkByteOps.BIG_ENDIAN;
+    ByteSink sink = newSink(4);
+
+    ops.setInt(sink, 0, 0x01020304);
+    assertEquals(4, sink.size());
+    assertEquals(4, sink.capacity());
+
+    ops.setLong(sink, 4, 0x05060708090A0B0CL);
+    assertEquals(12, sink.size());
+    assertEquals(12, sink.capacity());
+
+    // skipped bytes are zero
+    ops.setShort(sink, 14, (short) 0x0D0E);
+    assertEquals(16, sink.size());
+    assertEquals(24, sink.capacity());
+
+    // setting within the bytes written doesn't change the size
+    ops.setByte(sink, 0, (byte) 0x00);
+    assertEquals(16, sink.size());
+
+    assertArrayEquals(
+        new byte[]{0, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 0, 0, 13, 14},
+        sink.toByteArray()
+    );
+  }
+
+  @Test
+  void getPastSizeThrows() {
+    ByteSinkByteOps ops = ByteSinkByteOps.LITTLE_ENDIAN;
+    ByteSink sink = newSink(16);
+
+    ops.setInt(sink, 0, 1);
+
+    assertEquals(1, ops.getInt(sink, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> ops.getByte(sink, 4));
+    assertThrows(IndexOutOfBoundsException.class, () -> ops.getLong(sink, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> ops.getShorts(sink, 2, new short[2], 0, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> ops.getBits(sink, 30, 4));
+    assertThrows(IndexOutOfBoundsException.class, () -> ops.setInt(sink, -1, 0));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> ops.setInts(sink, 0, new int[2], 1, 2)
+    );
+    assertEquals(4, sink.size());
+  }
+
+  @Test
+  void setBitPastEnd() {
+    ByteSink sink = newSink(0);
+
+    ByteSinkByteOps.BIG_ENDIAN.setBit(sink, 0, 3, true);
+    assertArrayEquals(new byte[]{0x00, 0x08}, sink.toByteArray());
+
+    ByteSinkByteOps.LITTLE_ENDIAN.setBit(sink, 3, 9, true);
+    assertArrayEquals(new byte[]{0x00, 0x08, 0x00, 0x00, 0x02}, sink.toByteArray());
+
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> ByteSinkByteOps.BIG_ENDIAN.setBit(sink, 8, 16, true)
+    );
+    assertEquals(5, sink.size());
+  }
+
+  @Test
+  void setBitsPastEnd() {
+    ByteSink sink = newSink(0);
+
+    // bit fields of big-endian words start in the second byte of the word
+    ByteSinkByteOps.BIG_ENDIAN.setBits(sink, 8, 3, 0b101L);
+    assertArrayEquals(new byte[]{0x05, 0x00}, sink.toByteArray());
+
+    ByteSinkByteOps.BIG_ENDIAN.setBits(sink, 20, 1, 1L);
+    assertArrayEquals(new byte[]{0x05, 0x00, 0x00, 0x10}, sink.toByteArray());
+
+    sink.reset();
+    ByteSinkByteOps.BIG_ENDIAN_LOW_HIGH.setBits(sink, 0, 1, 1L);
+    assertArrayEquals(new byte[]{0x00, 0x01}, sink.toByteArray());
+
+    ByteSinkByteOps.LITTLE_ENDIAN.setBits(sink, 17, 2, 0b11L);
+    assertArrayEquals(new byte[]{0x00, 0x01, 0x06}, sink.toByteArray());
+
+    // coils are a stream of bytes
+    sink.reset();
+    ByteSinkByteOps.BIG_ENDIAN.setPackedBits(sink, 3, new boolean[]{true, true}, 0, 2);
+    assertArrayEquals(new byte[]{0x18}, sink.toByteArray());
+
+    ByteSinkByteOps.BIG_ENDIAN.setPackedBits(sink, 14, new long[]{0b101L}, 3);
+    assertArrayEquals(new byte[]{0x18, 0x40, 0x01}, sink.toByteArray());
+  }
+
+  @Test
+  void resetKeepsCapacity() {
+    ByteSinkByteOps ops = ByteSinkByteOps.BIG_ENDIAN;
+    ByteSink sink = newSink(8);
+
+    ops.setLongs(sink, 0, new long[]{-1L, -1L, -1L}, 0, 3);
+    assertEquals(24, sink.size());
+    int capacity = sink.capacity();
+
+    sink.reset();
+    assertEquals(0, sink.size());
+    assertEquals(capacity, sink.capacity());
+
+    // bytes written before the reset don't show through
+    byte[] expected = new byte[21];
+    expected[20] = 1;
+    ops.setByte(sink, 20, (byte) 1);
+    assertArrayEquals(expected, sink.toByteArray());
+    assertEquals(capacity, sink.capacity());
+  }
+
+  @Test
+  void writerAppends() {
+    ByteSink sink = newSink(2);
+    ByteSinkByteOps.BIG_ENDIAN.setShort(sink, 0, (short) 0x0102);
+
+    ByteWriter<ByteSink> writer = sink.writer(ByteSinkByteOps.BIG_ENDIAN);
+    assertEquals(2, writer.position());
+
+    byte[] payload = "hello".getBytes(StandardCharsets.US_ASCII);
+    writer.writeVarInt(payload.length)
+        .writeBytes(payload, 0, payload.length)
+        .writeInt(0x03040506);
+
+    assertEquals(writer.position(), sink.size());
+    assertArrayEquals(
+        new byte[]{1, 2, 5, 'h', 'e', 'l', 'l', 'o', 3, 4, 5, 6},
+        sink.toByteArray()
+    );
+
+    sink.reset();
+    writer.position(0).writeByte((byte) 7);
+    assertArrayEquals(new byte[]{7}, sink.toByteArray());
+  }
+
+  @Test
+  void toByteBufferIsAView() {
+    ByteSink sink = newSink(16);
+    ByteSinkByteOps.LITTLE_ENDIAN.setInt(sink, 0, 0x04030201);
+
+    ByteBuffer view = sink.toByteBuffer();
+    assertEquals(0, view.position());
+    assertEquals(4, view.limit());
+    assertEquals(sink.isDirect(), view.isDirect());
+    assertEquals(0x01020304, view.getInt(0));
+
+    ByteSinkByteOps.LITTLE_ENDIAN.setByte(sink, 0, (byte) 9);
+    assertEquals(9, view.get(0));
+
+    if (!sink.isDirect()) {
+      assertSame(sink.array(), view.array());
+    }
+  }
+
+  @Test
+  void checksum() {
+    ByteSink sink = getBytes("123456789".getBytes(StandardCharsets.US_ASCII));
+
+    assertEquals(
+        0xCBF43926L,
+        ByteSinkByteOps.BIG_ENDIAN.getChecksum(sink, 0, 9, ChecksumAlgorithm.CRC32)
+    );
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> ByteSinkByteOps.BIG_ENDIAN.getChecksum(sink, 1, 9, ChecksumAlgorithm.CRC32)
+    );
+  }
+
+  @Test
+  void invalidCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> newSink(-1));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> newSink(0).ensureCapacity(Integer.MAX_VALUE)
+    );
+  }
+
+}
@@ -0,0 +1,92 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class ByteWriterTest {
+
+  @Test
+  void writesConsecutiveValues() {
+    byte[] bytes = new byte[28];
+    ByteWriter<byte[]> writer =
+        new ByteWriter<>(ByteArrayByteOps.BIG_ENDIAN, bytes, 0, bytes.length);
+
+    writer.require(bytes.length)
+        .writeBoolean(true)
+        .writeByte((byte) 0x00)
+        .writeShort((short) 0x0200)
+        .writeInt(0x0000_0003)
+        .writeLong(0x04L)
+        .writeFloat(1.0f)
+        .writeDouble(1.0d);
+
+    assertArrayEquals(
+        new byte[]{
+            0x01, 0x00, 0x02, 0x00, 0x00, 0x00, 0x00, 0x03,
+            0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x04,
+            0x3F, (byte) 0x80, 0x00, 0x00,
+            0x3F, (byte) 0xF0, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00
+        },
+        bytes
+    );
+    assertEquals(0, writer.remaining());
+  }
+
+  @Test
+  void writesVarInts() {
+    byte[] bytes = new byte[8];
+    ByteWriter<byte[]> writer =
+        new ByteWriter<>(ByteArrayByteOps.BIG_ENDIAN, bytes, 0, bytes.length);
+
+    writer.writeVarInt(300).writeVarLong(1L).writeZigZagInt(-2).writeZigZagLong(64L);
+
+    assertArrayEquals(new byte[]{(byte) 0xAC, 0x02, 0x01, 0x03, (byte) 0x80, 0x01, 0, 0}, bytes);
+    assertEquals(6, writer.position());
+  }
+
+  @Test
+  void writesByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocate(8);
+    ByteWriter<ByteBuffer> writer = new ByteWriter<>(ByteBufferByteOps.LITTLE_ENDIAN, buffer, 0, 8);
+
+    writer.skip(2).writeShort((short) 0x0102).writeInts(new int[]{0x0304_0506}, 0, 1);
+
+    assertArrayEquals(new byte[]{0, 0, 0x02, 0x01, 0x06, 0x05, 0x04, 0x03}, buffer.array());
+    assertEquals(8, writer.position());
+  }
+
+  @Test
+  void requireChecksLimit() {
+    ByteWriter<byte[]> writer = new ByteWriter<>(ByteArrayByteOps.BIG_ENDIAN, new byte[8], 0, 4);
+
+    writer.writeShort((short) 0);
+
+    assertThrows(IndexOutOfBoundsException.class, () -> writer.require(4));
+    assertThrows(IndexOutOfBoundsException.class, () -> writer.position(5));
+  }
+
+  @Test
+  void writesCheckLimit() {
+    byte[] bytes = new byte[8];
+    ByteWriter<byte[]> writer = new ByteWriter<>(ByteArrayByteOps.BIG_ENDIAN, bytes, 0, 6);
+
+    writer.writeInt(-1);
+
+    assertThrows(IndexOutOfBoundsException.class, () -> writer.writeInt(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> writer.writeVarInt(300_000));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> writer.writeShorts(new short[2], 0, 2)
+    );
+    assertEquals(4, writer.position());
+    assertArrayEquals(new byte[]{-1, -1, -1, -1, 0, 0, 0, 0}, bytes);
+
+    writer.writeVarInt(300);
+    assertEquals(0, writer.remaining());
+  }
+
+}
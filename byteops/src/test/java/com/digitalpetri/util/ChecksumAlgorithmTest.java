@@ -0,0 +1,74 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Checksum;
+import org.junit.jupiter.api.Test;
+
+class ChecksumAlgorithmTest {
+
+  private static final byte[] CHECK = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+  @Test
+  void crc16Modbus() {
+    assertEquals(0x4B37, checksum(ChecksumAlgorithm.CRC16_MODBUS, CHECK));
+
+    // Modbus RTU "read holding registers" request: 01 03 00 00 00 0A C5 CD
+    byte[] request = {0x01, 0x03, 0x00, 0x00, 0x00, 0x0A, 0x00, 0x00};
+    long crc = ByteArrayByteOps.BIG_ENDIAN.getChecksum(
+        request, 0, 6, ChecksumAlgorithm.CRC16_MODBUS);
+    ByteArrayByteOps.LITTLE_ENDIAN.setShort(request, 6, (short) crc);
+    assertEquals((byte) 0xC5, request[6]);
+    assertEquals((byte) 0xCD, request[7]);
+
+    Random random = new Random(16);
+    for (int length = 0; length < 100; length++) {
+      byte[] bs = new byte[length];
+      random.nextBytes(bs);
+
+      assertEquals(bitwiseCrc16Modbus(bs), checksum(ChecksumAlgorithm.CRC16_MODBUS, bs));
+    }
+  }
+
+  @Test
+  void lrc() {
+    assertEquals(0x23, checksum(ChecksumAlgorithm.LRC, CHECK));
+
+    // Modbus ASCII: 01 03 00 00 00 0A has LRC F2
+    assertEquals(0xF2, checksum(ChecksumAlgorithm.LRC, new byte[]{1, 3, 0, 0, 0, 10}));
+  }
+
+  @Test
+  void updateAndReset() {
+    for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values()) {
+      Checksum checksum = algorithm.newChecksum();
+      checksum.update(CHECK, 0, 4);
+      checksum.update(CHECK[4]);
+      checksum.update(ByteBuffer.allocateDirect(4).put(CHECK, 5, 4).flip());
+
+      assertEquals(checksum(algorithm, CHECK), checksum.getValue(), algorithm.name());
+
+      checksum.reset();
+      assertEquals(checksum(algorithm, new byte[0]), checksum.getValue(), algorithm.name());
+    }
+  }
+
+  private static long checksum(ChecksumAlgorithm algorithm, byte[] bs) {
+    return ByteArrayByteOps.BIG_ENDIAN.getChecksum(bs, 0, bs.length, algorithm);
+  }
+
+  private static int bitwiseCrc16Modbus(byte[] bs) {
+    int crc = 0xFFFF;
+    for (byte b : bs) {
+      crc ^= b & 0xFF;
+      for (int i = 0; i < 8; i++) {
+        crc = (crc & 1) != 0 ? crc >>> 1 ^ 0xA001 : crc >>> 1;
+      }
+    }
+    return crc;
+  }
+
+}
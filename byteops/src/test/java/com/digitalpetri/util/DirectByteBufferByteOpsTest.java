@@ -0,0 +1,33 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the {@link ByteBufferByteOps} tests against direct buffers whose own order is
+ * little-endian, exercising the byte-swapping path of the wide accessors.
+ */
+class DirectByteBufferByteOpsTest extends ByteBufferByteOpsTest {
+
+  @Override
+  protected ByteBuffer getBytes(byte[] bs) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bs.length).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.put(bs).clear();
+    return buffer;
+  }
+
+  @Test
+  void bufferOrderIsUnchanged() {
+    ByteBuffer buffer = getBytes(new byte[8]);
+
+    ByteBufferByteOps.BIG_ENDIAN.setLong(buffer, 0, 0x0102_0304_0506_0708L);
+    ByteBufferByteOps.BIG_ENDIAN.getLong(buffer, 0);
+
+    assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+    assertEquals(0x0807_0605_0403_0201L, buffer.getLong(0));
+  }
+
+}
@@ -0,0 +1,22 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the {@link ByteSinkByteOps} tests against sinks backed by direct buffers.
+ */
+class DirectByteSinkByteOpsTest extends ByteSinkByteOpsTest {
+
+  @Override
+  protected ByteSink newSink(int initialCapacity) {
+    return ByteSink.allocateDirect(initialCapacity);
+  }
+
+  @Test
+  void noArray() {
+    assertThrows(UnsupportedOperationException.class, () -> newSink(8).array());
+  }
+
+}
@@ -0,0 +1,195 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class FrameDecoderTest {
+
+  @Test
+  void fixedLength() throws IOException {
+    byte[] stream = new byte[100];
+    new Random(21).nextBytes(stream);
+
+    List<byte[]> frames = decodeAll(
+        new FrameDecoder(FrameDecoder.Framing.fixedLength(10), 16),
+        new ChunkedChannel(stream, 7)
+    );
+
+    assertEquals(10, frames.size());
+    for (int i = 0; i < frames.size(); i++) {
+      assertArrayEquals(Arrays.copyOfRange(stream, i * 10, i * 10 + 10), frames.get(i));
+    }
+  }
+
+  @Test
+  void lengthFieldStraddlingReads() throws IOException {
+    Random random = new Random(21);
+    List<byte[]> expected = new ArrayList<>();
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+    for (int i = 0; i < 200; i++) {
+      // Modbus TCP-like: 4-byte prefix, 2-byte big-endian length of the bytes that follow
+      byte[] frame = new byte[6 + 1 + random.nextInt(253)];
+      random.nextBytes(frame);
+      ByteArrayByteOps.BIG_ENDIAN.setShort(frame, 4, (short) (frame.length - 6));
+
+      expected.add(frame);
+      stream.write(frame, 0, frame.length);
+    }
+
+    for (int chunkSize : new int[]{1, 5, 260, 1000}) {
+      for (boolean direct : new boolean[]{false, true}) {
+        FrameDecoder decoder = new FrameDecoder(
+            FrameDecoder.Framing.lengthField(ByteBufferByteOps.BIG_ENDIAN, 4, 2, 0),
+            direct ? ByteBuffer.allocateDirect(260) : ByteBuffer.allocate(260)
+        );
+
+        List<byte[]> frames = decodeAll(
+            decoder, new ChunkedChannel(stream.toByteArray(), chunkSize));
+
+        assertEquals(expected.size(), frames.size());
+        for (int i = 0; i < expected.size(); i++) {
+          assertArrayEquals(expected.get(i), frames.get(i));
+        }
+        assertEquals(0, decoder.buffered());
+      }
+    }
+  }
+
+  @Test
+  void lengthFieldAdjustment() throws IOException {
+    // 1-byte length of the whole frame
+    byte[] stream = {3, 1, 2, 2, 9, 5, 1, 2, 3, 4};
+
+    List<byte[]> frames = decodeAll(
+        new FrameDecoder(
+            FrameDecoder.Framing.lengthField(ByteBufferByteOps.LITTLE_ENDIAN, 0, 1, -1), 8),
+        new ChunkedChannel(stream, 3)
+    );
+
+    assertEquals(3, frames.size());
+    assertArrayEquals(new byte[]{3, 1, 2}, frames.get(0));
+    assertArrayEquals(new byte[]{2, 9}, frames.get(1));
+    assertArrayEquals(new byte[]{5, 1, 2, 3, 4}, frames.get(2));
+  }
+
+  @Test
+  void pausedDecoderStopsReading() throws IOException {
+    byte[] stream = new byte[20];
+    ChunkedChannel channel = new ChunkedChannel(stream, 20);
+    FrameDecoder decoder = new FrameDecoder(FrameDecoder.Framing.fixedLength(4), 20);
+
+    int[] frames = new int[1];
+    FrameDecoder.FrameHandler pauseEachFrame = (buffer, index, length) -> {
+      assertEquals(index, buffer.position());
+      assertEquals(index + length, buffer.limit());
+      frames[0]++;
+      return false;
+    };
+
+    assertEquals(20, decoder.decode(channel, pauseEachFrame));
+    assertEquals(1, frames[0]);
+    assertEquals(16, decoder.buffered());
+
+    for (int i = 2; i <= 5; i++) {
+      assertEquals(0, decoder.decode(channel, pauseEachFrame));
+      assertEquals(i, frames[0]);
+    }
+
+    assertEquals(0, decoder.buffered());
+    assertEquals(20, channel.position);
+    assertEquals(-1, decoder.decode(channel, pauseEachFrame));
+  }
+
+  @Test
+  void truncatedFrameAtEndOfStream() throws IOException {
+    FrameDecoder decoder = new FrameDecoder(FrameDecoder.Framing.fixedLength(4), 8);
+
+    List<byte[]> frames = decodeAll(decoder, new ChunkedChannel(new byte[10], 3));
+
+    assertEquals(2, frames.size());
+    assertEquals(2, decoder.buffered());
+
+    decoder.reset();
+    assertEquals(0, decoder.buffered());
+  }
+
+  @Test
+  void frameLongerThanBuffer() {
+    byte[] stream = {0, 100, 1, 2, 3};
+    FrameDecoder decoder = new FrameDecoder(
+        FrameDecoder.Framing.lengthField(ByteBufferByteOps.BIG_ENDIAN, 0, 2, 0), 64);
+
+    assertThrows(IOException.class, () -> decodeAll(decoder, new ChunkedChannel(stream, 5)));
+  }
+
+  private static List<byte[]> decodeAll(FrameDecoder decoder, ReadableByteChannel channel)
+      throws IOException {
+
+    List<byte[]> frames = new ArrayList<>();
+
+    FrameDecoder.FrameHandler handler = (buffer, index, length) -> {
+      byte[] frame = new byte[length];
+      ByteBufferByteOps.BIG_ENDIAN.getBytes(buffer, index, frame, 0, length);
+      frames.add(frame);
+      return true;
+    };
+
+    int read;
+    do {
+      read = decoder.decode(channel, handler);
+    } while (read != -1);
+
+    return frames;
+  }
+
+  /**
+   * A channel that returns at most {@code chunkSize} bytes per read.
+   */
+  private static class ChunkedChannel implements ReadableByteChannel {
+
+    private final byte[] bytes;
+    private final int chunkSize;
+
+    int position;
+
+    ChunkedChannel(byte[] bytes, int chunkSize) {
+      this.bytes = bytes;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+      if (position == bytes.length) {
+        return -1;
+      }
+
+      int n = Math.min(Math.min(chunkSize, dst.remaining()), bytes.length - position);
+      dst.put(bytes, position, n);
+      position += n;
+
+      return n;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {}
+
+  }
+
+}
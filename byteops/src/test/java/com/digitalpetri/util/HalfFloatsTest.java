@@ -0,0 +1,94 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class HalfFloatsTest {
+
+  @Test
+  void float16() {
+    assertFloat16(0x0000, 0.0f);
+    assertFloat16(0x8000, -0.0f);
+    assertFloat16(0x3C00, 1.0f);
+    assertFloat16(0xC000, -2.0f);
+    assertFloat16(0x3555, 0.333251953125f);
+    assertFloat16(0x7BFF, 65504.0f);
+    assertFloat16(0x0400, 0x1p-14f);
+    assertFloat16(0x03FF, 0x1.ff8p-15f);
+    assertFloat16(0x0001, 0x1p-24f);
+    assertFloat16(0x7C00, Float.POSITIVE_INFINITY);
+    assertFloat16(0xFC00, Float.NEGATIVE_INFINITY);
+
+    assertTrue(Float.isNaN(HalfFloats.float16ToFloat((short) 0x7E00)));
+    assertTrue(Float.isNaN(HalfFloats.float16ToFloat((short) 0x7C01)));
+    assertEquals((short) 0x7E00, HalfFloats.floatToFloat16(Float.NaN));
+  }
+
+  @Test
+  void float16Rounding() {
+    // halfway between 1 and the next float16, 1 + 2^-10, rounds to the even 1
+    assertEquals((short) 0x3C00, HalfFloats.floatToFloat16(1.0f + 0x1p-11f));
+    assertEquals((short) 0x3C01, HalfFloats.floatToFloat16(1.0f + 0x1p-11f + 0x1p-20f));
+    assertEquals((short) 0x3C02, HalfFloats.floatToFloat16(1.0f + 0x3p-11f));
+
+    // the carry out of the significand bumps the exponent
+    assertEquals((short) 0x4000, HalfFloats.floatToFloat16(Math.nextDown(2.0f)));
+
+    // overflow
+    assertEquals((short) 0x7BFF, HalfFloats.floatToFloat16(65519.0f));
+    assertEquals((short) 0x7C00, HalfFloats.floatToFloat16(65520.0f));
+    assertEquals((short) 0xFC00, HalfFloats.floatToFloat16(-1e10f));
+
+    // subnormals and underflow
+    assertEquals((short) 0x0000, HalfFloats.floatToFloat16(0x1p-25f));
+    assertEquals((short) 0x0001, HalfFloats.floatToFloat16(0x1.8p-25f));
+    assertEquals((short) 0x0002, HalfFloats.floatToFloat16(0x3p-25f));
+    assertEquals((short) 0x0400, HalfFloats.floatToFloat16(Math.nextDown(0x1p-14f)));
+    assertEquals((short) 0x8000, HalfFloats.floatToFloat16(-Float.MIN_VALUE));
+  }
+
+  @Test
+  void float16RoundTrip() {
+    for (int h = 0; h <= 0xFFFF; h++) {
+      float f = HalfFloats.float16ToFloat((short) h);
+
+      if (Float.isNaN(f)) {
+        assertTrue(Float.isNaN(HalfFloats.float16ToFloat(HalfFloats.floatToFloat16(f))));
+      } else {
+        assertEquals((short) h, HalfFloats.floatToFloat16(f), Integer.toHexString(h));
+      }
+    }
+  }
+
+  @Test
+  void bfloat16() {
+    assertEquals(1.0f, HalfFloats.bfloat16ToFloat((short) 0x3F80));
+    assertEquals(-2.0f, HalfFloats.bfloat16ToFloat((short) 0xC000));
+    assertEquals((short) 0x3F80, HalfFloats.floatToBFloat16(1.0f));
+
+    // ties to even
+    assertEquals((short) 0x3F80, HalfFloats.floatToBFloat16(Float.intBitsToFloat(0x3F808000)));
+    assertEquals((short) 0x3F82, HalfFloats.floatToBFloat16(Float.intBitsToFloat(0x3F818000)));
+    assertEquals((short) 0x3F81, HalfFloats.floatToBFloat16(Float.intBitsToFloat(0x3F808001)));
+
+    assertEquals((short) 0x7F80, HalfFloats.floatToBFloat16(Float.MAX_VALUE));
+    assertTrue(Float.isNaN(HalfFloats.bfloat16ToFloat(
+        HalfFloats.floatToBFloat16(Float.intBitsToFloat(0x7F800001)))));
+
+    for (int h = 0; h <= 0xFFFF; h++) {
+      float f = HalfFloats.bfloat16ToFloat((short) h);
+
+      if (!Float.isNaN(f)) {
+        assertEquals((short) h, HalfFloats.floatToBFloat16(f), Integer.toHexString(h));
+      }
+    }
+  }
+
+  private static void assertFloat16(int bits, float value) {
+    assertEquals(value, HalfFloats.float16ToFloat((short) bits));
+    assertEquals((short) bits, HalfFloats.floatToFloat16(value));
+  }
+
+}
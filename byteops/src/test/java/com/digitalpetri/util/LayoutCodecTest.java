@@ -0,0 +1,203 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class LayoutCodecTest {
+
+  private static final Layout LAYOUT = Layout.builder(new OrderedOps.BigEndianOps())
+      .field("status", Layout.Type.USHORT, 0)
+      .field("temperature", Layout.Type.SHORT, 2, 0.1)
+      .field("counter", Layout.Type.UINT, 4, 1.0, new OrderedOps.LittleEndianLowHighOps())
+      .field("enabled", Layout.Type.BOOLEAN, 8)
+      .field("setpoint", Layout.Type.FLOAT, 9)
+      .build();
+
+  private static final byte[] BYTES = new byte[]{
+      (byte) 0xFF, (byte) 0xFE,
+      (byte) 0xFF, (byte) 0x38,
+      0x04, (byte) 0x83, 0x02, 0x01,
+      0x01,
+      0x40, 0x20, 0x00, 0x00
+  };
+
+  private final LayoutCodec<byte[]> codec = LAYOUT.codec(ByteArrayByteOps::new, bs -> bs.length);
+
+  @Test
+  void size() {
+    assertEquals(13, LAYOUT.size());
+    assertEquals(5, LAYOUT.fields().size());
+  }
+
+  @Test
+  void decodeArray() {
+    double[] values = new double[5];
+    codec.decode(BYTES, 0, values);
+
+    assertEquals(0xFFFE, values[0]);
+    assertEquals(-20.0, values[1], 1e-9);
+    assertEquals(0x83040102L, values[2]);
+    assertEquals(1.0, values[3]);
+    assertEquals(2.5, values[4]);
+  }
+
+  @Test
+  void encodeArray() {
+    byte[] bs = new byte[15];
+    codec.encode(bs, 2, new double[]{0xFFFE, -20.0, 0x83040102L, 1.0, 2.5});
+
+    byte[] expected = new byte[15];
+    System.arraycopy(BYTES, 0, expected, 2, BYTES.length);
+
+    assertArrayEquals(expected, bs);
+  }
+
+  @Test
+  void byteBuffer() {
+    LayoutCodec<ByteBuffer> codec = LAYOUT.codec(ByteBufferByteOps::new, ByteBuffer::limit);
+
+    double[] values = new double[5];
+    codec.decode(ByteBuffer.wrap(BYTES), 0, values);
+
+    assertArrayEquals(new double[]{0xFFFE, -20.0, 0x83040102L, 1.0, 2.5}, values, 1e-9);
+  }
+
+  @Test
+  void outOfBoundsWritesNothing() {
+    byte[] bs = new byte[14];
+
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> codec.encode(bs, 2, new double[]{1, 2, 3, 4, 5})
+    );
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> codec.decode(bs, -1, new double[5])
+    );
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> codec.decode(bs, 0, new double[4])
+    );
+    assertArrayEquals(new byte[14], bs);
+  }
+
+  @Test
+  void bindMutable() throws IllegalAccessException {
+    LayoutCodec.Binding<byte[], Frame> binding = codec.bind(MethodHandles.lookup(), Frame.class);
+
+    Frame frame = new Frame();
+    binding.decode(BYTES, 0, frame);
+
+    assertEquals(0xFFFE, frame.status);
+    assertEquals(-20.0, frame.temperature, 1e-9);
+    assertEquals(0x83040102L, frame.counter);
+    assertTrue(frame.enabled);
+    assertEquals(2.5, frame.setpoint);
+
+    byte[] bs = new byte[13];
+    binding.encode(bs, 0, frame);
+
+    assertArrayEquals(BYTES, bs);
+  }
+
+  @Test
+  void bindImmutable() throws IllegalAccessException {
+    LayoutCodec.Binding<byte[], ImmutableFrame> binding =
+        codec.bind(MethodHandles.lookup(), ImmutableFrame.class);
+
+    ImmutableFrame frame = binding.create(BYTES, 0);
+
+    assertEquals(0xFFFE, frame.status);
+    assertEquals(-20.0, frame.temperature, 1e-9);
+    assertEquals(0x83040102L, frame.counter);
+    assertTrue(frame.enabled);
+    assertEquals(2.5f, frame.setpoint);
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> binding.decode(BYTES, 0, frame)
+    );
+
+    byte[] bs = new byte[13];
+    binding.encode(bs, 0, frame);
+
+    assertArrayEquals(BYTES, bs);
+  }
+
+  @Test
+  void bindIncompatible() {
+    Layout layout = Layout.builder(new OrderedOps.BigEndianOps())
+        .field("status", Layout.Type.UINT, 0)
+        .build();
+
+    LayoutCodec<byte[]> codec = layout.codec(ByteArrayByteOps::new, bs -> bs.length);
+
+    // UINT decodes to long, which does not fit in Frame.status
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> codec.bind(MethodHandles.lookup(), Frame.class)
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> codec.bind(MethodHandles.lookup(), Object.class)
+    );
+  }
+
+  @Test
+  void builderRejectsInvalidFields() {
+    Layout.Builder builder = Layout.builder(new OrderedOps.BigEndianOps())
+        .field("a", Layout.Type.INT, 0);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> builder.field("a", Layout.Type.INT, 4)
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> builder.field("b", Layout.Type.INT, -1)
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> builder.field("b", Layout.Type.INT, 4, 0.0)
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> builder.field("b", Layout.Type.BOOLEAN, 4, 2.0)
+    );
+
+    // a rejected field doesn't use up its name
+    Layout layout = builder.field("b", Layout.Type.INT, 4).build();
+
+    assertEquals(2, layout.fields().size());
+  }
+
+  static class Frame {
+    int status;
+    double temperature;
+    long counter;
+    boolean enabled;
+    double setpoint;
+  }
+
+  static final class ImmutableFrame {
+    final int status;
+    final double temperature;
+    final long counter;
+    final boolean enabled;
+    final float setpoint;
+
+    ImmutableFrame(int status, double temperature, long counter, boolean enabled, float setpoint) {
+      this.status = status;
+      this.temperature = temperature;
+      this.counter = counter;
+      this.enabled = enabled;
+      this.setpoint = setpoint;
+    }
+  }
+
+}
@@ -0,0 +1,135 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileTest {
+
+  /**
+   * Small enough that values straddle segment boundaries at several offsets.
+   */
+  private static final int SEGMENT_SIZE = 16;
+
+  @TempDir
+  Path tempDir;
+
+  private final Random random = new Random(0);
+
+  @Test
+  void bigEndian() throws IOException {
+    assertMatchesByteArrayByteOps(
+        SegmentedByteBufferByteOps.BIG_ENDIAN,
+        ByteArrayByteOps.BIG_ENDIAN
+    );
+  }
+
+  @Test
+  void littleEndian() throws IOException {
+    assertMatchesByteArrayByteOps(
+        SegmentedByteBufferByteOps.LITTLE_ENDIAN,
+        ByteArrayByteOps.LITTLE_ENDIAN
+    );
+  }
+
+  @Test
+  void bigEndianLowHigh() throws IOException {
+    assertMatchesByteArrayByteOps(
+        SegmentedByteBufferByteOps.BIG_ENDIAN_LOW_HIGH,
+        ByteArrayByteOps.BIG_ENDIAN_LOW_HIGH
+    );
+  }
+
+  @Test
+  void littleEndianLowHigh() throws IOException {
+    assertMatchesByteArrayByteOps(
+        SegmentedByteBufferByteOps.LITTLE_ENDIAN_LOW_HIGH,
+        ByteArrayByteOps.LITTLE_ENDIAN_LOW_HIGH
+    );
+  }
+
+  @Test
+  void outOfBounds() throws IOException {
+    Path path = Files.write(tempDir.resolve("capture.bin"), new byte[20]);
+
+    try (MappedFile file = MappedFile.open(path, MapMode.READ_ONLY, SEGMENT_SIZE)) {
+      assertEquals(20, file.size());
+      assertThrows(
+          IndexOutOfBoundsException.class,
+          () -> SegmentedByteBufferByteOps.BIG_ENDIAN.getLong(file.buffer(), 13)
+      );
+      assertThrows(
+          IndexOutOfBoundsException.class,
+          () -> SegmentedByteBufferByteOps.BIG_ENDIAN.getByte(file.buffer(), -1)
+      );
+    }
+  }
+
+  @Test
+  void privateMappingLeavesFileUnchanged() throws IOException {
+    byte[] bs = new byte[40];
+    random.nextBytes(bs);
+    Path path = Files.write(tempDir.resolve("capture.bin"), bs);
+
+    try (MappedFile file = MappedFile.open(path, MapMode.PRIVATE, SEGMENT_SIZE)) {
+      SegmentedByteBufferByteOps.BIG_ENDIAN.setLong(file.buffer(), 12, 0x0102_0304_0506_0708L);
+
+      assertEquals(
+          0x0102_0304_0506_0708L,
+          SegmentedByteBufferByteOps.BIG_ENDIAN.getLong(file.buffer(), 12)
+      );
+    }
+
+    assertArrayEquals(bs, Files.readAllBytes(path));
+
+    try (MappedFile file = MappedFile.open(path, MapMode.READ_ONLY, SEGMENT_SIZE)) {
+      assertEquals(
+          ByteArrayByteOps.BIG_ENDIAN.getLong(bs, 12),
+          SegmentedByteBufferByteOps.BIG_ENDIAN.getLong(file.buffer(), 12)
+      );
+    }
+  }
+
+  private void assertMatchesByteArrayByteOps(
+      SegmentedByteBufferByteOps fileOps,
+      ByteArrayByteOps arrayOps
+  ) throws IOException {
+
+    byte[] bs = new byte[64];
+    random.nextBytes(bs);
+    Path path = Files.write(tempDir.resolve("capture.bin"), bs);
+
+    try (MappedFile file = MappedFile.open(path, MapMode.READ_WRITE, SEGMENT_SIZE)) {
+      for (int i = 0; i <= bs.length - 8; i++) {
+        assertEquals(arrayOps.getByte(bs, i), fileOps.getByte(file.buffer(), i));
+        assertEquals(arrayOps.getShort(bs, i), fileOps.getShort(file.buffer(), i));
+        assertEquals(arrayOps.getInt(bs, i), fileOps.getInt(file.buffer(), i));
+        assertEquals(arrayOps.getLong(bs, i), fileOps.getLong(file.buffer(), i));
+      }
+
+      for (int i = 0; i <= bs.length - 8; i++) {
+        long value = random.nextLong();
+
+        arrayOps.setShort(bs, i, (short) value);
+        fileOps.setShort(file.buffer(), i, (short) value);
+        arrayOps.setInt(bs, i + 1, (int) value);
+        fileOps.setInt(file.buffer(), i + 1, (int) value);
+        arrayOps.setDouble(bs, i, Double.longBitsToDouble(value));
+        fileOps.setDouble(file.buffer(), i, Double.longBitsToDouble(value));
+      }
+
+      file.force();
+    }
+
+    assertArrayEquals(bs, Files.readAllBytes(path));
+  }
+
+}
@@ -0,0 +1,26 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the JDK 22+ versions of the classes in {@code src/main/java22} are the ones loaded
+ * from the multi-release JAR; run against the packaged JAR by the {@code java22} profile.
+ */
+class MultiReleaseIT {
+
+  @Test
+  void versionedClassesAreLoaded() {
+    assertVersioned(NativeMemoryAccess.class);
+    assertVersioned(HalfFloats.class);
+  }
+
+  private static void assertVersioned(Class<?> c) {
+    URL url = c.getResource(c.getSimpleName() + ".class");
+
+    assertTrue(url.toString().contains("!/META-INF/versions/"), String.valueOf(url));
+  }
+
+}
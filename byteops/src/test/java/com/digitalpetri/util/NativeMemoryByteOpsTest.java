@@ -0,0 +1,156 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NativeMemoryByteOpsTest {
+
+  private static final int LENGTH = 61;
+
+  private final Random random = new Random(0);
+
+  /**
+   * The memory under test; referenced until the test ends so it isn't freed.
+   */
+  private ByteBuffer buffer;
+  private long address;
+
+  @BeforeEach
+  void allocate() {
+    // one spare byte so the region can start at an odd address
+    buffer = ByteBuffer.allocateDirect(LENGTH + 1);
+    address = NativeMemoryAccess.address(buffer);
+  }
+
+  @Test
+  void matchesByteArrayByteOps() {
+    NativeMemory memory = NativeMemory.of(address, LENGTH);
+
+    assertMatches(memory, NativeMemoryByteOps.BIG_ENDIAN, ByteArrayByteOps.BIG_ENDIAN);
+    assertMatches(memory, NativeMemoryByteOps.LITTLE_ENDIAN, ByteArrayByteOps.LITTLE_ENDIAN);
+    assertMatches(
+        memory,
+        NativeMemoryByteOps.BIG_ENDIAN_LOW_HIGH,
+        ByteArrayByteOps.BIG_ENDIAN_LOW_HIGH
+    );
+    assertMatches(
+        memory,
+        NativeMemoryByteOps.LITTLE_ENDIAN_LOW_HIGH,
+        ByteArrayByteOps.LITTLE_ENDIAN_LOW_HIGH
+    );
+  }
+
+  @Test
+  void matchesByteArrayByteOpsUnaligned() {
+    NativeMemory memory = NativeMemory.of(address + 1, LENGTH);
+
+    assertMatches(memory, NativeMemoryByteOps.BIG_ENDIAN, ByteArrayByteOps.BIG_ENDIAN);
+    assertMatches(memory, NativeMemoryByteOps.LITTLE_ENDIAN, ByteArrayByteOps.LITTLE_ENDIAN);
+  }
+
+  @Test
+  void unchecked() {
+    NativeMemoryByteOps ops = new NativeMemoryByteOps(new OrderedOps.BigEndianOps(), false);
+
+    assertMatches(NativeMemory.of(address, LENGTH), ops, ByteArrayByteOps.BIG_ENDIAN);
+
+    // reads past the end of the slice but within the allocation
+    NativeMemory memory = NativeMemory.of(address, LENGTH).slice(0, 4);
+    ops.setLong(NativeMemory.of(address, LENGTH), 0, 0x0102030405060708L);
+
+    assertEquals(0x0102030405060708L, ops.getLong(memory, 0));
+  }
+
+  @Test
+  void outOfBounds() {
+    NativeMemory memory = NativeMemory.of(address, LENGTH);
+
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> NativeMemoryByteOps.BIG_ENDIAN.getInt(memory, LENGTH - 3)
+    );
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> NativeMemoryByteOps.BIG_ENDIAN.setLong(memory, -1, 0L)
+    );
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> NativeMemoryByteOps.BIG_ENDIAN.getByte(memory.slice(8, 0), 0)
+    );
+  }
+
+  @Test
+  void slice() {
+    NativeMemory memory = NativeMemory.of(address, LENGTH);
+    NativeMemory slice = memory.slice(5, 8);
+
+    NativeMemoryByteOps.BIG_ENDIAN.setLong(memory, 5, 0x0102030405060708L);
+
+    assertEquals(address + 5, slice.address());
+    assertEquals(8, slice.length());
+    assertEquals(0x0102030405060708L, NativeMemoryByteOps.BIG_ENDIAN.getLong(slice, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> memory.slice(54, 8));
+    assertThrows(IndexOutOfBoundsException.class, () -> memory.slice(-1, 8));
+  }
+
+  @Test
+  void directBufferAddress() {
+    NativeMemoryByteOps.BIG_ENDIAN.setInt(NativeMemory.of(address, LENGTH), 2, 0x01020304);
+
+    assertEquals(0x01020304, buffer.getInt(2));
+
+    buffer.position(8);
+    assertEquals(address, NativeMemoryAccess.address(buffer));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> NativeMemoryAccess.address(ByteBuffer.allocate(8))
+    );
+  }
+
+  @Test
+  void invalidRegion() {
+    assertThrows(IllegalArgumentException.class, () -> NativeMemory.of(0L, 8));
+    assertThrows(IllegalArgumentException.class, () -> NativeMemory.of(address, -1));
+  }
+
+  private void assertMatches(
+      NativeMemory memory,
+      LongIndexedByteOps<NativeMemory> memoryOps,
+      ByteOps<byte[]> arrayOps
+  ) {
+
+    byte[] bs = new byte[(int) memory.length()];
+    random.nextBytes(bs);
+
+    for (int i = 0; i < bs.length; i++) {
+      memoryOps.setByte(memory, i, bs[i]);
+    }
+
+    for (int i = 0; i <= bs.length - 8; i++) {
+      assertEquals(arrayOps.getShort(bs, i), memoryOps.getShort(memory, i));
+      assertEquals(arrayOps.getInt(bs, i), memoryOps.getInt(memory, i));
+      assertEquals(arrayOps.getLong(bs, i), memoryOps.getLong(memory, i));
+    }
+
+    for (int i = 0; i <= bs.length - 8; i++) {
+      long value = random.nextLong();
+
+      arrayOps.setShort(bs, i, (short) value);
+      memoryOps.setShort(memory, i, (short) value);
+      arrayOps.setFloat(bs, i + 1, Float.intBitsToFloat((int) value));
+      memoryOps.setFloat(memory, i + 1, Float.intBitsToFloat((int) value));
+      arrayOps.setLong(bs, i, value);
+      memoryOps.setLong(memory, i, value);
+    }
+
+    for (int i = 0; i < bs.length; i++) {
+      assertEquals(bs[i], memoryOps.getByte(memory, i), "index " + i);
+    }
+  }
+
+}
@@ -0,0 +1,276 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class OrderedOpsTest {
+
+  private static final OrderedOps[] ORDERED_OPS = {
+      new OrderedOps.BigEndianOps(),
+      new OrderedOps.LittleEndianOps(),
+      new OrderedOps.BigEndianLowHighOps(),
+      new OrderedOps.LittleEndianLowHighOps()
+  };
+
+  /**
+   * Big-endian, but with the 32-bit halves of a long swapped; not one of the conversions
+   * between built-in orderings.
+   */
+  private static final OrderedOps SWAPPED_HALVES = new OrderedOps() {
+
+    private final OrderedOps ops = new OrderedOps.BigEndianOps();
+
+    @Override
+    public <T> short getShort(ByteGetter<T> getter, T bytes, int index) {
+      return ops.getShort(getter, bytes, index);
+    }
+
+    @Override
+    public <T> int getInt(ByteGetter<T> getter, T bytes, int index) {
+      return ops.getInt(getter, bytes, index);
+    }
+
+    @Override
+    public <T> long getLong(ByteGetter<T> getter, T bytes, int index) {
+      return Long.rotateLeft(ops.getLong(getter, bytes, index), 32);
+    }
+
+    @Override
+    public <T> void setShort(ByteSetter<T> setter, T bytes, int index, short value) {
+      ops.setShort(setter, bytes, index, value);
+    }
+
+    @Override
+    public <T> void setInt(ByteSetter<T> setter, T bytes, int index, int value) {
+      ops.setInt(setter, bytes, index, value);
+    }
+
+    @Override
+    public <T> void setLong(ByteSetter<T> setter, T bytes, int index, long value) {
+      ops.setLong(setter, bytes, index, Long.rotateLeft(value, 32));
+    }
+
+  };
+
+  @Test
+  @SuppressWarnings("deprecation")
+  void deprecatedGettersMatchPrimitiveGetters() {
+    byte[] bytes = {0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08};
+
+    for (OrderedOps ops : ORDERED_OPS) {
+      assertEquals(
+          ops.getShort((bs, i) -> bs[i], bytes, 0),
+          ops.getShort(i -> bytes[i], 0));
+      assertEquals(
+          ops.getInt((bs, i) -> bs[i], bytes, 0),
+          ops.getInt(i -> bytes[i], 0));
+      assertEquals(
+          ops.getLong((bs, i) -> bs[i], bytes, 0),
+          ops.getLong(i -> bytes[i], 0));
+    }
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  void deprecatedSettersMatchPrimitiveSetters() {
+    for (OrderedOps ops : ORDERED_OPS) {
+      byte[] expected = new byte[8];
+      byte[] actual = new byte[8];
+
+      ops.setShort((bs, i, b) -> bs[i] = b, expected, 0, (short) 0x0102);
+      ops.setShort((i, b) -> actual[i] = b, 0, (short) 0x0102);
+      assertArrayEquals(expected, actual);
+
+      ops.setInt((bs, i, b) -> bs[i] = b, expected, 0, 0x0102_0304);
+      ops.setInt((i, b) -> actual[i] = b, 0, 0x0102_0304);
+      assertArrayEquals(expected, actual);
+
+      ops.setLong((bs, i, b) -> bs[i] = b, expected, 0, 0x0102_0304_0506_0708L);
+      ops.setLong((i, b) -> actual[i] = b, 0, 0x0102_0304_0506_0708L);
+      assertArrayEquals(expected, actual);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  void orderingWithOnlyDeprecatedMethods() {
+    OrderedOps bigEndian = new OrderedOps.BigEndianOps();
+
+    // written before ByteGetter and ByteSetter existed
+    OrderedOps legacy = new OrderedOps() {
+      @Override
+      public short getShort(Function<Integer, Byte> getByte, int index) {
+        return bigEndian.getShort(getByte, index);
+      }
+
+      @Override
+      public int getInt(Function<Integer, Byte> getByte, int index) {
+        return bigEndian.getInt(getByte, index);
+      }
+
+      @Override
+      public long getLong(Function<Integer, Byte> getByte, int index) {
+        return bigEndian.getLong(getByte, index);
+      }
+
+      @Override
+      public void setShort(BiConsumer<Integer, Byte> setByte, int index, short value) {
+        bigEndian.setShort(setByte, index, value);
+      }
+
+      @Override
+      public void setInt(BiConsumer<Integer, Byte> setByte, int index, int value) {
+        bigEndian.setInt(setByte, index, value);
+      }
+
+      @Override
+      public void setLong(BiConsumer<Integer, Byte> setByte, int index, long value) {
+        bigEndian.setLong(setByte, index, value);
+      }
+    };
+
+    byte[] bytes = {0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08};
+    ByteArrayByteOps ops = new ByteArrayByteOps(legacy);
+
+    assertEquals(ByteArrayByteOps.BIG_ENDIAN.getShort(bytes, 1), ops.getShort(bytes, 1));
+    assertEquals(ByteArrayByteOps.BIG_ENDIAN.getInt(bytes, 2), ops.getInt(bytes, 2));
+    assertEquals(ByteArrayByteOps.BIG_ENDIAN.getLong(bytes, 0), ops.getLong(bytes, 0));
+
+    byte[] written = new byte[8];
+    ops.setShort(written, 0, (short) 0x0102);
+    ops.setInt(written, 2, 0x0304_0506);
+    ops.setShort(written, 6, (short) 0x0708);
+    assertArrayEquals(bytes, written);
+
+    ops.setLong(written, 0, 0x0807_0605_0403_0201L);
+    assertArrayEquals(new byte[]{0x08, 0x07, 0x06, 0x05, 0x04, 0x03, 0x02, 0x01}, written);
+  }
+
+  @Test
+  void transcode() {
+    for (OrderedOps from : ORDERED_OPS) {
+      for (OrderedOps to : ORDERED_OPS) {
+        for (int elementSize : new int[]{2, 4, 8}) {
+          // 37 elements leaves a tail shorter than 8 bytes for every element size but 8
+          assertTranscoded(from, to, elementSize, 37);
+          assertTranscoded(from, to, elementSize, 0);
+        }
+      }
+    }
+  }
+
+  @Test
+  void transcodeCustomOrdering() {
+    for (OrderedOps ops : ORDERED_OPS) {
+      for (int elementSize : new int[]{2, 4, 8}) {
+        assertTranscoded(ops, SWAPPED_HALVES, elementSize, 13);
+        assertTranscoded(SWAPPED_HALVES, ops, elementSize, 13);
+      }
+    }
+  }
+
+  @Test
+  void transcodeInPlace() {
+    OrderedOps from = new OrderedOps.BigEndianOps();
+    OrderedOps to = new OrderedOps.LittleEndianLowHighOps();
+
+    byte[] bytes = new byte[8 * 9];
+    for (int i = 0; i < 9; i++) {
+      from.setLong((bs, j, b) -> bs[j] = b, bytes, i * 8, 0x0102_0304_0506_0708L * i);
+    }
+
+    OrderedOps.transcode(bytes, 0, bytes, 0, 8, 9, from, to);
+
+    for (int i = 0; i < 9; i++) {
+      assertEquals(0x0102_0304_0506_0708L * i, to.getLong((bs, j) -> bs[j], bytes, i * 8));
+    }
+  }
+
+  @Test
+  void transcodeByteBuffer() {
+    for (OrderedOps from : ORDERED_OPS) {
+      for (OrderedOps to : ORDERED_OPS) {
+        for (int elementSize : new int[]{2, 4, 8}) {
+          byte[] src = random(elementSize * 21 + 3);
+          byte[] expected = new byte[elementSize * 21 + 5];
+          OrderedOps.transcode(src, 3, expected, 5, elementSize, 21, from, to);
+
+          ByteBuffer srcBuffer = ByteBuffer.allocateDirect(src.length).put(src);
+          ByteBuffer dstBuffer = ByteBuffer.allocate(expected.length)
+              .order(ByteOrder.LITTLE_ENDIAN);
+
+          OrderedOps.transcode(srcBuffer, 3, dstBuffer, 5, elementSize, 21, from, to);
+
+          assertArrayEquals(expected, dstBuffer.array());
+          assertEquals(src.length, srcBuffer.position());
+          assertEquals(0, dstBuffer.position());
+          assertEquals(ByteOrder.LITTLE_ENDIAN, dstBuffer.order());
+        }
+      }
+    }
+  }
+
+  @Test
+  void transcodeInvalid() {
+    OrderedOps ops = new OrderedOps.BigEndianOps();
+    byte[] bytes = new byte[16];
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> OrderedOps.transcode(bytes, 0, bytes, 0, 3, 1, ops, ops));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> OrderedOps.transcode(bytes, 0, bytes, 0, 4, -1, ops, ops));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> OrderedOps.transcode(bytes, 4, bytes, 0, 4, 4, ops, ops));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> OrderedOps.transcode(bytes, 0, new byte[15], 0, 8, 2, ops, ops));
+  }
+
+  private static void assertTranscoded(OrderedOps from, OrderedOps to, int elementSize, int count) {
+    byte[] src = random(elementSize * count + 1);
+    byte[] dst = new byte[elementSize * count + 2];
+
+    OrderedOps.transcode(src, 1, dst, 2, elementSize, count, from, to);
+
+    for (int i = 0; i < count; i++) {
+      int s = 1 + i * elementSize;
+      int d = 2 + i * elementSize;
+
+      switch (elementSize) {
+        case 2:
+          assertEquals(
+              from.getShort((bs, j) -> bs[j], src, s),
+              to.getShort((bs, j) -> bs[j], dst, d));
+          break;
+        case 4:
+          assertEquals(
+              from.getInt((bs, j) -> bs[j], src, s),
+              to.getInt((bs, j) -> bs[j], dst, d));
+          break;
+        default:
+          assertEquals(
+              from.getLong((bs, j) -> bs[j], src, s),
+              to.getLong((bs, j) -> bs[j], dst, d));
+          break;
+      }
+    }
+  }
+
+  private static byte[] random(int length) {
+    byte[] bytes = new byte[length];
+    new Random(length).nextBytes(bytes);
+    return bytes;
+  }
+
+}
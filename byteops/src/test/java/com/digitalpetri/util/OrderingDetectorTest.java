@@ -0,0 +1,204 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class OrderingDetectorTest {
+
+  private static final OrderingDetector<byte[]> DETECTOR =
+      OrderingDetector.builder(ByteArrayByteOps::new)
+          .floatInRange(0, 200.0f, 260.0f)
+          .monotonicInt(4, 1000)
+          .expectShort(8, (short) 0x0102)
+          .build();
+
+  @Test
+  void detect() {
+    assertDetected(ByteArrayByteOps.BIG_ENDIAN, OrderedOps.BigEndianOps.class);
+    assertDetected(ByteArrayByteOps.LITTLE_ENDIAN, OrderedOps.LittleEndianOps.class);
+    assertDetected(ByteArrayByteOps.BIG_ENDIAN_LOW_HIGH, OrderedOps.BigEndianLowHighOps.class);
+    assertDetected(
+        ByteArrayByteOps.LITTLE_ENDIAN_LOW_HIGH, OrderedOps.LittleEndianLowHighOps.class);
+  }
+
+  @Test
+  void expectedValues() {
+    OrderingDetector<byte[]> detector = OrderingDetector.builder(ByteArrayByteOps::new)
+        .expectInt(0, 0x01020304)
+        .expectLong(4, 0x0102030405060708L)
+        .expectDouble(12, 1.5, 0.0)
+        .expectFloat(20, 1.5f, 0.0f)
+        .build();
+
+    byte[] sample = new byte[24];
+    ByteArrayByteOps.BIG_ENDIAN_LOW_HIGH.setInt(sample, 0, 0x01020304);
+    ByteArrayByteOps.BIG_ENDIAN_LOW_HIGH.setLong(sample, 4, 0x0102030405060708L);
+    ByteArrayByteOps.BIG_ENDIAN_LOW_HIGH.setDouble(sample, 12, 1.5);
+    ByteArrayByteOps.BIG_ENDIAN_LOW_HIGH.setFloat(sample, 20, 1.5f);
+
+    OrderingDetector.Result<byte[]> result = detector.detect(sample);
+
+    assertEquals(4, result.checkCount());
+    assertEquals(4, result.candidates().get(0).score());
+    assertEquals(
+        OrderedOps.BigEndianLowHighOps.class,
+        result.candidates().get(0).orderedOps().getClass()
+    );
+    assertTrue(result.byteOps().isPresent());
+  }
+
+  @Test
+  void ambiguous() {
+    // a short can't tell the word orders apart
+    OrderingDetector<byte[]> detector = OrderingDetector.builder(ByteArrayByteOps::new)
+        .expectShort(0, (short) 0x0102)
+        .build();
+
+    OrderingDetector.Result<byte[]> result = detector.detect(new byte[]{0x01, 0x02});
+
+    assertEquals(1, result.candidates().get(0).score());
+    assertEquals(1, result.candidates().get(1).score());
+    assertFalse(result.byteOps().isPresent());
+  }
+
+  @Test
+  void noMatch() {
+    OrderingDetector.Result<byte[]> result = DETECTOR.detect(new byte[4]);
+
+    assertEquals(0, result.candidates().get(0).score());
+    assertFalse(result.byteOps().isPresent());
+  }
+
+  @Test
+  void cache() {
+    OrderingCache<String, byte[]> cache = new OrderingCache<>(DETECTOR);
+    AtomicInteger sampled = new AtomicInteger();
+
+    Optional<ByteOps<byte[]>> byteOps = cache.get("plc1", () -> {
+      sampled.incrementAndGet();
+      return samples(ByteArrayByteOps.LITTLE_ENDIAN);
+    });
+
+    assertTrue(byteOps.isPresent());
+    assertSame(byteOps.get(), cache.get("plc1", () -> {
+      sampled.incrementAndGet();
+      return samples(ByteArrayByteOps.BIG_ENDIAN);
+    }).orElseThrow());
+    assertSame(byteOps.get(), cache.get("plc1").orElseThrow());
+    assertEquals(1, sampled.get());
+
+    cache.invalidate("plc1");
+    assertFalse(cache.get("plc1").isPresent());
+
+    cache.put("plc2", ByteArrayByteOps.BIG_ENDIAN);
+    assertSame(ByteArrayByteOps.BIG_ENDIAN, cache.get("plc2").orElseThrow());
+
+    cache.clear();
+    assertFalse(cache.get("plc2").isPresent());
+  }
+
+  @Test
+  void cacheMiss() {
+    OrderingCache<String, byte[]> cache = new OrderingCache<>(DETECTOR);
+
+    assertFalse(cache.get("plc1", () -> List.of(new byte[12])).isPresent());
+    assertFalse(cache.get("plc1").isPresent());
+
+    assertTrue(cache.get("plc1", () -> samples(ByteArrayByteOps.BIG_ENDIAN)).isPresent());
+  }
+
+  @Test
+  void cacheReentrant() {
+    OrderingCache<String, byte[]> cache = new OrderingCache<>(DETECTOR);
+
+    // e.g. sampling one device through a gateway whose own ordering is cached
+    ByteOps<byte[]> byteOps = cache.get("plc1", () -> {
+      cache.get("gateway", () -> samples(ByteArrayByteOps.LITTLE_ENDIAN));
+      return samples(ByteArrayByteOps.BIG_ENDIAN);
+    }).orElseThrow();
+
+    assertSame(byteOps, cache.get("plc1").orElseThrow());
+    assertTrue(cache.get("gateway").isPresent());
+
+    // the cache is already populated while "plc1" is being sampled again
+    cache.invalidate("plc1");
+    ByteOps<byte[]> configured = ByteArrayByteOps.LITTLE_ENDIAN;
+    assertSame(configured, cache.get("plc1", () -> {
+      cache.put("plc1", configured);
+      return samples(ByteArrayByteOps.BIG_ENDIAN);
+    }).orElseThrow());
+  }
+
+  @Test
+  void cacheConcurrent() throws Exception {
+    OrderingCache<String, byte[]> cache = new OrderingCache<>(DETECTOR);
+    AtomicInteger sampled = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<ByteOps<byte[]>>> futures = new ArrayList<>();
+
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+
+          return cache.get("plc1", () -> {
+            sampled.incrementAndGet();
+            return samples(ByteArrayByteOps.BIG_ENDIAN_LOW_HIGH);
+          }).orElseThrow();
+        }));
+      }
+
+      start.countDown();
+
+      ByteOps<byte[]> byteOps = futures.get(0).get(10, TimeUnit.SECONDS);
+      for (Future<ByteOps<byte[]>> future : futures) {
+        assertSame(byteOps, future.get(10, TimeUnit.SECONDS));
+      }
+      assertSame(byteOps, cache.get("plc1").orElseThrow());
+      assertTrue(sampled.get() >= 1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void assertDetected(ByteOps<byte[]> ops, Class<?> expected) {
+    OrderingDetector.Result<byte[]> result = DETECTOR.detect(samples(ops));
+
+    assertEquals(3, result.candidates().get(0).score());
+    assertEquals(expected, result.candidates().get(0).orderedOps().getClass());
+
+    ByteOps<byte[]> detected = result.byteOps().orElseThrow();
+    assertEquals(230.5f, detected.getFloat(samples(ops).get(0), 0));
+    assertEquals(1_000_000, detected.getInt(samples(ops).get(0), 4));
+  }
+
+  private static List<byte[]> samples(ByteOps<byte[]> ops) {
+    List<byte[]> samples = new ArrayList<>();
+
+    for (int counter : new int[]{1_000_000, 1_000_040, 1_000_555}) {
+      byte[] sample = new byte[10];
+      ops.setFloat(sample, 0, 230.5f);
+      ops.setInt(sample, 4, counter);
+      ops.setShort(sample, 8, (short) 0x0102);
+      samples.add(sample);
+    }
+
+    return samples;
+  }
+
+}
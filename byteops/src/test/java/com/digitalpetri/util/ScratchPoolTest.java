@@ -0,0 +1,200 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class ScratchPoolTest {
+
+  @Test
+  void sizeClasses() {
+    ScratchPool pool = ScratchPool.builder().minCapacity(64).maxCapacity(1024).build();
+
+    assertEquals(64, pool.leaseArray(0).length);
+    assertEquals(64, pool.leaseArray(64).length);
+    assertEquals(128, pool.leaseArray(65).length);
+    assertEquals(1024, pool.leaseArray(1000).length);
+    assertEquals(1025, pool.leaseArray(1025).length);
+    assertEquals(256, pool.leaseDirect(200).capacity());
+
+    assertThrows(IllegalArgumentException.class, () -> pool.leaseArray(-1));
+  }
+
+  @Test
+  void returnedBuffersAreReused() {
+    ScratchPool pool = ScratchPool.builder().build();
+
+    byte[] array = pool.leaseArray(100);
+    pool.returnArray(array);
+    assertSame(array, pool.leaseArray(128));
+
+    ByteBuffer buffer = pool.leaseDirect(100);
+    buffer.order(ByteOrder.LITTLE_ENDIAN).position(10);
+    pool.returnDirect(buffer);
+
+    ByteBuffer leased = pool.leaseDirect(128);
+    assertSame(buffer, leased);
+    assertEquals(0, leased.position());
+    assertEquals(128, leased.limit());
+    assertEquals(ByteOrder.BIG_ENDIAN, leased.order());
+
+    ScratchPool.Stats stats = pool.stats();
+    assertEquals(4, stats.leases());
+    assertEquals(2, stats.hits());
+    assertEquals(2, stats.misses());
+    assertEquals(2, stats.returns());
+    assertEquals(0.5, stats.hitRate());
+    assertEquals(0, stats.retainedBytes());
+  }
+
+  @Test
+  void sharedBetweenThreads() throws Exception {
+    ScratchPool pool = ScratchPool.builder().magazineSize(0).build();
+
+    byte[] array = pool.leaseArray(64);
+    pool.returnArray(array);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertSame(array, executor.submit(() -> pool.leaseArray(64)).get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void magazinesAreNotRetained() throws Exception {
+    ScratchPool pool = ScratchPool.builder().magazineSize(1).build();
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(() -> {
+        byte[] a = pool.leaseArray(64);
+        byte[] b = pool.leaseArray(64);
+        pool.returnArray(a);
+        pool.returnArray(b);
+
+        // the thread's own magazine serves it first
+        assertSame(a, pool.leaseArray(64));
+        pool.returnArray(a);
+      }).get();
+    } finally {
+      executor.shutdown();
+    }
+
+    // only the shared buffer is counted, so the thread ending with a full magazine leaks nothing
+    ScratchPool.Stats stats = pool.stats();
+    assertEquals(1, stats.hits());
+    assertEquals(64, stats.retainedBytes());
+  }
+
+  @Test
+  void retainedBytesAreCapped() {
+    ScratchPool pool = ScratchPool.builder()
+        .minCapacity(64)
+        .maxCapacity(1024)
+        .maxRetainedBytes(1024 + 512)
+        .build();
+
+    byte[] a = pool.leaseArray(1024);
+    byte[] b = pool.leaseArray(1024);
+    byte[] c = pool.leaseArray(512);
+
+    pool.returnArray(a);
+    pool.returnArray(b);
+    pool.returnArray(c);
+    pool.returnArray(new byte[2048]);
+    pool.returnArray(new byte[100]);
+    pool.returnDirect(ByteBuffer.allocate(64));
+
+    ScratchPool.Stats stats = pool.stats();
+    assertEquals(1024 + 512, stats.retainedBytes());
+    assertEquals(4, stats.dropped());
+
+    assertSame(a, pool.leaseArray(1024));
+    assertNotSame(b, pool.leaseArray(1024));
+    assertEquals(512, pool.stats().retainedBytes());
+  }
+
+  @Test
+  void concurrentLeases() throws Exception {
+    int threads = 8;
+
+    for (int magazineSize : new int[]{0, 4}) {
+      ScratchPool pool = ScratchPool.builder()
+          .magazineSize(magazineSize)
+          .sharedSlots(threads)
+          .build();
+
+      CountDownLatch start = new CountDownLatch(1);
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+      try {
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+          int id = t;
+          futures.add(executor.submit(() -> {
+            start.await();
+
+            for (int i = 0; i < 10_000; i++) {
+              byte[] array = pool.leaseArray(64 + i % 200);
+              ByteArrayByteOps.BIG_ENDIAN.setInt(array, 0, id);
+              ByteArrayByteOps.BIG_ENDIAN.setInt(array, 60, i);
+
+              // no other thread holds the array while it's leased
+              assertEquals(id, ByteArrayByteOps.BIG_ENDIAN.getInt(array, 0));
+              assertEquals(i, ByteArrayByteOps.BIG_ENDIAN.getInt(array, 60));
+
+              pool.returnArray(array);
+            }
+
+            return null;
+          }));
+        }
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+          future.get();
+        }
+      } finally {
+        executor.shutdown();
+      }
+
+      ScratchPool.Stats stats = pool.stats();
+      assertEquals(threads * 10_000, stats.leases());
+      assertEquals(threads * 10_000, stats.returns());
+      assertTrue(stats.hitRate() > 0.9, stats.toString());
+    }
+  }
+
+  @Test
+  void invalidConfiguration() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ScratchPool.builder().minCapacity(3).build()
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ScratchPool.builder().minCapacity(128).maxCapacity(64).build()
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ScratchPool.builder().magazineSize(-1).build()
+    );
+  }
+
+}
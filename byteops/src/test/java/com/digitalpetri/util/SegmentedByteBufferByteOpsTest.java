@@ -0,0 +1,152 @@
+package com.digitalpetri.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class SegmentedByteBufferByteOpsTest {
+
+  private final Random random = new Random(0);
+
+  @Test
+  void heap() {
+    assertMatchesByteArrayByteOps(() -> SegmentedByteBuffer.allocate(61, 8));
+  }
+
+  @Test
+  void direct() {
+    assertMatchesByteArrayByteOps(() -> SegmentedByteBuffer.allocateDirect(61, 16));
+  }
+
+  @Test
+  void wrapped() {
+    assertMatchesByteArrayByteOps(() -> SegmentedByteBuffer.wrap(
+        32,
+        ByteBuffer.allocate(40).position(8).order(ByteOrder.LITTLE_ENDIAN),
+        ByteBuffer.allocateDirect(29)
+    ));
+  }
+
+  @Test
+  void wrapRejectsUnevenSegments() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SegmentedByteBuffer.wrap(16, ByteBuffer.allocate(15), ByteBuffer.allocate(16))
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SegmentedByteBuffer.wrap(16, ByteBuffer.allocate(16), ByteBuffer.allocate(17))
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SegmentedByteBuffer.allocate(64, 12)
+    );
+  }
+
+  @Test
+  void outOfBounds() {
+    SegmentedByteBuffer buffer = SegmentedByteBuffer.allocate(20, 8);
+
+    assertEquals(20, buffer.capacity());
+    assertEquals(3, buffer.segmentCount());
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> SegmentedByteBufferByteOps.BIG_ENDIAN.getInt(buffer, 17)
+    );
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> SegmentedByteBufferByteOps.BIG_ENDIAN.setLong(buffer, -1, 0L)
+    );
+  }
+
+  @Test
+  void unsupportedOrderedOps() {
+    OrderedOps custom = new OrderedOps() {
+      @Override
+      public <T> short getShort(ByteGetter<T> getter, T bytes, int index) {
+        return 0;
+      }
+
+      @Override
+      public <T> int getInt(ByteGetter<T> getter, T bytes, int index) {
+        return 0;
+      }
+
+      @Override
+      public <T> long getLong(ByteGetter<T> getter, T bytes, int index) {
+        return 0;
+      }
+
+      @Override
+      public <T> void setShort(ByteSetter<T> setter, T bytes, int index, short value) {}
+
+      @Override
+      public <T> void setInt(ByteSetter<T> setter, T bytes, int index, int value) {}
+
+      @Override
+      public <T> void setLong(ByteSetter<T> setter, T bytes, int index, long value) {}
+    };
+
+    assertThrows(IllegalArgumentException.class, () -> new SegmentedByteBufferByteOps(custom));
+  }
+
+  private void assertMatchesByteArrayByteOps(Supplier<SegmentedByteBuffer> s) {
+    assertMatches(s.get(), SegmentedByteBufferByteOps.BIG_ENDIAN, ByteArrayByteOps.BIG_ENDIAN);
+    assertMatches(
+        s.get(),
+        SegmentedByteBufferByteOps.LITTLE_ENDIAN,
+        ByteArrayByteOps.LITTLE_ENDIAN
+    );
+    assertMatches(
+        s.get(),
+        SegmentedByteBufferByteOps.BIG_ENDIAN_LOW_HIGH,
+        ByteArrayByteOps.BIG_ENDIAN_LOW_HIGH
+    );
+    assertMatches(
+        s.get(),
+        SegmentedByteBufferByteOps.LITTLE_ENDIAN_LOW_HIGH,
+        ByteArrayByteOps.LITTLE_ENDIAN_LOW_HIGH
+    );
+  }
+
+  private void assertMatches(
+      SegmentedByteBuffer buffer,
+      LongIndexedByteOps<SegmentedByteBuffer> bufferOps,
+      ByteOps<byte[]> arrayOps
+  ) {
+
+    byte[] bs = new byte[(int) buffer.capacity()];
+    random.nextBytes(bs);
+
+    for (int i = 0; i < bs.length; i++) {
+      bufferOps.setByte(buffer, i, bs[i]);
+    }
+
+    for (int i = 0; i <= bs.length - 8; i++) {
+      assertEquals(arrayOps.getShort(bs, i), bufferOps.getShort(buffer, i));
+      assertEquals(arrayOps.getInt(bs, i), bufferOps.getInt(buffer, i));
+      assertEquals(arrayOps.getLong(bs, i), bufferOps.getLong(buffer, i));
+    }
+
+    for (int i = 0; i <= bs.length - 8; i++) {
+      long value = random.nextLong();
+
+      arrayOps.setShort(bs, i, (short) value);
+      bufferOps.setShort(buffer, i, (short) value);
+      arrayOps.setFloat(bs, i + 1, Float.intBitsToFloat((int) value));
+      bufferOps.setFloat(buffer, i + 1, Float.intBitsToFloat((int) value));
+      arrayOps.setLong(bs, i, value);
+      bufferOps.setLong(buffer, i, value);
+    }
+
+    for (int i = 0; i < bs.length; i++) {
+      assertEquals(bs[i], bufferOps.getByte(buffer, i), "index " + i);
+    }
+  }
+
+}